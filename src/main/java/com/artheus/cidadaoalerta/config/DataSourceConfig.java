@@ -0,0 +1,60 @@
+package com.artheus.cidadaoalerta.config;
+
+import com.artheus.cidadaoalerta.infra.datasource.PoolConexao;
+import com.artheus.cidadaoalerta.infra.datasource.RoteamentoDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Dois pools Hikari para o mesmo banco: o principal, das operações comuns, e um dedicado às
+ * exportações (bulkhead), dimensionado em {@code exportacao.datasource.hikari.maximum-pool-size}
+ * para as exportações admitidas ao mesmo tempo vezes o paralelismo de cada uma. O JPA recebe um
+ * DataSource de roteamento que escolhe o pool pela thread. Os pools aceitam as propriedades do
+ * Hikari em {@code spring.datasource.hikari.*} e {@code exportacao.datasource.hikari.*}, que são
+ * aplicadas depois dos valores definidos aqui.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource poolPrincipal(DataSourceProperties properties) {
+        HikariDataSource pool = criarPool(properties);
+        pool.setPoolName("principal");
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("exportacao.datasource.hikari")
+    public HikariDataSource poolExportacao(DataSourceProperties properties) {
+        HikariDataSource pool = criarPool(properties);
+        pool.setPoolName("exportacao");
+        pool.setMinimumIdle(0);
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("poolPrincipal") HikariDataSource principal,
+                                 @Qualifier("poolExportacao") HikariDataSource exportacao) {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource();
+        roteamento.setTargetDataSources(Map.of(
+                PoolConexao.PRINCIPAL, principal,
+                PoolConexao.EXPORTACAO, exportacao
+        ));
+        roteamento.setDefaultTargetDataSource(principal);
+        return roteamento;
+    }
+
+    private HikariDataSource criarPool(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.artheus.cidadaoalerta.config;
+
+import com.artheus.cidadaoalerta.security.ChavesJwt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+/**
+ * Chaves dos JWT. As chaves públicas ficam em {@code jwt.chaves.verificacao.<kid>}, uma por kid.
+ */
+@Configuration
+public class JwtConfig {
+
+    @Bean
+    public ChavesJwt chavesJwt(
+            Environment environment,
+            @Value("${jwt.secret:}") String segredo,
+            @Value("${jwt.chaves.assinatura.kid:}") String kidAssinatura,
+            @Value("${jwt.chaves.assinatura.privada:}") String chavePrivada
+    ) {
+        Map<String, String> chavesPublicas = Binder.get(environment)
+                .bind("jwt.chaves.verificacao", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+
+        return ChavesJwt.criar(segredo, kidAssinatura, chavePrivada, chavesPublicas);
+    }
+}
@@ -0,0 +1,12 @@
+package com.artheus.cidadaoalerta.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita tarefas agendadas (limpeza de arquivos de exportação, recargas periódicas etc.).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
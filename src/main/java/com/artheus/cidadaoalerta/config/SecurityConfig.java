@@ -1,5 +1,6 @@
 package com.artheus.cidadaoalerta.config;
 
+import com.artheus.cidadaoalerta.infra.filter.LimiteRequisicoesFilter;
 import com.artheus.cidadaoalerta.security.FiltroJwt;
 import com.artheus.cidadaoalerta.security.UsuarioDetailsService;
 import jakarta.servlet.http.HttpServletResponse;
@@ -8,9 +9,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -20,6 +21,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final FiltroJwt filtroJwt;
+    private final LimiteRequisicoesFilter limiteRequisicoesFilter;
     private final UsuarioDetailsService usuarioDetailsService;
 
     @Bean
@@ -34,10 +36,11 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/swagger-ui.html",
                                 "/v3/api-docs/**",
-                                "/auth/**"
+                                "/auth/**",
+                                "/actuator/health"
                         ).permitAll()
                         .requestMatchers(HttpMethod.POST, "/usuarios/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/reclamacoes/export").hasRole("ADMIN")
+                        .requestMatchers("/reclamacoes/export/**", "/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
 
@@ -50,19 +53,29 @@ public class SecurityConfig {
                 )
 
                 // filtro JWT antes do filtro padrão do Spring
-                .addFilterBefore(filtroJwt, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(filtroJwt, UsernamePasswordAuthenticationFilter.class)
+
+                // limites de taxa depois do JWT, para já conhecer o usuário autenticado
+                .addFilterAfter(limiteRequisicoesFilter, FiltroJwt.class);
 
         return http.build();
     }
 
+    /**
+     * O login confere a senha com o usuário lido do banco, sem o cache do UsuarioDetailsService:
+     * uma senha trocada em outra instância deixa de valer na hora.
+     */
     @Bean
-    public AuthenticationManager authenticationManager(
-            AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
+    public DaoAuthenticationProvider provedorAutenticacao(PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provedor = new DaoAuthenticationProvider(usuarioDetailsService::carregarCredenciais);
+        provedor.setPasswordEncoder(passwordEncoder);
+        provedor.setUserDetailsPasswordService(usuarioDetailsService);
+        return provedor;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AuthenticationManager authenticationManager(
+            AuthenticationConfiguration config) throws Exception {
+        return config.getAuthenticationManager();
     }
 }
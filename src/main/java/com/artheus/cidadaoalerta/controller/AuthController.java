@@ -1,9 +1,15 @@
 package com.artheus.cidadaoalerta.controller;
 
 import com.artheus.cidadaoalerta.dto.RequisicaoLogin;
+import com.artheus.cidadaoalerta.dto.RequisicaoRenovacaoToken;
 import com.artheus.cidadaoalerta.dto.RespostaLogin;
+import com.artheus.cidadaoalerta.infra.limite.LimitesRequisicao;
+import com.artheus.cidadaoalerta.infra.limite.TipoLimite;
 import com.artheus.cidadaoalerta.security.JwtService;
+import com.artheus.cidadaoalerta.security.ListaRevogacao;
+import com.artheus.cidadaoalerta.security.TokenVerificado;
 import com.artheus.cidadaoalerta.security.UsuarioDetailsService;
+import com.artheus.cidadaoalerta.security.UsuarioDetalhes;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -11,26 +17,38 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Locale;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/auth")
-@Tag(name = "Autenticação", description = "Endpoint para login e geração de token JWT")
+@Tag(name = "Autenticação", description = "Endpoints para login, geração e renovação de token JWT")
 public class AuthController {
 
     private final AuthenticationManager authManager;
     private final JwtService jwtService;
     private final UsuarioDetailsService usuarioDetailsService;
+    private final LimitesRequisicao limites;
+    private final ListaRevogacao listaRevogacao;
 
-    public AuthController(AuthenticationManager authManager, JwtService jwtService, UsuarioDetailsService usuarioDetailsService) {
+    public AuthController(AuthenticationManager authManager, JwtService jwtService,
+                          UsuarioDetailsService usuarioDetailsService, LimitesRequisicao limites,
+                          ListaRevogacao listaRevogacao) {
         this.authManager = authManager;
         this.jwtService = jwtService;
         this.usuarioDetailsService = usuarioDetailsService;
+        this.limites = limites;
+        this.listaRevogacao = listaRevogacao;
     }
 
     @PostMapping("/login")
@@ -43,20 +61,114 @@ public class AuthController {
             @ApiResponse(responseCode = "400", description = "Campos inválidos", content = @Content),
             @ApiResponse(responseCode = "401", description = "Credenciais inválidas",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = RespostaLogin.class)))
+                            schema = @Schema(implementation = RespostaLogin.class))),
+            @ApiResponse(responseCode = "429", description = "Muitas tentativas para o email ou IP", content = @Content)
     })
     public ResponseEntity<RespostaLogin> login(@RequestBody @Valid RequisicaoLogin login) {
+        // Limite por email antes do BCrypt: barra tentativas distribuídas entre vários IPs
+        limites.exigir(TipoLimite.AUTENTICACAO_EMAIL, login.email().trim().toLowerCase(Locale.ROOT));
+
         try {
             var authToken = new UsernamePasswordAuthenticationToken(login.email(), login.senha());
-            authManager.authenticate(authToken);
+            Authentication autenticacao = authManager.authenticate(authToken);
 
-            UserDetails userDetails = usuarioDetailsService.loadUserByUsername(login.email());
-            String token = jwtService.gerarToken(userDetails);
+            // O principal autenticado já é o usuário carregado: nada de buscá-lo de novo
+            if (autenticacao == null || !(autenticacao.getPrincipal() instanceof UserDetails userDetails)) {
+                return credenciaisInvalidas();
+            }
 
-            return ResponseEntity.ok(new RespostaLogin("Login realizado", token));
+            return ResponseEntity.ok(emitirTokens("Login realizado", userDetails));
 
         } catch (AuthenticationException e) {
-            return ResponseEntity.status(401).body(new RespostaLogin("Credenciais inválidas", null));
+            return credenciaisInvalidas();
         }
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar token JWT",
+            description = "Troca um token de renovação válido por um novo par de tokens, sem reenviar a senha. " +
+                    "O token de renovação usado é revogado e não pode ser reaproveitado")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Token renovado",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RespostaLogin.class))),
+            @ApiResponse(responseCode = "400", description = "Campos inválidos", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Token de renovação inválido, expirado ou revogado",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RespostaLogin.class)))
+    })
+    public ResponseEntity<RespostaLogin> renovar(@RequestBody @Valid RequisicaoRenovacaoToken requisicao) {
+        // Rotação: cada token de renovação vale uma vez. A revogação vem antes de tudo e é a própria
+        // verificação, para que dois usos simultâneos do mesmo token não recebam, os dois, um par novo
+        return jwtService.verificarTokenRenovacao(requisicao.refreshToken())
+                .filter(token -> token.jti() == null || listaRevogacao.consumir(token.jti(), token.expiracao()))
+                .flatMap(this::buscarUsuarioDoToken)
+                .map(usuario -> ResponseEntity.ok(emitirTokens("Token renovado", usuario)))
+                .orElseGet(() -> ResponseEntity.status(401)
+                        .body(new RespostaLogin("Token de renovação inválido", null, null)));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Encerrar sessão",
+            description = "Revoga o token de acesso enviado no cabeçalho Authorization e, se informado no corpo, " +
+                    "o token de renovação. Os tokens deixam de ser aceitos antes de expirar; sem o corpo, o token " +
+                    "de renovação continua válido até ser usado ou expirar")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Tokens revogados"),
+            @ApiResponse(responseCode = "401", description = "Token de acesso ausente, inválido ou já revogado", content = @Content)
+    })
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RequisicaoRenovacaoToken requisicao
+    ) {
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        Optional<TokenVerificado> acesso = jwtService.verificarToken(token).filter(t -> t.jti() != null);
+        if (acesso.isEmpty()) {
+            return ResponseEntity.status(401).build();
+        }
+
+        revogar(acesso.get());
+        if (requisicao != null) {
+            // Só revoga o token de renovação do próprio usuário
+            jwtService.verificarTokenRenovacao(requisicao.refreshToken())
+                    .filter(t -> t.jti() != null && t.email().equals(acesso.get().email()))
+                    .ifPresent(this::revogar);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // ==================== MÉTODOS PRIVADOS ====================
+
+    private RespostaLogin emitirTokens(String mensagem, UserDetails userDetails) {
+        String token = jwtService.gerarToken(userDetails);
+        String refreshToken = userDetails instanceof UsuarioDetalhes usuario
+                ? jwtService.gerarTokenRenovacao(usuario)
+                : null;
+        return new RespostaLogin(mensagem, token, refreshToken);
+    }
+
+    /**
+     * Usuário do token de renovação, se ainda estiver ativo e com o mesmo carimbo de segurança.
+     * Vem do cache do UsuarioDetailsService; a senha não é verificada de novo.
+     */
+    private Optional<UsuarioDetalhes> buscarUsuarioDoToken(TokenVerificado token) {
+        try {
+            UsuarioDetalhes usuario = usuarioDetailsService.loadUserByUsername(token.email());
+            boolean valido = usuario.isEnabled()
+                    && usuario.id().equals(token.usuarioId())
+                    && token.carimbo() != null
+                    && usuario.carimboSeguranca() == token.carimbo();
+            return valido ? Optional.of(usuario) : Optional.empty();
+        } catch (UsernameNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void revogar(TokenVerificado token) {
+        listaRevogacao.revogar(token.jti(), token.expiracao());
+    }
+
+    private ResponseEntity<RespostaLogin> credenciaisInvalidas() {
+        return ResponseEntity.status(401).body(new RespostaLogin("Credenciais inválidas", null, null));
+    }
 }
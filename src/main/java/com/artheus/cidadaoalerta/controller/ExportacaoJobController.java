@@ -0,0 +1,79 @@
+package com.artheus.cidadaoalerta.controller;
+
+import com.artheus.cidadaoalerta.dto.DetalhamentoExportacaoJob;
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.service.exportacao.ExportacaoJobService;
+import com.artheus.cidadaoalerta.service.exportacao.TransferenciaArquivo;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/reclamacoes/export/jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Exportações assíncronas", description = "Geração de CSV em segundo plano com acompanhamento e download posterior")
+public class ExportacaoJobController {
+
+    private static final String CONTENT_TYPE_CSV = "text/csv; charset=UTF-8";
+
+    private final ExportacaoJobService exportacaoJobService;
+    private final TransferenciaArquivo transferenciaArquivo;
+
+    @PostMapping
+    @Operation(summary = "Iniciar exportação assíncrona",
+            description = "Enfileira a geração do CSV com os filtros informados e retorna imediatamente. Apenas admins")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Exportação enfileirada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = DetalhamentoExportacaoJob.class))),
+            @ApiResponse(responseCode = "429", description = "Fila de exportações cheia", content = @Content)
+    })
+    public ResponseEntity<DetalhamentoExportacaoJob> criar(FiltroReclamacaoDTO filtro) {
+        DetalhamentoExportacaoJob job = exportacaoJobService.criar(filtro);
+        URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+
+        return ResponseEntity.accepted().location(uri).body(job);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Consultar exportação", description = "Retorna o status, as linhas e os bytes já escritos")
+    public ResponseEntity<DetalhamentoExportacaoJob> consultar(@PathVariable UUID id) {
+        return ResponseEntity.ok(exportacaoJobService.consultar(id));
+    }
+
+    @GetMapping("/{id}/arquivo")
+    @Operation(summary = "Baixar arquivo da exportação",
+            description = "Baixa o CSV de uma exportação concluída. Aceita o cabeçalho Range para retomar downloads")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Arquivo completo"),
+            @ApiResponse(responseCode = "206", description = "Intervalo solicitado"),
+            @ApiResponse(responseCode = "404", description = "Exportação inexistente ou arquivo já removido do spool", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Exportação ainda não concluída", content = @Content),
+            @ApiResponse(responseCode = "416", description = "Intervalo inválido", content = @Content)
+    })
+    public void baixar(@PathVariable UUID id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try (FileChannel arquivo = exportacaoJobService.abrirArquivo(id)) {
+            transferenciaArquivo.enviar(arquivo, "reclamacoes-" + id + ".csv", CONTENT_TYPE_CSV, request, response);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.artheus.cidadaoalerta.controller;
 
 import com.artheus.cidadaoalerta.dto.*;
-import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.CompressaoExportacao;
+import com.artheus.cidadaoalerta.model.enums.EstrategiaContagem;
+import com.artheus.cidadaoalerta.model.enums.FormatoExportacao;
 import com.artheus.cidadaoalerta.service.CsvService;
 import com.artheus.cidadaoalerta.service.ReclamacaoService;
+import com.artheus.cidadaoalerta.service.exportacao.ExportacaoDeltaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -17,10 +20,11 @@ import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -34,6 +38,7 @@ public class ReclamacaoController {
 
     private final ReclamacaoService reclamacaoService;
     private final CsvService csvService;
+    private final ExportacaoDeltaService exportacaoDeltaService;
 
     // -------------------- CADASTRO --------------------
     @PostMapping
@@ -42,11 +47,11 @@ public class ReclamacaoController {
             @ApiResponse(responseCode = "201", description = "Reclamação cadastrada com sucesso",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = DetalhamentoReclamacao.class))),
             @ApiResponse(responseCode = "400", description = "Dados inválidos", content = @Content),
-            @ApiResponse(responseCode = "401", description = "Não autorizado", content = @Content)
+            @ApiResponse(responseCode = "401", description = "Não autorizado", content = @Content),
+            @ApiResponse(responseCode = "429", description = "Limite de escritas do usuário excedido", content = @Content)
     })
     public ResponseEntity<DetalhamentoReclamacao> cadastrarReclamacao(
-            @RequestBody @Valid CadastroReclamacao cadastroDto,
-            @AuthenticationPrincipal Usuario usuario
+            @RequestBody @Valid CadastroReclamacao cadastroDto
     ) {
         DetalhamentoReclamacao reclamacao = reclamacaoService.cadastrarReclamacao(cadastroDto);
         URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -59,11 +64,43 @@ public class ReclamacaoController {
 
     // -------------------- LISTAGEM --------------------
     @GetMapping
-    @Operation(summary = "Listar reclamações", description = "Retorna uma página de reclamações, ordenadas por data de criação. Requer autenticação")
+    @Operation(summary = "Listar reclamações", description = "Retorna uma página de reclamações, ordenadas por data de criação. " +
+            "O total vem de um COUNT (contagem=EXATA, padrão), do cache por filtro (CACHE) ou das estatísticas da tabela (ESTIMADA); " +
+            "totalExato indica se ele é exato. Requer autenticação")
     public ResponseEntity<ReclamacaoPageResponse<DetalhamentoReclamacao>> listarReclamacoes(
-            @PageableDefault(page = 0, size = 10, sort = "dataCriacao", direction = Sort.Direction.DESC) Pageable pageable
+            @PageableDefault(page = 0, size = 10, sort = "dataCriacao", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "EXATA") EstrategiaContagem contagem
     ) {
-        return ResponseEntity.ok(reclamacaoService.listarReclamacoes(pageable));
+        return ResponseEntity.ok(reclamacaoService.listarReclamacoes(pageable, contagem));
+    }
+
+    @GetMapping("/busca")
+    @Operation(summary = "Buscar reclamações por filtros",
+            description = "Retorna uma página de reclamações ativas que atendem aos filtros informados (status, usuarioId, " +
+                    "categoria, dataInicio, dataFim); filtros ausentes não entram na consulta. O total segue o parâmetro " +
+                    "contagem, como na listagem. Requer autenticação")
+    public ResponseEntity<ReclamacaoPageResponse<DetalhamentoReclamacao>> buscarReclamacoes(
+            FiltroReclamacaoDTO filtro,
+            @PageableDefault(size = 10, sort = "dataCriacao", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "EXATA") EstrategiaContagem contagem
+    ) {
+        return ResponseEntity.ok(reclamacaoService.buscarReclamacoes(filtro, pageable, contagem));
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Listar reclamações por cursor",
+            description = "Retorna reclamações a partir do cursor recebido na página anterior (nextCursor ou previousCursor), " +
+                    "sem total de elementos. O tempo de cada página não cresce com a profundidade. " +
+                    "Sem cursor, começa do início na ordenação informada. Requer autenticação")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de reclamações"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido", content = @Content)
+    })
+    public ResponseEntity<ReclamacaoCursorResponse<DetalhamentoReclamacao>> listarReclamacoesPorCursor(
+            @RequestParam(required = false) String cursor,
+            @PageableDefault(size = 10, sort = "dataCriacao", direction = Sort.Direction.DESC) Pageable pageable
+    ) {
+        return ResponseEntity.ok(reclamacaoService.listarReclamacoesPorCursor(cursor, pageable));
     }
 
     @GetMapping("/{id}")
@@ -92,9 +129,9 @@ public class ReclamacaoController {
     }
 
     // -------------------- EXCLUSÃO --------------------
+    // Dono ou admin: verificado no service junto com a busca da reclamação
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @reclamacaoSecurity.isOwner(#id)")
-    @Operation(summary = "Inativar reclamação", description = "Inativa uma reclamação existente. Requer autenticação e privilégios adequados")
+    @Operation(summary = "Inativar reclamação", description = "Inativa uma reclamação existente. Apenas o autor da reclamação ou um admin")
     public ResponseEntity<Void> inativarReclamacao(@PathVariable Long id) {
         reclamacaoService.inativarReclamacao(id);
         return ResponseEntity.noContent().build();
@@ -103,8 +140,45 @@ public class ReclamacaoController {
     // -------------------- EXPORTAÇÃO --------------------
     @GetMapping("/export")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Exportar reclamações em CSV", description = "Exporta todas as reclamações em CSV. Apenas admins")
-    public ResponseEntity<Resource> exportarReclamacoes(FiltroReclamacaoDTO filtro) {
-        return csvService.gerarResponseCsv(filtro);
+    @Operation(summary = "Exportar reclamações em CSV",
+            description = "Exporta todas as reclamações em CSV. O arquivo fica em cache até os dados do filtro mudarem; " +
+                    "envie o ETag recebido em If-None-Match para receber 304 quando nada mudou. Apenas admins")
+    public ResponseEntity<Resource> exportarReclamacoes(
+            FiltroReclamacaoDTO filtro,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return csvService.gerarResponseCsvComCache(filtro, ifNoneMatch);
+    }
+
+    @GetMapping("/export/stream")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exportar reclamações em streaming (CSV, NDJSON ou GeoJSON)",
+            description = "Exporta as reclamações em CSV lendo do banco por cursor e enviando as linhas conforme são geradas. " +
+                    "Indicado para exportações grandes. O formato pode ser CSV (padrão), NDJSON ou GEOJSON. " +
+                    "Comprime com gzip quando compressao=GZIP ou quando o cliente envia Accept-Encoding: gzip. Apenas admins")
+    public ResponseEntity<StreamingResponseBody> exportarReclamacoesStreaming(
+            FiltroReclamacaoDTO filtro,
+            @RequestParam(required = false) FormatoExportacao formato,
+            @RequestParam(required = false) CompressaoExportacao compressao,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return csvService.gerarResponseStreaming(filtro, formato, compressao, acceptEncoding);
+    }
+
+    @GetMapping("/export/delta")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Exportação incremental",
+            description = "Retorna as reclamações criadas, alteradas ou inativadas desde a marca informada, " +
+                    "junto com a marca para a próxima chamada. Sem marca, começa do início. Apenas admins")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Página de alterações",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RespostaDeltaExportacao.class))),
+            @ApiResponse(responseCode = "400", description = "Marca inválida", content = @Content)
+    })
+    public ResponseEntity<RespostaDeltaExportacao> exportarAlteracoes(
+            @RequestParam(required = false) String marca,
+            @RequestParam(required = false) Integer limite
+    ) {
+        return ResponseEntity.ok(exportacaoDeltaService.buscarAlteracoes(marca, limite));
     }
 }
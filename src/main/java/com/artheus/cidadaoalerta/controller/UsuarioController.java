@@ -1,11 +1,11 @@
 package com.artheus.cidadaoalerta.controller;
 
 import com.artheus.cidadaoalerta.dto.RespostaEmail;
-import com.artheus.cidadaoalerta.model.Usuario;
 import com.artheus.cidadaoalerta.dto.AtualizacaoUsuario;
 import com.artheus.cidadaoalerta.dto.CadastroUsuario;
 import com.artheus.cidadaoalerta.dto.DetalhamentoUsuario;
 import com.artheus.cidadaoalerta.mapper.UsuarioMapper;
+import com.artheus.cidadaoalerta.security.UsuarioDetalhes;
 import com.artheus.cidadaoalerta.service.EmailService;
 import com.artheus.cidadaoalerta.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -61,7 +61,8 @@ public class UsuarioController {
             @ApiResponse(responseCode = "400", description = "Dados inválidos",
                     content = @Content(mediaType = "application/json")),
             @ApiResponse(responseCode = "409", description = "E-mail já cadastrado",
-                    content = @Content(mediaType = "application/json"))
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "429", description = "Muitos cadastros a partir do mesmo IP", content = @Content)
     })
     public ResponseEntity<DetalhamentoUsuario> cadastrarUsuario(
             @RequestBody @Valid CadastroUsuario dados) {
@@ -140,7 +141,10 @@ public class UsuarioController {
                     content = @Content(mediaType = "application/json"))
     })
     public ResponseEntity<DetalhamentoUsuario> buscarUsuarioLogado(Authentication authentication) {
-        Usuario usuario = (Usuario) authentication.getPrincipal();
-        return ResponseEntity.ok(usuarioMapper.toDetalhamentoDto(usuario));
+        if (authentication.getPrincipal() instanceof UsuarioDetalhes usuario) {
+            return ResponseEntity.ok(usuarioMapper.toDetalhamentoDto(usuario));
+        }
+        // Autenticação sem estado: o principal só tem os dados do token
+        return ResponseEntity.ok(usuarioService.buscarPorEmail(authentication.getName()));
     }
 }
\ No newline at end of file
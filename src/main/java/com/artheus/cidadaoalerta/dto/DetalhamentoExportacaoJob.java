@@ -0,0 +1,17 @@
+package com.artheus.cidadaoalerta.dto;
+
+import com.artheus.cidadaoalerta.model.enums.StatusExportacaoJob;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record DetalhamentoExportacaoJob(
+        UUID id,
+        StatusExportacaoJob status,
+        long linhasEscritas,
+        long bytesEscritos,
+        LocalDateTime criadoEm,
+        LocalDateTime concluidoEm,
+        String erro
+) {
+}
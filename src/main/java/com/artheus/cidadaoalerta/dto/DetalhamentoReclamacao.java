@@ -26,4 +26,15 @@ public record DetalhamentoReclamacao(
 
         String nomeUsuario
 ) {
+
+    /**
+     * Usado pelas consultas de leitura (constructor expression), que trazem a localização
+     * em colunas separadas.
+     */
+    public DetalhamentoReclamacao(Long id, String titulo, String descricao, CategoriaReclamacao categoriaReclamacao,
+                                  Double latitude, Double longitude, StatusReclamacao statusReclamacao,
+                                  LocalDateTime dataCriacao, Long usuarioId, String nomeUsuario) {
+        this(id, titulo, descricao, categoriaReclamacao, new Localizacao(latitude, longitude), statusReclamacao,
+                dataCriacao, usuarioId, nomeUsuario);
+    }
 }
@@ -0,0 +1,15 @@
+package com.artheus.cidadaoalerta.dto;
+
+/**
+ * Faixa fechada de ids [minimo, maximo]. Ambos são nulos quando a consulta não encontra linhas.
+ */
+public record IntervaloIds(Long minimo, Long maximo) {
+
+    public boolean isVazio() {
+        return minimo == null || maximo == null;
+    }
+
+    public long tamanho() {
+        return isVazio() ? 0 : maximo - minimo + 1;
+    }
+}
@@ -0,0 +1,14 @@
+package com.artheus.cidadaoalerta.dto;
+
+import java.util.List;
+
+/**
+ * Página da listagem por cursor. Não traz total: os cursores levam à página seguinte e à
+ * anterior e são nulos quando não há mais nada naquele sentido.
+ */
+public record ReclamacaoCursorResponse<T>(
+        List<T> content,
+        int pageSize,
+        String nextCursor,
+        String previousCursor
+) {}
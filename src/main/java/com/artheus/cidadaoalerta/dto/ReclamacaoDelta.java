@@ -0,0 +1,29 @@
+package com.artheus.cidadaoalerta.dto;
+
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado atual de uma reclamação criada, alterada ou inativada desde a marca informada.
+ * Inclui registros inativos para que o consumidor consiga refletir a inativação.
+ */
+@Schema(description = "Reclamação alterada desde a última sincronização")
+public record ReclamacaoDelta(
+        Long id,
+        String titulo,
+        String descricao,
+        CategoriaReclamacao categoria,
+        StatusReclamacao status,
+        Double latitude,
+        Double longitude,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataAtualizacao,
+        Boolean ativo,
+        Long versao,
+        Long usuarioId,
+        String nomeUsuario
+) {
+}
@@ -0,0 +1,22 @@
+package com.artheus.cidadaoalerta.dto;
+
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha de exportação de uma reclamação, já achatada com o nome do usuário.
+ * Preenchida direto pela consulta (constructor expression), sem entidades gerenciadas.
+ */
+public record ReclamacaoExportacao(
+        Long id,
+        String titulo,
+        String descricao,
+        CategoriaReclamacao categoria,
+        StatusReclamacao status,
+        Double latitude,
+        Double longitude,
+        LocalDateTime dataCriacao,
+        String nomeUsuario
+) {}
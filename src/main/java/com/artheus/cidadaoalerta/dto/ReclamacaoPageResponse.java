@@ -8,5 +8,12 @@ public record ReclamacaoPageResponse<T>(
         int pageSize,
         long totalElements,
         int totalPages,
-        boolean last
-) {}
+        boolean last,
+        // false quando o total veio do cache ou de estimativa
+        boolean totalExato
+) {
+
+    public ReclamacaoPageResponse(List<T> content, int pageNumber, int pageSize, long totalElements, int totalPages, boolean last) {
+        this(content, pageNumber, pageSize, totalElements, totalPages, last, true);
+    }
+}
@@ -0,0 +1,10 @@
+package com.artheus.cidadaoalerta.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record RequisicaoRenovacaoToken(
+        @Schema(description = "Token de renovação recebido no login")
+        @NotBlank(message = "Token de renovação é obrigatório")
+        String refreshToken
+) {}
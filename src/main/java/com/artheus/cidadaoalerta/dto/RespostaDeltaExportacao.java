@@ -0,0 +1,18 @@
+package com.artheus.cidadaoalerta.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página da exportação incremental")
+public record RespostaDeltaExportacao(
+        @Schema(description = "Reclamações alteradas, em ordem de atualização")
+        List<ReclamacaoDelta> itens,
+
+        @Schema(description = "Marca a enviar na próxima chamada. Igual à recebida quando não houve alterações")
+        String proximaMarca,
+
+        @Schema(description = "Indica se ainda há alterações além desta página")
+        boolean temMais
+) {
+}
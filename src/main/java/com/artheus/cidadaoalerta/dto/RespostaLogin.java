@@ -2,5 +2,6 @@ package com.artheus.cidadaoalerta.dto;
 
 public record RespostaLogin(
         String mensagem,
-        String token
+        String token,
+        String refreshToken
 ) {}
@@ -0,0 +1,10 @@
+package com.artheus.cidadaoalerta.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versão do conjunto de reclamações de um filtro: quantidade de linhas e maior data de atualização.
+ * A data é nula quando o filtro não encontra linhas.
+ */
+public record VersaoDados(Long quantidade, LocalDateTime ultimaAtualizacao) {
+}
@@ -0,0 +1,12 @@
+package com.artheus.cidadaoalerta.exception.exportacao;
+
+import com.artheus.cidadaoalerta.model.enums.StatusExportacaoJob;
+
+import java.util.UUID;
+
+public class ExportacaoJobNaoConcluidoException extends RuntimeException {
+
+    public ExportacaoJobNaoConcluidoException(UUID id, StatusExportacaoJob status) {
+        super("Exportação " + id + " ainda não possui arquivo disponível (status: " + status + ")");
+    }
+}
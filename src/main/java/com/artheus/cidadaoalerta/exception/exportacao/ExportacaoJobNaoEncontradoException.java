@@ -0,0 +1,10 @@
+package com.artheus.cidadaoalerta.exception.exportacao;
+
+import java.util.UUID;
+
+public class ExportacaoJobNaoEncontradoException extends RuntimeException {
+
+    public ExportacaoJobNaoEncontradoException(UUID id) {
+        super("Exportação não encontrada ou expirada com ID: " + id);
+    }
+}
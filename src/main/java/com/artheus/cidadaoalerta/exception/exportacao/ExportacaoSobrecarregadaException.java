@@ -0,0 +1,16 @@
+package com.artheus.cidadaoalerta.exception.exportacao;
+
+/** Lançada quando não há capacidade para aceitar mais uma exportação no momento */
+public class ExportacaoSobrecarregadaException extends RuntimeException {
+
+    private final long segundosParaNovaTentativa;
+
+    public ExportacaoSobrecarregadaException(long segundosParaNovaTentativa) {
+        super("Limite de exportações simultâneas atingido. Tente novamente em instantes");
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+    }
+
+    public long getSegundosParaNovaTentativa() {
+        return segundosParaNovaTentativa;
+    }
+}
@@ -0,0 +1,8 @@
+package com.artheus.cidadaoalerta.exception.exportacao;
+
+public class MarcaDeltaInvalidaException extends RuntimeException {
+
+    public MarcaDeltaInvalidaException(String marca) {
+        super("Marca de sincronização inválida: " + marca);
+    }
+}
@@ -2,12 +2,18 @@ package com.artheus.cidadaoalerta.exception.global;
 
 import com.artheus.cidadaoalerta.exception.csv.CsvGenerationException;
 import com.artheus.cidadaoalerta.exception.email.EmailSendException;
+import com.artheus.cidadaoalerta.exception.exportacao.ExportacaoJobNaoConcluidoException;
+import com.artheus.cidadaoalerta.exception.exportacao.ExportacaoJobNaoEncontradoException;
+import com.artheus.cidadaoalerta.exception.exportacao.ExportacaoSobrecarregadaException;
+import com.artheus.cidadaoalerta.exception.exportacao.MarcaDeltaInvalidaException;
+import com.artheus.cidadaoalerta.exception.limite.LimiteRequisicoesExcedidoException;
 import com.artheus.cidadaoalerta.exception.model.ApiError;
 import com.artheus.cidadaoalerta.exception.reclamacao.*;
 import com.artheus.cidadaoalerta.exception.usuario.*;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -50,6 +56,51 @@ public class GlobalExceptionHandler {
         return construirResposta("Erro ao gerar CSV", ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR, request);
     }
 
+    // ================= EXPORTAÇÃO =================
+    @ExceptionHandler(ExportacaoJobNaoEncontradoException.class)
+    public ResponseEntity<ApiError> handleExportacaoNaoEncontrada(ExportacaoJobNaoEncontradoException ex, HttpServletRequest request) {
+        log.warn("Exportação não encontrada: {}", ex.getMessage());
+        return construirResposta("Exportação não encontrada", ex.getMessage(), HttpStatus.NOT_FOUND, request);
+    }
+
+    @ExceptionHandler(ExportacaoJobNaoConcluidoException.class)
+    public ResponseEntity<ApiError> handleExportacaoNaoConcluida(ExportacaoJobNaoConcluidoException ex, HttpServletRequest request) {
+        log.warn("Exportação não concluída: {}", ex.getMessage());
+        return construirResposta("Exportação não concluída", ex.getMessage(), HttpStatus.CONFLICT, request);
+    }
+
+    @ExceptionHandler(ExportacaoSobrecarregadaException.class)
+    public ResponseEntity<ApiError> handleExportacaoSobrecarregada(ExportacaoSobrecarregadaException ex, HttpServletRequest request) {
+        log.warn("Exportação recusada por sobrecarga: {}", ex.getMessage());
+        ResponseEntity<ApiError> resposta = construirResposta("Muitas exportações em andamento", ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS, request);
+        return ResponseEntity.status(resposta.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getSegundosParaNovaTentativa()))
+                .body(resposta.getBody());
+    }
+
+    @ExceptionHandler(ProcessamentoSenhaSobrecarregadoException.class)
+    public ResponseEntity<ApiError> handleProcessamentoSenhaSobrecarregado(ProcessamentoSenhaSobrecarregadoException ex, HttpServletRequest request) {
+        log.warn("Hash de senha recusado por sobrecarga: {}", ex.getMessage());
+        ResponseEntity<ApiError> resposta = construirResposta("Muitas autenticações em andamento", ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS, request);
+        return ResponseEntity.status(resposta.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getSegundosParaNovaTentativa()))
+                .body(resposta.getBody());
+    }
+
+    @ExceptionHandler(LimiteRequisicoesExcedidoException.class)
+    public ResponseEntity<ApiError> handleLimiteRequisicoesExcedido(LimiteRequisicoesExcedidoException ex, HttpServletRequest request) {
+        ResponseEntity<ApiError> resposta = construirResposta("Muitas requisições", ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS, request);
+        return ResponseEntity.status(resposta.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getSegundosParaNovaTentativa()))
+                .body(resposta.getBody());
+    }
+
+    @ExceptionHandler(MarcaDeltaInvalidaException.class)
+    public ResponseEntity<ApiError> handleMarcaDeltaInvalida(MarcaDeltaInvalidaException ex, HttpServletRequest request) {
+        log.warn("Marca de sincronização inválida: {}", ex.getMessage());
+        return construirResposta("Marca de sincronização inválida", ex.getMessage(), HttpStatus.BAD_REQUEST, request);
+    }
+
     // ================= RECLAMAÇÃO =================
     @ExceptionHandler(ReclamacaoNaoEncontradaException.class)
     public ResponseEntity<ApiError> handleReclamacaoNaoEncontrada(ReclamacaoNaoEncontradaException ex, HttpServletRequest request) {
@@ -75,6 +126,12 @@ public class GlobalExceptionHandler {
         return construirResposta("Atualização de reclamação inválida", ex.getMessage(), HttpStatus.BAD_REQUEST, request);
     }
 
+    @ExceptionHandler(CursorReclamacaoInvalidoException.class)
+    public ResponseEntity<ApiError> handleCursorInvalido(CursorReclamacaoInvalidoException ex, HttpServletRequest request) {
+        log.warn("Cursor de paginação inválido: {}", ex.getMessage());
+        return construirResposta("Cursor de paginação inválido", ex.getMessage(), HttpStatus.BAD_REQUEST, request);
+    }
+
     // ================= USUÁRIO =================
     @ExceptionHandler(UsuarioNaoAutenticadoException.class)
     public ResponseEntity<ApiError> handleUsuarioNaoAutenticado(UsuarioNaoAutenticadoException ex, HttpServletRequest request) {
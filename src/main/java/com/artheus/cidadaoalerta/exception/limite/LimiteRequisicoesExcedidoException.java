@@ -0,0 +1,16 @@
+package com.artheus.cidadaoalerta.exception.limite;
+
+/** Lançada quando a chave da requisição (IP, email ou usuário) excedeu o limite de taxa */
+public class LimiteRequisicoesExcedidoException extends RuntimeException {
+
+    private final long segundosParaNovaTentativa;
+
+    public LimiteRequisicoesExcedidoException(long segundosParaNovaTentativa) {
+        super("Muitas requisições. Tente novamente em " + segundosParaNovaTentativa + " segundos");
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+    }
+
+    public long getSegundosParaNovaTentativa() {
+        return segundosParaNovaTentativa;
+    }
+}
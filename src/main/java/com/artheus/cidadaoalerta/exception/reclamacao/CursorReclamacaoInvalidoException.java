@@ -0,0 +1,8 @@
+package com.artheus.cidadaoalerta.exception.reclamacao;
+
+public class CursorReclamacaoInvalidoException extends RuntimeException {
+
+    public CursorReclamacaoInvalidoException(String cursor) {
+        super("Cursor de paginação inválido: " + cursor);
+    }
+}
@@ -0,0 +1,16 @@
+package com.artheus.cidadaoalerta.exception.usuario;
+
+/** Lançada quando a fila de cálculo de hash de senhas está cheia */
+public class ProcessamentoSenhaSobrecarregadoException extends RuntimeException {
+
+    private final long segundosParaNovaTentativa;
+
+    public ProcessamentoSenhaSobrecarregadoException(long segundosParaNovaTentativa) {
+        super("Muitas autenticações em andamento. Tente novamente em instantes");
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+    }
+
+    public long getSegundosParaNovaTentativa() {
+        return segundosParaNovaTentativa;
+    }
+}
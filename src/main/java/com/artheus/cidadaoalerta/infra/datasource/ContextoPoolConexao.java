@@ -0,0 +1,40 @@
+package com.artheus.cidadaoalerta.infra.datasource;
+
+/**
+ * Guarda, por thread, o pool de onde a próxima conexão deve sair. O valor só é consultado
+ * quando uma conexão é obtida, então precisa estar definido antes de a transação começar.
+ */
+public final class ContextoPoolConexao {
+
+    private static final ThreadLocal<PoolConexao> ATUAL = new ThreadLocal<>();
+
+    private ContextoPoolConexao() {
+    }
+
+    /**
+     * @return o pool definido para a thread, ou {@link PoolConexao#PRINCIPAL} se nenhum foi definido
+     */
+    public static PoolConexao atual() {
+        PoolConexao pool = ATUAL.get();
+        return pool != null ? pool : PoolConexao.PRINCIPAL;
+    }
+
+    /**
+     * Executa a tarefa com as conexões saindo do pool informado, restaurando o valor anterior ao final.
+     */
+    public static <T, E extends Exception> T executar(PoolConexao pool, Tarefa<T, E> tarefa) throws E {
+        PoolConexao anterior = ATUAL.get();
+        ATUAL.set(pool);
+        try {
+            return tarefa.executar();
+        } finally {
+            if (anterior == null) ATUAL.remove();
+            else ATUAL.set(anterior);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Tarefa<T, E extends Exception> {
+        T executar() throws E;
+    }
+}
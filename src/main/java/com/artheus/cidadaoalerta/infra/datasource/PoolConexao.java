@@ -0,0 +1,10 @@
+package com.artheus.cidadaoalerta.infra.datasource;
+
+/**
+ * Pools de conexão da aplicação. Exportações e relatórios usam um pool separado para que
+ * varreduras longas não esgotem as conexões das operações comuns.
+ */
+public enum PoolConexao {
+    PRINCIPAL,
+    EXPORTACAO
+}
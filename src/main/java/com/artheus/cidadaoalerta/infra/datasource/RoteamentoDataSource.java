@@ -0,0 +1,14 @@
+package com.artheus.cidadaoalerta.infra.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource usado pelo JPA que entrega conexões do pool indicado em {@link ContextoPoolConexao}.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ContextoPoolConexao.atual();
+    }
+}
@@ -0,0 +1,78 @@
+package com.artheus.cidadaoalerta.infra.filter;
+
+import com.artheus.cidadaoalerta.infra.limite.LimitesRequisicao;
+import com.artheus.cidadaoalerta.infra.limite.TipoLimite;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Aplica os limites de taxa antes que a requisição chegue ao controller: login e cadastro por
+ * IP, escrita de reclamações por usuário. Roda depois do {@code FiltroJwt} (ver SecurityConfig)
+ * para já conhecer o usuário autenticado. O limite por email do login fica no AuthController,
+ * que é quem lê o corpo da requisição.
+ * <p>
+ * O IP é o {@code remoteAddr}; atrás de proxy, configure {@code server.forward-headers-strategy}
+ * para que ele reflita o cliente e não o proxy.
+ */
+@Component
+@RequiredArgsConstructor
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> METODOS_ESCRITA = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final LimitesRequisicao limites;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !limites.isHabilitado();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long segundos = verificar(request);
+        if (segundos > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Muitas requisições");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private long verificar(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+
+        if ("POST".equals(metodo) && caminho.startsWith("/auth/")) {
+            return limites.verificar(TipoLimite.AUTENTICACAO_IP, request.getRemoteAddr());
+        }
+        if ("POST".equals(metodo) && (caminho.equals("/usuarios") || caminho.equals("/usuarios/"))) {
+            return limites.verificar(TipoLimite.CADASTRO_IP, request.getRemoteAddr());
+        }
+        if (METODOS_ESCRITA.contains(metodo) && caminho.startsWith("/reclamacoes")) {
+            // Sem usuário a requisição vai ser recusada com 401 de qualquer forma
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+                return limites.verificar(TipoLimite.ESCRITA_RECLAMACAO, auth.getName());
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.artheus.cidadaoalerta.infra.limite;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de fichas por chave, sem locks. Cada chave guarda só o instante teórico da próxima
+ * chegada (algoritmo GCRA, equivalente a um token bucket de capacidade {@code requisicoes}
+ * recarregado uniformemente ao longo do período). A atualização é um compare-and-set num
+ * {@link AtomicLong}, então requisições de chaves diferentes nunca disputam o mesmo lock.
+ * <p>
+ * Um balde parado por mais de um período volta a estar cheio, que é o mesmo estado de um balde
+ * novo; por isso ele é descartado depois desse tempo sem acesso. O total de chaves também tem
+ * um teto: se ele for atingido, os baldes menos usados são descartados antes da hora (o que só
+ * torna o limite mais permissivo para essas chaves).
+ */
+public class LimitadorTaxa {
+
+    private static final long CHEGADA_INICIAL = Long.MIN_VALUE;
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final Ticker relogio;
+    private final Cache<String, AtomicLong> chegadas;
+
+    /**
+     * @param requisicoes  requisições permitidas por período (também a rajada máxima)
+     * @param periodo      período em que o balde se recarrega por completo
+     * @param maximoChaves teto de chaves mantidas em memória
+     */
+    public LimitadorTaxa(int requisicoes, Duration periodo, long maximoChaves) {
+        this(requisicoes, periodo, maximoChaves, Ticker.systemTicker());
+    }
+
+    public LimitadorTaxa(int requisicoes, Duration periodo, long maximoChaves, Ticker relogio) {
+        if (requisicoes < 1) {
+            throw new IllegalArgumentException("O limite deve permitir ao menos uma requisição por período");
+        }
+        this.intervaloNanos = Math.max(1, periodo.toNanos() / requisicoes);
+        this.toleranciaNanos = intervaloNanos * (requisicoes - 1);
+        this.relogio = relogio;
+        this.chegadas = Caffeine.newBuilder()
+                .maximumSize(maximoChaves)
+                .expireAfterAccess(intervaloNanos * requisicoes, TimeUnit.NANOSECONDS)
+                .ticker(relogio)
+                .build();
+    }
+
+    /**
+     * Consome uma ficha da chave, se houver.
+     *
+     * @return 0 se a requisição foi aceita; caso contrário, nanossegundos até a próxima ficha
+     */
+    public long tentar(String chave) {
+        AtomicLong chegada = chegadas.get(chave, c -> new AtomicLong(CHEGADA_INICIAL));
+        long agora = relogio.read();
+
+        while (true) {
+            long atual = chegada.get();
+            long proxima = Math.max(atual, agora);
+            long espera = proxima - agora - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (chegada.compareAndSet(atual, proxima + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Chaves em memória, já descontados os baldes expirados.
+     */
+    public long getQuantidadeChaves() {
+        chegadas.cleanUp();
+        return chegadas.estimatedSize();
+    }
+}
@@ -0,0 +1,92 @@
+package com.artheus.cidadaoalerta.infra.limite;
+
+import com.artheus.cidadaoalerta.exception.limite.LimiteRequisicoesExcedidoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Um {@link LimitadorTaxa} para cada {@link TipoLimite}, com as taxas lidas da configuração.
+ * Usado pelo {@code LimiteRequisicoesFilter} (chaves por IP e por usuário) e pelo login
+ * (chave por email, que só é conhecida depois de ler o corpo da requisição).
+ */
+@Slf4j
+@Component
+public class LimitesRequisicao {
+
+    private final boolean habilitado;
+    private final Map<TipoLimite, LimitadorTaxa> limitadores = new EnumMap<>(TipoLimite.class);
+    private final Map<TipoLimite, Counter> recusadas = new EnumMap<>(TipoLimite.class);
+
+    public LimitesRequisicao(
+            Environment environment,
+            MeterRegistry registry,
+            @Value("${limite.habilitado:true}") boolean habilitado,
+            @Value("${limite.maximo-chaves:100000}") long maximoChaves
+    ) {
+        this.habilitado = habilitado;
+
+        for (TipoLimite tipo : TipoLimite.values()) {
+            String prefixo = "limite." + tipo.getPropriedade();
+            int requisicoes = environment.getProperty(prefixo + ".requisicoes", Integer.class, tipo.getRequisicoesPadrao());
+            String periodoConfigurado = environment.getProperty(prefixo + ".periodo");
+            Duration periodo = periodoConfigurado != null
+                    ? DurationStyle.detectAndParse(periodoConfigurado)
+                    : tipo.getPeriodoPadrao();
+
+            LimitadorTaxa limitador = new LimitadorTaxa(requisicoes, periodo, maximoChaves);
+            limitadores.put(tipo, limitador);
+
+            recusadas.put(tipo, Counter.builder("limite.requisicoes.recusadas")
+                    .description("Requisições recusadas por limite de taxa")
+                    .tag("limite", tipo.getPropriedade())
+                    .register(registry));
+            Gauge.builder("limite.requisicoes.chaves", limitador, LimitadorTaxa::getQuantidadeChaves)
+                    .description("Chaves com balde de fichas em memória")
+                    .tag("limite", tipo.getPropriedade())
+                    .register(registry);
+        }
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Consome uma ficha do limite para a chave.
+     *
+     * @return 0 se a requisição pode seguir; caso contrário, segundos até a próxima ficha
+     */
+    public long verificar(TipoLimite tipo, String chave) {
+        if (!habilitado) return 0;
+
+        long esperaNanos = limitadores.get(tipo).tentar(chave);
+        if (esperaNanos == 0) return 0;
+
+        // Num ataque seria uma linha por requisição, e a chave pode ser um email: a contagem
+        // fica com a métrica limite.requisicoes.recusadas
+        recusadas.get(tipo).increment();
+        log.debug("Limite {} excedido", tipo.getPropriedade());
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Como {@link #verificar}, mas lança exceção (respondida com 429) quando o limite é excedido.
+     */
+    public void exigir(TipoLimite tipo, String chave) {
+        long segundos = verificar(tipo, chave);
+        if (segundos > 0) {
+            throw new LimiteRequisicoesExcedidoException(segundos);
+        }
+    }
+}
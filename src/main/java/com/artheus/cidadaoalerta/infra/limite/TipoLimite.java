@@ -0,0 +1,44 @@
+package com.artheus.cidadaoalerta.infra.limite;
+
+import java.time.Duration;
+
+/**
+ * Limites de taxa aplicados às rotas sensíveis. Cada um é configurado em
+ * {@code limite.<propriedade>.requisicoes} e {@code limite.<propriedade>.periodo}.
+ */
+public enum TipoLimite {
+
+    /** Login e renovação de token, por IP de origem */
+    AUTENTICACAO_IP("autenticacao-ip", 30, Duration.ofMinutes(1)),
+
+    /** Tentativas de login para o mesmo email, de qualquer origem */
+    AUTENTICACAO_EMAIL("autenticacao-email", 5, Duration.ofMinutes(1)),
+
+    /** Cadastro de usuários, por IP de origem */
+    CADASTRO_IP("cadastro-ip", 10, Duration.ofMinutes(1)),
+
+    /** Criação, alteração e exclusão de reclamações, por usuário autenticado */
+    ESCRITA_RECLAMACAO("escrita-reclamacao", 30, Duration.ofMinutes(1));
+
+    private final String propriedade;
+    private final int requisicoesPadrao;
+    private final Duration periodoPadrao;
+
+    TipoLimite(String propriedade, int requisicoesPadrao, Duration periodoPadrao) {
+        this.propriedade = propriedade;
+        this.requisicoesPadrao = requisicoesPadrao;
+        this.periodoPadrao = periodoPadrao;
+    }
+
+    public String getPropriedade() {
+        return propriedade;
+    }
+
+    public int getRequisicoesPadrao() {
+        return requisicoesPadrao;
+    }
+
+    public Duration getPeriodoPadrao() {
+        return periodoPadrao;
+    }
+}
@@ -0,0 +1,33 @@
+package com.artheus.cidadaoalerta.listener;
+
+import com.artheus.cidadaoalerta.event.ReclamacaoEvent;
+import com.artheus.cidadaoalerta.event.UsuarioEvent;
+import com.artheus.cidadaoalerta.model.enums.TipoEventoUsuario;
+import com.artheus.cidadaoalerta.service.exportacao.CacheExportacao;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Remove do cache de exportações os arquivos afetados por alterações de reclamações e usuários.
+ * Roda depois do commit para que a próxima exportação já leia os dados novos.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheExportacaoListener {
+
+    private final CacheExportacao cacheExportacao;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleReclamacaoEvent(ReclamacaoEvent event) {
+        cacheExportacao.invalidar(event.reclamacao(), event.tipoEvento());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleUsuarioEvent(UsuarioEvent event) {
+        if (event.tipoEvento() == TipoEventoUsuario.ATUALIZADO) {
+            cacheExportacao.invalidarUsuario(event.usuario().getId());
+        }
+    }
+}
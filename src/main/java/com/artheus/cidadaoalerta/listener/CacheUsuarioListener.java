@@ -0,0 +1,27 @@
+package com.artheus.cidadaoalerta.listener;
+
+import com.artheus.cidadaoalerta.event.UsuarioEvent;
+import com.artheus.cidadaoalerta.model.enums.TipoEventoUsuario;
+import com.artheus.cidadaoalerta.security.UsuarioDetailsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Remove do cache de autenticação o usuário alterado, inativado ou removido, para que a
+ * próxima requisição já enxergue o estado novo (um usuário inativado perde o acesso na hora).
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheUsuarioListener {
+
+    private final UsuarioDetailsService usuarioDetailsService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleUsuarioEvent(UsuarioEvent event) {
+        if (event.tipoEvento() != TipoEventoUsuario.CRIADO && event.usuario().getId() != null) {
+            usuarioDetailsService.invalidar(event.usuario().getId());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.artheus.cidadaoalerta.listener;
+
+import com.artheus.cidadaoalerta.event.UsuarioEvent;
+import com.artheus.cidadaoalerta.model.enums.TipoEventoUsuario;
+import com.artheus.cidadaoalerta.security.VerificadorCarimboSeguranca;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Descarta o carimbo de segurança em memória quando o usuário muda, para que tokens revogados
+ * por troca de senha, email ou inativação deixem de valer já na próxima requisição.
+ */
+@Component
+@RequiredArgsConstructor
+public class CarimboSegurancaListener {
+
+    private final VerificadorCarimboSeguranca verificadorCarimbo;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleUsuarioEvent(UsuarioEvent event) {
+        if (event.tipoEvento() != TipoEventoUsuario.CRIADO && event.usuario().getId() != null) {
+            verificadorCarimbo.invalidar(event.usuario().getId());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.artheus.cidadaoalerta.listener;
+
+import com.artheus.cidadaoalerta.event.ReclamacaoEvent;
+import com.artheus.cidadaoalerta.service.ContagemReclamacoes;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Descarta os totais em cache afetados por alterações de reclamações. Roda depois do commit
+ * para que o próximo COUNT já veja a alteração.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContagemReclamacoesListener {
+
+    private final ContagemReclamacoes contagemReclamacoes;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleReclamacaoEvent(ReclamacaoEvent event) {
+        contagemReclamacoes.invalidar(event.reclamacao(), event.tipoEvento());
+    }
+}
@@ -15,6 +15,7 @@ public interface ReclamacaoMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "version", ignore = true)
     @Mapping(target = "dataCriacao", ignore = true)
+    @Mapping(target = "dataAtualizacao", ignore = true)
     @Mapping(target = "ativo", ignore = true)
     @Mapping(target = "status", expression = "java(com.artheus.cidadaoalerta.model.enums.StatusReclamacao.ABERTA)")
     @Mapping(target = "usuario", source = "usuario")
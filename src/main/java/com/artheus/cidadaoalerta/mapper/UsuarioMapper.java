@@ -4,6 +4,7 @@ import com.artheus.cidadaoalerta.model.Usuario;
 import com.artheus.cidadaoalerta.dto.AtualizacaoUsuario;
 import com.artheus.cidadaoalerta.dto.CadastroUsuario;
 import com.artheus.cidadaoalerta.dto.DetalhamentoUsuario;
+import com.artheus.cidadaoalerta.security.UsuarioDetalhes;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
@@ -19,6 +20,8 @@ public interface UsuarioMapper {
     // Entity → DTO de saída
     DetalhamentoUsuario toDetalhamentoDto(Usuario usuario);
 
+    DetalhamentoUsuario toDetalhamentoDto(UsuarioDetalhes usuario);
+
     // Atualiza uma entidade existente a partir de um DTO, ignorando nulos
     void updateUsuarioFromDto(AtualizacaoUsuario dto, @MappingTarget Usuario usuario);
 }
@@ -12,6 +12,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
@@ -24,6 +25,17 @@ import java.time.LocalDateTime;
         name = "reclamacao",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"titulo", "usuario_id"})
+        },
+        // Mesmos índices das migrations, para que o schema gerado nos testes tenha os mesmos planos
+        indexes = {
+                @Index(name = "idx_reclamacao_data_atualizacao_id", columnList = "data_atualizacao, id"),
+                @Index(name = "idx_reclamacao_ativo_data_criacao_id", columnList = "ativo, data_criacao, id"),
+                @Index(name = "idx_reclamacao_usuario_titulo_ativo", columnList = "usuario_id, titulo, ativo"),
+                @Index(name = "idx_reclamacao_status_categoria_data_criacao",
+                        columnList = "status, categoria_reclamacao, data_criacao, data_atualizacao"),
+                @Index(name = "idx_reclamacao_categoria_data_criacao",
+                        columnList = "categoria_reclamacao, data_criacao, data_atualizacao"),
+                @Index(name = "idx_reclamacao_data_criacao", columnList = "data_criacao, data_atualizacao")
         }
 )
 public class Reclamacao {
@@ -55,6 +67,10 @@ public class Reclamacao {
     @CreationTimestamp
     private LocalDateTime dataCriacao;
 
+    // Atualizada em toda escrita (inclusive inativação); base da exportação incremental
+    @UpdateTimestamp
+    private LocalDateTime dataAtualizacao;
+
     @ManyToOne(optional = false)
     @JoinColumn(name = "usuario_id")
     @JsonBackReference // evita loop na serialização
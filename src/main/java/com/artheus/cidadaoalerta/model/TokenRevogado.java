@@ -0,0 +1,31 @@
+package com.artheus.cidadaoalerta.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token revogado antes da expiração (logout). Só precisa ser lembrado até expirar;
+ * depois disso a própria assinatura já o recusa e a linha pode ser apagada.
+ */
+@Entity
+@Table(name = "token_revogado", indexes = @Index(name = "idx_token_revogado_expiracao", columnList = "expiracao"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevogado {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private LocalDateTime expiracao;
+}
@@ -32,7 +32,9 @@ public class Usuario implements UserDetails {
     @Size(min = 8, max = 20)
     String nome;
 
+    // UNIQUE como na migration V1: login e autenticação buscam o usuário pelo email
     @Email(message = "Formato de email inválido")
+    @Column(unique = true)
     String email;
 
     @Size(min = 10, message = "Senha deve ter no mínimo 10 caracteres")
@@ -49,6 +51,17 @@ public class Usuario implements UserDetails {
     @JsonManagedReference //controla o lado "pai" da relação
     private List<Reclamacao> reclamacoes = new ArrayList<>();
 
+    // Vai dentro do JWT; mudar o valor revoga todos os tokens já emitidos para o usuário
+    @Column(name = "carimbo_seguranca", nullable = false)
+    private long carimboSeguranca;
+
+    /**
+     * Invalida os tokens emitidos até agora (troca de senha ou email, inativação).
+     */
+    public void renovarCarimboSeguranca() {
+        carimboSeguranca++;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         List<GrantedAuthority> authorities = new ArrayList<>();
@@ -0,0 +1,6 @@
+package com.artheus.cidadaoalerta.model.enums;
+
+public enum CompressaoExportacao {
+    NENHUMA,
+    GZIP
+}
@@ -0,0 +1,13 @@
+package com.artheus.cidadaoalerta.model.enums;
+
+/**
+ * Como o total de uma listagem paginada é obtido.
+ */
+public enum EstrategiaContagem {
+    /** COUNT a cada chamada. */
+    EXATA,
+    /** COUNT guardado por filtro e descartado quando uma reclamação que o afeta muda. */
+    CACHE,
+    /** Quantidade de linhas das estatísticas da tabela; só sem filtros, senão usa o cache. */
+    ESTIMADA
+}
@@ -0,0 +1,22 @@
+package com.artheus.cidadaoalerta.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum FormatoExportacao {
+    CSV("text/csv; charset=UTF-8", "csv", true),
+    NDJSON("application/x-ndjson", "ndjson", true),
+    GEOJSON("application/geo+json", "geojson", false);
+
+    private final String contentType;
+    private final String extensao;
+
+    // Formatos em que cada linha é independente das vizinhas podem ser gerados em partições paralelas
+    private final boolean particionavel;
+
+    FormatoExportacao(String contentType, String extensao, boolean particionavel) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+        this.particionavel = particionavel;
+    }
+}
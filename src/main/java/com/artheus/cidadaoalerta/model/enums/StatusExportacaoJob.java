@@ -0,0 +1,8 @@
+package com.artheus.cidadaoalerta.model.enums;
+
+public enum StatusExportacaoJob {
+    PENDENTE,
+    EM_EXECUCAO,
+    CONCLUIDO,
+    FALHOU
+}
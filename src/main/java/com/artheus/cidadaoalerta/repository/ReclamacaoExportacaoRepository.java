@@ -0,0 +1,73 @@
+package com.artheus.cidadaoalerta.repository;
+
+import com.artheus.cidadaoalerta.dto.IntervaloIds;
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+import com.artheus.cidadaoalerta.dto.VersaoDados;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Consultas da exportação CSV, montadas com Criteria a partir de
+ * {@link ReclamacaoSpecifications#porFiltros}: só os filtros informados entram no SQL, então o
+ * banco escolhe o índice pelos critérios presentes, como na busca por filtros.
+ */
+public interface ReclamacaoExportacaoRepository {
+
+    /**
+     * Reclamações dos filtros lidas de um cursor forward-only em vez de carregadas numa lista.
+     * Busca só as colunas exportadas, com o nome do usuário no mesmo JOIN, e devolve projeções
+     * que não ficam no contexto de persistência. O fetch size evita que o driver traga o
+     * resultado inteiro para a memória; no MySQL isso depende de {@code useCursorFetch=true}, que
+     * o pool de exportação já define.
+     * O Stream deve ser consumido e fechado dentro de uma transação.
+     */
+    Stream<ReclamacaoExportacao> streamExportacaoPorFiltrosCompletos(
+            StatusReclamacao status,
+            Long usuarioId,
+            CategoriaReclamacao categoria,
+            LocalDateTime startDate,
+            LocalDateTime endDate
+    );
+
+    /**
+     * Igual a {@link #streamExportacaoPorFiltrosCompletos}, restrito à faixa de ids
+     * [idInicio, idFim]. Cada partição da exportação paralela lê sua faixa com este método.
+     */
+    Stream<ReclamacaoExportacao> streamExportacaoPorFiltrosEIntervaloIds(
+            StatusReclamacao status,
+            Long usuarioId,
+            CategoriaReclamacao categoria,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Long idInicio,
+            Long idFim
+    );
+
+    /**
+     * Menor e maior id entre as reclamações que atendem aos filtros da exportação.
+     * Usado para dividir a exportação em partições por faixa de id.
+     */
+    IntervaloIds buscarIntervaloIdsPorFiltrosCompletos(
+            StatusReclamacao status,
+            Long usuarioId,
+            CategoriaReclamacao categoria,
+            LocalDateTime startDate,
+            LocalDateTime endDate
+    );
+
+    /**
+     * Quantidade e maior data de atualização das reclamações que atendem aos filtros da exportação.
+     * Qualquer inclusão, alteração ou saída de linha do filtro muda um dos dois valores, então o
+     * par serve de versão dos dados para o cache de exportações.
+     */
+    VersaoDados buscarVersaoDadosPorFiltrosCompletos(
+            StatusReclamacao status,
+            Long usuarioId,
+            CategoriaReclamacao categoria,
+            LocalDateTime startDate,
+            LocalDateTime endDate
+    );
+}
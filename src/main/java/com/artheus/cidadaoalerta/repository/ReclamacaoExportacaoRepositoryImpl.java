@@ -0,0 +1,93 @@
+package com.artheus.cidadaoalerta.repository;
+
+import com.artheus.cidadaoalerta.dto.IntervaloIds;
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+import com.artheus.cidadaoalerta.dto.VersaoDados;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static com.artheus.cidadaoalerta.repository.ReclamacaoRepository.TAMANHO_LOTE_EXPORTACAO;
+
+/**
+ * Implementação de {@link ReclamacaoExportacaoRepository}, ligada ao {@link ReclamacaoRepository}
+ * pelo sufixo {@code Impl}.
+ */
+@RequiredArgsConstructor
+class ReclamacaoExportacaoRepositoryImpl implements ReclamacaoExportacaoRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<ReclamacaoExportacao> streamExportacaoPorFiltrosCompletos(StatusReclamacao status, Long usuarioId,
+                                                                            CategoriaReclamacao categoria,
+                                                                            LocalDateTime startDate, LocalDateTime endDate) {
+        return streamExportacao(ReclamacaoSpecifications.porFiltros(status, usuarioId, categoria, startDate, endDate));
+    }
+
+    @Override
+    public Stream<ReclamacaoExportacao> streamExportacaoPorFiltrosEIntervaloIds(StatusReclamacao status, Long usuarioId,
+                                                                                CategoriaReclamacao categoria,
+                                                                                LocalDateTime startDate, LocalDateTime endDate,
+                                                                                Long idInicio, Long idFim) {
+        Specification<Reclamacao> faixa = (root, query, cb) -> cb.between(root.get("id"), idInicio, idFim);
+        return streamExportacao(faixa.and(ReclamacaoSpecifications.porFiltros(status, usuarioId, categoria, startDate, endDate)));
+    }
+
+    @Override
+    public IntervaloIds buscarIntervaloIdsPorFiltrosCompletos(StatusReclamacao status, Long usuarioId,
+                                                              CategoriaReclamacao categoria,
+                                                              LocalDateTime startDate, LocalDateTime endDate) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IntervaloIds> query = cb.createQuery(IntervaloIds.class);
+        Root<Reclamacao> r = query.from(Reclamacao.class);
+        query.select(cb.construct(IntervaloIds.class, cb.min(r.get("id")), cb.max(r.get("id"))))
+                .where(ReclamacaoSpecifications.porFiltros(status, usuarioId, categoria, startDate, endDate)
+                        .toPredicate(r, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    @Override
+    public VersaoDados buscarVersaoDadosPorFiltrosCompletos(StatusReclamacao status, Long usuarioId,
+                                                            CategoriaReclamacao categoria,
+                                                            LocalDateTime startDate, LocalDateTime endDate) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<VersaoDados> query = cb.createQuery(VersaoDados.class);
+        Root<Reclamacao> r = query.from(Reclamacao.class);
+        // MAX de data: no Criteria, max/min são só para números; greatest é o equivalente
+        query.select(cb.construct(VersaoDados.class, cb.count(r), cb.greatest(r.<LocalDateTime>get("dataAtualizacao"))))
+                .where(ReclamacaoSpecifications.porFiltros(status, usuarioId, categoria, startDate, endDate)
+                        .toPredicate(r, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Stream<ReclamacaoExportacao> streamExportacao(Specification<Reclamacao> filtros) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReclamacaoExportacao> query = cb.createQuery(ReclamacaoExportacao.class);
+        Root<Reclamacao> r = query.from(Reclamacao.class);
+        Join<Reclamacao, Usuario> u = r.join("usuario");
+        query.select(cb.construct(ReclamacaoExportacao.class,
+                        r.get("id"), r.get("titulo"), r.get("descricao"), r.get("categoriaReclamacao"), r.get("status"),
+                        r.get("localizacao").get("latitude"), r.get("localizacao").get("longitude"),
+                        r.get("dataCriacao"), u.get("nome")))
+                .where(filtros.toPredicate(r, query, cb))
+                .orderBy(cb.asc(r.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, TAMANHO_LOTE_EXPORTACAO)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultStream();
+    }
+}
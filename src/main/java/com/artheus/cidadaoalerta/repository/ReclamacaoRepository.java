@@ -1,11 +1,19 @@
 package com.artheus.cidadaoalerta.repository;
 
+import com.artheus.cidadaoalerta.dto.DetalhamentoReclamacao;
+import com.artheus.cidadaoalerta.dto.ReclamacaoDelta;
 import com.artheus.cidadaoalerta.model.Reclamacao;
 import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
 import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -13,7 +21,21 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface ReclamacaoRepository extends JpaRepository<Reclamacao, Long> {
+public interface ReclamacaoRepository extends JpaRepository<Reclamacao, Long>, JpaSpecificationExecutor<Reclamacao>,
+        ReclamacaoExportacaoRepository {
+
+    /**
+     * Quantidade de linhas buscadas por ida ao banco nas exportações em streaming.
+     */
+    int TAMANHO_LOTE_EXPORTACAO = 500;
+
+    /**
+     * Constructor expression de {@link DetalhamentoReclamacao}, com a reclamação em {@code r}
+     * e o usuário em {@code u}.
+     */
+    String DETALHAMENTO = "new com.artheus.cidadaoalerta.dto.DetalhamentoReclamacao(" +
+            "r.id, r.titulo, r.descricao, r.categoriaReclamacao, r.localizacao.latitude, r.localizacao.longitude, " +
+            "r.status, r.dataCriacao, u.id, u.nome)";
 
     // ======================= MÉTODOS PÚBLICOS SIMPLES =======================
 
@@ -28,9 +50,29 @@ public interface ReclamacaoRepository extends JpaRepository<Reclamacao, Long> {
     Page<Reclamacao> findByAtivoTrue(Pageable pageable);
 
     /**
-     * Verifica se uma reclamação pertence a um usuário específico (por e-mail).
+     * Página de reclamações ativas já no formato de resposta, sem o COUNT (que fica a cargo de
+     * quem chama). Uma única consulta com o JOIN do usuário preenche o DTO: nenhuma entidade é
+     * carregada, então a senha e as demais colunas do usuário não são lidas e nada entra no
+     * contexto de persistência.
+     */
+    @Query("SELECT " + DETALHAMENTO + " FROM Reclamacao r JOIN r.usuario u WHERE r.ativo = true")
+    List<DetalhamentoReclamacao> listarDetalhamentosAtivos(Pageable pageable);
+
+    /**
+     * Detalhes de uma reclamação ativa, pela mesma projeção da listagem.
      */
-    boolean existsByIdAndUsuario_Email(Long reclamacaoId, String email);
+    @Query("SELECT " + DETALHAMENTO + " FROM Reclamacao r JOIN r.usuario u WHERE r.id = :id AND r.ativo = true")
+    Optional<DetalhamentoReclamacao> buscarDetalhamentoAtivo(@Param("id") Long id);
+
+    long countByAtivoTrue();
+
+    /**
+     * Lista reclamações ativas a partir de uma posição (keyset): a consulta continua depois das
+     * chaves da posição em vez de pular linhas com OFFSET, e não executa COUNT. O usuário vem
+     * na mesma consulta.
+     */
+    @EntityGraph(attributePaths = "usuario")
+    Window<Reclamacao> findByAtivoTrue(ScrollPosition posicao, Sort sort, Limit limite);
 
     /**
      * Busca uma reclamação (ativa ou inativa) pelo título e ID do usuário.
@@ -75,39 +117,57 @@ public interface ReclamacaoRepository extends JpaRepository<Reclamacao, Long> {
 
     List<Reclamacao> findByStatusIn(List<StatusReclamacao> statuses);
 
-    // ======================= CONSULTAS PERSONALIZADAS COM @Query =======================
+    // ======================= CONSULTAS COM FILTROS OPCIONAIS =======================
 
     /**
      * Consulta completa com filtros de status, usuário e intervalo de datas.
-     * Útil para relatórios CSV ou dashboards.
+     * Útil para relatórios CSV ou dashboards. O intervalo só é aplicado com as duas datas.
      */
-    @Query("SELECT r FROM Reclamacao r WHERE " +
-            "(:status IS NULL OR r.status = :status) AND " +
-            "(:usuarioId IS NULL OR r.usuario.id = :usuarioId) AND " +
-            "(:startDate IS NULL OR :endDate IS NULL OR r.dataCriacao BETWEEN :startDate AND :endDate)")
-    List<Reclamacao> buscarReclamacoesFiltradas(
-            @Param("status") StatusReclamacao status,
-            @Param("usuarioId") Long usuarioId,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate
-    );
+    default List<Reclamacao> buscarReclamacoesFiltradas(
+            StatusReclamacao status,
+            Long usuarioId,
+            LocalDateTime startDate,
+            LocalDateTime endDate
+    ) {
+        boolean intervalo = startDate != null && endDate != null;
+        return findAll(ReclamacaoSpecifications.porFiltros(status, usuarioId, null,
+                intervalo ? startDate : null, intervalo ? endDate : null));
+    }
 
     /**
      * Consulta mais completa ainda, com todos os filtros principais.
      * Inclui categoria, status, usuário e intervalo de datas.
      * Ideal para exportação CSV.
      */
-    @Query("SELECT r FROM Reclamacao r WHERE " +
-            "(:status IS NULL OR r.status = :status) AND " +
-            "(:usuarioId IS NULL OR r.usuario.id = :usuarioId) AND " +
-            "(:categoria IS NULL OR r.categoriaReclamacao = :categoria) AND " +
-            "(:startDate IS NULL OR r.dataCriacao >= :startDate) AND " +
-            "(:endDate IS NULL OR r.dataCriacao <= :endDate)")
-    List<Reclamacao> buscarReclamacoesPorFiltrosCompletos(
-            @Param("status") StatusReclamacao status,
-            @Param("usuarioId") Long usuarioId,
-            @Param("categoria") CategoriaReclamacao categoria,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate
+    default List<Reclamacao> buscarReclamacoesPorFiltrosCompletos(
+            StatusReclamacao status,
+            Long usuarioId,
+            CategoriaReclamacao categoria,
+            LocalDateTime startDate,
+            LocalDateTime endDate
+    ) {
+        return findAll(ReclamacaoSpecifications.porFiltros(status, usuarioId, categoria, startDate, endDate));
+    }
+
+    // ======================= CONSULTAS PERSONALIZADAS COM @Query =======================
+
+    /**
+     * Exportação incremental: reclamações (ativas ou não) alteradas depois da posição
+     * (data, id) e até o limite de estabilização, em ordem de atualização. A comparação
+     * por tupla é feita por extenso para aproveitar o índice (data_atualizacao, id).
+     */
+    @Query("SELECT new com.artheus.cidadaoalerta.dto.ReclamacaoDelta(" +
+            "r.id, r.titulo, r.descricao, r.categoriaReclamacao, r.status, " +
+            "r.localizacao.latitude, r.localizacao.longitude, r.dataCriacao, r.dataAtualizacao, " +
+            "r.ativo, r.version, u.id, u.nome) " +
+            "FROM Reclamacao r JOIN r.usuario u WHERE " +
+            "(r.dataAtualizacao > :data OR (r.dataAtualizacao = :data AND r.id > :id)) AND " +
+            "r.dataAtualizacao <= :ate " +
+            "ORDER BY r.dataAtualizacao, r.id")
+    List<ReclamacaoDelta> buscarAlteracoesDesde(
+            @Param("data") LocalDateTime data,
+            @Param("id") Long id,
+            @Param("ate") LocalDateTime ate,
+            Pageable pageable
     );
 }
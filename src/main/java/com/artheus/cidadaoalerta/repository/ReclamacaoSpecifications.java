@@ -0,0 +1,53 @@
+package com.artheus.cidadaoalerta.repository;
+
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtros de reclamação montados só com os critérios informados. Cada combinação de filtros
+ * gera sempre o mesmo SQL, com os predicados na mesma ordem, então o banco escolhe o índice
+ * pelos critérios presentes e o statement preparado pode ser reaproveitado pelo cache do driver.
+ */
+public final class ReclamacaoSpecifications {
+
+    private ReclamacaoSpecifications() {
+    }
+
+    public static Specification<Reclamacao> ativas() {
+        return (root, query, cb) -> cb.isTrue(root.get("ativo"));
+    }
+
+    public static Specification<Reclamacao> porFiltro(FiltroReclamacaoDTO filtro) {
+        return porFiltros(
+                filtro.status(),
+                filtro.usuarioId(),
+                filtro.categoria(),
+                filtro.getDataInicioLdt().orElse(null),
+                filtro.getDataFimLdt().orElse(null)
+        );
+    }
+
+    /**
+     * Critérios nulos são ignorados; sem nenhum critério, a especificação aceita todas as linhas.
+     */
+    public static Specification<Reclamacao> porFiltros(StatusReclamacao status, Long usuarioId, CategoriaReclamacao categoria,
+                                                      LocalDateTime inicio, LocalDateTime fim) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>(5);
+            if (status != null) predicados.add(cb.equal(root.get("status"), status));
+            if (categoria != null) predicados.add(cb.equal(root.get("categoriaReclamacao"), categoria));
+            if (usuarioId != null) predicados.add(cb.equal(root.get("usuario").get("id"), usuarioId));
+            if (inicio != null) predicados.add(cb.greaterThanOrEqualTo(root.get("dataCriacao"), inicio));
+            if (fim != null) predicados.add(cb.lessThanOrEqualTo(root.get("dataCriacao"), fim));
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.artheus.cidadaoalerta.repository;
+
+import com.artheus.cidadaoalerta.model.TokenRevogado;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+    /**
+     * Insere a revogação sem merge: se o jti já estiver na tabela a chave primária recusa a linha
+     * (DataIntegrityViolationException). Precisa de transação aberta.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO token_revogado (jti, expiracao) VALUES (:jti, :expiracao)", nativeQuery = true)
+    int inserir(@Param("jti") String jti, @Param("expiracao") LocalDateTime expiracao);
+
+    @Query("SELECT COUNT(t) FROM TokenRevogado t WHERE t.expiracao > :agora")
+    long contarNaoExpirados(@Param("agora") LocalDateTime agora);
+
+    /**
+     * Ids dos tokens revogados que ainda não expiraram. Precisa de transação aberta.
+     */
+    @Query("SELECT t.jti FROM TokenRevogado t WHERE t.expiracao > :agora")
+    Stream<String> streamJtisNaoExpirados(@Param("agora") LocalDateTime agora);
+
+    /**
+     * Um lote de ids já expirados, dos mais antigos para os mais novos.
+     */
+    @Query("SELECT t.jti FROM TokenRevogado t WHERE t.expiracao <= :agora ORDER BY t.expiracao")
+    List<String> buscarJtisExpirados(@Param("agora") LocalDateTime agora, Pageable lote);
+}
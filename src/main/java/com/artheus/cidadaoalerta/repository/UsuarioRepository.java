@@ -2,6 +2,8 @@ package com.artheus.cidadaoalerta.repository;
 
 import com.artheus.cidadaoalerta.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +13,13 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     List<Usuario> findAllByAtivoTrue();
 
+    /**
+     * Carimbo de segurança atual do usuário; vazio se ele não existir ou estiver inativo.
+     */
+    @Query("SELECT u.carimboSeguranca FROM Usuario u WHERE u.id = :id AND u.ativo = true")
+    Optional<Long> buscarCarimboSegurancaAtivo(@Param("id") Long id);
+
+    @Query("SELECT u.id FROM Usuario u WHERE u.email = :email")
+    Optional<Long> buscarIdPorEmail(@Param("email") String email);
+
 }
@@ -0,0 +1,175 @@
+package com.artheus.cidadaoalerta.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Chaves de assinatura e verificação dos JWT.
+ * <p>
+ * Com chave privada configurada, os tokens são assinados em ES256 e levam no cabeçalho o
+ * {@code kid} da chave. A verificação escolhe a chave pública pelo {@code kid}, então várias
+ * chaves podem valer ao mesmo tempo durante uma rotação, e nós que só verificam tokens
+ * precisam apenas das chaves públicas. As chaves são decodificadas uma única vez, na criação.
+ * <p>
+ * O segredo HS256 ({@code jwt.secret}) continua aceito para tokens sem {@code kid} enquanto
+ * estiver configurado; sem chave privada, ele também assina (modo anterior).
+ */
+public final class ChavesJwt {
+
+    private final String kidAssinatura;
+    private final Key chaveAssinatura;
+    private final SignatureAlgorithm algoritmo;
+    private final Key segredoHmac;
+    private final Map<String, PublicKey> chavesPublicas;
+    private final SigningKeyResolver resolvedor = new Resolvedor();
+
+    private ChavesJwt(String kidAssinatura, Key chaveAssinatura, SignatureAlgorithm algoritmo,
+                      Key segredoHmac, Map<String, PublicKey> chavesPublicas) {
+        this.kidAssinatura = kidAssinatura;
+        this.chaveAssinatura = chaveAssinatura;
+        this.algoritmo = algoritmo;
+        this.segredoHmac = segredoHmac;
+        this.chavesPublicas = Collections.unmodifiableMap(new LinkedHashMap<>(chavesPublicas));
+    }
+
+    /**
+     * Apenas o segredo compartilhado, assinando e verificando em HS256.
+     */
+    public static ChavesJwt hmac(String segredo) {
+        Key chave = Keys.hmacShaKeyFor(segredo.getBytes(StandardCharsets.UTF_8));
+        return new ChavesJwt(null, chave, SignatureAlgorithm.HS256, chave, Map.of());
+    }
+
+    /**
+     * Monta o chaveiro a partir da configuração. Valores vazios equivalem a não configurados.
+     *
+     * @param segredo        segredo HS256 legado; se informado, tokens sem kid continuam aceitos
+     * @param kidAssinatura  kid da chave privada usada para assinar
+     * @param chavePrivada   chave privada EC P-256 (PKCS#8, em PEM ou Base64 do DER)
+     * @param chavesPublicas kid -> chave pública EC (X.509, em PEM ou Base64 do DER)
+     */
+    public static ChavesJwt criar(String segredo, String kidAssinatura, String chavePrivada, Map<String, String> chavesPublicas) {
+        Map<String, PublicKey> publicas = new LinkedHashMap<>();
+        chavesPublicas.forEach((kid, chave) -> publicas.put(kid, lerChavePublica(chave)));
+
+        Key hmac = vazio(segredo) ? null : Keys.hmacShaKeyFor(segredo.getBytes(StandardCharsets.UTF_8));
+
+        if (!vazio(chavePrivada)) {
+            if (vazio(kidAssinatura) || !publicas.containsKey(kidAssinatura)) {
+                throw new IllegalStateException("A chave pública do kid de assinatura '" + kidAssinatura
+                        + "' precisa estar em jwt.chaves.verificacao");
+            }
+            return new ChavesJwt(kidAssinatura, lerChavePrivada(chavePrivada), SignatureAlgorithm.ES256, hmac, publicas);
+        }
+        if (hmac == null && publicas.isEmpty()) {
+            throw new IllegalStateException("Nenhuma chave JWT configurada (jwt.secret ou jwt.chaves.*)");
+        }
+        // Sem chave privada: assina com o segredo, se houver, ou apenas verifica
+        return new ChavesJwt(null, hmac, hmac != null ? SignatureAlgorithm.HS256 : null, hmac, publicas);
+    }
+
+    // ===================== API PÚBLICA =====================
+
+    /**
+     * Assina o token com a chave ativa, incluindo o kid no cabeçalho quando assimétrica.
+     *
+     * @throws IllegalStateException se este nó só verifica tokens
+     */
+    public JwtBuilder assinar(JwtBuilder builder) {
+        if (chaveAssinatura == null) {
+            throw new IllegalStateException("Nenhuma chave de assinatura configurada: este nó apenas verifica tokens");
+        }
+        if (kidAssinatura != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, kidAssinatura);
+        }
+        return builder.signWith(chaveAssinatura, algoritmo);
+    }
+
+    public SigningKeyResolver getResolvedor() {
+        return resolvedor;
+    }
+
+    public boolean isAssimetrica() {
+        return algoritmo == SignatureAlgorithm.ES256;
+    }
+
+    public Set<String> getKidsVerificacao() {
+        return chavesPublicas.keySet();
+    }
+
+    public static PrivateKey lerChavePrivada(String texto) {
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(decodificar(texto)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Chave privada JWT inválida", e);
+        }
+    }
+
+    public static PublicKey lerChavePublica(String texto) {
+        try {
+            return KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(decodificar(texto)));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Chave pública JWT inválida", e);
+        }
+    }
+
+    // ===================== MÉTODOS PRIVADOS =====================
+
+    private static byte[] decodificar(String texto) {
+        String base64 = texto.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static boolean vazio(String valor) {
+        return valor == null || valor.isBlank();
+    }
+
+    /**
+     * Escolhe a chave pelo cabeçalho: kid conhecido -> chave pública; sem kid -> segredo HS256.
+     * O jjwt recusa a combinação de algoritmo e tipo de chave que não bater (ex.: HS256 com kid).
+     */
+    private final class Resolvedor extends SigningKeyResolverAdapter {
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            return chaveVerificacao(header);
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, String plaintext) {
+            return chaveVerificacao(header);
+        }
+
+        private Key chaveVerificacao(JwsHeader header) {
+            String kid = header.getKeyId();
+            if (kid == null) {
+                if (segredoHmac == null) throw new UnsupportedJwtException("Token sem kid");
+                return segredoHmac;
+            }
+
+            PublicKey chave = chavesPublicas.get(kid);
+            if (chave == null) throw new UnsupportedJwtException("kid desconhecido: " + kid);
+            return chave;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.artheus.cidadaoalerta.security;
+
+import com.artheus.cidadaoalerta.exception.usuario.ProcessamentoSenhaSobrecarregadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt executado num pool de threads próprio e limitado. Cada hash ou verificação ocupa a
+ * requisição só enquanto espera o resultado; quando as threads e a fila estão ocupadas a
+ * chamada é recusada na hora com {@link ProcessamentoSenhaSobrecarregadoException} (429),
+ * então uma rajada de logins ou cadastros não prende todas as threads do Tomcat.
+ * <p>
+ * {@link #upgradeEncoding} indica hashes com custo diferente do configurado; o
+ * {@code DaoAuthenticationProvider} usa isso para refazer o hash no login bem-sucedido
+ * (ver {@link UsuarioDetailsService#updatePassword}).
+ */
+@Component
+public class CodificadorSenha implements PasswordEncoder {
+
+    private static final Pattern CUSTO_BCRYPT = Pattern.compile("^\\$2[abyx]?\\$(\\d{2})\\$");
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final int custo;
+    private final ThreadPoolExecutor executor;
+    private final long segundosParaNovaTentativa;
+    private final Counter recusadas;
+
+    public CodificadorSenha(
+            @Value("${seguranca.senha.custo-bcrypt:10}") int custo,
+            @Value("${seguranca.senha.threads:0}") int threads,
+            @Value("${seguranca.senha.fila:32}") int fila,
+            @Value("${seguranca.senha.nova-tentativa:2s}") Duration novaTentativa,
+            MeterRegistry registry
+    ) {
+        this.bcrypt = new BCryptPasswordEncoder(custo);
+        this.custo = custo;
+        this.segundosParaNovaTentativa = Math.max(1, novaTentativa.toSeconds());
+
+        // BCrypt só usa CPU: por padrão uma thread por núcleo
+        int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(tamanhoPool, tamanhoPool, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fila), new CustomizableThreadFactory("hash-senha-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.recusadas = Counter.builder("seguranca.senha.recusadas")
+                .description("Hashes de senha recusados por fila cheia")
+                .register(registry);
+        Gauge.builder("seguranca.senha.fila", executor, e -> e.getQueue().size())
+                .description("Hashes de senha aguardando thread")
+                .register(registry);
+        Gauge.builder("seguranca.senha.ativas", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashes de senha em cálculo")
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence senha) {
+        return executar(() -> bcrypt.encode(senha));
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String hash) {
+        return executar(() -> bcrypt.matches(senha, hash));
+    }
+
+    /**
+     * Ao contrário do BCryptPasswordEncoder, que só sobe o custo, considera desatualizado
+     * qualquer hash com custo diferente do configurado, para permitir também baixá-lo.
+     */
+    @Override
+    public boolean upgradeEncoding(String hash) {
+        if (hash == null) return false;
+        Matcher matcher = CUSTO_BCRYPT.matcher(hash);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != custo;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    // ===================== MÉTODOS PRIVADOS =====================
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> resultado;
+        try {
+            resultado = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            recusadas.increment();
+            throw new ProcessamentoSenhaSobrecarregadoException(segundosParaNovaTentativa);
+        }
+
+        try {
+            return resultado.get();
+        } catch (InterruptedException e) {
+            resultado.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o hash da senha", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Erro ao calcular hash da senha", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.artheus.cidadaoalerta.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para strings, seguro para uso concorrente sem locks. Responde "com certeza
+ * não está" ou "talvez esteja"; a taxa de falsos positivos fica perto da informada enquanto
+ * o número de elementos não passar do esperado. Elementos não podem ser removidos: para
+ * descartar os antigos, monta-se um filtro novo.
+ */
+public final class FiltroBloom {
+
+    private final AtomicLongArray palavras;
+    private final long totalBits;
+    private final int funcoesHash;
+
+    /**
+     * @param elementosEsperados  quantos elementos o filtro deve comportar
+     * @param taxaFalsoPositivo   fração de falsos positivos aceitável com essa quantidade (ex.: 0.01)
+     */
+    public FiltroBloom(long elementosEsperados, double taxaFalsoPositivo) {
+        long n = Math.max(1, elementosEsperados);
+        long bits = (long) Math.ceil(-n * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palavrasNecessarias = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+
+        this.palavras = new AtomicLongArray(palavrasNecessarias);
+        this.totalBits = (long) palavrasNecessarias * 64;
+        this.funcoesHash = Math.max(1, (int) Math.round((double) totalBits / n * Math.log(2)));
+    }
+
+    public void adicionar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < funcoesHash; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, totalBits);
+            int indice = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            // Escrita sem lock: só liga bits, então tentativas simultâneas não se anulam
+            long atual = palavras.get(indice);
+            while ((atual & mascara) == 0 && !palavras.compareAndSet(indice, atual, atual | mascara)) {
+                atual = palavras.get(indice);
+            }
+        }
+    }
+
+    public boolean podeConter(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 0; i < funcoesHash; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, totalBits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido da finalização do MurmurHash3, para espalhar bem os bits
+     * usados nas duas metades (hashing duplo de Kirsch-Mitzenmacher).
+     */
+    private static long hash64(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,5 +1,6 @@
 package com.artheus.cidadaoalerta.security;
 
+import com.artheus.cidadaoalerta.model.enums.Role;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +15,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Filtro responsável por interceptar requisições e validar JWT.
@@ -25,6 +27,8 @@ public class FiltroJwt extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final VerificadorCarimboSeguranca verificadorCarimbo;
+    private final ListaRevogacao listaRevogacao;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -36,8 +40,14 @@ public class FiltroJwt extends OncePerRequestFilter {
 
         if (token != null) {
             try {
-                if (jwtService.validarToken(token)) {
-                    autenticarUsuario(token);
+                Optional<TokenVerificado> verificado = jwtService.verificarToken(token);
+                if (verificado.isPresent()) {
+                    verificarRevogacao(verificado.get());
+                    if (verificado.get().isSemEstado()) {
+                        autenticarPorClaims(verificado.get());
+                    } else {
+                        autenticarUsuario(verificado.get());
+                    }
                     log.debug("Token válido para requisição [{} {}]", request.getMethod(), request.getRequestURI());
                 } else {
                     log.warn("Token inválido ou expirado - IP: {}, Rota: {}",
@@ -70,31 +80,67 @@ public class FiltroJwt extends OncePerRequestFilter {
     }
 
     /**
-     * Autentica o usuário no contexto do Spring Security.
-     * Lança ServletException se o usuário não existir no banco.
+     * Recusa tokens encerrados por logout. O filtro de Bloom responde a grande maioria
+     * sem ir ao banco.
      */
-    private void autenticarUsuario(String token) throws ServletException {
-        String email = jwtService.getEmailUsuario(token);
+    private void verificarRevogacao(TokenVerificado token) throws ServletException {
+        if (token.jti() != null && listaRevogacao.isRevogado(token.jti())) {
+            log.warn("Token encerrado por logout: {}", token.email());
+            throw new ServletException("Token revogado");
+        }
+    }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+    /**
+     * Autentica com um principal montado das claims do token, sem consultar o banco.
+     * Lança ServletException se o carimbo do token não for mais o atual do usuário.
+     */
+    private void autenticarPorClaims(TokenVerificado token) throws ServletException {
+        if (!verificadorCarimbo.isValido(token.usuarioId(), token.carimbo())) {
+            log.warn("Token revogado para o usuário id={}", token.usuarioId());
+            throw new ServletException("Token revogado");
+        }
 
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsuarioAutenticado principal = new UsuarioAutenticado(
+                    token.usuarioId(), token.email(), Role.valueOf(token.role()));
+
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+            log.debug("Usuário autenticado pelo token: {}", token.email());
+        }
+    }
 
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-                log.info("Usuário autenticado: {}", email);
+    /**
+     * Autentica o usuário no contexto do Spring Security a partir do token já verificado.
+     * Lança ServletException se o usuário não existir no banco ou estiver inativo.
+     */
+    private void autenticarUsuario(TokenVerificado token) throws ServletException {
+        String email = token.email();
 
+        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails;
+            try {
+                userDetails = userDetailsService.loadUserByUsername(email);
             } catch (Exception e) {
                 // Usuário do token não encontrado -> retorna 401
                 log.warn("Usuário do token não encontrado: {}", email);
                 throw new ServletException("Usuário não encontrado");
             }
+
+            if (!userDetails.isEnabled()) {
+                log.warn("Usuário do token está inativo: {}", email);
+                throw new ServletException("Usuário inativo");
+            }
+
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            log.info("Usuário autenticado: {}", email);
         }
     }
 }
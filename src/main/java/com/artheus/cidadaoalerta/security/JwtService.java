@@ -1,66 +1,225 @@
 package com.artheus.cidadaoalerta.security;
 
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtService {
 
-    private final Key key;
+    private static final long TAMANHO_CACHE_PADRAO = 10_000;
+    private static final String CLAIM_ID = "id";
+    private static final String CLAIM_CARIMBO = "carimbo";
+    private static final String CLAIM_TIPO = "tipo";
+    private static final String TIPO_RENOVACAO = "renovacao";
+    private static final long EXPIRACAO_RENOVACAO_PADRAO = 7L * 24 * 60 * 60 * 1000;
+
+    private final ChavesJwt chaves;
     private final long expiration;
+    private final long expiracaoRenovacao;
+    private final boolean semEstado;
+
+    // O parser é imutável e thread-safe: montado uma vez em vez de a cada token
+    private final JwtParser parser;
+
+    // Hash SHA-256 do token -> dados já verificados. Cada entrada expira junto com o token
+    private final Cache<ByteBuffer, TokenVerificado> verificados;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
 
+    public JwtService(String secret, long expiration) {
+        this(secret, expiration, EXPIRACAO_RENOVACAO_PADRAO, TAMANHO_CACHE_PADRAO, true);
+    }
+
+    public JwtService(String secret, long expiration, long expiracaoRenovacao, long tamanhoCache, boolean semEstado) {
+        this(ChavesJwt.hmac(secret), expiration, expiracaoRenovacao, tamanhoCache, semEstado);
+    }
+
+    @Autowired
     public JwtService(
-            @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration}") long expiration
+            ChavesJwt chaves,
+            @Value("${jwt.expiration}") long expiration,
+            @Value("${jwt.renovacao.expiracao:604800000}") long expiracaoRenovacao,
+            @Value("${jwt.cache.tamanho-maximo:10000}") long tamanhoCache,
+            @Value("${jwt.autenticacao.sem-estado:true}") boolean semEstado
     ) {
-        this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.chaves = chaves;
         this.expiration = expiration;
+        this.expiracaoRenovacao = expiracaoRenovacao;
+        this.semEstado = semEstado;
+        // A chave de cada token é escolhida pelo kid do cabeçalho (ver ChavesJwt)
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(chaves.getResolvedor()).build();
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoCache)
+                .expireAfter(new ExpiraComToken())
+                .build();
     }
 
     /**
-     * Aqui gera token com email e role
+     * Aqui gera token com email e role. Na autenticação sem estado, inclui também o id e o
+     * carimbo de segurança do usuário, que bastam para autenticar sem consultar o banco.
      */
     public String gerarToken(UserDetails userDetails) {
         String role = userDetails.getAuthorities().iterator().next().getAuthority();
 
-        return Jwts.builder()
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("role", role);                      //  inclui role no payload
+        UsuarioDetalhes usuario = semEstado ? detalhes(userDetails) : null;
+        if (usuario != null && usuario.id() != null) {
+            claims.put(CLAIM_ID, usuario.id());
+            claims.put(CLAIM_CARIMBO, usuario.carimboSeguranca());
+        }
+
+        return chaves.assinar(Jwts.builder())
                 .setSubject(userDetails.getUsername()) // email
-                .addClaims(Map.of("role", role))       //  inclui role no payload
+                .addClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean validarToken(String token) {
+    /**
+     * Verifica assinatura e validade do token uma única vez e devolve seus dados.
+     * Tokens já verificados são respondidos pelo cache, sem decodificar nem verificar de novo a
+     * assinatura (o ECDSA custa bem mais que o HMAC),
+     * até o instante de expiração de cada um.
+     *
+     * @return dados do token, ou vazio se ele for inválido ou estiver expirado
+     */
+    public Optional<TokenVerificado> verificarToken(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
+
+        ByteBuffer chave = hash(token);
+        TokenVerificado verificado = verificados.getIfPresent(chave);
+        if (verificado != null) {
+            return verificado.isExpiradoEm(Instant.now()) ? Optional.empty() : Optional.of(verificado);
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            // Token de renovação não serve para acessar a API
+            if (claims.get(CLAIM_TIPO) != null) return Optional.empty();
+
+            verificado = new TokenVerificado(
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    semEstado ? claims.get(CLAIM_ID, Long.class) : null,
+                    semEstado ? claims.get(CLAIM_CARIMBO, Long.class) : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : Instant.MAX,
+                    claims.getId()
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        verificados.put(chave, verificado);
+        return Optional.of(verificado);
+    }
+
+    /**
+     * Gera o token de renovação, de vida mais longa, que só é aceito em /auth/refresh.
+     * Leva o id e o carimbo de segurança para ser revogado junto com os tokens de acesso.
+     */
+    public String gerarTokenRenovacao(UsuarioDetalhes usuario) {
+        return chaves.assinar(Jwts.builder())
+                .setSubject(usuario.email())
+                .addClaims(Map.of(
+                        CLAIM_TIPO, TIPO_RENOVACAO,
+                        CLAIM_ID, usuario.id(),
+                        CLAIM_CARIMBO, usuario.carimboSeguranca()))
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + expiracaoRenovacao))
+                .compact();
+    }
+
+    /**
+     * Verifica assinatura, validade e tipo de um token de renovação.
+     *
+     * @return dados do token (sem role), ou vazio se ele for inválido, estiver expirado ou for de acesso
+     */
+    public Optional<TokenVerificado> verificarTokenRenovacao(String token) {
+        if (token == null || token.isBlank()) return Optional.empty();
+
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (!TIPO_RENOVACAO.equals(claims.get(CLAIM_TIPO))) return Optional.empty();
+
+            return Optional.of(new TokenVerificado(
+                    claims.getSubject(),
+                    null,
+                    claims.get(CLAIM_ID, Long.class),
+                    claims.get(CLAIM_CARIMBO, Long.class),
+                    claims.getExpiration().toInstant(),
+                    claims.getId()
+            ));
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
-    public String getEmailUsuario(String token) {
-        return getClaims(token).getSubject();
+    private static UsuarioDetalhes detalhes(UserDetails userDetails) {
+        if (userDetails instanceof UsuarioDetalhes usuario) return usuario;
+        if (userDetails instanceof Usuario usuario) return UsuarioDetalhes.de(usuario);
+        return null;
     }
 
-    public String getRoleUsuario(String token) {
-        return (String) getClaims(token).get("role");
+    private ByteBuffer hash(String token) {
+        return ByteBuffer.wrap(SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Mantém cada entrada no cache só até a expiração do token correspondente.
+     */
+    private static final class ExpiraComToken implements Expiry<ByteBuffer, TokenVerificado> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer chave, TokenVerificado token, long agora) {
+            Duration restante = Duration.between(Instant.now(), token.expiracao());
+            return restante.isNegative() ? 0 : saturar(restante);
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer chave, TokenVerificado token, long agora, long duracaoAtual) {
+            return expireAfterCreate(chave, token, agora);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer chave, TokenVerificado token, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+
+        private static long saturar(Duration duracao) {
+            try {
+                return duracao.toNanos();
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE;
+            }
+        }
     }
 }
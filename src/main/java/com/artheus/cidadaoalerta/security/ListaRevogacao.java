@@ -0,0 +1,176 @@
+package com.artheus.cidadaoalerta.security;
+
+import com.artheus.cidadaoalerta.model.TokenRevogado;
+import com.artheus.cidadaoalerta.repository.TokenRevogadoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Tokens revogados antes de expirar (logout), guardados na tabela token_revogado e
+ * resumidos num {@link FiltroBloom} em memória. A verificação de cada requisição consulta
+ * só o filtro; a tabela é lida apenas quando o filtro diz "talvez revogado" (o token
+ * revogado de fato ou um falso positivo).
+ * <p>
+ * O filtro é remontado periodicamente a partir da tabela, o que descarta os tokens já
+ * expirados e traz as revogações feitas por outras instâncias (que aqui só passam a valer
+ * depois da próxima reconstrução). Até a primeira reconstrução toda verificação vai à tabela.
+ */
+@Slf4j
+@Component
+public class ListaRevogacao {
+
+    private final TokenRevogadoRepository repository;
+    private final TransactionTemplate transacao;
+    private final long capacidadeMinima;
+    private final double taxaFalsoPositivo;
+    private final int tamanhoLoteLimpeza;
+
+    private volatile FiltroBloom filtro;
+    // Recebe também as revogações feitas durante a reconstrução, que a leitura da tabela pode não ver
+    private volatile FiltroBloom emConstrucao;
+
+    private final Counter descartadasPeloFiltro;
+    private final Counter consultasTabela;
+
+    public ListaRevogacao(
+            TokenRevogadoRepository repository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            @Value("${jwt.revogacao.capacidade:100000}") long capacidadeMinima,
+            @Value("${jwt.revogacao.falsos-positivos:0.01}") double taxaFalsoPositivo,
+            @Value("${jwt.revogacao.lote-limpeza:500}") int tamanhoLoteLimpeza
+    ) {
+        this.repository = repository;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.capacidadeMinima = capacidadeMinima;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.tamanhoLoteLimpeza = tamanhoLoteLimpeza;
+
+        this.descartadasPeloFiltro = Counter.builder("jwt.revogacao.consultas")
+                .description("Verificações de revogação de token")
+                .tag("resultado", "filtro")
+                .register(registry);
+        this.consultasTabela = Counter.builder("jwt.revogacao.consultas")
+                .description("Verificações de revogação de token")
+                .tag("resultado", "tabela")
+                .register(registry);
+    }
+
+    // ===================== API PÚBLICA =====================
+
+    /**
+     * Revoga o token até sua expiração. Revogar o mesmo token de novo não tem efeito.
+     */
+    public void revogar(String jti, Instant expiracao) {
+        consumir(jti, expiracao);
+    }
+
+    /**
+     * Revoga o token e informa se foi esta chamada que o revogou. O INSERT na chave primária é
+     * o próprio teste: entre chamadas concorrentes com o mesmo jti (inclusive em outras
+     * instâncias) só uma recebe {@code true}. Serve para tokens de uso único, como o de renovação.
+     *
+     * @return {@code false} se o token já estava revogado
+     */
+    public boolean consumir(String jti, Instant expiracao) {
+        LocalDateTime expiraEm = LocalDateTime.ofInstant(expiracao, ZoneId.systemDefault());
+        boolean inserido;
+        try {
+            transacao.executeWithoutResult(status -> repository.inserir(jti, expiraEm));
+            inserido = true;
+        } catch (DataIntegrityViolationException e) {
+            inserido = false;
+        }
+
+        // emConstrucao é lido antes de filtro: a reconstrução publica o filtro novo antes de limpar
+        // emConstrucao, então se o jti não entrou no filtro em construção, o filtro lido em seguida
+        // já é o novo (ou a reconstrução ainda não tinha começado e a leitura da tabela vai vê-lo)
+        FiltroBloom novo = emConstrucao;
+        if (novo != null) novo.adicionar(jti);
+        FiltroBloom atual = filtro;
+        if (atual != null && atual != novo) atual.adicionar(jti);
+        return inserido;
+    }
+
+    public boolean isRevogado(String jti) {
+        FiltroBloom atual = filtro;
+        if (atual != null && !atual.podeConter(jti)) {
+            descartadasPeloFiltro.increment();
+            return false;
+        }
+
+        consultasTabela.increment();
+        return repository.existsById(jti);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        reconstruir();
+    }
+
+    /**
+     * Monta um filtro novo com os tokens revogados ainda válidos e o coloca no lugar do atual.
+     * O tamanho acompanha a tabela para manter a taxa de falsos positivos. As revogações feitas
+     * enquanto a tabela é lida entram nos dois filtros, então nenhuma se perde na troca.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revogacao.reconstrucao:1m}", initialDelayString = "${jwt.revogacao.reconstrucao:1m}")
+    public synchronized void reconstruir() {
+        LocalDateTime agora = LocalDateTime.now();
+        long quantidade = repository.contarNaoExpirados(agora);
+        FiltroBloom novo = new FiltroBloom(Math.max(capacidadeMinima, quantidade * 2), taxaFalsoPositivo);
+
+        emConstrucao = novo;
+        try {
+            transacao.executeWithoutResult(status -> {
+                try (Stream<String> jtis = repository.streamJtisNaoExpirados(agora)) {
+                    jtis.forEach(novo::adicionar);
+                }
+            });
+            filtro = novo;
+        } finally {
+            emConstrucao = null;
+        }
+        log.debug("Filtro de tokens revogados reconstruído com {} tokens", quantidade);
+    }
+
+    /**
+     * Apaga os tokens revogados já expirados, um lote por transação.
+     *
+     * @return total de linhas apagadas
+     */
+    @Scheduled(fixedDelayString = "${jwt.revogacao.limpeza:1h}", initialDelayString = "${jwt.revogacao.limpeza:1h}")
+    public long removerExpirados() {
+        LocalDateTime agora = LocalDateTime.now();
+        long total = 0;
+
+        while (true) {
+            List<String> lote = transacao.execute(status -> {
+                List<String> jtis = repository.buscarJtisExpirados(agora, PageRequest.of(0, tamanhoLoteLimpeza));
+                if (!jtis.isEmpty()) repository.deleteAllByIdInBatch(jtis);
+                return jtis;
+            });
+
+            total += lote.size();
+            if (lote.size() < tamanhoLoteLimpeza) break;
+        }
+
+        if (total > 0) log.info("{} tokens revogados expirados removidos", total);
+        return total;
+    }
+}
@@ -0,0 +1,27 @@
+package com.artheus.cidadaoalerta.security;
+
+import java.time.Instant;
+
+/**
+ * Dados de um JWT cuja assinatura e validade já foram conferidas.
+ *
+ * @param email     subject do token
+ * @param role      papel do usuário no momento da emissão
+ * @param usuarioId id do usuário, ou null em tokens emitidos sem as claims de autenticação sem estado
+ * @param carimbo   carimbo de segurança do usuário na emissão, ou null como acima
+ * @param expiracao instante a partir do qual o token deixa de valer
+ * @param jti       id único do token, usado para revogá-lo; null em tokens emitidos antes dele existir
+ */
+public record TokenVerificado(String email, String role, Long usuarioId, Long carimbo, Instant expiracao, String jti) {
+
+    public boolean isExpiradoEm(Instant instante) {
+        return !expiracao.isAfter(instante);
+    }
+
+    /**
+     * Indica se o token traz tudo o que é preciso para autenticar sem buscar o usuário no banco.
+     */
+    public boolean isSemEstado() {
+        return usuarioId != null && carimbo != null && role != null;
+    }
+}
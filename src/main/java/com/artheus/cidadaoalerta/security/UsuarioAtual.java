@@ -0,0 +1,94 @@
+package com.artheus.cidadaoalerta.security;
+
+import com.artheus.cidadaoalerta.exception.usuario.UsuarioNaoAutenticadoException;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Usuário autenticado da requisição atual, resolvido uma única vez por requisição.
+ * <p>
+ * Id, email e papel vêm do próprio principal (claims do JWT ou {@link UsuarioDetalhes} já
+ * carregado pelo {@link FiltroJwt}), sem consultar o banco. Só outros tipos de principal, que
+ * trazem apenas o email, precisam buscar o id.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class UsuarioAtual {
+
+    private final UsuarioRepository usuarioRepository;
+    private final EntityManager entityManager;
+
+    private Identidade identidade;
+
+    public Long getId() {
+        return identidade().id();
+    }
+
+    public String getEmail() {
+        return identidade().email();
+    }
+
+    public Role getPapel() {
+        return identidade().papel();
+    }
+
+    public boolean isAdmin() {
+        return getPapel() == Role.ROLE_ADMIN;
+    }
+
+    /**
+     * Referência gerenciada pelo contexto de persistência atual, sem consulta, para associações
+     * que só precisam da chave. Exige transação aberta; ler os dados da referência dispara a
+     * consulta pelo id.
+     */
+    public Usuario getReferencia() {
+        return entityManager.getReference(Usuario.class, getId());
+    }
+
+    // ===================== MÉTODOS PRIVADOS =====================
+
+    private Identidade identidade() {
+        if (identidade == null) {
+            identidade = resolverIdentidade();
+        }
+        return identidade;
+    }
+
+    private Identidade resolverIdentidade() {
+        Authentication auth = obterAutenticacao();
+
+        if (auth.getPrincipal() instanceof UsuarioAutenticado principal) {
+            return new Identidade(principal.id(), principal.email(), principal.papel());
+        }
+        if (auth.getPrincipal() instanceof UsuarioDetalhes principal) {
+            return new Identidade(principal.id(), principal.email(), principal.papel());
+        }
+
+        Long id = usuarioRepository.buscarIdPorEmail(auth.getName())
+                .orElseThrow(UsuarioNaoAutenticadoException::new);
+        return new Identidade(id, auth.getName(), papelDasAuthorities(auth));
+    }
+
+    private Authentication obterAutenticacao() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) throw new UsuarioNaoAutenticadoException();
+        return auth;
+    }
+
+    private Role papelDasAuthorities(Authentication auth) {
+        boolean admin = auth.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals(Role.ROLE_ADMIN.name()));
+        return admin ? Role.ROLE_ADMIN : Role.ROLE_USER;
+    }
+
+    private record Identidade(Long id, String email, Role papel) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.artheus.cidadaoalerta.security;
+
+import com.artheus.cidadaoalerta.model.enums.Role;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Principal montado a partir das claims do JWT, sem consultar o banco.
+ * {@code Authentication#getName()} continua devolvendo o email.
+ */
+public record UsuarioAutenticado(Long id, String email, Role papel) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(papel.name()));
+    }
+}
@@ -2,20 +2,113 @@ package com.artheus.cidadaoalerta.security;
 
 import com.artheus.cidadaoalerta.model.Usuario;
 import com.artheus.cidadaoalerta.repository.UsuarioRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+
+/**
+ * Carrega usuários por email para a autenticação que consulta o banco. Os usuários encontrados
+ * ficam num cache limitado por tamanho e tempo, como {@link UsuarioDetalhes} imutáveis e não como
+ * entidades; buscas simultâneas pelo mesmo email esperam uma única consulta. Emails inexistentes
+ * não são guardados. Usuários inativos são guardados como os demais: quem chama os recusa por
+ * {@link UserDetails#isEnabled()}, sem ir ao banco a cada tentativa.
+ * <p>
+ * As alterações feitas nesta instância removem a entrada via {@link #invalidar(Long)}. Como isso
+ * não alcança as outras instâncias nem uma carga que leu a linha antes do commit, cada entrada
+ * também é conferida com o {@link VerificadorCarimboSeguranca}: com o carimbo desatualizado
+ * (senha ou email trocados, usuário inativado), ela é descartada e lida de novo. O login não
+ * usa o cache (ver {@link #carregarCredenciais}).
+ * <p>
+ * Também grava o hash refeito no login quando o custo do BCrypt configurado muda
+ * (ver {@link CodificadorSenha#upgradeEncoding}).
+ */
 @Service
-@RequiredArgsConstructor
-public class UsuarioDetailsService implements UserDetailsService {
+public class UsuarioDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UsuarioRepository usuarioRepository;
+    private final VerificadorCarimboSeguranca verificadorCarimbo;
+    private final Cache<String, UsuarioDetalhes> usuarios;
+
+    public UsuarioDetailsService(
+            UsuarioRepository usuarioRepository,
+            VerificadorCarimboSeguranca verificadorCarimbo,
+            MeterRegistry registry,
+            @Value("${usuario.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${usuario.cache.expiracao:5m}") Duration expiracao
+    ) {
+        this.usuarioRepository = usuarioRepository;
+        this.verificadorCarimbo = verificadorCarimbo;
+        this.usuarios = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+
+        // cache.gets (acerto/falha), cache.evictions e cache.load.duration com a tag cache=usuario.detalhes
+        CaffeineCacheMetrics.monitor(registry, usuarios, "usuario.detalhes");
+    }
 
     @Override
-    public Usuario loadUserByUsername(String email) throws UsernameNotFoundException {
-        return usuarioRepository.findByEmail(email)
+    public UsuarioDetalhes loadUserByUsername(String email) throws UsernameNotFoundException {
+        UsuarioDetalhes usuario = usuarios.get(email, this::buscar);
+        // Inativo não tem carimbo válido: conferir só faria reler a mesma linha a cada chamada
+        if (usuario != null && usuario.ativo()
+                && !verificadorCarimbo.isValido(usuario.id(), usuario.carimboSeguranca())) {
+            usuarios.asMap().remove(email, usuario);
+            usuario = usuarios.get(email, this::buscar);
+        }
+        if (usuario == null) {
+            throw new UsernameNotFoundException("Usuário não encontrado com email: " + email);
+        }
+        return usuario;
+    }
+
+    /**
+     * Lê o usuário direto do banco, sem consultar o cache. Usado no login, para que a senha seja
+     * conferida com o hash atual mesmo logo depois de uma troca feita em outra instância.
+     * O usuário lido substitui a entrada do cache, já que é o estado mais recente.
+     */
+    public UsuarioDetalhes carregarCredenciais(String email) throws UsernameNotFoundException {
+        UsuarioDetalhes usuario = usuarioRepository.findByEmail(email)
+                .map(UsuarioDetalhes::de)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
+        usuarios.put(email, usuario);
+        return usuario;
+    }
+
+    /**
+     * Chamado pelo Spring Security depois de um login bem-sucedido com hash desatualizado.
+     * A senha é a mesma, então o carimbo de segurança não muda e os tokens continuam válidos.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String novoHash) {
+        Usuario usuario = usuarioRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + user.getUsername()));
+        usuario.setSenha(novoHash);
+        Usuario atualizado = usuarioRepository.save(usuario);
+        invalidar(atualizado.getId());
+        return UsuarioDetalhes.de(atualizado);
+    }
+
+    /**
+     * Remove o usuário do cache. A busca é pelo id porque o email pode ter acabado de mudar.
+     */
+    public void invalidar(Long usuarioId) {
+        usuarios.asMap().values().removeIf(u -> usuarioId.equals(u.id()));
+    }
+
+    private UsuarioDetalhes buscar(String email) {
+        return usuarioRepository.findByEmail(email).map(UsuarioDetalhes::de).orElse(null);
     }
 }
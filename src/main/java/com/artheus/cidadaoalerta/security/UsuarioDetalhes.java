@@ -0,0 +1,78 @@
+package com.artheus.cidadaoalerta.security;
+
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * Cópia imutável dos dados de um {@link Usuario} usados na autenticação. É o que fica no cache
+ * do {@link UsuarioDetailsService}: nada de entidade JPA compartilhada entre requisições, nem
+ * associações preguiçosas. A senha é o hash, necessário para conferir o login.
+ */
+public record UsuarioDetalhes(
+        Long id,
+        String nome,
+        String email,
+        String senha,
+        Role papel,
+        boolean ativo,
+        long carimboSeguranca
+) implements UserDetails {
+
+    public static UsuarioDetalhes de(Usuario usuario) {
+        return new UsuarioDetalhes(
+                usuario.getId(),
+                usuario.getNome(),
+                usuario.getEmail(),
+                usuario.getSenha(),
+                usuario.getPapel(),
+                usuario.isAtivo(),
+                usuario.getCarimboSeguranca()
+        );
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(papel.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return senha;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return ativo;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return ativo;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return ativo;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return ativo;
+    }
+
+    // O hash não aparece em logs
+    @Override
+    public String toString() {
+        return "UsuarioDetalhes[id=" + id + ", email=" + email + ", papel=" + papel + ", ativo=" + ativo + "]";
+    }
+}
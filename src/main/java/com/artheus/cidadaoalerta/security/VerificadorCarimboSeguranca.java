@@ -0,0 +1,52 @@
+package com.artheus.cidadaoalerta.security;
+
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Confere se o carimbo de segurança de um token ainda é o atual do usuário.
+ * <p>
+ * Os carimbos ficam em memória e são recarregados em segundo plano depois do intervalo
+ * configurado, então cada usuário custa no máximo uma consulta por intervalo, e não uma por
+ * requisição. Alterações feitas nesta instância invalidam a entrada na hora; as feitas em
+ * outras instâncias passam a valer em até duas vezes o intervalo.
+ */
+@Component
+public class VerificadorCarimboSeguranca {
+
+    // Usuário inexistente ou inativo: nenhum carimbo é aceito
+    private static final long SEM_CARIMBO = -1;
+
+    private final LoadingCache<Long, Long> carimbos;
+
+    public VerificadorCarimboSeguranca(
+            UsuarioRepository usuarioRepository,
+            @Value("${jwt.carimbo.atualizacao:30s}") Duration atualizacao,
+            @Value("${jwt.carimbo.tamanho-maximo:100000}") long tamanhoMaximo
+    ) {
+        this.carimbos = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .refreshAfterWrite(atualizacao)
+                .expireAfterWrite(atualizacao.multipliedBy(2))
+                .build(id -> usuarioRepository.buscarCarimboSegurancaAtivo(id).orElse(SEM_CARIMBO));
+    }
+
+    /**
+     * @return true se o usuário existe, está ativo e o carimbo do token é o atual
+     */
+    public boolean isValido(Long usuarioId, Long carimbo) {
+        return carimbo != null && carimbo != SEM_CARIMBO && carimbo.equals(carimbos.get(usuarioId));
+    }
+
+    /**
+     * Descarta o carimbo em memória para que a próxima verificação leia o valor novo.
+     */
+    public void invalidar(Long usuarioId) {
+        carimbos.invalidate(usuarioId);
+    }
+}
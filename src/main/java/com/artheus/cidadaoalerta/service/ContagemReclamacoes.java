@@ -0,0 +1,150 @@
+package com.artheus.cidadaoalerta.service;
+
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.enums.EstrategiaContagem;
+import com.artheus.cidadaoalerta.model.enums.TipoEventoReclamacao;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.LongSupplier;
+
+/**
+ * Totais das listagens de reclamações ativas conforme a {@link EstrategiaContagem} pedida.
+ * <p>
+ * No cache, cada filtro guarda o último COUNT. Os eventos de reclamação descartam na hora os
+ * totais que podem ter mudado nesta instância; alterações feitas por outras instâncias só
+ * aparecem depois da expiração, por isso um total vindo do cache não é informado como exato.
+ * <p>
+ * A estimativa lê a quantidade de linhas das estatísticas da tabela (MySQL ou H2), que conta
+ * também as reclamações inativas. Com filtros ou sem suporte do banco, usa o cache.
+ */
+@Slf4j
+@Component
+public class ContagemReclamacoes {
+
+    /**
+     * Filtro da listagem geral, sem nenhum critério além de ativa.
+     */
+    public static final FiltroReclamacaoDTO SEM_FILTROS = new FiltroReclamacaoDTO(null, null, null, null, null);
+
+    private static final String ESTIMATIVA_MYSQL = "SELECT TABLE_ROWS FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'reclamacao'";
+    private static final String ESTIMATIVA_H2 = "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES " +
+            "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = 'RECLAMACAO'";
+
+    private final JdbcTemplate jdbc;
+    private final Cache<FiltroReclamacaoDTO, Long> totais;
+    private volatile String consultaEstimativa;
+
+    /**
+     * Total de uma listagem e se ele é exato.
+     */
+    public record Contagem(long total, boolean exata) {
+    }
+
+    public ContagemReclamacoes(
+            JdbcTemplate jdbc,
+            MeterRegistry registry,
+            @Value("${reclamacao.contagem.cache.tamanho-maximo:1000}") long tamanhoMaximo,
+            @Value("${reclamacao.contagem.cache.expiracao:1m}") Duration expiracao
+    ) {
+        this.jdbc = jdbc;
+        this.totais = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, totais, "reclamacao.contagem");
+    }
+
+    // ===================== API PÚBLICA =====================
+
+    /**
+     * @param filtro        filtro da listagem, chave do cache
+     * @param estrategia    como obter o total
+     * @param contagemExata executa o COUNT do filtro
+     */
+    public Contagem contar(FiltroReclamacaoDTO filtro, EstrategiaContagem estrategia, LongSupplier contagemExata) {
+        if (estrategia == EstrategiaContagem.ESTIMADA && SEM_FILTROS.equals(filtro)) {
+            Long estimativa = estimar();
+            if (estimativa != null) return new Contagem(estimativa, false);
+        }
+        if (estrategia == EstrategiaContagem.EXATA) {
+            return new Contagem(contagemExata.getAsLong(), true);
+        }
+
+        Long emCache = totais.getIfPresent(filtro);
+        if (emCache != null) return new Contagem(emCache, false);
+
+        long total = contagemExata.getAsLong();
+        totais.put(filtro, total);
+        return new Contagem(total, true);
+    }
+
+    /**
+     * Descarta os totais cujo filtro pode ter ganhado ou perdido a reclamação.
+     */
+    public void invalidar(Reclamacao reclamacao, TipoEventoReclamacao tipo) {
+        totais.asMap().keySet().removeIf(filtro -> podeMudar(filtro, reclamacao, tipo));
+    }
+
+    // ===================== MÉTODOS PRIVADOS =====================
+
+    /**
+     * O status e a categoria anteriores a uma alteração não chegam no evento: numa alteração,
+     * qualquer total filtrado por eles pode ter mudado, e os demais não mudam.
+     */
+    private boolean podeMudar(FiltroReclamacaoDTO filtro, Reclamacao r, TipoEventoReclamacao tipo) {
+        if (filtro.usuarioId() != null && r.getUsuario() != null && !filtro.usuarioId().equals(r.getUsuario().getId())) {
+            return false;
+        }
+
+        LocalDateTime criacao = r.getDataCriacao();
+        if (criacao != null) {
+            if (filtro.getDataInicioLdt().map(criacao::isBefore).orElse(false)) return false;
+            if (filtro.getDataFimLdt().map(criacao::isAfter).orElse(false)) return false;
+        }
+
+        return switch (tipo) {
+            case CRIADA, INATIVADA -> (filtro.status() == null || filtro.status() == r.getStatus())
+                    && (filtro.categoria() == null || filtro.categoria() == r.getCategoriaReclamacao());
+            case ATUALIZADA, CONCLUIDA -> filtro.status() != null || filtro.categoria() != null;
+        };
+    }
+
+    private Long estimar() {
+        try {
+            String consulta = consultaEstimativa();
+            if (consulta.isEmpty()) return null;
+            Long linhas = jdbc.queryForObject(consulta, Long.class);
+            return linhas == null || linhas < 0 ? null : linhas;
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível estimar o total de reclamações: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String consultaEstimativa() {
+        if (consultaEstimativa == null) {
+            String banco = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            consultaEstimativa = switch (banco == null ? "" : banco) {
+                case "MySQL" -> ESTIMATIVA_MYSQL;
+                case "H2" -> ESTIMATIVA_H2;
+                default -> "";
+            };
+        }
+        return consultaEstimativa;
+    }
+}
@@ -1,175 +1,396 @@
 package com.artheus.cidadaoalerta.service;
 
 import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.dto.IntervaloIds;
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+import com.artheus.cidadaoalerta.dto.VersaoDados;
 import com.artheus.cidadaoalerta.exception.csv.CsvGenerationException;
-import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.infra.datasource.ContextoPoolConexao;
+import com.artheus.cidadaoalerta.infra.datasource.PoolConexao;
+import com.artheus.cidadaoalerta.model.enums.CompressaoExportacao;
+import com.artheus.cidadaoalerta.model.enums.FormatoExportacao;
 import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
-import lombok.RequiredArgsConstructor;
+import com.artheus.cidadaoalerta.service.exportacao.AdmissaoExportacao;
+import com.artheus.cidadaoalerta.service.exportacao.ArquivoExportacao;
+import com.artheus.cidadaoalerta.service.exportacao.CacheExportacao;
+import com.artheus.cidadaoalerta.service.exportacao.ConteudoExportacao;
+import com.artheus.cidadaoalerta.service.exportacao.EscritorExportacao;
+import com.artheus.cidadaoalerta.service.exportacao.ExportadorParalelo;
+import com.artheus.cidadaoalerta.service.exportacao.FabricaEscritorExportacao;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
-import java.nio.charset.StandardCharsets;
-import java.time.format.DateTimeFormatter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * Serviço responsável por gerar arquivos CSV de reclamações.
+ * Serviço responsável por gerar as exportações de reclamações.
  * Permite filtrar por status, usuário, categoria e período de datas.
- * Garante CSV UTF-8 com BOM e cabeçalho descritivo.
+ * Gera CSV UTF-8 com BOM e cabeçalho descritivo e, no modo streaming, também NDJSON e GeoJSON.
  */
 @Service
-@RequiredArgsConstructor
 public class CsvService {
 
     private final ReclamacaoRepository repository;
+    private final TransactionTemplate transacaoLeitura;
+    private final ExportadorParalelo exportadorParalelo;
+    private final FabricaEscritorExportacao fabricaEscritor;
+    private final CacheExportacao cacheExportacao;
+    private final AdmissaoExportacao admissao;
 
-    // Formato de data/hora utilizado nas linhas do CSV
-    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // A cada lote lido do cursor o buffer é enviado ao cliente
+    private static final int LINHAS_POR_FLUSH = ReclamacaoRepository.TAMANHO_LOTE_EXPORTACAO;
+    private static final int TAMANHO_BUFFER_GZIP = 8 * 1024;
+
+    // No nível 1 o arquivo fica ~25% maior que no padrão (6), mas a compressão gasta cerca de 1/4 da CPU
+    private static final int NIVEL_GZIP = Deflater.BEST_SPEED;
+
+    private static final String CONTENT_TYPE_CSV = "text/csv; charset=UTF-8";
+
+    public CsvService(ReclamacaoRepository repository, PlatformTransactionManager transactionManager,
+                      ExportadorParalelo exportadorParalelo, FabricaEscritorExportacao fabricaEscritor,
+                      CacheExportacao cacheExportacao, AdmissaoExportacao admissao) {
+        this.repository = repository;
+        this.exportadorParalelo = exportadorParalelo;
+        this.fabricaEscritor = fabricaEscritor;
+        this.cacheExportacao = cacheExportacao;
+        this.admissao = admissao;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+    }
 
     // ===================== API PÚBLICA =====================
 
     /**
-     * Gera um arquivo CSV contendo as reclamações filtradas, retornando um ResponseEntity pronto para download.
+     * Entrega o CSV do filtro a partir do cache em disco, gerando o arquivo só quando os dados
+     * do filtro mudaram desde a última exportação. A resposta leva o ETag do conteúdo; se o
+     * cliente já tem essa versão (If-None-Match), retorna 304 sem corpo.
      *
-     * @param filtro DTO contendo os filtros opcionais: status, usuário, categoria e intervalo de datas
-     * @return ResponseEntity com o arquivo CSV gerado
+     * @param filtro      DTO contendo os filtros opcionais
+     * @param ifNoneMatch valor do cabeçalho If-None-Match da requisição (pode ser nulo)
+     * @return ResponseEntity com o arquivo CSV ou 304
      */
+    public ResponseEntity<Resource> gerarResponseCsvComCache(FiltroReclamacaoDTO filtro, String ifNoneMatch) {
+        VersaoDados versao = ContextoPoolConexao.executar(PoolConexao.EXPORTACAO, () ->
+                repository.buscarVersaoDadosPorFiltrosCompletos(
+                        filtro.status(),
+                        filtro.usuarioId(),
+                        filtro.categoria(),
+                        filtro.getDataInicioLdt().orElse(null),
+                        filtro.getDataFimLdt().orElse(null)
+                ));
 
+        try {
+            // Só a geração ocupa vaga de exportação; acertos do cache não leem as reclamações
+            ConteudoExportacao conteudo = cacheExportacao.obter(filtro, versao, out -> {
+                try (AdmissaoExportacao.Permissao permissao = admissao.adquirir()) {
+                    exportar(filtro, FormatoExportacao.CSV, out, linhas -> { });
+                }
+            });
+            ArquivoExportacao arquivo = conteudo.arquivo();
 
-    public ResponseEntity<Resource> gerarResponseCsv(FiltroReclamacaoDTO filtro) {
-        List<Reclamacao> reclamacoes = repository.buscarReclamacoesPorFiltrosCompletos(
-                filtro.status(),
-                filtro.usuarioId(),
-                filtro.categoria(),
-                filtro.getDataInicioLdt().orElse(null), // passa null se não houver data
-                filtro.getDataFimLdt().orElse(null)
-        );
+            if (correspondeAoEtag(ifNoneMatch, arquivo.etag())) {
+                conteudo.close();
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(arquivo.etag())
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
+            }
 
-        return montarResponseCsv(reclamacoes);
+            // O cache abriu o arquivo enquanto a entrada existia: se ela for invalidada durante
+            // o download, o arquivo é apagado do diretório mas continua legível por este stream
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=reclamacoes.csv")
+                    .contentType(MediaType.parseMediaType(CONTENT_TYPE_CSV))
+                    .contentLength(arquivo.tamanho())
+                    .eTag(arquivo.etag())
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(new InputStreamResource(conteudo.conteudo()));
+        } catch (IOException e) {
+            throw new CsvGenerationException("Erro ao gerar CSV para as reclamações", e);
+        }
     }
 
-    // ===================== MÉTODOS PRIVADOS =====================
-
     /**
-     * Cria um ResponseEntity para download do CSV.
+     * Gera o CSV em modo streaming: as linhas são lidas de um cursor do banco e escritas direto
+     * na resposta HTTP, em blocos, sem manter o arquivo inteiro em memória.
      *
-     * @param reclamacoes Lista de reclamações que serão exportadas
-     * @return ResponseEntity contendo o arquivo CSV
+     * @param filtro DTO contendo os filtros opcionais: status, usuário, categoria e intervalo de datas
+     * @return ResponseEntity cujo corpo é escrito de forma assíncrona pelo Spring MVC
      */
-    private ResponseEntity<Resource> montarResponseCsv(List<Reclamacao> reclamacoes) {
-        ByteArrayInputStream csvStream = gerarCsv(reclamacoes);
-        InputStreamResource file = new InputStreamResource(csvStream);
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=reclamacoes.csv")
-                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
-                .body(file);
+    public ResponseEntity<StreamingResponseBody> gerarResponseCsvStreaming(FiltroReclamacaoDTO filtro) {
+        return gerarResponseStreaming(filtro, FormatoExportacao.CSV, null, null);
     }
 
     /**
-     * Converte a lista de reclamações em um CSV dentro de um ByteArrayInputStream.
+     * Gera a exportação em modo streaming no formato pedido, comprimindo com gzip enquanto
+     * as linhas são escritas quando solicitado.
+     * <ul>
+     *     <li>{@code compressao=GZIP}: o cliente recebe um arquivo {@code reclamacoes.<formato>.gz};</li>
+     *     <li>sem parâmetro e com {@code Accept-Encoding: gzip}: o conteúdo é enviado com
+     *     {@code Content-Encoding: gzip} e descomprimido pelo próprio cliente HTTP;</li>
+     *     <li>caso contrário vai sem compressão.</li>
+     * </ul>
      *
-     * @param reclamacoes Lista de reclamações
-     * @return CSV como ByteArrayInputStream
+     * @param filtro         DTO contendo os filtros opcionais
+     * @param formato        formato de saída (CSV quando nulo)
+     * @param compressao     compressão pedida explicitamente (pode ser nula)
+     * @param acceptEncoding valor do cabeçalho Accept-Encoding da requisição (pode ser nulo)
+     * @return ResponseEntity cujo corpo é escrito de forma assíncrona pelo Spring MVC
      */
-    private ByteArrayInputStream gerarCsv(List<Reclamacao> reclamacoes) {
-        try (ByteArrayOutputStream out = new ByteArrayOutputStream();
-             OutputStreamWriter osWriter = new OutputStreamWriter(out, StandardCharsets.UTF_8);
-             PrintWriter writer = new PrintWriter(osWriter)) {
+    public ResponseEntity<StreamingResponseBody> gerarResponseStreaming(FiltroReclamacaoDTO filtro,
+                                                                        FormatoExportacao formato,
+                                                                        CompressaoExportacao compressao,
+                                                                        String acceptEncoding) {
+        FormatoExportacao saida = formato != null ? formato : FormatoExportacao.CSV;
+        String arquivo = "reclamacoes." + saida.getExtensao();
 
-            // Escreve BOM UTF-8 para compatibilidade com Excel
-            escreverBomUtf8(out);
+        // A vaga é obtida aqui para que a recusa ainda possa virar 429; é liberada quando o corpo
+        // termina ou quando a requisição assíncrona acaba sem ele (tempo esgotado, erro, desconexão)
+        AdmissaoExportacao.Permissao permissao = admissao.adquirir();
 
-            // Escreve a linha de cabeçalho
-            escreverCabecalho(writer);
+        if (compressao == CompressaoExportacao.GZIP) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + arquivo + ".gz")
+                    .contentType(MediaType.parseMediaType("application/gzip"))
+                    .body(comPermissao(permissao, out -> exportar(filtro, saida, out, CompressaoExportacao.GZIP)));
+        }
 
-            // Escreve cada reclamação como uma linha no CSV
-            escreverLinhas(writer, reclamacoes);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + arquivo)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.parseMediaType(saida.getContentType()));
 
-            writer.flush();
-            return new ByteArrayInputStream(out.toByteArray());
-        } catch (Exception e) {
-            throw new CsvGenerationException("Erro ao gerar CSV para as reclamações", e);
+        if (compressao == null && aceitaGzip(acceptEncoding)) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(comPermissao(permissao, out -> exportar(filtro, saida, out, CompressaoExportacao.GZIP)));
         }
+
+        return resposta.body(comPermissao(permissao, out -> exportar(filtro, saida, out, linhas -> { })));
     }
 
     /**
-     * Adiciona o BOM UTF-8 no início do arquivo para que seja lido corretamente no Excel.
+     * Escreve a exportação no OutputStream aplicando a compressão informada.
+     * Com gzip o compressor usa sync flush, então cada lote descarregado do cursor
+     * chega ao cliente já comprimido, sem esperar o fim do arquivo.
      *
-     * @param out ByteArrayOutputStream onde o BOM será escrito
+     * @param filtro     DTO contendo os filtros opcionais
+     * @param formato    formato de saída
+     * @param out        destino (não é fechado por este método)
+     * @param compressao compressão aplicada ao conteúdo
      */
-    private void escreverBomUtf8(ByteArrayOutputStream out) {
-        out.write(0xEF);
-        out.write(0xBB);
-        out.write(0xBF);
+    public void exportar(FiltroReclamacaoDTO filtro, FormatoExportacao formato, OutputStream out,
+                         CompressaoExportacao compressao) throws IOException {
+        if (compressao != CompressaoExportacao.GZIP) {
+            exportar(filtro, formato, out, linhas -> { });
+            return;
+        }
+
+        GZIPOutputStream gzip = new GZIPOutputStream(out, TAMANHO_BUFFER_GZIP, true) {
+            {
+                def.setLevel(NIVEL_GZIP);
+            }
+        };
+        exportar(filtro, formato, gzip, linhas -> { });
+        gzip.finish();
+        out.flush();
     }
 
     /**
-     * Escreve a linha de cabeçalho do CSV.
+     * Escreve a exportação no formato informado, linha a linha. A leitura acontece dentro de uma
+     * transação somente leitura que dura toda a escrita, pois o cursor do banco precisa ficar
+     * aberto até a última linha. Formatos particionáveis com faixas de id grandes são lidos em
+     * partições paralelas (exportacao.paralelismo > 1).
      *
-     * @param writer PrintWriter para escrever no CSV
+     * @param filtro    DTO contendo os filtros opcionais
+     * @param formato   formato de saída
+     * @param out       destino (não é fechado por este método)
+     * @param progresso recebe o número acumulado de linhas de dados escritas
      */
-    private void escreverCabecalho(PrintWriter writer) {
-        writer.println("id;titulo;descricao;categoria;status;latitude;longitude;dataCriacao;usuario");
+    public void exportar(FiltroReclamacaoDTO filtro, FormatoExportacao formato, OutputStream out,
+                         LongConsumer progresso) throws IOException {
+        ContextoPoolConexao.executar(PoolConexao.EXPORTACAO, () -> {
+            escreverExportacao(filtro, formato, out, progresso);
+            return null;
+        });
     }
 
     /**
-     * Escreve cada reclamação como uma linha no CSV.
+     * Escreve o CSV das reclamações filtradas no OutputStream informado.
      *
-     * @param writer      PrintWriter para escrever no CSV
-     * @param reclamacoes Lista de reclamações
+     * @param filtro DTO contendo os filtros opcionais
+     * @param out    destino do CSV (não é fechado por este método)
      */
-    private void escreverLinhas(PrintWriter writer, List<Reclamacao> reclamacoes) {
-        reclamacoes.forEach(r -> writer.println(converterReclamacaoParaLinhaCsv(r)));
+    public void exportarCsv(FiltroReclamacaoDTO filtro, OutputStream out) throws IOException {
+        exportar(filtro, FormatoExportacao.CSV, out, linhas -> { });
     }
 
     /**
-     * Converte uma reclamação em uma linha CSV, escapando caracteres especiais.
+     * Variante de {@link #exportarCsv(FiltroReclamacaoDTO, OutputStream)} que informa o total de
+     * linhas já escritas a cada descarga do buffer, usada no acompanhamento de exportações assíncronas.
      *
-     * @param r Reclamacao a ser convertida
-     * @return Linha CSV como String
+     * @param filtro    DTO contendo os filtros opcionais
+     * @param out       destino do CSV (não é fechado por este método)
+     * @param progresso recebe o número acumulado de linhas de dados escritas
+     */
+    public void exportarCsv(FiltroReclamacaoDTO filtro, OutputStream out, LongConsumer progresso) throws IOException {
+        exportar(filtro, FormatoExportacao.CSV, out, progresso);
+    }
+
+    // ===================== MÉTODOS PRIVADOS =====================
+
+    /**
+     * Libera a vaga de exportação quando o corpo termina de ser escrito, com sucesso ou não.
+     * Se o corpo nem chegar a rodar, o fim do processamento assíncrono da requisição a libera.
      */
-    private String converterReclamacaoParaLinhaCsv(Reclamacao r) {
-        String lat = r.getLocalizacao() != null && r.getLocalizacao().getLatitude() != null
-                ? r.getLocalizacao().getLatitude().toString() : "";
-        String lon = r.getLocalizacao() != null && r.getLocalizacao().getLongitude() != null
-                ? r.getLocalizacao().getLongitude().toString() : "";
-
-        String[] campos = {
-                r.getId() != null ? r.getId().toString() : "",
-                escaparCsv(r.getTitulo()),
-                escaparCsv(r.getDescricao()),
-                r.getCategoriaReclamacao() != null ? r.getCategoriaReclamacao().name() : "",
-                r.getStatus() != null ? r.getStatus().name() : "",
-                lat,
-                lon,
-                r.getDataCriacao() != null ? r.getDataCriacao().format(DATE_TIME_FORMATTER) : "",
-                r.getUsuario() != null ? escaparCsv(r.getUsuario().getNome()) : ""
+    private StreamingResponseBody comPermissao(AdmissaoExportacao.Permissao permissao, StreamingResponseBody corpo) {
+        liberarAoConcluirRequisicao(permissao);
+        return out -> {
+            try (permissao) {
+                corpo.writeTo(out);
+            }
         };
+    }
+
+    /**
+     * Registra na requisição atual um interceptor que fecha a permissão ao fim do processamento
+     * assíncrono, que o Spring MVC sinaliza também depois de tempo esgotado e de erro. Fechar a
+     * permissão de novo não tem efeito. Fora de uma requisição só o próprio corpo a libera.
+     */
+    private void liberarAoConcluirRequisicao(AdmissaoExportacao.Permissao permissao) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos)) return;
+
+        WebAsyncUtils.getAsyncManager(atributos.getRequest()).registerCallableInterceptor(permissao,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        permissao.close();
+                    }
+                });
+    }
+
+    /**
+     * Verifica se algum dos ETags do If-None-Match é o atual. Aceita a forma fraca (W/) e '*'.
+     */
+    private boolean correspondeAoEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.startsWith("W/")) valor = valor.substring(2);
+            if (valor.equals("*") || valor.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Verifica se o cabeçalho Accept-Encoding aceita gzip com qualidade maior que zero.
+     *
+     * @param acceptEncoding valor do cabeçalho, pode ser nulo
+     * @return true se o cliente aceita respostas gzip
+     */
+    private boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) return false;
+
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.trim().split(";");
+            String codificacao = partes[0].trim().toLowerCase(Locale.ROOT);
+            if (!codificacao.equals("gzip") && !codificacao.equals("x-gzip")) continue;
 
-        return String.join(";", campos);
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parametro.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Escreve a exportação completa; as consultas saem do pool de exportação.
+     */
+    private void escreverExportacao(FiltroReclamacaoDTO filtro, FormatoExportacao formato, OutputStream out,
+                                    LongConsumer progresso) throws IOException {
+        EscritorExportacao escritor = fabricaEscritor.criar(formato, out);
+        escritor.escreverInicio();
+
+        List<IntervaloIds> particoes = formato.isParticionavel() ? exportadorParalelo.particionar(filtro) : List.of();
+        if (!particoes.isEmpty()) {
+            escritor.flush();
+            exportadorParalelo.escrever(filtro, formato, particoes, out, progresso);
+        } else {
+            try {
+                transacaoLeitura.executeWithoutResult(status -> escreverLinhasDoCursor(filtro, escritor, progresso));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        escritor.escreverFim();
+        escritor.flush();
     }
 
     /**
-     * Escapa caracteres especiais do CSV, como ponto e vírgula, aspas e quebras de linha.
+     * Percorre o cursor de projeções entregando cada linha ao escritor.
+     * A cada lote o buffer é descarregado para o cliente, mantendo o uso de heap constante.
      *
-     * @param valor Texto a ser escapado
-     * @return Texto escapado pronto para o CSV
+     * @param filtro    filtros da exportação
+     * @param escritor  formato de saída
+     * @param progresso recebe o total de linhas escritas a cada descarga
      */
-    private String escaparCsv(String valor) {
-        if (valor == null) return "";
-        String escaped = valor.replace("\"", "\"\"");
-        if (escaped.contains(";") || escaped.contains("\n") || escaped.contains("\"")) {
-            escaped = "\"" + escaped + "\"";
+    private void escreverLinhasDoCursor(FiltroReclamacaoDTO filtro, EscritorExportacao escritor, LongConsumer progresso) {
+        try (Stream<ReclamacaoExportacao> linhas = repository.streamExportacaoPorFiltrosCompletos(
+                filtro.status(),
+                filtro.usuarioId(),
+                filtro.categoria(),
+                filtro.getDataInicioLdt().orElse(null),
+                filtro.getDataFimLdt().orElse(null))) {
+
+            escritor.flush();
+
+            long escritas = 0;
+            Iterator<ReclamacaoExportacao> iterator = linhas.iterator();
+            while (iterator.hasNext()) {
+                escritor.escreverLinha(iterator.next());
+
+                if (++escritas % LINHAS_POR_FLUSH == 0) {
+                    escritor.flush();
+                    progresso.accept(escritas);
+                }
+            }
+            escritor.flush();
+            progresso.accept(escritas);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return escaped;
     }
 }
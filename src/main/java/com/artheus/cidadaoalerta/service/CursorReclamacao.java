@@ -0,0 +1,95 @@
+package com.artheus.cidadaoalerta.service;
+
+import com.artheus.cidadaoalerta.exception.reclamacao.CursorReclamacaoInvalidoException;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Posição na listagem por cursor: o valor do campo de ordenação e o id da reclamação na borda
+ * da última página entregue, mais a ordenação e o sentido da navegação. O id desempata
+ * reclamações com o mesmo valor. Trafega como texto opaco em Base64, como a {@code MarcaDelta}.
+ *
+ * @param anterior {@code true} para buscar a página antes da posição, {@code false} para a seguinte
+ */
+public record CursorReclamacao(String campo, Sort.Direction direcao, Object valor, long id, boolean anterior) {
+
+    private static final String SEPARADOR = "|";
+
+    /**
+     * Cursor para a página seguinte à reclamação (a última da página atual).
+     */
+    public static CursorReclamacao depois(Reclamacao reclamacao, Sort.Order ordem) {
+        return new CursorReclamacao(ordem.getProperty(), ordem.getDirection(),
+                valorDe(reclamacao, ordem.getProperty()), reclamacao.getId(), false);
+    }
+
+    /**
+     * Cursor para a página anterior à reclamação (a primeira da página atual).
+     */
+    public static CursorReclamacao antes(Reclamacao reclamacao, Sort.Order ordem) {
+        return new CursorReclamacao(ordem.getProperty(), ordem.getDirection(),
+                valorDe(reclamacao, ordem.getProperty()), reclamacao.getId(), true);
+    }
+
+    public ScrollPosition posicao() {
+        Map<String, Object> chaves = new LinkedHashMap<>();
+        chaves.put(campo, valor);
+        chaves.put("id", id);
+        return anterior ? ScrollPosition.backward(chaves) : ScrollPosition.forward(chaves);
+    }
+
+    public String codificar() {
+        String texto = String.join(SEPARADOR, anterior ? "A" : "P", campo, direcao.name(),
+                Long.toString(id), valor.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws CursorReclamacaoInvalidoException se o texto não tiver sido gerado por {@link #codificar()}
+     */
+    public static CursorReclamacao decodificar(String cursor) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // O valor vai por último porque o título pode conter o separador
+            String[] partes = texto.split("\\|", 5);
+            if (partes.length != 5 || !(partes[0].equals("A") || partes[0].equals("P"))) {
+                throw new CursorReclamacaoInvalidoException(cursor);
+            }
+
+            String campo = partes[1];
+            return new CursorReclamacao(campo, Sort.Direction.valueOf(partes[2]), lerValor(campo, partes[4], cursor),
+                    Long.parseLong(partes[3]), partes[0].equals("A"));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CursorReclamacaoInvalidoException(cursor);
+        }
+    }
+
+    // ===================== MÉTODOS PRIVADOS =====================
+
+    private static Object valorDe(Reclamacao reclamacao, String campo) {
+        return switch (campo) {
+            case "dataCriacao" -> reclamacao.getDataCriacao();
+            case "titulo" -> reclamacao.getTitulo();
+            case "status" -> reclamacao.getStatus();
+            default -> throw new IllegalArgumentException("Campo sem suporte na paginação por cursor: " + campo);
+        };
+    }
+
+    private static Object lerValor(String campo, String texto, String cursor) {
+        return switch (campo) {
+            case "dataCriacao" -> LocalDateTime.parse(texto);
+            case "titulo" -> texto;
+            case "status" -> StatusReclamacao.valueOf(texto);
+            default -> throw new CursorReclamacaoInvalidoException(cursor);
+        };
+    }
+}
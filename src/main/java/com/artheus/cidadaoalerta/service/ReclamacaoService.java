@@ -3,45 +3,57 @@ package com.artheus.cidadaoalerta.service;
 import com.artheus.cidadaoalerta.dto.AtualizacaoReclamacao;
 import com.artheus.cidadaoalerta.dto.CadastroReclamacao;
 import com.artheus.cidadaoalerta.dto.DetalhamentoReclamacao;
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.dto.ReclamacaoCursorResponse;
 import com.artheus.cidadaoalerta.dto.ReclamacaoPageResponse;
 import com.artheus.cidadaoalerta.event.ReclamacaoEvent;
 import com.artheus.cidadaoalerta.exception.reclamacao.*;
-import com.artheus.cidadaoalerta.exception.usuario.UsuarioNaoAutenticadoException;
 import com.artheus.cidadaoalerta.exception.usuario.UsuarioSemPermissaoException;
 import com.artheus.cidadaoalerta.mapper.ReclamacaoMapper;
 import com.artheus.cidadaoalerta.model.Reclamacao;
-import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.EstrategiaContagem;
 import com.artheus.cidadaoalerta.model.enums.TipoEventoReclamacao;
 import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
-import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.repository.ReclamacaoSpecifications;
+import com.artheus.cidadaoalerta.security.UsuarioAtual;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ReclamacaoService {
 
+    private static final Set<String> CAMPOS_ORDENACAO = Set.of("dataCriacao", "titulo", "status");
+
     private final ReclamacaoRepository reclamacaoRepository;
-    private final UsuarioRepository usuarioRepository;
+    private final UsuarioAtual usuarioAtual;
+    private final ContagemReclamacoes contagemReclamacoes;
     private final ReclamacaoMapper reclamacaoMapper;
     private final ApplicationEventPublisher eventPublisher;
 
     // ==================== MÉTODOS PÚBLICOS ====================
 
+    /**
+     * Cadastra a reclamação para o usuário logado. O id vem do {@link UsuarioAtual} e a associação
+     * usa uma referência do contexto de persistência, nunca o usuário compartilhado pelo cache.
+     * A resposta e o e-mail enviado depois do commit leem nome e email da referência, que é
+     * carregada pelo id ainda dentro da transação.
+     */
     @Transactional
     public DetalhamentoReclamacao cadastrarReclamacao(CadastroReclamacao dto) {
-        Usuario usuario = obterUsuarioLogado();
-        validarReclamacaoDuplicada(dto.titulo(), usuario.getId());
+        validarReclamacaoDuplicada(dto.titulo(), usuarioAtual.getId());
 
-        Reclamacao reclamacao = reclamacaoMapper.toEntity(dto, usuario);
+        Reclamacao reclamacao = reclamacaoMapper.toEntity(dto, usuarioAtual.getReferencia());
         Reclamacao reclamacaoSalva = reclamacaoRepository.save(reclamacao);
 
         publicarEvento(reclamacaoSalva, TipoEventoReclamacao.CRIADA);
@@ -50,16 +62,111 @@ public class ReclamacaoService {
 
     @Transactional(readOnly = true)
     public ReclamacaoPageResponse<DetalhamentoReclamacao> listarReclamacoes(Pageable pageable) {
+        return listarReclamacoes(pageable, EstrategiaContagem.EXATA);
+    }
+
+    /**
+     * Lista reclamações ativas com o total obtido pela estratégia pedida. A página vem direto
+     * como DTO, numa consulta só; o total só é calculado quando a página não permite deduzi-lo
+     * (página cheia ou fora do início).
+     */
+    @Transactional(readOnly = true)
+    public ReclamacaoPageResponse<DetalhamentoReclamacao> listarReclamacoes(Pageable pageable, EstrategiaContagem estrategia) {
+        Pageable pageableValidado = ajustarPageable(pageable);
+
+        AtomicReference<ContagemReclamacoes.Contagem> contagem = new AtomicReference<>();
+        Page<DetalhamentoReclamacao> page = PageableExecutionUtils.getPage(
+                reclamacaoRepository.listarDetalhamentosAtivos(pageableValidado),
+                pageableValidado,
+                () -> {
+                    contagem.set(contagemReclamacoes.contar(ContagemReclamacoes.SEM_FILTROS, estrategia,
+                            reclamacaoRepository::countByAtivoTrue));
+                    return contagem.get().total();
+                }
+        );
+
+        return mapearParaResponse(page, contagem.get() == null || contagem.get().exata());
+    }
+
+    /**
+     * Busca reclamações ativas pelos filtros informados. A consulta leva só os critérios
+     * presentes; o total segue a estratégia pedida, com o filtro como chave do cache.
+     */
+    @Transactional(readOnly = true)
+    public ReclamacaoPageResponse<DetalhamentoReclamacao> buscarReclamacoes(FiltroReclamacaoDTO filtro, Pageable pageable,
+                                                                           EstrategiaContagem estrategia) {
+        Pageable pageableValidado = ajustarPageable(pageable);
+        Specification<Reclamacao> especificacao = ReclamacaoSpecifications.ativas()
+                .and(ReclamacaoSpecifications.porFiltro(filtro));
+
+        List<Reclamacao> reclamacoes = reclamacaoRepository.findBy(especificacao,
+                q -> q.project("usuario").slice(pageableValidado)).getContent();
+
+        AtomicReference<ContagemReclamacoes.Contagem> contagem = new AtomicReference<>();
+        Page<DetalhamentoReclamacao> page = PageableExecutionUtils.getPage(
+                reclamacoes,
+                pageableValidado,
+                () -> {
+                    contagem.set(contagemReclamacoes.contar(filtro, estrategia, () -> reclamacaoRepository.count(especificacao)));
+                    return contagem.get().total();
+                }
+        ).map(reclamacaoMapper::toDetalhamentoDto);
+
+        return mapearParaResponse(page, contagem.get() == null || contagem.get().exata());
+    }
+
+    /**
+     * Lista reclamações ativas por cursor. Sem cursor, começa do início na ordenação pedida;
+     * com cursor, a ordenação é a dele. Cada página custa o mesmo, qualquer que seja a
+     * profundidade, e nenhum total é calculado.
+     */
+    @Transactional(readOnly = true)
+    public ReclamacaoCursorResponse<DetalhamentoReclamacao> listarReclamacoesPorCursor(String cursor, Pageable pageable) {
         Pageable pageableValidado = ajustarPageable(pageable);
-        Page<DetalhamentoReclamacao> page = reclamacaoRepository.findByAtivoTrue(pageableValidado)
-                .map(reclamacaoMapper::toDetalhamentoDto);
+        CursorReclamacao posicao = cursor == null || cursor.isBlank() ? null : CursorReclamacao.decodificar(cursor);
+        if (posicao != null && !CAMPOS_ORDENACAO.contains(posicao.campo())) {
+            throw new CursorReclamacaoInvalidoException(cursor);
+        }
+
+        Sort.Order ordem = posicao != null
+                ? new Sort.Order(posicao.direcao(), posicao.campo())
+                : pageableValidado.getSort().iterator().next();
+        Sort ordenacao = Sort.by(ordem).and(Sort.by(ordem.getDirection(), "id"));
+
+        Window<Reclamacao> janela = reclamacaoRepository.findByAtivoTrue(
+                posicao != null ? posicao.posicao() : ScrollPosition.keyset(),
+                ordenacao,
+                Limit.of(pageableValidado.getPageSize()));
+
+        List<Reclamacao> reclamacoes = janela.getContent();
+        String proximo = null;
+        String anterior = null;
+        if (!reclamacoes.isEmpty()) {
+            Reclamacao primeira = reclamacoes.get(0);
+            Reclamacao ultima = reclamacoes.get(reclamacoes.size() - 1);
+            boolean voltando = posicao != null && posicao.anterior();
+
+            // Voltando, "hasNext" indica que ainda há páginas antes; seguindo, depois
+            if (voltando ? janela.hasNext() : posicao != null) {
+                anterior = CursorReclamacao.antes(primeira, ordem).codificar();
+            }
+            if (voltando || janela.hasNext()) {
+                proximo = CursorReclamacao.depois(ultima, ordem).codificar();
+            }
+        }
 
-        return mapearParaResponse(page);
+        return new ReclamacaoCursorResponse<>(reclamacaoMapper.toDetalhamentoList(reclamacoes),
+                pageableValidado.getPageSize(), proximo, anterior);
     }
 
+    /**
+     * Detalhes pela projeção, sem carregar entidades. Sem linha ativa, a busca pela entidade
+     * distingue a reclamação inexistente da inativa.
+     */
     @Transactional(readOnly = true)
     public DetalhamentoReclamacao buscarPorId(Long id) {
-        return reclamacaoMapper.toDetalhamentoDto(buscarReclamacaoAtivaPorId(id));
+        return reclamacaoRepository.buscarDetalhamentoAtivo(id)
+                .orElseGet(() -> reclamacaoMapper.toDetalhamentoDto(buscarReclamacaoAtivaPorId(id)));
     }
 
     @Transactional
@@ -92,12 +199,16 @@ public class ReclamacaoService {
         return reclamacaoMapper.toDetalhamentoDto(reclamacaoAtualizada);
     }
 
+    /**
+     * Inativa a reclamação se o usuário logado for o dono ou admin. A permissão é verificada
+     * aqui, e não no controller: a reclamação é carregada uma única vez (já com o dono) e
+     * comparada com o id do principal, sem consultar o usuário.
+     */
     @Transactional
     public void inativarReclamacao(Long id) {
         Reclamacao reclamacao = buscarReclamacaoAtivaPorId(id);
-        Usuario usuarioLogado = obterUsuarioLogado();
 
-        if (!usuarioTemPermissaoParaInativar(usuarioLogado, reclamacao)) {
+        if (!usuarioTemPermissaoParaInativar(reclamacao)) {
             throw new UsuarioSemPermissaoException();
         }
 
@@ -117,24 +228,13 @@ public class ReclamacaoService {
         if (existe) throw new ReclamacaoDuplicadaException(titulo, usuarioId);
     }
 
-    private Usuario obterUsuarioLogado() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || auth.getName() == null) throw new UsuarioNaoAutenticadoException();
-
-        return usuarioRepository.findByEmail(auth.getName())
-                .orElseThrow(UsuarioNaoAutenticadoException::new);
-    }
-
-    private boolean usuarioTemPermissaoParaInativar(Usuario usuario, Reclamacao reclamacao) {
-        return reclamacao.getUsuario().getId().equals(usuario.getId()) ||
-                usuario.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    private boolean usuarioTemPermissaoParaInativar(Reclamacao reclamacao) {
+        return usuarioAtual.isAdmin() || reclamacao.getUsuario().getId().equals(usuarioAtual.getId());
     }
 
     private Pageable ajustarPageable(Pageable pageable) {
-        Set<String> camposPermitidos = Set.of("dataCriacao", "titulo", "status");
-
         Sort sortValido = pageable.getSort().stream()
-                .filter(order -> camposPermitidos.contains(order.getProperty()))
+                .filter(order -> CAMPOS_ORDENACAO.contains(order.getProperty()))
                 .map(order -> new Sort.Order(order.getDirection(), order.getProperty()))
                 .collect(Collectors.collectingAndThen(Collectors.toList(),
                         list -> list.isEmpty()
@@ -155,8 +255,8 @@ public class ReclamacaoService {
         return reclamacao;
     }
 
-    private ReclamacaoPageResponse<DetalhamentoReclamacao> mapearParaResponse(Page<DetalhamentoReclamacao> page) {
+    private ReclamacaoPageResponse<DetalhamentoReclamacao> mapearParaResponse(Page<DetalhamentoReclamacao> page, boolean totalExato) {
         return new ReclamacaoPageResponse<>(page.getContent(), page.getNumber(), page.getSize(),
-                page.getTotalElements(), page.getTotalPages(), page.isLast());
+                page.getTotalElements(), page.getTotalPages(), page.isLast(), totalExato);
     }
 }
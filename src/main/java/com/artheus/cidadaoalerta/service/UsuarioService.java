@@ -16,6 +16,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -54,13 +55,20 @@ public class UsuarioService {
 
     public DetalhamentoUsuario atualizarUsuario(Long id, AtualizacaoUsuario dto) {
         Usuario usuario = buscarUsuarioPorId(id);
+        String emailAnterior = usuario.getEmail();
 
         usuarioMapper.updateUsuarioFromDto(dto, usuario);
 
-        if (dto.senha() != null && !dto.senha().isBlank()) {
+        boolean trocouSenha = dto.senha() != null && !dto.senha().isBlank();
+        if (trocouSenha) {
             usuario.setSenha(passwordEncoder.encode(dto.senha()));
         }
 
+        // Tokens emitidos antes da troca de credenciais deixam de valer
+        if (trocouSenha || !Objects.equals(emailAnterior, usuario.getEmail())) {
+            usuario.renovarCarimboSeguranca();
+        }
+
         Usuario usuarioAtualizado = usuarioRepository.save(usuario);
 
         // Publica evento de usuário atualizado
@@ -72,6 +80,7 @@ public class UsuarioService {
     public void inativarUsuario(Long id) {
         Usuario usuario = buscarUsuarioPorId(id);
         usuario.setAtivo(false);
+        usuario.renovarCarimboSeguranca();
         usuarioRepository.save(usuario);
 
         // Publica evento de usuário desativado
@@ -0,0 +1,118 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.exception.exportacao.ExportacaoSobrecarregadaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limita quantas exportações leem o banco ao mesmo tempo. Quem chega com todas as vagas
+ * ocupadas espera na fila do semáforo (em ordem de chegada) até a espera máxima; depois disso
+ * a requisição é recusada com 429. Jobs assíncronos esperam sem limite, pois já estão na
+ * fila do próprio executor.
+ */
+@Component
+public class AdmissaoExportacao {
+
+    private final Semaphore vagas;
+    private final Duration esperaMaxima;
+    private final long segundosParaNovaTentativa;
+    private final AtomicInteger aguardando = new AtomicInteger();
+
+    private final Timer espera;
+    private final Counter recusadas;
+
+    public AdmissaoExportacao(
+            @Value("${exportacao.admissao.maximo-simultaneas:2}") int maximoSimultaneas,
+            @Value("${exportacao.admissao.espera-maxima:10s}") Duration esperaMaxima,
+            @Value("${exportacao.admissao.nova-tentativa:30s}") Duration novaTentativa,
+            MeterRegistry registry
+    ) {
+        this.vagas = new Semaphore(maximoSimultaneas, true);
+        this.esperaMaxima = esperaMaxima;
+        this.segundosParaNovaTentativa = Math.max(1, novaTentativa.toSeconds());
+
+        this.espera = Timer.builder("exportacao.admissao.espera")
+                .description("Tempo de espera por uma vaga de exportação")
+                .register(registry);
+        this.recusadas = Counter.builder("exportacao.admissao.recusadas")
+                .description("Exportações recusadas por falta de vaga")
+                .register(registry);
+        Gauge.builder("exportacao.admissao.fila", aguardando, AtomicInteger::get)
+                .description("Exportações aguardando vaga")
+                .register(registry);
+        Gauge.builder("exportacao.admissao.ativas", vagas, v -> maximoSimultaneas - v.availablePermits())
+                .description("Exportações em andamento")
+                .register(registry);
+    }
+
+    /**
+     * Ocupa uma vaga, esperando no máximo o tempo configurado.
+     *
+     * @return permissão a ser fechada quando a exportação terminar
+     * @throws ExportacaoSobrecarregadaException se nenhuma vaga abrir a tempo
+     */
+    public Permissao adquirir() {
+        try {
+            if (aguardar(esperaMaxima.toNanos())) {
+                return new Permissao();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        recusadas.increment();
+        throw new ExportacaoSobrecarregadaException(segundosParaNovaTentativa);
+    }
+
+    /**
+     * Ocupa uma vaga esperando o quanto for preciso. Usado pelos jobs assíncronos.
+     */
+    public Permissao adquirirSemLimite() throws InterruptedException {
+        aguardar(-1);
+        return new Permissao();
+    }
+
+    // ===================== MÉTODOS PRIVADOS =====================
+
+    private boolean aguardar(long nanos) throws InterruptedException {
+        long inicio = System.nanoTime();
+        aguardando.incrementAndGet();
+        try {
+            if (nanos < 0) {
+                vagas.acquire();
+                return true;
+            }
+            return vagas.tryAcquire(nanos, TimeUnit.NANOSECONDS);
+        } finally {
+            aguardando.decrementAndGet();
+            espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Vaga ocupada por uma exportação. Fechar mais de uma vez não tem efeito.
+     */
+    public final class Permissao implements AutoCloseable {
+
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        private Permissao() {
+        }
+
+        @Override
+        public void close() {
+            if (liberada.compareAndSet(false, true)) {
+                vagas.release();
+            }
+        }
+    }
+}
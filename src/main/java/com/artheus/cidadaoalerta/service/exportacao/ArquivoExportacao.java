@@ -0,0 +1,9 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import java.nio.file.Path;
+
+/**
+ * Arquivo de exportação guardado no cache, com o ETag calculado sobre o seu conteúdo.
+ */
+public record ArquivoExportacao(Path arquivo, String etag, long tamanho) {
+}
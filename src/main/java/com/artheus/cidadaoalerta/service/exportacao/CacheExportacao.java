@@ -0,0 +1,339 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.dto.VersaoDados;
+import com.artheus.cidadaoalerta.exception.csv.CsvGenerationException;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.enums.TipoEventoReclamacao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Cache em disco das exportações CSV, uma entrada por filtro. Cada entrada guarda a
+ * {@link VersaoDados} lida antes da geração; a requisição seguinte com o mesmo filtro só
+ * reaproveita o arquivo se a versão atual for igual, o que cobre alterações de reclamações
+ * feitas por outras instâncias. Dentro da instância, os eventos de reclamação e de usuário
+ * removem na hora as entradas que podem conter a linha alterada. A versão não cobre a tabela
+ * de usuários: um nome alterado em outra instância só aparece quando a entrada sai do cache.
+ * <p>
+ * O ETag é o hash do conteúdo do arquivo, então só se repete quando os bytes são os mesmos.
+ */
+@Slf4j
+@Component
+public class CacheExportacao {
+
+    private static final String EXTENSAO_ARQUIVO = ".csv";
+    private static final String EXTENSAO_PARCIAL = ".part";
+
+    private final Path diretorio;
+    private final long tamanhoMaximo;
+    private final Map<FiltroReclamacaoDTO, Entrada> entradas = new ConcurrentHashMap<>();
+    private final Map<Chave, CompletableFuture<Entrada>> emGeracao = new ConcurrentHashMap<>();
+    private final AtomicLong tamanhoTotal = new AtomicLong();
+
+    private final Counter acertos;
+    private final Counter falhas;
+    private final Counter invalidacoes;
+
+    /**
+     * Escreve a exportação completa no destino informado.
+     */
+    @FunctionalInterface
+    public interface Gerador {
+        void escrever(OutputStream out) throws IOException;
+    }
+
+    public CacheExportacao(
+            @Value("${exportacao.cache.diretorio:${java.io.tmpdir}/cidadaoalerta-cache}") String diretorio,
+            @Value("${exportacao.cache.tamanho-maximo-mb:512}") long tamanhoMaximoMb,
+            MeterRegistry registry
+    ) throws IOException {
+        this.diretorio = Paths.get(diretorio).toAbsolutePath();
+        this.tamanhoMaximo = tamanhoMaximoMb * 1024 * 1024;
+
+        this.acertos = Counter.builder("exportacao.cache.requisicoes")
+                .description("Exportações atendidas pelo cache")
+                .tag("resultado", "acerto")
+                .register(registry);
+        this.falhas = Counter.builder("exportacao.cache.requisicoes")
+                .description("Exportações atendidas pelo cache")
+                .tag("resultado", "falha")
+                .register(registry);
+        this.invalidacoes = Counter.builder("exportacao.cache.invalidacoes")
+                .description("Entradas removidas por alteração de dados")
+                .register(registry);
+        Gauge.builder("exportacao.cache.tamanho", tamanhoTotal, AtomicLong::get)
+                .description("Espaço ocupado pelos arquivos do cache")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder("exportacao.cache.entradas", entradas, Map::size)
+                .description("Filtros com exportação em cache")
+                .register(registry);
+
+        Files.createDirectories(this.diretorio);
+        removerArquivosOrfaos();
+    }
+
+    // ===================== API PÚBLICA =====================
+
+    /**
+     * Retorna o arquivo do filtro, já aberto, se ele ainda corresponde à versão informada; caso
+     * contrário gera um novo com o gerador. Requisições simultâneas do mesmo filtro e versão
+     * esperam uma única geração.
+     * <p>
+     * Uma invalidação ou remoção por espaço pode apagar o arquivo a qualquer momento, então ele
+     * é aberto aqui: se já tiver sido apagado, conta como falha e é gerado de novo; depois de
+     * aberto, o conteúdo continua legível pelo stream devolvido.
+     *
+     * @param filtro  filtros da exportação
+     * @param versao  versão atual dos dados do filtro
+     * @param gerador escreve a exportação quando não há arquivo válido
+     * @return o arquivo aberto; quem chama deve fechá-lo
+     */
+    public ConteudoExportacao obter(FiltroReclamacaoDTO filtro, VersaoDados versao, Gerador gerador) throws IOException {
+        Entrada entrada = entradas.get(filtro);
+        if (entrada != null && entrada.versao().equals(versao)) {
+            ConteudoExportacao conteudo = abrir(entrada);
+            if (conteudo != null) {
+                entrada.registrarAcesso();
+                acertos.increment();
+                return conteudo;
+            }
+        }
+
+        falhas.increment();
+        while (true) {
+            ConteudoExportacao conteudo = gerar(filtro, versao, gerador);
+            if (conteudo != null) return conteudo;
+        }
+    }
+
+    /**
+     * Remove as entradas cujo filtro pode incluir a reclamação alterada.
+     */
+    public void invalidar(Reclamacao reclamacao, TipoEventoReclamacao tipo) {
+        entradas.forEach((filtro, entrada) -> {
+            if (podeConter(filtro, reclamacao, tipo)) remover(filtro, entrada);
+        });
+    }
+
+    /**
+     * Remove as entradas que podem conter reclamações do usuário, cujo nome vai na exportação.
+     */
+    public void invalidarUsuario(Long usuarioId) {
+        entradas.forEach((filtro, entrada) -> {
+            if (filtro.usuarioId() == null || filtro.usuarioId().equals(usuarioId)) remover(filtro, entrada);
+        });
+    }
+
+    // ===================== MÉTODOS PRIVADOS =====================
+
+    /**
+     * Quem gera abre o arquivo antes de publicar a entrada, então sempre recebe o conteúdo.
+     * Quem só aguardou a geração de outra requisição recebe nulo se a entrada já tiver sido
+     * removida quando for abri-la.
+     */
+    private ConteudoExportacao gerar(FiltroReclamacaoDTO filtro, VersaoDados versao, Gerador gerador) throws IOException {
+        Chave chave = new Chave(filtro, versao);
+        CompletableFuture<Entrada> nova = new CompletableFuture<>();
+        CompletableFuture<Entrada> emAndamento = emGeracao.putIfAbsent(chave, nova);
+        if (emAndamento != null) {
+            return abrir(aguardar(emAndamento));
+        }
+
+        try {
+            Entrada entrada = escrever(versao, gerador);
+            ConteudoExportacao conteudo = abrir(entrada);
+            guardar(filtro, entrada);
+            nova.complete(entrada);
+            return conteudo;
+        } catch (IOException | RuntimeException e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emGeracao.remove(chave);
+        }
+    }
+
+    private Entrada aguardar(CompletableFuture<Entrada> emAndamento) throws IOException {
+        try {
+            return emAndamento.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new CsvGenerationException("Erro ao gerar exportação em cache", e.getCause());
+        }
+    }
+
+    private Entrada escrever(VersaoDados versao, Gerador gerador) throws IOException {
+        String nome = UUID.randomUUID().toString();
+        Path parcial = diretorio.resolve(nome + EXTENSAO_PARCIAL);
+        Path arquivo = diretorio.resolve(nome + EXTENSAO_ARQUIVO);
+        MessageDigest hash = novoHash();
+
+        try (OutputStream saida = new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(parcial)), hash)) {
+            gerador.escrever(saida);
+        } catch (IOException | RuntimeException e) {
+            apagar(parcial);
+            throw e;
+        }
+
+        Files.move(parcial, arquivo);
+        String etag = "\"" + HexFormat.of().formatHex(hash.digest(), 0, 16) + "\"";
+        return new Entrada(versao, new ArquivoExportacao(arquivo, etag, Files.size(arquivo)));
+    }
+
+    private void guardar(FiltroReclamacaoDTO filtro, Entrada entrada) {
+        tamanhoTotal.addAndGet(entrada.arquivo().tamanho());
+        Entrada anterior = entradas.put(filtro, entrada);
+        if (anterior != null) descartar(anterior);
+
+        liberarEspaco(entrada);
+    }
+
+    /**
+     * Remove as entradas acessadas há mais tempo até o cache voltar ao tamanho máximo.
+     * A entrada recém-gerada nunca é removida aqui, mesmo que sozinha passe do limite.
+     */
+    private void liberarEspaco(Entrada protegida) {
+        while (tamanhoTotal.get() > tamanhoMaximo) {
+            Map.Entry<FiltroReclamacaoDTO, Entrada> maisAntiga = entradas.entrySet().stream()
+                    .filter(e -> e.getValue() != protegida)
+                    .min(Comparator.comparing(e -> e.getValue().getUltimoAcesso()))
+                    .orElse(null);
+            if (maisAntiga == null) return;
+
+            if (entradas.remove(maisAntiga.getKey(), maisAntiga.getValue())) {
+                descartar(maisAntiga.getValue());
+            }
+        }
+    }
+
+    private void remover(FiltroReclamacaoDTO filtro, Entrada entrada) {
+        if (entradas.remove(filtro, entrada)) {
+            descartar(entrada);
+            invalidacoes.increment();
+        }
+    }
+
+    private void descartar(Entrada entrada) {
+        tamanhoTotal.addAndGet(-entrada.arquivo().tamanho());
+        apagar(entrada.arquivo().arquivo());
+    }
+
+    /**
+     * O status e a categoria anteriores a uma alteração não chegam no evento, então só o
+     * cadastro é comparado com eles; usuário e data de criação não mudam.
+     */
+    private boolean podeConter(FiltroReclamacaoDTO filtro, Reclamacao r, TipoEventoReclamacao tipo) {
+        if (filtro.usuarioId() != null && r.getUsuario() != null && !filtro.usuarioId().equals(r.getUsuario().getId())) {
+            return false;
+        }
+
+        LocalDateTime criacao = r.getDataCriacao();
+        if (criacao != null) {
+            if (filtro.getDataInicioLdt().map(criacao::isBefore).orElse(false)) return false;
+            if (filtro.getDataFimLdt().map(criacao::isAfter).orElse(false)) return false;
+        }
+
+        if (tipo != TipoEventoReclamacao.CRIADA) return true;
+
+        return (filtro.status() == null || filtro.status() == r.getStatus())
+                && (filtro.categoria() == null || filtro.categoria() == r.getCategoriaReclamacao());
+    }
+
+    /**
+     * Abre o arquivo da entrada, ou retorna nulo se ele já foi apagado.
+     */
+    private ConteudoExportacao abrir(Entrada entrada) throws IOException {
+        try {
+            return new ConteudoExportacao(entrada.arquivo(), Files.newInputStream(entrada.arquivo().arquivo()));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private MessageDigest novoHash() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    /**
+     * As entradas vivem só em memória, então arquivos de uma execução anterior são descartados.
+     */
+    private void removerArquivosOrfaos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            arquivos.filter(p -> p.toString().endsWith(EXTENSAO_ARQUIVO) || p.toString().endsWith(EXTENSAO_PARCIAL))
+                    .forEach(this::apagar);
+        }
+    }
+
+    private record Chave(FiltroReclamacaoDTO filtro, VersaoDados versao) {
+    }
+
+    private static final class Entrada {
+
+        private final VersaoDados versao;
+        private final ArquivoExportacao arquivo;
+        private volatile long ultimoAcesso = System.nanoTime();
+
+        Entrada(VersaoDados versao, ArquivoExportacao arquivo) {
+            this.versao = versao;
+            this.arquivo = arquivo;
+        }
+
+        VersaoDados versao() {
+            return versao;
+        }
+
+        ArquivoExportacao arquivo() {
+            return arquivo;
+        }
+
+        long getUltimoAcesso() {
+            return ultimoAcesso;
+        }
+
+        void registrarAcesso() {
+            ultimoAcesso = System.nanoTime();
+        }
+    }
+}
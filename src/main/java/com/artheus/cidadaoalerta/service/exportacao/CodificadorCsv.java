@@ -0,0 +1,132 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Codifica linhas de exportação no formato CSV do projeto (separador ';') reaproveitando
+ * o mesmo buffer a cada linha. Os campos de texto são escapados em uma única passada e
+ * números e datas são escritos direto no buffer, sem Strings intermediárias.
+ * <p>
+ * A saída é idêntica byte a byte à do escape original: o valor recebe aspas quando contém
+ * ';', '\n' ou '"', e as aspas internas são duplicadas.
+ * <p>
+ * Não é thread-safe: cada exportação deve usar sua própria instância.
+ */
+public final class CodificadorCsv {
+
+    private static final char SEPARADOR = ';';
+    private static final char ASPAS = '"';
+
+    // Usado apenas para anos fora de 1..9999, que o padrão "yyyy" formata de outro jeito
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final String quebraLinha;
+    private final StringBuilder linha = new StringBuilder(256);
+    private char[] buffer = new char[256];
+
+    public CodificadorCsv() {
+        this(System.lineSeparator());
+    }
+
+    public CodificadorCsv(String quebraLinha) {
+        this.quebraLinha = quebraLinha;
+    }
+
+    /**
+     * Escreve a linha da reclamação, seguida da quebra de linha, no writer informado.
+     *
+     * @param r      linha de exportação
+     * @param writer destino; a linha é entregue em uma única chamada de write
+     */
+    public void escreverLinha(ReclamacaoExportacao r, Writer writer) throws IOException {
+        linha.setLength(0);
+
+        if (r.id() != null) linha.append(r.id().longValue());
+        linha.append(SEPARADOR);
+        escapar(r.titulo());
+        linha.append(SEPARADOR);
+        escapar(r.descricao());
+        linha.append(SEPARADOR);
+        if (r.categoria() != null) linha.append(r.categoria().name());
+        linha.append(SEPARADOR);
+        if (r.status() != null) linha.append(r.status().name());
+        linha.append(SEPARADOR);
+        if (r.latitude() != null) linha.append(r.latitude().doubleValue());
+        linha.append(SEPARADOR);
+        if (r.longitude() != null) linha.append(r.longitude().doubleValue());
+        linha.append(SEPARADOR);
+        if (r.dataCriacao() != null) formatarData(r.dataCriacao());
+        linha.append(SEPARADOR);
+        escapar(r.nomeUsuario());
+        linha.append(quebraLinha);
+
+        int tamanho = linha.length();
+        if (buffer.length < tamanho) {
+            buffer = new char[Math.max(tamanho, buffer.length * 2)];
+        }
+        linha.getChars(0, tamanho, buffer, 0);
+        writer.write(buffer, 0, tamanho);
+    }
+
+    /**
+     * Acrescenta o valor ao buffer, entre aspas e com aspas duplicadas quando necessário.
+     * O trecho anterior ao primeiro caractere especial é copiado de uma vez; só a partir
+     * dele a cópia é feita caractere a caractere.
+     */
+    private void escapar(String valor) {
+        if (valor == null) return;
+
+        int tamanho = valor.length();
+        int primeiroEspecial = -1;
+        for (int i = 0; i < tamanho; i++) {
+            char c = valor.charAt(i);
+            if (c == ASPAS || c == SEPARADOR || c == '\n') {
+                primeiroEspecial = i;
+                break;
+            }
+        }
+
+        if (primeiroEspecial < 0) {
+            linha.append(valor);
+            return;
+        }
+
+        linha.append(ASPAS).append(valor, 0, primeiroEspecial);
+        for (int i = primeiroEspecial; i < tamanho; i++) {
+            char c = valor.charAt(i);
+            if (c == ASPAS) linha.append(ASPAS);
+            linha.append(c);
+        }
+        linha.append(ASPAS);
+    }
+
+    private void formatarData(LocalDateTime data) {
+        int ano = data.getYear();
+        if (ano < 1 || ano > 9999) {
+            linha.append(data.format(DATE_TIME_FORMATTER));
+            return;
+        }
+
+        doisDigitos(ano / 100);
+        doisDigitos(ano % 100);
+        linha.append('-');
+        doisDigitos(data.getMonthValue());
+        linha.append('-');
+        doisDigitos(data.getDayOfMonth());
+        linha.append(' ');
+        doisDigitos(data.getHour());
+        linha.append(':');
+        doisDigitos(data.getMinute());
+        linha.append(':');
+        doisDigitos(data.getSecond());
+    }
+
+    private void doisDigitos(int valor) {
+        linha.append((char) ('0' + valor / 10)).append((char) ('0' + valor % 10));
+    }
+}
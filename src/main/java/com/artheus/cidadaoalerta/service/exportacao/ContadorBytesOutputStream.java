@@ -0,0 +1,35 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OutputStream que repassa os bytes ao destino e contabiliza quantos foram escritos.
+ * O contador pode ser lido por outra thread enquanto a escrita acontece.
+ */
+public class ContadorBytesOutputStream extends FilterOutputStream {
+
+    private final AtomicLong bytesEscritos = new AtomicLong();
+
+    public ContadorBytesOutputStream(OutputStream destino) {
+        super(destino);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        bytesEscritos.incrementAndGet();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        bytesEscritos.addAndGet(len);
+    }
+
+    public long getBytesEscritos() {
+        return bytesEscritos.get();
+    }
+}
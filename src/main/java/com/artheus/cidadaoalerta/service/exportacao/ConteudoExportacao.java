@@ -0,0 +1,18 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Arquivo do cache já aberto para leitura. O stream é aberto enquanto a entrada está no cache,
+ * então continua legível mesmo que a entrada seja invalidada e o arquivo apagado em seguida.
+ * Quem recebe é responsável por fechá-lo.
+ */
+public record ConteudoExportacao(ArquivoExportacao arquivo, InputStream conteudo) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+        conteudo.close();
+    }
+}
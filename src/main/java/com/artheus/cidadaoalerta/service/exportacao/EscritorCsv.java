@@ -0,0 +1,54 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV UTF-8 com BOM (para o Excel) e separador ';', codificado pelo {@link CodificadorCsv}.
+ */
+public class EscritorCsv implements EscritorExportacao {
+
+    public static final String CABECALHO = "id;titulo;descricao;categoria;status;latitude;longitude;dataCriacao;usuario";
+
+    private static final int TAMANHO_BUFFER_ESCRITA = 16 * 1024;
+
+    private final OutputStream out;
+    private final Writer writer;
+    private final String quebraLinha = System.lineSeparator();
+    private final CodificadorCsv codificador = new CodificadorCsv(quebraLinha);
+
+    public EscritorCsv(OutputStream out) {
+        this.out = out;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), TAMANHO_BUFFER_ESCRITA);
+    }
+
+    @Override
+    public void escreverInicio() throws IOException {
+        out.write(0xEF);
+        out.write(0xBB);
+        out.write(0xBF);
+        writer.write(CABECALHO);
+        writer.write(quebraLinha);
+    }
+
+    @Override
+    public void escreverLinha(ReclamacaoExportacao r) throws IOException {
+        codificador.escreverLinha(r, writer);
+    }
+
+    @Override
+    public void escreverFim() {
+        // CSV não tem rodapé
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
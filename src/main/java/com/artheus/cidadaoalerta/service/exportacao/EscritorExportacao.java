@@ -0,0 +1,25 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+
+import java.io.IOException;
+
+/**
+ * Escreve linhas de exportação em um formato de saída, uma por vez, sem acumular o resultado.
+ * O pipeline chama {@link #escreverInicio()}, depois {@link #escreverLinha} para cada linha do
+ * cursor e por fim {@link #escreverFim()}. Partições paralelas usam só {@link #escreverLinha}.
+ * Implementações não são thread-safe.
+ */
+public interface EscritorExportacao {
+
+    /** Cabeçalho do arquivo (BOM e cabeçalho no CSV, abertura da coleção no GeoJSON). */
+    void escreverInicio() throws IOException;
+
+    void escreverLinha(ReclamacaoExportacao r) throws IOException;
+
+    /** Fechamento do arquivo, quando o formato exige. */
+    void escreverFim() throws IOException;
+
+    /** Envia ao destino o que estiver em buffer. */
+    void flush() throws IOException;
+}
@@ -0,0 +1,55 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * GeoJSON FeatureCollection (RFC 7946): cada reclamação vira uma Feature com geometria Point.
+ * As coordenadas seguem a ordem [longitude, latitude] exigida pela especificação.
+ */
+class EscritorGeoJson extends EscritorJson {
+
+    EscritorGeoJson(JsonGenerator gerador) {
+        super(gerador);
+    }
+
+    @Override
+    public void escreverInicio() throws IOException {
+        gerador.writeStartObject();
+        gerador.writeStringField("type", "FeatureCollection");
+        gerador.writeArrayFieldStart("features");
+    }
+
+    @Override
+    public void escreverLinha(ReclamacaoExportacao r) throws IOException {
+        gerador.writeStartObject();
+        gerador.writeStringField("type", "Feature");
+        if (r.id() != null) gerador.writeNumberField("id", r.id());
+
+        if (r.latitude() != null && r.longitude() != null) {
+            gerador.writeObjectFieldStart("geometry");
+            gerador.writeStringField("type", "Point");
+            gerador.writeArrayFieldStart("coordinates");
+            gerador.writeNumber(r.longitude());
+            gerador.writeNumber(r.latitude());
+            gerador.writeEndArray();
+            gerador.writeEndObject();
+        } else {
+            gerador.writeNullField("geometry");
+        }
+
+        gerador.writeObjectFieldStart("properties");
+        escreverAtributos(r, false);
+        gerador.writeEndObject();
+
+        gerador.writeEndObject();
+    }
+
+    @Override
+    public void escreverFim() throws IOException {
+        gerador.writeEndArray();
+        gerador.writeEndObject();
+    }
+}
@@ -0,0 +1,54 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Base dos formatos JSON: escreve direto no {@link JsonGenerator}, campo a campo,
+ * sem montar árvores ou objetos intermediários por linha.
+ */
+abstract class EscritorJson implements EscritorExportacao {
+
+    protected final JsonGenerator gerador;
+
+    protected EscritorJson(JsonGenerator gerador) {
+        this.gerador = gerador;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        gerador.flush();
+    }
+
+    /**
+     * Escreve os atributos da reclamação no objeto JSON já aberto.
+     *
+     * @param incluirCoordenadas false no GeoJSON, onde as coordenadas vão na geometria
+     */
+    protected void escreverAtributos(ReclamacaoExportacao r, boolean incluirCoordenadas) throws IOException {
+        if (r.id() != null) gerador.writeNumberField("id", r.id());
+        else gerador.writeNullField("id");
+
+        gerador.writeStringField("titulo", r.titulo());
+        gerador.writeStringField("descricao", r.descricao());
+        gerador.writeStringField("categoria", r.categoria() != null ? r.categoria().name() : null);
+        gerador.writeStringField("status", r.status() != null ? r.status().name() : null);
+
+        if (incluirCoordenadas) {
+            escreverNumero("latitude", r.latitude());
+            escreverNumero("longitude", r.longitude());
+        }
+
+        gerador.writeStringField("dataCriacao",
+                r.dataCriacao() != null ? r.dataCriacao().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
+        gerador.writeStringField("usuario", r.nomeUsuario());
+    }
+
+    private void escreverNumero(String campo, Double valor) throws IOException {
+        if (valor != null) gerador.writeNumberField(campo, valor);
+        else gerador.writeNullField(campo);
+    }
+}
@@ -0,0 +1,35 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * JSON delimitado por linha: um objeto por reclamação, separado por '\n',
+ * para consumidores que processam a exportação incrementalmente.
+ */
+class EscritorNdjson extends EscritorJson {
+
+    EscritorNdjson(JsonGenerator gerador) {
+        super(gerador);
+    }
+
+    @Override
+    public void escreverInicio() {
+        // Cada linha é um documento independente, não há cabeçalho
+    }
+
+    @Override
+    public void escreverLinha(ReclamacaoExportacao r) throws IOException {
+        gerador.writeStartObject();
+        escreverAtributos(r, true);
+        gerador.writeEndObject();
+        gerador.writeRaw('\n');
+    }
+
+    @Override
+    public void escreverFim() {
+        // Não há rodapé
+    }
+}
@@ -0,0 +1,76 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.ReclamacaoDelta;
+import com.artheus.cidadaoalerta.dto.RespostaDeltaExportacao;
+import com.artheus.cidadaoalerta.infra.datasource.ContextoPoolConexao;
+import com.artheus.cidadaoalerta.infra.datasource.PoolConexao;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Exportação incremental para consumidores de ETL: devolve só as reclamações criadas,
+ * alteradas ou inativadas depois da marca recebida, em ordem de (dataAtualizacao, id).
+ * <p>
+ * A dataAtualizacao é gerada pela aplicação antes do commit, então uma transação lenta pode
+ * gravar um valor menor que o de outra já confirmada. Para não pular esses registros, só são
+ * entregues alterações mais antigas que o atraso de estabilização configurado.
+ */
+@Service
+public class ExportacaoDeltaService {
+
+    public static final int LIMITE_PADRAO = 1_000;
+    public static final int LIMITE_MAXIMO = 10_000;
+
+    private final ReclamacaoRepository repository;
+    private final TransactionTemplate transacaoLeitura;
+    private final Duration atrasoEstabilizacao;
+
+    public ExportacaoDeltaService(
+            ReclamacaoRepository repository,
+            PlatformTransactionManager transactionManager,
+            @Value("${exportacao.delta.atraso-estabilizacao:60s}") Duration atrasoEstabilizacao
+    ) {
+        this.repository = repository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.atrasoEstabilizacao = atrasoEstabilizacao;
+    }
+
+    /**
+     * Busca a próxima página de alterações.
+     *
+     * @param marca  marca devolvida pela chamada anterior; nula na primeira sincronização
+     * @param limite quantidade máxima de itens (padrão {@value #LIMITE_PADRAO}, máximo {@value #LIMITE_MAXIMO})
+     * @return itens alterados, a marca para a próxima chamada e se ainda há mais alterações
+     */
+    public RespostaDeltaExportacao buscarAlteracoes(String marca, Integer limite) {
+        MarcaDelta desde = MarcaDelta.decodificar(marca);
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        LocalDateTime ate = LocalDateTime.now().minus(atrasoEstabilizacao);
+
+        // Busca um item a mais só para saber se existe próxima página. A transação é aberta
+        // aqui, e não por @Transactional, para que a conexão já saia do pool de exportação
+        List<ReclamacaoDelta> encontrados = ContextoPoolConexao.executar(PoolConexao.EXPORTACAO, () ->
+                transacaoLeitura.execute(status -> repository.buscarAlteracoesDesde(
+                        desde.dataAtualizacao(), desde.id(), ate, PageRequest.of(0, tamanho + 1))));
+
+        boolean temMais = encontrados.size() > tamanho;
+        List<ReclamacaoDelta> itens = temMais ? encontrados.subList(0, tamanho) : encontrados;
+
+        if (itens.isEmpty()) {
+            return new RespostaDeltaExportacao(itens, marca, false);
+        }
+
+        ReclamacaoDelta ultimo = itens.get(itens.size() - 1);
+        String proximaMarca = new MarcaDelta(ultimo.dataAtualizacao(), ultimo.id()).codificar();
+        return new RespostaDeltaExportacao(itens, proximaMarca, temMais);
+    }
+}
@@ -0,0 +1,70 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.DetalhamentoExportacaoJob;
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.model.enums.StatusExportacaoJob;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado em memória de uma exportação assíncrona.
+ * É escrito pela thread do executor e lido pelas requisições de acompanhamento.
+ */
+@Getter
+public class ExportacaoJob {
+
+    private final UUID id;
+    private final FiltroReclamacaoDTO filtro;
+    private final Path arquivo;
+    private final LocalDateTime criadoEm = LocalDateTime.now();
+    private final AtomicLong linhasEscritas = new AtomicLong();
+
+    private volatile StatusExportacaoJob status = StatusExportacaoJob.PENDENTE;
+    private volatile ContadorBytesOutputStream saida;
+    private volatile long bytesEscritos;
+    private volatile LocalDateTime concluidoEm;
+    private volatile String erro;
+
+    public ExportacaoJob(UUID id, FiltroReclamacaoDTO filtro, Path arquivo) {
+        this.id = id;
+        this.filtro = filtro;
+        this.arquivo = arquivo;
+    }
+
+    void iniciar(ContadorBytesOutputStream saida) {
+        this.saida = saida;
+        this.status = StatusExportacaoJob.EM_EXECUCAO;
+    }
+
+    void concluir(long tamanhoArquivo) {
+        this.bytesEscritos = tamanhoArquivo;
+        this.saida = null;
+        this.concluidoEm = LocalDateTime.now();
+        this.status = StatusExportacaoJob.CONCLUIDO;
+    }
+
+    void falhar(String mensagem) {
+        this.saida = null;
+        this.erro = mensagem;
+        this.concluidoEm = LocalDateTime.now();
+        this.status = StatusExportacaoJob.FALHOU;
+    }
+
+    public boolean isFinalizado() {
+        return status == StatusExportacaoJob.CONCLUIDO || status == StatusExportacaoJob.FALHOU;
+    }
+
+    public long getBytesEscritos() {
+        ContadorBytesOutputStream emAndamento = saida;
+        return emAndamento != null ? emAndamento.getBytesEscritos() : bytesEscritos;
+    }
+
+    public DetalhamentoExportacaoJob toDetalhamento() {
+        return new DetalhamentoExportacaoJob(id, status, linhasEscritas.get(), getBytesEscritos(),
+                criadoEm, concluidoEm, erro);
+    }
+}
@@ -0,0 +1,239 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.DetalhamentoExportacaoJob;
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.exception.csv.CsvGenerationException;
+import com.artheus.cidadaoalerta.exception.exportacao.ExportacaoJobNaoConcluidoException;
+import com.artheus.cidadaoalerta.exception.exportacao.ExportacaoJobNaoEncontradoException;
+import com.artheus.cidadaoalerta.exception.exportacao.ExportacaoSobrecarregadaException;
+import com.artheus.cidadaoalerta.model.enums.StatusExportacaoJob;
+import com.artheus.cidadaoalerta.service.CsvService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Executa exportações CSV em segundo plano, gravando o resultado em um diretório de spool local.
+ * A requisição que cria o job retorna imediatamente; o progresso é consultado por polling e o
+ * arquivo final é baixado depois, sem prender uma thread do Tomcat durante a geração.
+ */
+@Slf4j
+@Service
+public class ExportacaoJobService {
+
+    private static final String EXTENSAO_ARQUIVO = ".csv";
+    private static final String EXTENSAO_PARCIAL = ".part";
+
+    private final CsvService csvService;
+    private final AdmissaoExportacao admissao;
+    private final Path diretorio;
+    private final Duration retencao;
+    private final long tamanhoMaximoSpool;
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, ExportacaoJob> jobs = new ConcurrentHashMap<>();
+
+    public ExportacaoJobService(
+            CsvService csvService,
+            AdmissaoExportacao admissao,
+            @Value("${exportacao.jobs.diretorio:${java.io.tmpdir}/cidadaoalerta-exportacoes}") String diretorio,
+            @Value("${exportacao.jobs.threads:2}") int threads,
+            @Value("${exportacao.jobs.capacidade-fila:10}") int capacidadeFila,
+            @Value("${exportacao.jobs.retencao:24h}") Duration retencao,
+            @Value("${exportacao.jobs.tamanho-maximo-spool-mb:1024}") long tamanhoMaximoSpoolMb
+    ) throws IOException {
+        this.csvService = csvService;
+        this.admissao = admissao;
+        this.diretorio = Paths.get(diretorio).toAbsolutePath();
+        this.retencao = retencao;
+        this.tamanhoMaximoSpool = tamanhoMaximoSpoolMb * 1024 * 1024;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                new CustomizableThreadFactory("exportacao-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Files.createDirectories(this.diretorio);
+        removerArquivosOrfaos();
+    }
+
+    // ===================== API PÚBLICA =====================
+
+    /**
+     * Registra uma nova exportação e a coloca na fila do executor.
+     *
+     * @throws ExportacaoSobrecarregadaException se todas as threads e a fila estiverem ocupadas
+     */
+    public DetalhamentoExportacaoJob criar(FiltroReclamacaoDTO filtro) {
+        UUID id = UUID.randomUUID();
+        ExportacaoJob job = new ExportacaoJob(id, filtro, diretorio.resolve(id + EXTENSAO_ARQUIVO));
+        jobs.put(id, job);
+
+        try {
+            executor.execute(() -> executar(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            log.warn("Fila de exportações cheia, job {} recusado", id);
+            throw new ExportacaoSobrecarregadaException(30);
+        }
+
+        log.info("Exportação {} enfileirada", id);
+        return job.toDetalhamento();
+    }
+
+    public DetalhamentoExportacaoJob consultar(UUID id) {
+        return buscar(id).toDetalhamento();
+    }
+
+    /**
+     * Abre o arquivo de um job concluído. A limpeza do spool pode apagar o arquivo a qualquer
+     * momento, então ele é aberto aqui: depois de aberto, o conteúdo continua legível pelo canal
+     * mesmo que o arquivo seja removido do diretório.
+     *
+     * @return canal aberto para leitura; quem chama deve fechá-lo
+     * @throws ExportacaoJobNaoConcluidoException se o job ainda estiver em andamento ou tiver falhado
+     * @throws ExportacaoJobNaoEncontradoException se o arquivo já tiver sido removido do spool
+     */
+    public FileChannel abrirArquivo(UUID id) throws IOException {
+        ExportacaoJob job = buscar(id);
+        if (job.getStatus() != StatusExportacaoJob.CONCLUIDO) {
+            throw new ExportacaoJobNaoConcluidoException(id, job.getStatus());
+        }
+
+        try {
+            return FileChannel.open(job.getArquivo(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new ExportacaoJobNaoEncontradoException(id);
+        }
+    }
+
+    /**
+     * Remove arquivos de jobs finalizados mais antigos que a retenção e, se o spool ainda
+     * ultrapassar o tamanho máximo, remove os mais antigos até voltar ao limite.
+     */
+    @Scheduled(fixedDelayString = "${exportacao.jobs.intervalo-limpeza:5m}")
+    public void removerArquivosExpirados() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencao);
+
+        List<ExportacaoJob> finalizados = jobs.values().stream()
+                .filter(ExportacaoJob::isFinalizado)
+                .sorted(Comparator.comparing(ExportacaoJob::getConcluidoEm))
+                .toList();
+
+        long tamanhoTotal = 0;
+        for (ExportacaoJob job : finalizados) {
+            tamanhoTotal += job.getBytesEscritos();
+        }
+
+        for (ExportacaoJob job : finalizados) {
+            boolean expirado = job.getConcluidoEm().isBefore(limite);
+            if (!expirado && tamanhoTotal <= tamanhoMaximoSpool) {
+                break;
+            }
+            tamanhoTotal -= job.getBytesEscritos();
+            remover(job);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    // ===================== MÉTODOS PRIVADOS =====================
+
+    private ExportacaoJob buscar(UUID id) {
+        ExportacaoJob job = jobs.get(id);
+        if (job == null) throw new ExportacaoJobNaoEncontradoException(id);
+        return job;
+    }
+
+    private void executar(ExportacaoJob job) {
+        Path parcial = job.getArquivo().resolveSibling(job.getId() + EXTENSAO_PARCIAL);
+
+        // O job espera sua vaga sem limite: a fila do executor já controla quantos jobs existem
+        try (AdmissaoExportacao.Permissao permissao = admissao.adquirirSemLimite();
+             OutputStream arquivo = Files.newOutputStream(parcial);
+             ContadorBytesOutputStream saida = new ContadorBytesOutputStream(new BufferedOutputStream(arquivo))) {
+
+            job.iniciar(saida);
+            csvService.exportarCsv(job.getFiltro(), saida, job.getLinhasEscritas()::set);
+            saida.flush();
+        } catch (IOException | UncheckedIOException | CsvGenerationException e) {
+            falhar(job, parcial, e);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            falhar(job, parcial, e);
+            return;
+        } catch (RuntimeException e) {
+            falhar(job, parcial, e);
+            throw e;
+        }
+
+        try {
+            Files.move(parcial, job.getArquivo(), StandardCopyOption.ATOMIC_MOVE);
+            job.concluir(Files.size(job.getArquivo()));
+            log.info("Exportação {} concluída: {} linhas, {} bytes",
+                    job.getId(), job.getLinhasEscritas().get(), job.getBytesEscritos());
+        } catch (IOException e) {
+            falhar(job, parcial, e);
+        }
+    }
+
+    private void falhar(ExportacaoJob job, Path parcial, Exception e) {
+        log.error("Falha na exportação {}", job.getId(), e);
+        job.falhar("Erro ao gerar o arquivo de exportação");
+        apagar(parcial);
+    }
+
+    private void remover(ExportacaoJob job) {
+        jobs.remove(job.getId());
+        apagar(job.getArquivo());
+        log.info("Exportação {} removida do spool", job.getId());
+    }
+
+    private void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    /**
+     * Os jobs vivem só em memória, então arquivos deixados por uma execução anterior
+     * não podem mais ser consultados e são descartados na inicialização.
+     */
+    private void removerArquivosOrfaos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            arquivos.filter(p -> p.toString().endsWith(EXTENSAO_ARQUIVO) || p.toString().endsWith(EXTENSAO_PARCIAL))
+                    .forEach(this::apagar);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.dto.IntervaloIds;
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+import com.artheus.cidadaoalerta.exception.csv.CsvGenerationException;
+import com.artheus.cidadaoalerta.infra.datasource.ContextoPoolConexao;
+import com.artheus.cidadaoalerta.infra.datasource.PoolConexao;
+import com.artheus.cidadaoalerta.model.enums.FormatoExportacao;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Exportação particionada por faixa de id. A faixa de ids que atende ao filtro é dividida em
+ * N partições lidas ao mesmo tempo, cada uma em sua própria transação (e conexão), por um pool
+ * de threads limitado. Cada partição codifica suas linhas em blocos e os publica numa fila
+ * limitada; a thread da requisição consome as filas na ordem das partições, então a saída
+ * continua ordenada por id sem que nenhuma partição precise ficar inteira em memória.
+ * <p>
+ * Como cada partição usa uma transação própria, a exportação não é um snapshot único do banco:
+ * linhas alteradas durante a leitura podem aparecer com o estado de antes ou de depois.
+ */
+@Slf4j
+@Component
+public class ExportadorParalelo {
+
+    private static final int LINHAS_POR_BLOCO = ReclamacaoRepository.TAMANHO_LOTE_EXPORTACAO;
+
+    // Blocos que cada partição pode adiantar enquanto aguarda a vez de ser escrita
+    private static final int BLOCOS_POR_PARTICAO = 4;
+
+    private static final long ESPERA_FILA_MS = 200;
+
+    private final ReclamacaoRepository repository;
+    private final FabricaEscritorExportacao fabricaEscritor;
+    private final TransactionTemplate transacaoLeitura;
+    private final ThreadPoolExecutor executor;
+    private final int paralelismo;
+    private final long minimoIdsParaParticionar;
+
+    public ExportadorParalelo(
+            ReclamacaoRepository repository,
+            FabricaEscritorExportacao fabricaEscritor,
+            PlatformTransactionManager transactionManager,
+            @Value("${exportacao.paralelismo:1}") int paralelismo,
+            @Value("${exportacao.paralelo.threads:8}") int threads,
+            @Value("${exportacao.paralelo.minimo-ids:50000}") long minimoIdsParaParticionar
+    ) {
+        this.repository = repository;
+        this.fabricaEscritor = fabricaEscritor;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.paralelismo = paralelismo;
+        this.minimoIdsParaParticionar = minimoIdsParaParticionar;
+
+        // Fila FIFO: as partições de uma exportação começam na ordem em que serão consumidas,
+        // então a partição que a requisição está esperando nunca fica atrás das seguintes
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("exportacao-particao-"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    // ===================== API PÚBLICA =====================
+
+    /**
+     * Divide a exportação no paralelismo configurado.
+     *
+     * @return as faixas de id de cada partição, ou lista vazia se a exportação deve ser sequencial
+     */
+    public List<IntervaloIds> particionar(FiltroReclamacaoDTO filtro) {
+        return particionar(filtro, paralelismo);
+    }
+
+    /**
+     * Divide a faixa de ids do filtro em até {@code quantidade} partições de tamanho igual.
+     * Retorna lista vazia quando o paralelismo é 1 ou a faixa é pequena demais para compensar.
+     */
+    public List<IntervaloIds> particionar(FiltroReclamacaoDTO filtro, int quantidade) {
+        if (quantidade <= 1) return List.of();
+
+        IntervaloIds intervalo = repository.buscarIntervaloIdsPorFiltrosCompletos(
+                filtro.status(),
+                filtro.usuarioId(),
+                filtro.categoria(),
+                filtro.getDataInicioLdt().orElse(null),
+                filtro.getDataFimLdt().orElse(null)
+        );
+
+        if (intervalo == null || intervalo.isVazio() || intervalo.tamanho() < Math.max(minimoIdsParaParticionar, quantidade)) {
+            return List.of();
+        }
+
+        long tamanhoParticao = (intervalo.tamanho() + quantidade - 1) / quantidade;
+        List<IntervaloIds> particoes = new ArrayList<>(quantidade);
+        for (long inicio = intervalo.minimo(); inicio <= intervalo.maximo(); inicio += tamanhoParticao) {
+            particoes.add(new IntervaloIds(inicio, Math.min(inicio + tamanhoParticao - 1, intervalo.maximo())));
+        }
+        return particoes;
+    }
+
+    /**
+     * Lê as partições em paralelo e escreve as linhas no destino, na ordem das partições.
+     * Não escreve cabeçalho nem rodapé; o formato precisa ser particionável.
+     *
+     * @param filtro    filtros da exportação
+     * @param formato   formato das linhas
+     * @param particoes faixas obtidas em {@link #particionar}
+     * @param out       destino das linhas (não é fechado)
+     * @param progresso recebe o total de linhas escritas a cada bloco
+     * @return total de linhas escritas
+     */
+    public long escrever(FiltroReclamacaoDTO filtro, FormatoExportacao formato, List<IntervaloIds> particoes,
+                         OutputStream out, LongConsumer progresso) throws IOException {
+        if (!formato.isParticionavel()) {
+            throw new IllegalArgumentException("Formato " + formato + " não pode ser gerado em partições");
+        }
+
+        AtomicBoolean cancelado = new AtomicBoolean();
+        List<BlockingQueue<Bloco>> filas = new ArrayList<>(particoes.size());
+        List<Future<?>> tarefas = new ArrayList<>(particoes.size());
+
+        for (IntervaloIds particao : particoes) {
+            BlockingQueue<Bloco> fila = new ArrayBlockingQueue<>(BLOCOS_POR_PARTICAO);
+            filas.add(fila);
+            tarefas.add(executor.submit(() -> produzir(filtro, formato, particao, fila, cancelado)));
+        }
+
+        boolean concluido = false;
+        try {
+            long total = 0;
+            for (BlockingQueue<Bloco> fila : filas) {
+                total = consumir(fila, out, total, progresso);
+            }
+            concluido = true;
+            return total;
+        } finally {
+            if (!concluido) {
+                cancelado.set(true);
+                tarefas.forEach(t -> t.cancel(false));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    // ===================== MÉTODOS PRIVADOS =====================
+
+    private long consumir(BlockingQueue<Bloco> fila, OutputStream out, long total, LongConsumer progresso) throws IOException {
+        while (true) {
+            Bloco bloco;
+            try {
+                bloco = fila.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Exportação paralela interrompida");
+            }
+
+            if (bloco.erro() != null) {
+                throw new CsvGenerationException("Erro ao ler partição da exportação", bloco.erro());
+            }
+            if (bloco.isFim()) {
+                return total;
+            }
+
+            out.write(bloco.dados());
+            total += bloco.linhas();
+            progresso.accept(total);
+        }
+    }
+
+    /**
+     * Executado no pool de threads: lê a faixa de ids dentro de uma transação própria, com conexão
+     * do pool de exportação, e publica blocos
+     * de linhas já codificadas em UTF-8. Sempre termina publicando o fim ou o erro.
+     */
+    private void produzir(FiltroReclamacaoDTO filtro, FormatoExportacao formato, IntervaloIds particao,
+                          BlockingQueue<Bloco> fila, AtomicBoolean cancelado) {
+        try {
+            ContextoPoolConexao.executar(PoolConexao.EXPORTACAO, () -> {
+                transacaoLeitura.executeWithoutResult(status -> lerParticao(filtro, formato, particao, fila, cancelado));
+                return null;
+            });
+            publicar(fila, Bloco.FIM, cancelado);
+        } catch (CancellationException e) {
+            log.debug("Partição {}-{} cancelada", particao.minimo(), particao.maximo());
+        } catch (Throwable e) {
+            log.error("Falha na partição {}-{} da exportação", particao.minimo(), particao.maximo(), e);
+            publicar(fila, Bloco.falha(e), cancelado);
+        }
+    }
+
+    private void lerParticao(FiltroReclamacaoDTO filtro, FormatoExportacao formato, IntervaloIds particao,
+                             BlockingQueue<Bloco> fila, AtomicBoolean cancelado) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+
+        try (Stream<ReclamacaoExportacao> linhas = repository.streamExportacaoPorFiltrosEIntervaloIds(
+                filtro.status(),
+                filtro.usuarioId(),
+                filtro.categoria(),
+                filtro.getDataInicioLdt().orElse(null),
+                filtro.getDataFimLdt().orElse(null),
+                particao.minimo(),
+                particao.maximo())) {
+
+            EscritorExportacao escritor = fabricaEscritor.criar(formato, buffer);
+            int linhasNoBloco = 0;
+            Iterator<ReclamacaoExportacao> iterator = linhas.iterator();
+            while (iterator.hasNext()) {
+                escritor.escreverLinha(iterator.next());
+
+                if (++linhasNoBloco == LINHAS_POR_BLOCO) {
+                    publicar(fila, fecharBloco(escritor, buffer, linhasNoBloco), cancelado);
+                    linhasNoBloco = 0;
+                }
+            }
+            if (linhasNoBloco > 0) {
+                publicar(fila, fecharBloco(escritor, buffer, linhasNoBloco), cancelado);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Bloco fecharBloco(EscritorExportacao escritor, ByteArrayOutputStream buffer, int linhas) throws IOException {
+        escritor.flush();
+        Bloco bloco = new Bloco(buffer.toByteArray(), linhas, null);
+        buffer.reset();
+        return bloco;
+    }
+
+    /**
+     * Espera espaço na fila da partição. Se a exportação for cancelada enquanto espera
+     * (cliente desconectou ou outra partição falhou), desiste lançando CancellationException.
+     */
+    private void publicar(BlockingQueue<Bloco> fila, Bloco bloco, AtomicBoolean cancelado) {
+        try {
+            while (!fila.offer(bloco, ESPERA_FILA_MS, TimeUnit.MILLISECONDS)) {
+                if (cancelado.get()) throw new CancellationException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+
+    private record Bloco(byte[] dados, int linhas, Throwable erro) {
+
+        static final Bloco FIM = new Bloco(null, 0, null);
+
+        static Bloco falha(Throwable erro) {
+            return new Bloco(null, 0, erro);
+        }
+
+        boolean isFim() {
+            return dados == null && erro == null;
+        }
+    }
+}
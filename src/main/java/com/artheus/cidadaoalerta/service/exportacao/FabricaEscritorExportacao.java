@@ -0,0 +1,42 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.model.enums.FormatoExportacao;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Cria o escritor de cada formato de exportação. O JsonFactory é thread-safe e
+ * compartilhado; cada exportação (ou partição) recebe seu próprio gerador.
+ */
+@Component
+public class FabricaEscritorExportacao {
+
+    private final JsonFactory jsonFactory = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    /**
+     * @param formato formato de saída
+     * @param out     destino (não é fechado pelo escritor)
+     */
+    public EscritorExportacao criar(FormatoExportacao formato, OutputStream out) throws IOException {
+        return switch (formato) {
+            case CSV -> new EscritorCsv(out);
+            case NDJSON -> new EscritorNdjson(gerador(out));
+            case GEOJSON -> new EscritorGeoJson(gerador(out));
+        };
+    }
+
+    private JsonGenerator gerador(OutputStream out) throws IOException {
+        JsonGenerator gerador = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        // NDJSON separa documentos com '\n' próprio; sem isso o Jackson inseriria um espaço entre eles
+        gerador.setRootValueSeparator(null);
+        return gerador;
+    }
+}
@@ -0,0 +1,46 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import com.artheus.cidadaoalerta.exception.exportacao.MarcaDeltaInvalidaException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição da exportação incremental: a última (dataAtualizacao, id) entregue ao consumidor.
+ * O id desempata registros atualizados no mesmo instante. Trafega como texto opaco em Base64
+ * para que o cliente apenas a devolva, sem depender do formato interno.
+ */
+public record MarcaDelta(LocalDateTime dataAtualizacao, long id) {
+
+    /**
+     * Marca anterior a qualquer registro, usada na primeira sincronização.
+     */
+    public static final MarcaDelta INICIAL = new MarcaDelta(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private static final String SEPARADOR = "|";
+
+    public String codificar() {
+        String texto = dataAtualizacao + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param marca texto recebido do cliente; nulo ou vazio significa "desde o início"
+     * @throws MarcaDeltaInvalidaException se o texto não tiver sido gerado por {@link #codificar()}
+     */
+    public static MarcaDelta decodificar(String marca) {
+        if (marca == null || marca.isBlank()) return INICIAL;
+
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(marca), StandardCharsets.UTF_8);
+            int separador = texto.lastIndexOf(SEPARADOR);
+            return new MarcaDelta(
+                    LocalDateTime.parse(texto.substring(0, separador)),
+                    Long.parseLong(texto.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new MarcaDeltaInvalidaException(marca);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.artheus.cidadaoalerta.service.exportacao;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Envia um arquivo do disco para a resposta HTTP em blocos, sem carregar o arquivo inteiro no
+ * heap. O destino é o {@code OutputStream} do servlet, então não há cópia direta do kernel
+ * (sendfile): cada bloco passa por um buffer antes de ser escrito. Recebe o canal já aberto
+ * porque o sendfile do Tomcat reabriria o arquivo pelo nome depois da resposta, e a limpeza do
+ * spool pode tê-lo apagado nesse meio tempo. Aceita um único intervalo em {@code Range} para
+ * permitir retomar downloads interrompidos.
+ */
+@Component
+public class TransferenciaArquivo {
+
+    /**
+     * Escreve o arquivo (ou o intervalo pedido) na resposta, com os cabeçalhos de download.
+     *
+     * @param arquivo      canal do arquivo finalizado, aberto para leitura (não é fechado aqui)
+     * @param nomeDownload nome sugerido ao cliente no Content-Disposition
+     * @param contentType  tipo do conteúdo enviado
+     */
+    public void enviar(FileChannel arquivo, String nomeDownload, String contentType,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long tamanho = arquivo.size();
+        long inicio = 0;
+        long fim = tamanho - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + nomeDownload);
+        response.setContentType(contentType);
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null) {
+            List<HttpRange> intervalos;
+            try {
+                intervalos = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                intervalos = List.of();
+            }
+
+            // Vários intervalos exigiriam multipart/byteranges; nesse caso o arquivo inteiro é enviado
+            if (intervalos.size() == 1) {
+                HttpRange intervalo = intervalos.get(0);
+                if (tamanho == 0 || !intervaloValido(intervalo, tamanho)) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                inicio = intervalo.getRangeStart(tamanho);
+                fim = intervalo.getRangeEnd(tamanho);
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + inicio + "-" + fim + "/" + tamanho);
+            } else if (intervalos.isEmpty()) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + tamanho);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+        }
+
+        long quantidade = fim - inicio + 1;
+        response.setContentLengthLong(quantidade);
+        if (quantidade <= 0) return;
+
+        copiar(arquivo, inicio, quantidade, response);
+    }
+
+    private boolean intervaloValido(HttpRange intervalo, long tamanho) {
+        try {
+            long inicio = intervalo.getRangeStart(tamanho);
+            return inicio < tamanho && inicio <= intervalo.getRangeEnd(tamanho);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // transferTo para um canal que não é de arquivo nem de socket vira leitura e escrita em blocos
+    private void copiar(FileChannel origem, long inicio, long quantidade, HttpServletResponse response) throws IOException {
+        WritableByteChannel destino = Channels.newChannel(response.getOutputStream());
+        long posicao = inicio;
+        long restante = quantidade;
+        while (restante > 0) {
+            long transferidos = origem.transferTo(posicao, restante, destino);
+            if (transferidos <= 0) break;
+            posicao += transferidos;
+            restante -= transferidos;
+        }
+        response.flushBuffer();
+    }
+}
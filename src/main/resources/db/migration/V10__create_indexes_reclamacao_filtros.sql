@@ -0,0 +1,10 @@
+-- Título por usuário (checagem de duplicidade no cadastro e na atualização) e filtros por usuário.
+-- Também atende a FK, então o índice criado automaticamente para fk_usuario deixa de ser necessário.
+CREATE INDEX idx_reclamacao_usuario_titulo_ativo ON reclamacao (usuario_id, titulo, ativo);
+
+-- Filtros de status/categoria com intervalo de criação. data_atualizacao no fim cobre o
+-- COUNT/MAX da versão do cache de exportação e, com o id implícito da InnoDB, o MIN/MAX de id
+-- das partições, sem ler as linhas.
+CREATE INDEX idx_reclamacao_status_categoria_data_criacao ON reclamacao (status, categoria_reclamacao, data_criacao, data_atualizacao);
+CREATE INDEX idx_reclamacao_categoria_data_criacao ON reclamacao (categoria_reclamacao, data_criacao, data_atualizacao);
+CREATE INDEX idx_reclamacao_data_criacao ON reclamacao (data_criacao, data_atualizacao);
@@ -0,0 +1,9 @@
+-- idx_reclamacao_usuario_titulo_ativo (V10) começa por usuario_id e atende a FK fk_usuario, então o
+-- índice que o MySQL criou para a FK em V3 só custava escrita. O InnoDB pode já tê-lo descartado ao
+-- criar o índice composto; por isso a remoção só acontece se ele ainda existir.
+SET @indice_fk = (SELECT COUNT(*) FROM information_schema.statistics
+                  WHERE table_schema = DATABASE() AND table_name = 'reclamacao' AND index_name = 'fk_usuario');
+SET @remover_indice_fk = IF(@indice_fk > 0, 'DROP INDEX fk_usuario ON reclamacao', 'DO 0');
+PREPARE remover_indice_fk FROM @remover_indice_fk;
+EXECUTE remover_indice_fk;
+DEALLOCATE PREPARE remover_indice_fk;
@@ -0,0 +1,4 @@
+ALTER TABLE reclamacao ADD COLUMN data_atualizacao DATETIME(6) NULL;
+UPDATE reclamacao SET data_atualizacao = COALESCE(data_criacao, CURRENT_TIMESTAMP(6));
+ALTER TABLE reclamacao MODIFY COLUMN data_atualizacao DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+CREATE INDEX idx_reclamacao_data_atualizacao_id ON reclamacao (data_atualizacao, id);
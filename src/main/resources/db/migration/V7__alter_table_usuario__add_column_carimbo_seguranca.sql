@@ -0,0 +1 @@
+ALTER TABLE usuario ADD COLUMN carimbo_seguranca BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+CREATE TABLE token_revogado (
+    jti VARCHAR(36) PRIMARY KEY,
+    expiracao DATETIME(6) NOT NULL,
+    INDEX idx_token_revogado_expiracao (expiracao)
+);
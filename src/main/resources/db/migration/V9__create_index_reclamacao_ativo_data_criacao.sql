@@ -0,0 +1 @@
+CREATE INDEX idx_reclamacao_ativo_data_criacao_id ON reclamacao (ativo, data_criacao, id);
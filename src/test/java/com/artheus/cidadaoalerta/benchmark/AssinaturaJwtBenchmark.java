@@ -0,0 +1,84 @@
+package com.artheus.cidadaoalerta.benchmark;
+
+import com.artheus.cidadaoalerta.security.ChavesJwt;
+import com.artheus.cidadaoalerta.security.JwtService;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede verificações de JWT por segundo com HS256 e com ES256, com e sem o cache de tokens
+ * verificados. O ECDSA é bem mais caro que o HMAC; o cache deve deixar a diferença
+ * irrelevante para tokens que voltam a cada requisição.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class AssinaturaJwtBenchmark {
+
+    private static final String SECRET = "12345678901234567890123456789012";
+    private static final String KID = "benchmark";
+    private static final int TOKENS = 500;
+    private static final int VERIFICACOES = 2_000;
+    private static final int AQUECIMENTO = 3;
+    private static final int MEDICOES = 5;
+
+    @Test
+    void compararHmacComEcdsa() {
+        KeyPair par = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        ChavesJwt hmac = ChavesJwt.hmac(SECRET);
+        ChavesJwt ecdsa = ChavesJwt.criar(null, KID,
+                Base64.getEncoder().encodeToString(par.getPrivate().getEncoded()),
+                Map.of(KID, Base64.getEncoder().encodeToString(par.getPublic().getEncoded())));
+
+        double hs256 = medir(hmac, 0);
+        double es256 = medir(ecdsa, 0);
+        double hs256EmCache = medir(hmac, TOKENS);
+        double es256EmCache = medir(ecdsa, TOKENS);
+
+        System.out.printf("%n=== Assinatura de JWT (%,d tokens distintos) ===%n", TOKENS);
+        System.out.printf("%-16s %15s%n", "versão", "verificações/s");
+        System.out.printf("%-16s %,15.0f%n", "HS256", hs256);
+        System.out.printf("%-16s %,15.0f%n", "ES256", es256);
+        System.out.printf("%-16s %,15.0f%n", "HS256 em cache", hs256EmCache);
+        System.out.printf("%-16s %,15.0f%n", "ES256 em cache", es256EmCache);
+
+        assertTrue(es256EmCache > es256, "o cache deveria evitar a verificação ECDSA");
+    }
+
+    private double medir(ChavesJwt chaves, int tamanhoCache) {
+        JwtService service = new JwtService(chaves, 3_600_000, 3_600_000, tamanhoCache, true);
+        String[] tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = service.gerarToken(new User("usuario" + i + "@email.com", "senha",
+                    List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        }
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            executar(service, tokens);
+        }
+
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < MEDICOES; i++) {
+            melhor = Math.min(melhor, executar(service, tokens));
+        }
+        return VERIFICACOES / (melhor / 1e9);
+    }
+
+    private long executar(JwtService service, String[] tokens) {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < VERIFICACOES; i++) {
+            if (service.verificarToken(tokens[i % TOKENS]).isEmpty()) throw new IllegalStateException("token recusado");
+        }
+        return System.nanoTime() - inicio;
+    }
+}
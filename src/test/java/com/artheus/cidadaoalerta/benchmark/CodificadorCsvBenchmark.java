@@ -0,0 +1,134 @@
+package com.artheus.cidadaoalerta.benchmark;
+
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import com.artheus.cidadaoalerta.service.exportacao.CodificadorCsv;
+import com.artheus.cidadaoalerta.unit.service.exportacao.CodificadorCsvLegado;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede linhas por segundo e bytes alocados por linha do {@code CodificadorCsv}
+ * em comparação com a conversão anterior (String.join + String.replace).
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class CodificadorCsvBenchmark {
+
+    private static final int LINHAS = 100_000;
+    private static final int AQUECIMENTO = 10;
+    private static final int MEDICOES = 10;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compararComConversaoAnterior() throws IOException {
+        ReclamacaoExportacao[] linhas = gerarLinhas();
+
+        Medicao legado = medir(linhas, this::escreverLegado);
+        Medicao codificador = medir(linhas, this::escreverCodificador);
+
+        System.out.printf("%n=== Codificação de %,d linhas ===%n", LINHAS);
+        System.out.printf("%-12s %15s %18s%n", "versão", "linhas/s", "bytes alocados/linha");
+        imprimir("legado", legado);
+        imprimir("codificador", codificador);
+
+        assertTrue(codificador.bytesPorLinha() < legado.bytesPorLinha(),
+                "o codificador deveria alocar menos por linha que a conversão anterior");
+    }
+
+    private void escreverLegado(ReclamacaoExportacao[] linhas, Writer writer) throws IOException {
+        String quebra = System.lineSeparator();
+        for (ReclamacaoExportacao r : linhas) {
+            writer.write(CodificadorCsvLegado.converterReclamacaoParaLinhaCsv(r));
+            writer.write(quebra);
+        }
+    }
+
+    private void escreverCodificador(ReclamacaoExportacao[] linhas, Writer writer) throws IOException {
+        CodificadorCsv codificador = new CodificadorCsv();
+        for (ReclamacaoExportacao r : linhas) {
+            codificador.escreverLinha(r, writer);
+        }
+    }
+
+    private Medicao medir(ReclamacaoExportacao[] linhas, Escrita escrita) throws IOException {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            executar(linhas, escrita);
+        }
+
+        Medicao melhor = null;
+        for (int i = 0; i < MEDICOES; i++) {
+            Medicao atual = executar(linhas, escrita);
+            if (melhor == null || atual.nanos() < melhor.nanos()) melhor = atual;
+        }
+        return melhor;
+    }
+
+    /**
+     * Escreve no mesmo tipo de pilha usado pela exportação (BufferedWriter sobre um encoder UTF-8),
+     * descartando os bytes no final para medir só a codificação.
+     */
+    private Medicao executar(ReclamacaoExportacao[] linhas, Escrita escrita) throws IOException {
+        long thread = Thread.currentThread().getId();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8), 16 * 1024);
+
+        long alocadoAntes = threads.getThreadAllocatedBytes(thread);
+        long inicio = System.nanoTime();
+        escrita.escrever(linhas, writer);
+        writer.flush();
+        long nanos = System.nanoTime() - inicio;
+        long alocado = threads.getThreadAllocatedBytes(thread) - alocadoAntes;
+
+        return new Medicao(nanos, (double) alocado / linhas.length);
+    }
+
+    private void imprimir(String nome, Medicao medicao) {
+        System.out.printf("%-12s %,15.0f %18.1f%n", nome, LINHAS / (medicao.nanos() / 1e9), medicao.bytesPorLinha());
+    }
+
+    private ReclamacaoExportacao[] gerarLinhas() {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 8, 0);
+        ReclamacaoExportacao[] linhas = new ReclamacaoExportacao[LINHAS];
+
+        for (int i = 0; i < LINHAS; i++) {
+            linhas[i] = new ReclamacaoExportacao(
+                    (long) i,
+                    "Reclamação " + i + " sobre iluminação",
+                    i % 10 == 0
+                            ? "Poste apagado; moradores relatam \"perigo\" à noite na rua " + i
+                            : "Buraco grande na calçada em frente à escola municipal número " + i,
+                    CategoriaReclamacao.values()[i % CategoriaReclamacao.values().length],
+                    StatusReclamacao.values()[i % StatusReclamacao.values().length],
+                    -23.0 - random.nextDouble(),
+                    -46.0 - random.nextDouble(),
+                    base.plusMinutes(i),
+                    "Usuario " + (i % 50)
+            );
+        }
+        return linhas;
+    }
+
+    @FunctionalInterface
+    private interface Escrita {
+        void escrever(ReclamacaoExportacao[] linhas, Writer writer) throws IOException;
+    }
+
+    private record Medicao(long nanos, double bytesPorLinha) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.artheus.cidadaoalerta.benchmark;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.model.enums.CompressaoExportacao;
+import com.artheus.cidadaoalerta.model.enums.FormatoExportacao;
+import com.artheus.cidadaoalerta.service.CsvService;
+import com.artheus.cidadaoalerta.service.exportacao.ContadorBytesOutputStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara bytes enviados e CPU gasta por 100 mil linhas na exportação streaming com e sem gzip.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = "spring.config.location=classpath:application-test.properties"
+)
+class CompressaoExportacaoBenchmark {
+
+    private static final int LINHAS = 100_000;
+    private static final int AQUECIMENTO = 2;
+    private static final int MEDICOES = 5;
+
+    @Autowired
+    private CsvService csvService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final FiltroReclamacaoDTO semFiltro = new FiltroReclamacaoDTO(null, null, null, null, null);
+
+    @BeforeAll
+    void popular() {
+        MassaDeDados.limpar(jdbc);
+        MassaDeDados.popular(jdbc, 50, LINHAS);
+    }
+
+    @AfterAll
+    void limpar() {
+        MassaDeDados.limpar(jdbc);
+    }
+
+    @Test
+    void compararCsvComGzip() throws Exception {
+        Medicao csv = medir(CompressaoExportacao.NENHUMA);
+        Medicao gzip = medir(CompressaoExportacao.GZIP);
+
+        System.out.printf("%n=== Exportação de %,d linhas ===%n", LINHAS);
+        System.out.printf("%-8s %15s %15s%n", "formato", "bytes", "CPU (ms)");
+        System.out.printf("%-8s %,15d %15.1f%n", "csv", csv.bytes(), csv.cpuNanos() / 1e6);
+        System.out.printf("%-8s %,15d %15.1f%n", "gzip", gzip.bytes(), gzip.cpuNanos() / 1e6);
+        System.out.printf("taxa de compressão: %.1fx, CPU extra do gzip: %.1f ms%n",
+                (double) csv.bytes() / gzip.bytes(), (gzip.cpuNanos() - csv.cpuNanos()) / 1e6);
+
+        assertTrue(gzip.bytes() * 3 < csv.bytes(), "gzip deveria reduzir o CSV em pelo menos 3x");
+    }
+
+    private Medicao medir(CompressaoExportacao compressao) throws Exception {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            executar(compressao);
+        }
+
+        Medicao melhor = null;
+        for (int i = 0; i < MEDICOES; i++) {
+            Medicao atual = executar(compressao);
+            if (melhor == null || atual.cpuNanos() < melhor.cpuNanos()) melhor = atual;
+        }
+        return melhor;
+    }
+
+    private Medicao executar(CompressaoExportacao compressao) throws Exception {
+        try (ContadorBytesOutputStream out = new ContadorBytesOutputStream(OutputStream.nullOutputStream())) {
+            long inicio = threads.getCurrentThreadCpuTime();
+            csvService.exportar(semFiltro, FormatoExportacao.CSV, out, compressao);
+            return new Medicao(out.getBytesEscritos(), threads.getCurrentThreadCpuTime() - inicio);
+        }
+    }
+
+    private record Medicao(long bytes, long cpuNanos) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.artheus.cidadaoalerta.benchmark;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.dto.IntervaloIds;
+import com.artheus.cidadaoalerta.model.enums.FormatoExportacao;
+import com.artheus.cidadaoalerta.service.CsvService;
+import com.artheus.cidadaoalerta.service.exportacao.ContadorBytesOutputStream;
+import com.artheus.cidadaoalerta.service.exportacao.ExportadorParalelo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede o tempo da exportação CSV de 200 mil linhas com 1, 2, 4 e 8 partições paralelas.
+ * Com 1 worker é usado o caminho sequencial do CsvService. Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = {
+                "spring.config.location=classpath:application-test.properties",
+                "exportacao.paralelismo=1",
+                "exportacao.paralelo.threads=8",
+                "exportacao.paralelo.minimo-ids=0",
+                "spring.datasource.hikari.maximum-pool-size=12"
+        }
+)
+class ExportacaoParalelaBenchmark {
+
+    private static final int LINHAS = 200_000;
+    private static final int[] WORKERS = {1, 2, 4, 8};
+    private static final int AQUECIMENTO = 2;
+    private static final int MEDICOES = 3;
+
+    @Autowired
+    private CsvService csvService;
+
+    @Autowired
+    private ExportadorParalelo exportadorParalelo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final FiltroReclamacaoDTO semFiltro = new FiltroReclamacaoDTO(null, null, null, null, null);
+
+    @BeforeAll
+    void popular() {
+        MassaDeDados.limpar(jdbc);
+        MassaDeDados.popular(jdbc, 50, LINHAS);
+    }
+
+    @AfterAll
+    void limpar() {
+        MassaDeDados.limpar(jdbc);
+    }
+
+    @Test
+    void medirEscalabilidade() throws Exception {
+        System.out.printf("%n=== Exportação paralela de %,d linhas (%d CPUs) ===%n",
+                LINHAS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %12s %15s %10s%n", "workers", "tempo (ms)", "linhas/s", "speedup");
+
+        long bytesReferencia = -1;
+        double tempoBase = 0;
+        for (int workers : WORKERS) {
+            Medicao medicao = medir(workers);
+            if (bytesReferencia < 0) {
+                bytesReferencia = medicao.bytes();
+                tempoBase = medicao.nanos();
+            }
+
+            assertEquals(bytesReferencia, medicao.bytes(), "todas as execuções devem gerar o mesmo CSV");
+            System.out.printf("%-8d %12.1f %,15.0f %9.2fx%n", workers, medicao.nanos() / 1e6,
+                    LINHAS / (medicao.nanos() / 1e9), tempoBase / medicao.nanos());
+        }
+    }
+
+    private Medicao medir(int workers) throws Exception {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            executar(workers);
+        }
+
+        Medicao melhor = null;
+        for (int i = 0; i < MEDICOES; i++) {
+            Medicao atual = executar(workers);
+            if (melhor == null || atual.nanos() < melhor.nanos()) melhor = atual;
+        }
+        return melhor;
+    }
+
+    private Medicao executar(int workers) throws Exception {
+        try (ContadorBytesOutputStream out = new ContadorBytesOutputStream(OutputStream.nullOutputStream())) {
+            long inicio = System.nanoTime();
+            if (workers == 1) {
+                csvService.exportarCsv(semFiltro, out);
+            } else {
+                // Sem BOM e cabeçalho; a diferença de tamanho é compensada abaixo
+                List<IntervaloIds> particoes = exportadorParalelo.particionar(semFiltro, workers);
+                exportadorParalelo.escrever(semFiltro, FormatoExportacao.CSV, particoes, out, linhas -> { });
+            }
+            long nanos = System.nanoTime() - inicio;
+
+            long bytes = out.getBytesEscritos();
+            if (workers > 1) bytes += tamanhoCabecalho();
+            return new Medicao(nanos, bytes);
+        }
+    }
+
+    private long tamanhoCabecalho() {
+        // BOM (3 bytes) + cabeçalho + quebra de linha, como escritos pelo CsvService
+        return 3 + "id;titulo;descricao;categoria;status;latitude;longitude;dataCriacao;usuario".length()
+                + System.lineSeparator().length();
+    }
+
+    private record Medicao(long nanos, long bytes) {
+    }
+}
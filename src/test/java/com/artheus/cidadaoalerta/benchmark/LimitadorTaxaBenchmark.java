@@ -0,0 +1,133 @@
+package com.artheus.cidadaoalerta.benchmark;
+
+import com.artheus.cidadaoalerta.infra.limite.LimitadorTaxa;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede verificações de limite por segundo com várias threads disputando 10 mil chaves
+ * distintas: o {@link LimitadorTaxa} (compare-and-set por chave) contra um token bucket
+ * clássico protegido por um único lock, que serializa todas as chaves.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class LimitadorTaxaBenchmark {
+
+    private static final int CHAVES = 10_000;
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int VERIFICACOES_POR_THREAD = 200_000;
+    private static final int AQUECIMENTO = 3;
+    private static final int MEDICOES = 5;
+
+    // Taxa alta o bastante para que quase todas as verificações sejam aceitas e atualizem o balde
+    private static final int REQUISICOES = 1_000_000;
+    private static final Duration PERIODO = Duration.ofSeconds(1);
+
+    @Test
+    void compararComLockUnico() throws Exception {
+        String[] chaves = new String[CHAVES];
+        for (int i = 0; i < CHAVES; i++) {
+            chaves[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+
+        LimitadorTaxa semLock = new LimitadorTaxa(REQUISICOES, PERIODO, CHAVES * 2L);
+        BaldesComLockUnico lockUnico = new BaldesComLockUnico(REQUISICOES, PERIODO);
+
+        double comLock = medir(chaves, lockUnico::tentar);
+        double semLocks = medir(chaves, semLock::tentar);
+        long chavesEmMemoria = semLock.getQuantidadeChaves();
+        double chaveUnica = medir(new String[]{"10.0.0.1"},
+                new LimitadorTaxa(REQUISICOES, PERIODO, CHAVES)::tentar);
+
+        System.out.printf("%n=== Limite de taxa (%,d chaves, %d threads, %d núcleos) ===%n",
+                CHAVES, THREADS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-22s %15s%n", "versão", "verificações/s");
+        System.out.printf("%-22s %,15.0f%n", "lock único", comLock);
+        System.out.printf("%-22s %,15.0f%n", "CAS por chave", semLocks);
+        System.out.printf("%-22s %,15.0f%n", "CAS, chave única", chaveUnica);
+        System.out.printf("chaves em memória: %,d%n", chavesEmMemoria);
+
+        assertTrue(chavesEmMemoria <= CHAVES, "não deveria haver mais baldes que chaves");
+        // Com um só núcleo as threads não disputam o lock de fato e a comparação não diz nada
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            assertTrue(semLocks > comLock, "o balde sem lock deveria superar o lock único com muitas chaves");
+        }
+    }
+
+    private double medir(String[] chaves, ToLongFunction<String> verificacao) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < AQUECIMENTO; i++) {
+                executar(executor, chaves, verificacao);
+            }
+
+            long melhor = Long.MAX_VALUE;
+            for (int i = 0; i < MEDICOES; i++) {
+                melhor = Math.min(melhor, executar(executor, chaves, verificacao));
+            }
+            return (double) THREADS * VERIFICACOES_POR_THREAD / (melhor / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long executar(ExecutorService executor, String[] chaves, ToLongFunction<String> verificacao) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        Future<?>[] tarefas = new Future<?>[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            tarefas[t] = executor.submit(() -> {
+                largada.await();
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                long soma = 0;
+                for (int i = 0; i < VERIFICACOES_POR_THREAD; i++) {
+                    soma += verificacao.applyAsLong(chaves[aleatorio.nextInt(chaves.length)]);
+                }
+                return soma;
+            });
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) tarefa.get();
+        return System.nanoTime() - inicio;
+    }
+
+    /**
+     * Token bucket com fichas fracionárias e um mapa protegido por um único lock.
+     */
+    private static final class BaldesComLockUnico {
+
+        private final double capacidade;
+        private final double fichasPorNano;
+        private final Map<String, double[]> baldes = new HashMap<>();
+
+        BaldesComLockUnico(int requisicoes, Duration periodo) {
+            this.capacidade = requisicoes;
+            this.fichasPorNano = (double) requisicoes / periodo.toNanos();
+        }
+
+        synchronized long tentar(String chave) {
+            long agora = System.nanoTime();
+            double[] balde = baldes.computeIfAbsent(chave, c -> new double[]{capacidade, agora});
+            balde[0] = Math.min(capacidade, balde[0] + (agora - balde[1]) * fichasPorNano);
+            balde[1] = agora;
+            if (balde[0] < 1) {
+                return (long) ((1 - balde[0]) / fichasPorNano);
+            }
+            balde[0]--;
+            return 0;
+        }
+    }
+}
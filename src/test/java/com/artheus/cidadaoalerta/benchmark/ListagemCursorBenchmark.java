@@ -0,0 +1,111 @@
+package com.artheus.cidadaoalerta.benchmark;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.service.CursorReclamacao;
+import com.artheus.cidadaoalerta.service.ReclamacaoService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede a latência da página 1 e da página 10.000 (10 itens por página) na listagem por
+ * OFFSET, com COUNT, e na listagem por cursor, sobre 110 mil reclamações.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = "spring.config.location=classpath:application-test.properties"
+)
+class ListagemCursorBenchmark {
+
+    private static final int LINHAS = 110_000;
+    private static final int TAMANHO_PAGINA = 10;
+    private static final int PAGINA_PROFUNDA = 10_000;
+    private static final int AQUECIMENTO = 100;
+    private static final int MEDICOES = 100;
+
+    @Autowired
+    private ReclamacaoService reclamacaoService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final Pageable primeiraPagina = PageRequest.of(0, TAMANHO_PAGINA, Sort.by(Sort.Direction.DESC, "dataCriacao"));
+
+    @BeforeAll
+    void popular() {
+        MassaDeDados.limpar(jdbc);
+        MassaDeDados.popular(jdbc, 50, LINHAS);
+    }
+
+    @AfterAll
+    void limpar() {
+        MassaDeDados.limpar(jdbc);
+    }
+
+    @Test
+    void compararPaginaUmComPaginaProfunda() {
+        String cursorProfundo = cursorNaPagina(PAGINA_PROFUNDA);
+
+        double offsetInicio = medir(() -> reclamacaoService.listarReclamacoes(primeiraPagina));
+        double offsetProfundo = medir(() -> reclamacaoService.listarReclamacoes(
+                PageRequest.of(PAGINA_PROFUNDA, TAMANHO_PAGINA, primeiraPagina.getSort())));
+        double cursorInicio = medir(() -> reclamacaoService.listarReclamacoesPorCursor(null, primeiraPagina));
+        double cursorPaginaProfunda = medir(() -> reclamacaoService.listarReclamacoesPorCursor(cursorProfundo, primeiraPagina));
+
+        System.out.printf("%n=== Listagem de reclamações (%,d linhas, %d por página) ===%n", LINHAS, TAMANHO_PAGINA);
+        System.out.printf("%-8s %14s %20s%n", "modo", "página 1 (ms)", "página 10.000 (ms)");
+        System.out.printf("%-8s %14.2f %20.2f%n", "offset", offsetInicio, offsetProfundo);
+        System.out.printf("%-8s %14.2f %20.2f%n", "cursor", cursorInicio, cursorPaginaProfunda);
+
+        assertTrue(cursorPaginaProfunda < offsetProfundo, "o cursor deveria superar o OFFSET na página profunda");
+        assertTrue(cursorPaginaProfunda < cursorInicio * 3, "a página profunda por cursor deveria custar como a primeira");
+    }
+
+    /**
+     * Cursor que leva à página informada (contada a partir de zero), montado a partir da última
+     * linha da página anterior, como o servidor faria.
+     */
+    private String cursorNaPagina(int pagina) {
+        Map<String, Object> borda = jdbc.queryForMap(
+                "SELECT data_criacao, id FROM reclamacao WHERE ativo = TRUE ORDER BY data_criacao DESC, id DESC " +
+                        "LIMIT 1 OFFSET ?", pagina * TAMANHO_PAGINA - 1);
+        return new CursorReclamacao("dataCriacao", Sort.Direction.DESC,
+                ((Timestamp) borda.get("DATA_CRIACAO")).toLocalDateTime(),
+                ((Number) borda.get("ID")).longValue(), false).codificar();
+    }
+
+    /**
+     * Mediana da latência, em milissegundos.
+     */
+    private double medir(Runnable listagem) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            listagem.run();
+        }
+
+        long[] tempos = new long[MEDICOES];
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            listagem.run();
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        return tempos[MEDICOES / 2] / 1e6;
+    }
+}
@@ -0,0 +1,86 @@
+package com.artheus.cidadaoalerta.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Popula o banco de teste com um volume grande de reclamações direto via JDBC,
+ * já que inserir 100 mil linhas pelo JPA levaria mais tempo que o próprio benchmark.
+ */
+final class MassaDeDados {
+
+    private static final String[] PALAVRAS = {
+            "buraco", "rua", "iluminação", "poste", "apagado", "calçada", "esgoto", "vazamento",
+            "lixo", "acumulado", "praça", "semáforo", "quebrado", "noite", "bairro", "moradores",
+            "perigo", "crianças", "escola", "chuva", "alagamento", "ônibus", "ponto", "árvore"
+    };
+
+    private static final String[] CATEGORIAS = {"ILUMINACAO", "ASFALTO", "SANEAMENTO", "SEGURANCA"};
+    private static final String[] STATUS = {"ABERTA", "EM_ANDAMENTO", "RESOLVIDA"};
+
+    private static final int LOTE = 1_000;
+
+    private MassaDeDados() {
+    }
+
+    static void limpar(JdbcTemplate jdbc) {
+        jdbc.update("DELETE FROM reclamacao");
+        jdbc.update("DELETE FROM usuario");
+    }
+
+    /**
+     * Insere {@code quantidade} reclamações distribuídas entre {@code usuarios} usuários.
+     * Os textos são gerados com semente fixa para que as execuções sejam comparáveis.
+     */
+    static void popular(JdbcTemplate jdbc, int usuarios, int quantidade) {
+        List<Long> ids = new ArrayList<>();
+        for (int u = 0; u < usuarios; u++) {
+            jdbc.update("INSERT INTO usuario (nome, email, senha, ativo, papel, carimbo_seguranca) VALUES (?, ?, ?, TRUE, 'ROLE_USER', 0)",
+                    "Usuario Bench " + u, "bench" + u + "@example.com", "senhaSegura123");
+            ids.add(jdbc.queryForObject("SELECT id FROM usuario WHERE email = ?", Long.class, "bench" + u + "@example.com"));
+        }
+
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<Object[]> linhas = new ArrayList<>(LOTE);
+
+        for (int i = 0; i < quantidade; i++) {
+            linhas.add(new Object[]{
+                    "Reclamação " + i + " " + frase(random, 3),
+                    frase(random, 12 + random.nextInt(20)),
+                    CATEGORIAS[random.nextInt(CATEGORIAS.length)],
+                    -23.0 - random.nextDouble(),
+                    -46.0 - random.nextDouble(),
+                    STATUS[random.nextInt(STATUS.length)],
+                    Timestamp.valueOf(base.plusMinutes(i)),
+                    Timestamp.valueOf(base.plusMinutes(i)),
+                    ids.get(i % ids.size())
+            });
+
+            if (linhas.size() == LOTE) {
+                inserir(jdbc, linhas);
+                linhas.clear();
+            }
+        }
+        if (!linhas.isEmpty()) inserir(jdbc, linhas);
+    }
+
+    private static void inserir(JdbcTemplate jdbc, List<Object[]> linhas) {
+        jdbc.batchUpdate("INSERT INTO reclamacao (titulo, descricao, categoria_reclamacao, latitude, longitude, " +
+                "status, data_criacao, data_atualizacao, usuario_id, ativo, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, 0)", linhas);
+    }
+
+    private static String frase(Random random, int palavras) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < palavras; i++) {
+            if (i > 0) sb.append(i % 7 == 0 ? "; " : " ");
+            sb.append(PALAVRAS[random.nextInt(PALAVRAS.length)]);
+        }
+        return sb.toString();
+    }
+}
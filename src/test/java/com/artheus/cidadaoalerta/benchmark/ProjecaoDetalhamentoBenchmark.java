@@ -0,0 +1,151 @@
+package com.artheus.cidadaoalerta.benchmark;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.dto.DetalhamentoReclamacao;
+import com.artheus.cidadaoalerta.mapper.ReclamacaoMapper;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.ReclamacaoSpecifications;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede bytes alocados e consultas por página de {@link DetalhamentoReclamacao} (50 itens) em três
+ * leituras: entidades com o usuário em consultas separadas (a listagem anterior), entidades com
+ * o usuário no mesmo SELECT, e a projeção direta no DTO, sobre 20 mil reclamações.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = "spring.config.location=classpath:application-test.properties"
+)
+class ProjecaoDetalhamentoBenchmark {
+
+    private static final int LINHAS = 20_000;
+    private static final int USUARIOS = 500;
+    private static final int TAMANHO_PAGINA = 50;
+    private static final int LEITURAS = 500;
+    private static final int AQUECIMENTO = 500;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private ReclamacaoMapper reclamacaoMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Pageable primeiraPagina = PageRequest.of(0, TAMANHO_PAGINA, Sort.by(Sort.Direction.DESC, "dataCriacao"));
+
+    private TransactionTemplate transacaoLeitura;
+    private Statistics estatisticas;
+
+    @BeforeAll
+    void popular() {
+        MassaDeDados.limpar(jdbc);
+        MassaDeDados.popular(jdbc, USUARIOS, LINHAS);
+
+        transacaoLeitura = new TransactionTemplate(transactionManager);
+        transacaoLeitura.setReadOnly(true);
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    void limpar() {
+        estatisticas.setStatisticsEnabled(false);
+        MassaDeDados.limpar(jdbc);
+    }
+
+    @Test
+    void compararEntidadesComProjecao() {
+        Medicao entidades = medir(p -> reclamacaoRepository.findBy(ReclamacaoSpecifications.ativas(),
+                        q -> q.slice(p)).getContent().stream()
+                .map(reclamacaoMapper::toDetalhamentoDto).toList());
+        Medicao entidadesComFetch = medir(p -> reclamacaoRepository.findBy(ReclamacaoSpecifications.ativas(),
+                        q -> q.project("usuario").slice(p)).getContent().stream()
+                .map(reclamacaoMapper::toDetalhamentoDto).toList());
+        Medicao projecao = medir(reclamacaoRepository::listarDetalhamentosAtivos);
+
+        System.out.printf("%n=== Página de detalhamentos (%,d linhas, %d por página) ===%n", LINHAS, TAMANHO_PAGINA);
+        System.out.printf("%-20s %20s %18s%n", "leitura", "bytes alocados/página", "consultas/página");
+        imprimir("entidades", entidades);
+        imprimir("entidades + fetch", entidadesComFetch);
+        imprimir("projeção", projecao);
+
+        assertEquals(1.0, projecao.consultasPorPagina());
+        assertTrue(projecao.bytesPorPagina() < entidadesComFetch.bytesPorPagina(),
+                "a projeção deveria alocar menos por página que a leitura de entidades");
+    }
+
+    /**
+     * Lê a primeira página {@link #LEITURAS} vezes, cada uma na sua transação somente leitura, como
+     * faz o serviço. O H2 embutido aloca na mesma thread, então páginas profundas mediriam o OFFSET
+     * do banco e não a leitura; o COUNT fica de fora por ser o mesmo nas três leituras.
+     */
+    private Medicao medir(Leitura leitura) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            lerPagina(leitura);
+        }
+
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+        long thread = Thread.currentThread().getId();
+        long alocadoAntes = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < LEITURAS; i++) {
+            lerPagina(leitura);
+        }
+        long alocado = threads.getThreadAllocatedBytes(thread) - alocadoAntes;
+        long consultas = estatisticas.getPrepareStatementCount();
+        estatisticas.setStatisticsEnabled(false);
+
+        return new Medicao((double) alocado / LEITURAS, (double) consultas / LEITURAS);
+    }
+
+    private void lerPagina(Leitura leitura) {
+        List<DetalhamentoReclamacao> conteudo = transacaoLeitura.execute(status -> leitura.ler(primeiraPagina));
+        assertEquals(TAMANHO_PAGINA, conteudo.size());
+    }
+
+    private void imprimir(String nome, Medicao medicao) {
+        System.out.printf("%-20s %,20.0f %18.1f%n", nome, medicao.bytesPorPagina(), medicao.consultasPorPagina());
+    }
+
+    @FunctionalInterface
+    private interface Leitura {
+        List<DetalhamentoReclamacao> ler(Pageable pageable);
+    }
+
+    private record Medicao(double bytesPorPagina, double consultasPorPagina) {
+    }
+}
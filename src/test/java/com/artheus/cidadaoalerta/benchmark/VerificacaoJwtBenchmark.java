@@ -0,0 +1,83 @@
+package com.artheus.cidadaoalerta.benchmark;
+
+import com.artheus.cidadaoalerta.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.security.Key;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede verificações de JWT por segundo no caminho do {@code FiltroJwt}: o fluxo anterior
+ * (parser novo a cada chamada, token decodificado duas vezes), a verificação única sem cache
+ * e a verificação com o token já no cache.
+ * Executar com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class VerificacaoJwtBenchmark {
+
+    private static final String SECRET = "12345678901234567890123456789012";
+    private static final int TOKENS = 1_000;
+    private static final int VERIFICACOES = 10_000;
+    private static final int AQUECIMENTO = 3;
+    private static final int MEDICOES = 5;
+
+    @Test
+    void compararComVerificacaoAnterior() {
+        JwtService semCache = new JwtService(SECRET, 3_600_000, 3_600_000, 0, true);
+        JwtService comCache = new JwtService(SECRET, 3_600_000, 3_600_000, TOKENS, true);
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+
+        String[] tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = comCache.gerarToken(new User("usuario" + i + "@email.com", "senha",
+                    List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        }
+
+        double anterior = medir(tokens, token -> {
+            // validar e depois ler o email, cada um com seu próprio parser
+            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+            return claims.getSubject() != null;
+        });
+        double verificacaoUnica = medir(tokens, token -> semCache.verificarToken(token).isPresent());
+        double emCache = medir(tokens, token -> comCache.verificarToken(token).isPresent());
+
+        System.out.printf("%n=== Verificação de JWT (%,d tokens distintos) ===%n", TOKENS);
+        System.out.printf("%-18s %15s%n", "versão", "verificações/s");
+        System.out.printf("%-18s %,15.0f%n", "anterior", anterior);
+        System.out.printf("%-18s %,15.0f%n", "verificação única", verificacaoUnica);
+        System.out.printf("%-18s %,15.0f%n", "em cache", emCache);
+
+        assertTrue(verificacaoUnica > anterior, "verificar uma vez deveria superar o fluxo anterior");
+        assertTrue(emCache > verificacaoUnica, "o cache deveria superar a verificação completa");
+    }
+
+    private double medir(String[] tokens, Predicate<String> verificacao) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            executar(tokens, verificacao);
+        }
+
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < MEDICOES; i++) {
+            melhor = Math.min(melhor, executar(tokens, verificacao));
+        }
+        return VERIFICACOES / (melhor / 1e9);
+    }
+
+    private long executar(String[] tokens, Predicate<String> verificacao) {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < VERIFICACOES; i++) {
+            if (!verificacao.test(tokens[i % TOKENS])) throw new IllegalStateException("token recusado");
+        }
+        return System.nanoTime() - inicio;
+    }
+}
@@ -0,0 +1,100 @@
+package com.artheus.cidadaoalerta.integration.exportacao;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.infra.datasource.ContextoPoolConexao;
+import com.artheus.cidadaoalerta.infra.datasource.PoolConexao;
+import com.artheus.cidadaoalerta.service.exportacao.AdmissaoExportacao;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = {
+                "spring.config.location=classpath:application-test.properties",
+                "exportacao.admissao.maximo-simultaneas=1",
+                "exportacao.admissao.espera-maxima=200ms",
+                "exportacao.admissao.nova-tentativa=7s"
+        }
+)
+@AutoConfigureMockMvc
+class AdmissaoExportacaoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdmissaoExportacao admissao;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("poolPrincipal")
+    private HikariDataSource poolPrincipal;
+
+    @Autowired
+    @Qualifier("poolExportacao")
+    private HikariDataSource poolExportacao;
+
+    @Test
+    void deveRecusarComRetryAfterQuandoNaoHaVaga() throws Exception {
+        double recusadasAntes = meterRegistry.counter("exportacao.admissao.recusadas").count();
+
+        try (AdmissaoExportacao.Permissao ocupada = admissao.adquirir()) {
+            mockMvc.perform(get("/reclamacoes/export/stream").with(user("admin").roles("ADMIN")))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+        }
+
+        assertEquals(recusadasAntes + 1, meterRegistry.counter("exportacao.admissao.recusadas").count());
+        assertTrue(meterRegistry.timer("exportacao.admissao.espera").count() > 0);
+    }
+
+    @Test
+    void deveLiberarVagaQuandoStreamingTerminar() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/reclamacoes/export/stream").with(user("admin").roles("ADMIN")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(resultado)).andExpect(status().isOk());
+
+        assertEquals(0, meterRegistry.get("exportacao.admissao.ativas").gauge().value());
+
+        // Com a vaga devolvida, uma nova exportação é admitida sem espera
+        admissao.adquirir().close();
+    }
+
+    @Test
+    void deveObterConexoesDoPoolDeExportacaoApenasNoContexto() throws Exception {
+        try (Connection conexao = ContextoPoolConexao.executar(PoolConexao.EXPORTACAO, dataSource::getConnection)) {
+            assertEquals(1, poolExportacao.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, poolPrincipal.getHikariPoolMXBean().getActiveConnections());
+        }
+
+        try (Connection conexao = dataSource.getConnection()) {
+            assertEquals(0, poolExportacao.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(1, poolPrincipal.getHikariPoolMXBean().getActiveConnections());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.artheus.cidadaoalerta.integration.exportacao;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.event.UsuarioEvent;
+import com.artheus.cidadaoalerta.model.Localizacao;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import com.artheus.cidadaoalerta.model.enums.TipoEventoUsuario;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.service.EmailService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = {
+                "spring.config.location=classpath:application-test.properties",
+                "exportacao.cache.diretorio=target/cache-exportacao-teste"
+        }
+)
+@AutoConfigureMockMvc
+class CacheExportacaoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        usuario = new Usuario();
+        usuario.setNome("Usuario Cache");
+        usuario.setEmail("cache@email.com");
+        usuario.setSenha("senhaSegura123");
+        usuario.setPapel(Role.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+
+        for (int i = 0; i < 20; i++) {
+            salvarReclamacao("Reclamação em cache " + i);
+        }
+    }
+
+    @Test
+    void deveServirRequisicaoRepetidaDoCache() throws Exception {
+        double acertosAntes = contador("acerto");
+
+        MvcResult primeira = exportar(null);
+        MvcResult segunda = exportar(null);
+
+        String etag = primeira.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertEquals(etag, segunda.getResponse().getHeader(HttpHeaders.ETAG));
+        assertArrayEquals(primeira.getResponse().getContentAsByteArray(), segunda.getResponse().getContentAsByteArray());
+        assertEquals(acertosAntes + 1, contador("acerto"));
+    }
+
+    @Test
+    void deveResponderNaoModificadoQuandoEtagForIgual() throws Exception {
+        String etag = exportar(null).getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/reclamacoes/export")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void deveGerarNovoArquivoQuandoDadosDoFiltroMudarem() throws Exception {
+        String etag = exportar(null).getResponse().getHeader(HttpHeaders.ETAG);
+        double falhasAntes = contador("falha");
+
+        salvarReclamacao("Reclamação nova depois do cache");
+
+        MvcResult depois = exportar(etag);
+        assertEquals(200, depois.getResponse().getStatus());
+        assertNotEquals(etag, depois.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(depois.getResponse().getContentAsString(StandardCharsets.UTF_8).contains("Reclamação nova depois do cache"));
+        assertEquals(falhasAntes + 1, contador("falha"));
+    }
+
+    @Test
+    void deveInvalidarQuandoNomeDoUsuarioMudar() throws Exception {
+        String etag = exportar(null).getResponse().getHeader(HttpHeaders.ETAG);
+
+        // O nome do usuário vai no CSV mas não altera a versão das reclamações: só o evento invalida
+        usuario.setNome("Usuario Renomeado");
+        usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(new UsuarioEvent(usuario, TipoEventoUsuario.ATUALIZADO));
+
+        MvcResult depois = exportar(etag);
+        assertEquals(200, depois.getResponse().getStatus());
+        assertNotEquals(etag, depois.getResponse().getHeader(HttpHeaders.ETAG));
+        assertTrue(depois.getResponse().getContentAsString(StandardCharsets.UTF_8).contains("Usuario Renomeado"));
+    }
+
+    private MvcResult exportar(String ifNoneMatch) throws Exception {
+        var requisicao = get("/reclamacoes/export").with(user("admin").roles("ADMIN"));
+        if (ifNoneMatch != null) requisicao.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return mockMvc.perform(requisicao).andReturn();
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.counter("exportacao.cache.requisicoes", "resultado", resultado).count();
+    }
+
+    private void salvarReclamacao(String titulo) {
+        Reclamacao r = new Reclamacao();
+        r.setTitulo(titulo);
+        r.setDescricao("Descrição válida para teste do cache de exportação");
+        r.setCategoriaReclamacao(CategoriaReclamacao.ILUMINACAO);
+        r.setStatus(StatusReclamacao.ABERTA);
+        r.setLocalizacao(new Localizacao(-23.5, -46.6));
+        r.setUsuario(usuario);
+        reclamacaoRepository.save(r);
+    }
+}
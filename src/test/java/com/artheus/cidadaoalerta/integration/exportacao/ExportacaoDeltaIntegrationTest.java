@@ -0,0 +1,147 @@
+package com.artheus.cidadaoalerta.integration.exportacao;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.dto.ReclamacaoDelta;
+import com.artheus.cidadaoalerta.dto.RespostaDeltaExportacao;
+import com.artheus.cidadaoalerta.model.Localizacao;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.service.exportacao.ExportacaoDeltaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = {
+                "spring.config.location=classpath:application-test.properties",
+                "exportacao.delta.atraso-estabilizacao=0s"
+        }
+)
+@AutoConfigureMockMvc
+class ExportacaoDeltaIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ExportacaoDeltaService exportacaoDeltaService;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private List<Reclamacao> reclamacoes;
+
+    @BeforeEach
+    void setUp() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuario Delta");
+        usuario.setEmail("delta@email.com");
+        usuario.setSenha("senhaSegura123");
+        usuario.setPapel(Role.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+
+        reclamacoes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Reclamacao r = new Reclamacao();
+            r.setTitulo("Reclamação delta " + i);
+            r.setDescricao("Descrição válida para exportação incremental");
+            r.setCategoriaReclamacao(CategoriaReclamacao.SANEAMENTO);
+            r.setStatus(StatusReclamacao.ABERTA);
+            r.setLocalizacao(new Localizacao(-23.5, -46.6));
+            r.setUsuario(usuario);
+            reclamacoes.add(reclamacaoRepository.save(r));
+        }
+    }
+
+    @Test
+    void devePaginarTodasAsReclamacoesNaPrimeiraSincronizacao() {
+        RespostaDeltaExportacao primeira = exportacaoDeltaService.buscarAlteracoes(null, 3);
+        assertEquals(3, primeira.itens().size());
+        assertTrue(primeira.temMais());
+
+        RespostaDeltaExportacao segunda = exportacaoDeltaService.buscarAlteracoes(primeira.proximaMarca(), 3);
+        assertEquals(2, segunda.itens().size());
+        assertFalse(segunda.temMais());
+
+        List<Long> ids = new ArrayList<>();
+        primeira.itens().forEach(r -> ids.add(r.id()));
+        segunda.itens().forEach(r -> ids.add(r.id()));
+        assertEquals(reclamacoes.stream().map(Reclamacao::getId).sorted().toList(), ids.stream().sorted().toList());
+
+        RespostaDeltaExportacao vazia = exportacaoDeltaService.buscarAlteracoes(segunda.proximaMarca(), 3);
+        assertTrue(vazia.itens().isEmpty());
+        assertEquals(segunda.proximaMarca(), vazia.proximaMarca());
+    }
+
+    @Test
+    void deveRetornarApenasReclamacoesAlteradasOuInativadasDepoisDaMarca() {
+        String marca = exportacaoDeltaService.buscarAlteracoes(null, 100).proximaMarca();
+
+        Reclamacao alterada = reclamacaoRepository.findById(reclamacoes.get(1).getId()).orElseThrow();
+        alterada.setStatus(StatusReclamacao.RESOLVIDA);
+        reclamacaoRepository.save(alterada);
+
+        Reclamacao inativada = reclamacaoRepository.findById(reclamacoes.get(3).getId()).orElseThrow();
+        inativada.setAtivo(false);
+        reclamacaoRepository.save(inativada);
+
+        RespostaDeltaExportacao delta = exportacaoDeltaService.buscarAlteracoes(marca, 100);
+
+        assertEquals(2, delta.itens().size());
+        ReclamacaoDelta primeiro = delta.itens().get(0);
+        ReclamacaoDelta segundo = delta.itens().get(1);
+
+        assertEquals(alterada.getId(), primeiro.id());
+        assertEquals(StatusReclamacao.RESOLVIDA, primeiro.status());
+        assertEquals(1L, primeiro.versao());
+
+        assertEquals(inativada.getId(), segundo.id());
+        assertFalse(segundo.ativo());
+        assertNotEquals(marca, delta.proximaMarca());
+    }
+
+    @Test
+    void deveRetornarBadRequestParaMarcaInvalida() throws Exception {
+        mockMvc.perform(get("/reclamacoes/export/delta")
+                        .param("marca", "nao-e-uma-marca")
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveExporEndpointApenasParaAdmin() throws Exception {
+        mockMvc.perform(get("/reclamacoes/export/delta")
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(5))
+                .andExpect(jsonPath("$.temMais").value(false));
+
+        mockMvc.perform(get("/reclamacoes/export/delta")
+                        .with(user("comum").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+}
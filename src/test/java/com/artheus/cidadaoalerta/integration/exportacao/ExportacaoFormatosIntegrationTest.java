@@ -0,0 +1,164 @@
+package com.artheus.cidadaoalerta.integration.exportacao;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.model.Localizacao;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.CompressaoExportacao;
+import com.artheus.cidadaoalerta.model.enums.FormatoExportacao;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.service.CsvService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = "spring.config.location=classpath:application-test.properties"
+)
+class ExportacaoFormatosIntegrationTest {
+
+    @Autowired
+    private CsvService csvService;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final FiltroReclamacaoDTO semFiltro = new FiltroReclamacaoDTO(null, null, null, null, null);
+
+    private Reclamacao buraco;
+    private Reclamacao poste;
+
+    @BeforeEach
+    void setUp() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuário \"Formatos\"");
+        usuario.setEmail("formatos@email.com");
+        usuario.setSenha("senhaSegura123");
+        usuario.setPapel(Role.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+
+        buraco = salvar(usuario, "Buraco na rua; perigo", new Localizacao(-23.55, -46.63));
+        poste = salvar(usuario, "Poste apagado\nà noite", new Localizacao(-22.9, -43.2));
+    }
+
+    private Reclamacao salvar(Usuario usuario, String titulo, Localizacao localizacao) {
+        Reclamacao r = new Reclamacao();
+        r.setTitulo(titulo);
+        r.setDescricao("Descrição válida com mais de vinte caracteres");
+        r.setCategoriaReclamacao(CategoriaReclamacao.ILUMINACAO);
+        r.setStatus(StatusReclamacao.ABERTA);
+        r.setLocalizacao(localizacao);
+        r.setUsuario(usuario);
+        return reclamacaoRepository.save(r);
+    }
+
+    @Test
+    void deveGerarUmObjetoJsonPorLinhaEmNdjson() throws Exception {
+        ResponseEntity<StreamingResponseBody> response =
+                csvService.gerarResponseStreaming(semFiltro, FormatoExportacao.NDJSON, null, null);
+
+        assertEquals(MediaType.parseMediaType("application/x-ndjson"), response.getHeaders().getContentType());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).endsWith("reclamacoes.ndjson"));
+
+        String corpo = new String(escreverCorpo(response), StandardCharsets.UTF_8);
+        assertTrue(corpo.endsWith("\n"));
+
+        String[] linhas = corpo.split("\n");
+        assertEquals(2, linhas.length);
+
+        JsonNode primeira = objectMapper.readTree(linhas[0]);
+        assertEquals(buraco.getId(), primeira.get("id").asLong());
+        assertEquals("Buraco na rua; perigo", primeira.get("titulo").asText());
+        assertEquals("ILUMINACAO", primeira.get("categoria").asText());
+        assertEquals(-23.55, primeira.get("latitude").asDouble());
+        assertEquals(-46.63, primeira.get("longitude").asDouble());
+        assertEquals("Usuário \"Formatos\"", primeira.get("usuario").asText());
+
+        JsonNode segunda = objectMapper.readTree(linhas[1]);
+        assertEquals("Poste apagado\nà noite", segunda.get("titulo").asText());
+        assertEquals(poste.getId(), segunda.get("id").asLong());
+    }
+
+    @Test
+    void deveGerarFeatureCollectionComCoordenadasLongitudeLatitude() throws Exception {
+        ResponseEntity<StreamingResponseBody> response =
+                csvService.gerarResponseStreaming(semFiltro, FormatoExportacao.GEOJSON, null, null);
+
+        assertEquals(MediaType.parseMediaType("application/geo+json"), response.getHeaders().getContentType());
+
+        JsonNode colecao = objectMapper.readTree(escreverCorpo(response));
+        assertEquals("FeatureCollection", colecao.get("type").asText());
+        assertEquals(2, colecao.get("features").size());
+
+        JsonNode ponto = colecao.get("features").get(0);
+        assertEquals("Feature", ponto.get("type").asText());
+        assertEquals(buraco.getId(), ponto.get("id").asLong());
+        assertEquals("Point", ponto.at("/geometry/type").asText());
+        assertEquals(-46.63, ponto.at("/geometry/coordinates/0").asDouble());
+        assertEquals(-23.55, ponto.at("/geometry/coordinates/1").asDouble());
+        assertFalse(ponto.get("properties").has("latitude"));
+
+        JsonNode segundo = colecao.get("features").get(1);
+        assertEquals(poste.getId(), segundo.at("/properties/id").asLong());
+        assertEquals("Poste apagado\nà noite", segundo.at("/properties/titulo").asText());
+    }
+
+    @Test
+    void deveGerarFeatureCollectionVaziaSemReclamacoes() throws Exception {
+        reclamacaoRepository.deleteAll();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        csvService.exportar(semFiltro, FormatoExportacao.GEOJSON, out, CompressaoExportacao.NENHUMA);
+
+        JsonNode colecao = objectMapper.readTree(out.toByteArray());
+        assertEquals(0, colecao.get("features").size());
+    }
+
+    @Test
+    void deveComprimirNdjsonComGzip() throws Exception {
+        ResponseEntity<StreamingResponseBody> response =
+                csvService.gerarResponseStreaming(semFiltro, FormatoExportacao.NDJSON, CompressaoExportacao.GZIP, null);
+
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).endsWith("reclamacoes.ndjson.gz"));
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(escreverCorpo(response)))) {
+            String corpo = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(2, corpo.split("\n").length);
+        }
+    }
+
+    private byte[] escreverCorpo(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+}
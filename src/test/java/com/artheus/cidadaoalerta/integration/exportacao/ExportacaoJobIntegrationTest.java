@@ -0,0 +1,199 @@
+package com.artheus.cidadaoalerta.integration.exportacao;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.model.Localizacao;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.service.CsvService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = {
+                "spring.config.location=classpath:application-test.properties",
+                "exportacao.jobs.diretorio=target/exportacoes-teste"
+        }
+)
+@AutoConfigureMockMvc
+class ExportacaoJobIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CsvService csvService;
+
+    @BeforeEach
+    void setUp() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuario Exportacao");
+        usuario.setEmail("exportacao@email.com");
+        usuario.setSenha("senhaSegura123");
+        usuario.setPapel(Role.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+
+        List<Reclamacao> reclamacoes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Reclamacao r = new Reclamacao();
+            r.setTitulo("Reclamação " + i);
+            r.setDescricao("Descrição da reclamação número " + i + "; com separador");
+            r.setCategoriaReclamacao(CategoriaReclamacao.ILUMINACAO);
+            r.setStatus(StatusReclamacao.ABERTA);
+            r.setLocalizacao(new Localizacao(-23.5, -46.6));
+            r.setUsuario(usuario);
+            r.setAtivo(true);
+            reclamacoes.add(r);
+        }
+        reclamacaoRepository.saveAll(reclamacoes);
+    }
+
+    @Test
+    void deveGerarArquivoEmSegundoPlanoEPermitirDownload() throws Exception {
+        UUID id = criarJob();
+        JsonNode job = aguardarConclusao(id);
+
+        assertEquals("CONCLUIDO", job.get("status").asText());
+        assertEquals(300, job.get("linhasEscritas").asLong());
+
+        byte[] esperado = csvEmMemoria();
+        assertEquals(esperado.length, job.get("bytesEscritos").asLong());
+
+        MvcResult download = mockMvc.perform(get("/reclamacoes/export/jobs/{id}/arquivo", id)
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andReturn();
+
+        assertArrayEquals(esperado, download.getResponse().getContentAsByteArray());
+    }
+
+    @Test
+    void deveRetomarDownloadComRange() throws Exception {
+        UUID id = criarJob();
+        aguardarConclusao(id);
+
+        byte[] esperado = csvEmMemoria();
+        int inicio = 1000;
+
+        MvcResult parcial = mockMvc.perform(get("/reclamacoes/export/jobs/{id}/arquivo", id)
+                        .header(HttpHeaders.RANGE, "bytes=" + inicio + "-")
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + inicio + "-" + (esperado.length - 1) + "/" + esperado.length))
+                .andReturn();
+
+        assertArrayEquals(Arrays.copyOfRange(esperado, inicio, esperado.length),
+                parcial.getResponse().getContentAsByteArray());
+
+        mockMvc.perform(get("/reclamacoes/export/jobs/{id}/arquivo", id)
+                        .header(HttpHeaders.RANGE, "bytes=" + esperado.length + "-")
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + esperado.length));
+    }
+
+    @Test
+    void deveRetornarNotFoundQuandoArquivoJaTiverSidoRemovido() throws Exception {
+        UUID id = criarJob();
+        aguardarConclusao(id);
+
+        // Simula a limpeza do spool apagando o arquivo entre a consulta e o download
+        Files.delete(Path.of("target/exportacoes-teste", id + ".csv"));
+
+        mockMvc.perform(get("/reclamacoes/export/jobs/{id}/arquivo", id)
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveRetornarNotFoundParaJobInexistente() throws Exception {
+        mockMvc.perform(get("/reclamacoes/export/jobs/{id}", UUID.randomUUID())
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveNegarCriacaoDeJobParaUsuarioComum() throws Exception {
+        mockMvc.perform(post("/reclamacoes/export/jobs")
+                        .with(user("comum").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private UUID criarJob() throws Exception {
+        MvcResult resultado = mockMvc.perform(post("/reclamacoes/export/jobs")
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andReturn();
+
+        JsonNode corpo = objectMapper.readTree(resultado.getResponse().getContentAsString());
+        return UUID.fromString(corpo.get("id").asText());
+    }
+
+    private JsonNode aguardarConclusao(UUID id) throws Exception {
+        for (int tentativa = 0; tentativa < 100; tentativa++) {
+            MvcResult resultado = mockMvc.perform(get("/reclamacoes/export/jobs/{id}", id)
+                            .with(user("admin").roles("ADMIN")))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            JsonNode job = objectMapper.readTree(resultado.getResponse().getContentAsString());
+            String status = job.get("status").asText();
+            if (status.equals("CONCLUIDO") || status.equals("FALHOU")) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        fail("Exportação " + id + " não terminou a tempo");
+        return null;
+    }
+
+    private byte[] csvEmMemoria() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        csvService.exportarCsv(new FiltroReclamacaoDTO(null, null, null, null, null), out);
+        return out.toByteArray();
+    }
+}
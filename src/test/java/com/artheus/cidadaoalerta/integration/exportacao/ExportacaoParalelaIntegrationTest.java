@@ -0,0 +1,179 @@
+package com.artheus.cidadaoalerta.integration.exportacao;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.dto.IntervaloIds;
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+import com.artheus.cidadaoalerta.model.Localizacao;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.FormatoExportacao;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.service.CsvService;
+import com.artheus.cidadaoalerta.service.exportacao.EscritorCsv;
+import com.artheus.cidadaoalerta.service.exportacao.ExportadorParalelo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = {
+                "spring.config.location=classpath:application-test.properties",
+                "exportacao.paralelismo=4",
+                "exportacao.paralelo.threads=4",
+                "exportacao.paralelo.minimo-ids=100"
+        }
+)
+class ExportacaoParalelaIntegrationTest {
+
+    @Autowired
+    private CsvService csvService;
+
+    @Autowired
+    private ExportadorParalelo exportadorParalelo;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final FiltroReclamacaoDTO semFiltro = new FiltroReclamacaoDTO(null, null, null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuario Paralelo");
+        usuario.setEmail("paralelo@email.com");
+        usuario.setSenha("senhaSegura123");
+        usuario.setPapel(Role.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+
+        List<Reclamacao> reclamacoes = new ArrayList<>();
+        for (int i = 0; i < 2_345; i++) {
+            Reclamacao r = new Reclamacao();
+            r.setTitulo("Reclamação paralela " + i);
+            r.setDescricao("Descrição \"válida\"; exportação em partições " + i);
+            // ASFALTO só nas pontas da faixa de ids: no filtro por categoria as partições do meio ficam vazias
+            boolean ponta = i < 150 || i >= 2_200;
+            r.setCategoriaReclamacao(ponta ? CategoriaReclamacao.ASFALTO : CategoriaReclamacao.SEGURANCA);
+            r.setStatus(StatusReclamacao.ABERTA);
+            r.setLocalizacao(new Localizacao(-23.5, -46.6));
+            r.setUsuario(usuario);
+            reclamacoes.add(r);
+        }
+        reclamacaoRepository.saveAll(reclamacoes);
+    }
+
+    @Test
+    void deveGerarMesmoCsvQueExportacaoSequencial() throws Exception {
+        assertEquals(4, exportadorParalelo.particionar(semFiltro).size());
+
+        byte[] esperado = exportarSequencial(semFiltro);
+
+        AtomicLong progresso = new AtomicLong();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        csvService.exportarCsv(semFiltro, out, progresso::set);
+
+        assertArrayEquals(esperado, out.toByteArray());
+        assertEquals(2_345, progresso.get());
+    }
+
+    @Test
+    void deveManterOrdemComParticoesVaziasNoFiltro() throws Exception {
+        FiltroReclamacaoDTO filtro = new FiltroReclamacaoDTO(null, null, CategoriaReclamacao.ASFALTO, null, null);
+        List<IntervaloIds> particoes = exportadorParalelo.particionar(filtro, 8);
+        assertEquals(8, particoes.size());
+
+        byte[] esperado = exportarSequencial(filtro);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        csvService.exportarCsv(filtro, out);
+
+        assertArrayEquals(esperado, out.toByteArray());
+    }
+
+    @Test
+    void deveGerarNdjsonParticionadoEmOrdemDeId() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        csvService.exportar(semFiltro, FormatoExportacao.NDJSON, out, linhas -> { });
+
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2_345, linhas.length);
+
+        long idAnterior = Long.MIN_VALUE;
+        for (String linha : linhas) {
+            long id = objectMapper.readTree(linha).get("id").asLong();
+            assertTrue(id > idAnterior);
+            idAnterior = id;
+        }
+    }
+
+    @Test
+    void deveGerarGeoJsonSequencialMesmoComParalelismo() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        csvService.exportar(semFiltro, FormatoExportacao.GEOJSON, out, linhas -> { });
+
+        JsonNode colecao = objectMapper.readTree(out.toByteArray());
+        assertEquals(2_345, colecao.get("features").size());
+    }
+
+    @Test
+    void naoDeveParticionarFaixasPequenas() {
+        FiltroReclamacaoDTO poucasLinhas = new FiltroReclamacaoDTO(StatusReclamacao.RESOLVIDA, null, null, null, null);
+
+        assertTrue(exportadorParalelo.particionar(poucasLinhas).isEmpty());
+        assertTrue(exportadorParalelo.particionar(semFiltro, 1).isEmpty());
+    }
+
+    /**
+     * Referência sequencial: um único cursor escrito pelo mesmo escritor CSV das exportações.
+     */
+    private byte[] exportarSequencial(FiltroReclamacaoDTO filtro) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (Stream<ReclamacaoExportacao> linhas = reclamacaoRepository.streamExportacaoPorFiltrosCompletos(
+                    filtro.status(), filtro.usuarioId(), filtro.categoria(), null, null)) {
+                EscritorCsv escritor = new EscritorCsv(out);
+                escritor.escreverInicio();
+                for (ReclamacaoExportacao linha : (Iterable<ReclamacaoExportacao>) linhas::iterator) {
+                    escritor.escreverLinha(linha);
+                }
+                escritor.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return out.toByteArray();
+    }
+}
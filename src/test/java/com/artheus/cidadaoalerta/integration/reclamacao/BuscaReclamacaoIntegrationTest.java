@@ -0,0 +1,151 @@
+package com.artheus.cidadaoalerta.integration.reclamacao;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = "spring.config.location=classpath:application-test.properties"
+)
+@AutoConfigureMockMvc
+class BuscaReclamacaoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long autorId;
+    private Long outroId;
+
+    @BeforeEach
+    void setUp() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        autorId = salvarUsuario("busca@email.com");
+        outroId = salvarUsuario("outro.busca@email.com");
+
+        // 12 abertas de iluminação do autor em março, uma por dia
+        LocalDateTime marco = LocalDateTime.of(2025, 3, 1, 10, 0);
+        for (int i = 0; i < 12; i++) {
+            inserir("Iluminação " + i, "ILUMINACAO", "ABERTA", marco.plusDays(i), true, autorId);
+        }
+        inserir("Iluminação resolvida", "ILUMINACAO", "RESOLVIDA", marco, true, autorId);
+        inserir("Buraco aberto", "ASFALTO", "ABERTA", marco, true, outroId);
+        inserir("Iluminação inativa", "ILUMINACAO", "ABERTA", marco, false, autorId);
+    }
+
+    @Test
+    void deveAplicarSomenteOsFiltrosInformados() throws Exception {
+        JsonNode pagina = buscar("status=ABERTA&categoria=ILUMINACAO");
+
+        assertEquals(12, pagina.get("totalElements").asLong());
+        assertEquals(2, pagina.get("totalPages").asInt());
+        pagina.get("content").forEach(r -> {
+            assertEquals("ABERTA", r.get("statusReclamacao").asText());
+            assertEquals("ILUMINACAO", r.get("categoriaReclamacao").asText());
+        });
+    }
+
+    @Test
+    void deveListarTodasAsAtivasSemFiltros() throws Exception {
+        assertEquals(14, buscar("").get("totalElements").asLong());
+    }
+
+    @Test
+    void deveFiltrarPorUsuarioEIntervaloDeDatas() throws Exception {
+        JsonNode doOutro = buscar("usuarioId=" + outroId);
+        assertEquals(1, doOutro.get("totalElements").asLong());
+        assertEquals("Buraco aberto", doOutro.get("content").get(0).get("titulo").asText());
+
+        // De 05/03 a 07/03: três dias, com o dia final inteiro
+        JsonNode intervalo = buscar("usuarioId=" + autorId + "&dataInicio=2025-03-05&dataFim=2025-03-07");
+        Set<String> titulos = new HashSet<>();
+        intervalo.get("content").forEach(r -> titulos.add(r.get("titulo").asText()));
+        assertEquals(Set.of("Iluminação 4", "Iluminação 5", "Iluminação 6"), titulos);
+    }
+
+    @Test
+    void deveBuscarPaginaComUsuariosNumaConsultaEContarUmaVezNoCache() throws Exception {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        try {
+            estatisticas.clear();
+            JsonNode primeira = buscar("categoria=ILUMINACAO&contagem=CACHE");
+            // A página, já com os usuários, e o COUNT
+            assertEquals(2, estatisticas.getPrepareStatementCount());
+            assertEquals(13, primeira.get("totalElements").asLong());
+
+            estatisticas.clear();
+            JsonNode segunda = buscar("categoria=ILUMINACAO&contagem=CACHE");
+            assertEquals(1, estatisticas.getPrepareStatementCount());
+            assertEquals(13, segunda.get("totalElements").asLong());
+            assertFalse(segunda.get("totalExato").asBoolean());
+        } finally {
+            estatisticas.setStatisticsEnabled(false);
+        }
+    }
+
+    private JsonNode buscar(String parametros) throws Exception {
+        String resposta = mockMvc.perform(get("/reclamacoes/busca?size=10&" + parametros)
+                        .with(user("busca@email.com").roles("USER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta);
+    }
+
+    private Long salvarUsuario(String email) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuario Busca");
+        usuario.setEmail(email);
+        usuario.setSenha("senhaSegura123");
+        usuario.setPapel(Role.ROLE_USER);
+        return usuarioRepository.save(usuario).getId();
+    }
+
+    private void inserir(String titulo, String categoria, String status, LocalDateTime dataCriacao, boolean ativo, Long usuarioId) {
+        jdbc.update("INSERT INTO reclamacao (titulo, descricao, categoria_reclamacao, latitude, longitude, status, " +
+                        "data_criacao, data_atualizacao, usuario_id, ativo, version) VALUES (?, ?, ?, -23.5, -46.6, ?, ?, ?, ?, ?, 0)",
+                titulo, "Descrição válida para a busca por filtros", categoria, status, Timestamp.valueOf(dataCriacao),
+                Timestamp.valueOf(dataCriacao), usuarioId, ativo);
+    }
+}
@@ -0,0 +1,155 @@
+package com.artheus.cidadaoalerta.integration.reclamacao;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.event.ReclamacaoEvent;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import com.artheus.cidadaoalerta.model.enums.TipoEventoReclamacao;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = "spring.config.location=classpath:application-test.properties"
+)
+@AutoConfigureMockMvc
+class ContagemListagemIntegrationTest {
+
+    private static final int ATIVAS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuario Contagem");
+        usuario.setEmail("contagem@email.com");
+        usuario.setSenha("senhaSegura123");
+        usuario.setPapel(Role.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+
+        for (int i = 0; i < ATIVAS; i++) {
+            jdbc.update("INSERT INTO reclamacao (titulo, descricao, categoria_reclamacao, latitude, longitude, status, " +
+                            "data_criacao, data_atualizacao, usuario_id, ativo, version) VALUES (?, ?, 'ILUMINACAO', -23.5, -46.6, 'ABERTA', ?, ?, ?, TRUE, 0)",
+                    "Reclamação contagem " + i, "Descrição válida para a contagem da listagem",
+                    Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now()), usuario.getId());
+        }
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        estatisticas.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void deveContarEmTodaPaginaNaEstrategiaExata() throws Exception {
+        listar("contagem=EXATA");
+
+        estatisticas.clear();
+        JsonNode pagina = listar("contagem=EXATA");
+
+        assertEquals(ATIVAS, pagina.get("totalElements").asLong());
+        assertTrue(pagina.get("totalExato").asBoolean());
+        // A página e o COUNT
+        assertEquals(2, estatisticas.getQueryExecutionCount());
+    }
+
+    @Test
+    void deveReaproveitarContagemAteUmaReclamacaoSerCriada() throws Exception {
+        listar("contagem=CACHE");
+
+        estatisticas.clear();
+        JsonNode emCache = listar("contagem=CACHE");
+        // Só a página, já com os usuários
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertFalse(emCache.get("totalExato").asBoolean());
+
+        eventPublisher.publishEvent(new ReclamacaoEvent(reclamacaoAberta(), TipoEventoReclamacao.CRIADA));
+
+        estatisticas.clear();
+        JsonNode recontada = listar("contagem=CACHE");
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+        assertTrue(recontada.get("totalExato").asBoolean());
+        assertEquals(ATIVAS, recontada.get("totalElements").asLong());
+    }
+
+    @Test
+    void deveEstimarSemCountPelasEstatisticasDaTabela() throws Exception {
+        estatisticas.clear();
+        JsonNode pagina = listar("contagem=ESTIMADA");
+
+        // A estimativa sai das estatísticas do banco, fora do Hibernate
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertFalse(pagina.get("totalExato").asBoolean());
+        assertEquals(10, pagina.get("content").size());
+    }
+
+    private JsonNode listar(String parametros) throws Exception {
+        String resposta = mockMvc.perform(get("/reclamacoes?size=10&" + parametros)
+                        .with(user("contagem@email.com").roles("USER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta);
+    }
+
+    private Reclamacao reclamacaoAberta() {
+        Reclamacao reclamacao = new Reclamacao();
+        reclamacao.setStatus(StatusReclamacao.ABERTA);
+        reclamacao.setCategoriaReclamacao(CategoriaReclamacao.ILUMINACAO);
+        reclamacao.setDataCriacao(LocalDateTime.now());
+        reclamacao.setUsuario(usuarioRepository.findByEmail("contagem@email.com").orElseThrow());
+        return reclamacao;
+    }
+}
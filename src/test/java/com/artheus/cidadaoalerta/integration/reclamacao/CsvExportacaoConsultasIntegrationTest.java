@@ -0,0 +1,126 @@
+package com.artheus.cidadaoalerta.integration.reclamacao;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.model.Localizacao;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.service.CsvService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Garante que a exportação em streaming não dispara consultas extras por linha (N+1)
+ * nem carrega entidades gerenciadas.
+ */
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = {
+                "spring.config.location=classpath:application-test.properties",
+                "spring.jpa.properties.hibernate.generate_statistics=true"
+        }
+)
+class CsvExportacaoConsultasIntegrationTest {
+
+    private static final int TOTAL_USUARIOS = 5;
+    private static final int RECLAMACOES_POR_USUARIO = 20;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CsvService csvService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        List<Reclamacao> reclamacoes = new ArrayList<>();
+        for (int u = 0; u < TOTAL_USUARIOS; u++) {
+            Usuario usuario = criarUsuario("Usuario Teste " + u, "usuario" + u + "@example.com");
+            for (int i = 0; i < RECLAMACOES_POR_USUARIO; i++) {
+                reclamacoes.add(criarReclamacao(usuario, "Título " + u + "-" + i));
+            }
+        }
+        reclamacaoRepository.saveAll(reclamacoes);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void deveExportarTodasAsLinhasComUmaUnicaConsulta() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        csvService.exportarCsv(new FiltroReclamacaoDTO(null, null, null, null, null), out);
+
+        long linhas = out.toString(StandardCharsets.UTF_8).lines().count() - 1;
+        assertEquals(TOTAL_USUARIOS * RECLAMACOES_POR_USUARIO, linhas);
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "exportação deve emitir um único SELECT");
+        assertEquals(0, statistics.getEntityLoadCount(), "exportação não deve hidratar entidades");
+    }
+
+    @Test
+    void exportacaoComCacheNaoHidrataEntidades() throws Exception {
+        ResponseEntity<Resource> response =
+                csvService.gerarResponseCsvComCache(new FiltroReclamacaoDTO(null, null, null, null, null), null);
+        try (InputStream csv = response.getBody().getInputStream()) {
+            long linhas = new String(csv.readAllBytes(), StandardCharsets.UTF_8).lines().count() - 1;
+            assertEquals(TOTAL_USUARIOS * RECLAMACOES_POR_USUARIO, linhas);
+        }
+
+        // Versão dos dados do filtro + o SELECT da exportação (só o primeiro se o arquivo já estiver em cache)
+        assertTrue(statistics.getPrepareStatementCount() <= 2);
+        assertEquals(0, statistics.getEntityLoadCount(), "exportação não deve hidratar entidades");
+    }
+
+    private Usuario criarUsuario(String nome, String email) {
+        Usuario u = new Usuario();
+        u.setNome(nome);
+        u.setEmail(email);
+        u.setSenha("senhaSegura123");
+        u.setPapel(Role.ROLE_USER);
+        return usuarioRepository.save(u);
+    }
+
+    private Reclamacao criarReclamacao(Usuario usuario, String titulo) {
+        Reclamacao r = new Reclamacao();
+        r.setTitulo(titulo);
+        r.setDescricao("Descrição válida para teste de consultas");
+        r.setCategoriaReclamacao(CategoriaReclamacao.SANEAMENTO);
+        r.setStatus(StatusReclamacao.ABERTA);
+        r.setLocalizacao(new Localizacao(12.34, 56.78));
+        r.setUsuario(usuario);
+        return r;
+    }
+}
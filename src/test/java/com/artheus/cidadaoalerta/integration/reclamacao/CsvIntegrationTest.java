@@ -6,6 +6,7 @@ import com.artheus.cidadaoalerta.model.Localizacao;
 import com.artheus.cidadaoalerta.model.Reclamacao;
 import com.artheus.cidadaoalerta.model.Usuario;
 import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.CompressaoExportacao;
 import com.artheus.cidadaoalerta.model.enums.Role;
 import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
 import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
@@ -16,16 +17,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -116,11 +124,19 @@ public class CsvIntegrationTest {
         LocalDate fim = dataFim != null ? dataFim.toLocalDate() : null;
 
         FiltroReclamacaoDTO filtro = new FiltroReclamacaoDTO(status, usuarioId, categoria, inicio, fim);
-        ResponseEntity<Resource> response = csvService.gerarResponseCsv(filtro);
+        ResponseEntity<Resource> response = csvService.gerarResponseCsvComCache(filtro, null);
         assertEquals(MediaType.parseMediaType("text/csv; charset=UTF-8"), response.getHeaders().getContentType());
         return new BufferedReader(new InputStreamReader(response.getBody().getInputStream(), StandardCharsets.UTF_8));
     }
 
+    private byte[] gerarCsvStreaming(FiltroReclamacaoDTO filtro) throws Exception {
+        ResponseEntity<StreamingResponseBody> response = csvService.gerarResponseCsvStreaming(filtro);
+        assertEquals(MediaType.parseMediaType("text/csv; charset=UTF-8"), response.getHeaders().getContentType());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
 
     private void validarHeaderCsv(BufferedReader reader) throws Exception {
         String header = removerBom(reader.readLine());
@@ -314,4 +330,96 @@ public class CsvIntegrationTest {
             assertFalse(registros.get(0).contains("SANEAMENTO"));
         }
     }
+
+    @Test
+    void deveGerarCsvStreamingIgualAoCsvDoCache() throws Exception {
+        reclamacaoBuilder().titulo("Título; com \"aspas\"").usuario(usuario1).build();
+        reclamacaoBuilder().titulo("Título Maria válido").usuario(usuario2)
+                .categoria(CategoriaReclamacao.ILUMINACAO).build();
+
+        FiltroReclamacaoDTO filtro = new FiltroReclamacaoDTO(null, null, null, null, null);
+        byte[] esperado;
+        try (InputStream csv = csvService.gerarResponseCsvComCache(filtro, null).getBody().getInputStream()) {
+            esperado = csv.readAllBytes();
+        }
+
+        assertArrayEquals(esperado, gerarCsvStreaming(filtro));
+    }
+
+    @Test
+    void deveGerarCsvStreamingComVariosLotes() throws Exception {
+        List<Reclamacao> reclamacoes = new ArrayList<>();
+        for (int i = 0; i < 1_201; i++) {
+            Reclamacao r = new Reclamacao();
+            r.setTitulo("Título em lote " + i);
+            r.setDescricao("Descrição válida para teste de streaming em lote");
+            r.setCategoriaReclamacao(CategoriaReclamacao.ASFALTO);
+            r.setStatus(StatusReclamacao.ABERTA);
+            r.setLocalizacao(new Localizacao(12.34, 56.78));
+            r.setUsuario(i % 2 == 0 ? usuario1 : usuario2);
+            reclamacoes.add(r);
+        }
+        reclamacaoRepository.saveAll(reclamacoes);
+
+        byte[] csv = gerarCsvStreaming(new FiltroReclamacaoDTO(null, null, CategoriaReclamacao.ASFALTO, null, null));
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8))) {
+            validarHeaderCsv(reader);
+            List<String> registros = lerRegistrosCsv(reader);
+            assertEquals(1_201, registros.size());
+            assertTrue(registros.get(0).startsWith(String.valueOf(reclamacoes.get(0).getId()) + ";"));
+        }
+    }
+
+    @Test
+    void deveGerarArquivoGzipQuandoCompressaoForInformada() throws Exception {
+        reclamacaoBuilder().titulo("Título; com \"aspas\"").usuario(usuario1).build();
+        FiltroReclamacaoDTO filtro = new FiltroReclamacaoDTO(null, null, null, null, null);
+
+        ResponseEntity<StreamingResponseBody> response =
+                csvService.gerarResponseStreaming(filtro, null, CompressaoExportacao.GZIP, null);
+
+        assertEquals(MediaType.parseMediaType("application/gzip"), response.getHeaders().getContentType());
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).endsWith("reclamacoes.csv.gz"));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(gerarCsvStreaming(filtro), descomprimir(escreverCorpo(response)));
+    }
+
+    @Test
+    void deveNegociarGzipPeloAcceptEncoding() throws Exception {
+        reclamacaoBuilder().titulo("Título Maria válido").usuario(usuario2).build();
+        FiltroReclamacaoDTO filtro = new FiltroReclamacaoDTO(null, null, null, null, null);
+
+        ResponseEntity<StreamingResponseBody> response =
+                csvService.gerarResponseStreaming(filtro, null, null, "br;q=1.0, gzip;q=0.8");
+
+        assertEquals(MediaType.parseMediaType("text/csv; charset=UTF-8"), response.getHeaders().getContentType());
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeaders().getFirst(HttpHeaders.VARY));
+        assertArrayEquals(gerarCsvStreaming(filtro), descomprimir(escreverCorpo(response)));
+    }
+
+    @Test
+    void naoDeveComprimirQuandoGzipForRecusado() throws Exception {
+        FiltroReclamacaoDTO filtro = new FiltroReclamacaoDTO(null, null, null, null, null);
+
+        ResponseEntity<StreamingResponseBody> response =
+                csvService.gerarResponseStreaming(filtro, null, null, "gzip;q=0, identity");
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(gerarCsvStreaming(filtro), escreverCorpo(response));
+    }
+
+    private byte[] escreverCorpo(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toByteArray();
+    }
+
+    private byte[] descomprimir(byte[] gzip) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
 }
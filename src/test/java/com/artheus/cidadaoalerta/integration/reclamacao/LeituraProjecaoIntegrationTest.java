@@ -0,0 +1,139 @@
+package com.artheus.cidadaoalerta.integration.reclamacao;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = "spring.config.location=classpath:application-test.properties"
+)
+@AutoConfigureMockMvc
+class LeituraProjecaoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private Long usuarioId;
+
+    @BeforeEach
+    void setUp() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuario Projecao");
+        usuario.setEmail("projecao@email.com");
+        usuario.setSenha("senhaSegura123");
+        usuario.setPapel(Role.ROLE_USER);
+        usuarioId = usuarioRepository.save(usuario).getId();
+
+        for (int i = 0; i < 5; i++) {
+            inserir("Reclamação projeção " + i, true);
+        }
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        estatisticas.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void deveListarPaginaNumaConsultaSemCarregarEntidades() throws Exception {
+        JsonNode pagina = json(get("/reclamacoes?size=10&sort=titulo,asc"));
+
+        // Página parcial: o total é deduzido e não há COUNT
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityLoadCount());
+
+        JsonNode primeira = pagina.get("content").get(0);
+        assertEquals("Reclamação projeção 0", primeira.get("titulo").asText());
+        assertEquals(-23.5, primeira.get("localizacao").get("latitude").asDouble());
+        assertEquals(usuarioId, primeira.get("usuarioId").asLong());
+        assertEquals("Usuario Projecao", primeira.get("nomeUsuario").asText());
+    }
+
+    @Test
+    void deveDetalharNumaConsultaSemCarregarEntidades() throws Exception {
+        Long id = inserir("Reclamação detalhada", true);
+        estatisticas.clear();
+
+        JsonNode detalhe = json(get("/reclamacoes/{id}", id));
+
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityLoadCount());
+        assertEquals("Reclamação detalhada", detalhe.get("titulo").asText());
+        assertEquals(-46.6, detalhe.get("localizacao").get("longitude").asDouble());
+        assertEquals("Usuario Projecao", detalhe.get("nomeUsuario").asText());
+    }
+
+    @Test
+    void deveManterErrosDeInexistenteEDesativada() throws Exception {
+        Long inativa = inserir("Reclamação inativa", false);
+
+        mockMvc.perform(get("/reclamacoes/{id}", inativa).with(user("projecao@email.com").roles("USER")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reclamacoes/{id}", inativa + 1000).with(user("projecao@email.com").roles("USER")))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode json(MockHttpServletRequestBuilder requisicao) throws Exception {
+        String resposta = mockMvc.perform(requisicao.with(user("projecao@email.com").roles("USER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta);
+    }
+
+    private Long inserir(String titulo, boolean ativo) {
+        LocalDateTime agora = LocalDateTime.now();
+        jdbc.update("INSERT INTO reclamacao (titulo, descricao, categoria_reclamacao, latitude, longitude, status, " +
+                        "data_criacao, data_atualizacao, usuario_id, ativo, version) VALUES (?, ?, 'ILUMINACAO', -23.5, -46.6, 'ABERTA', ?, ?, ?, ?, 0)",
+                titulo, "Descrição válida para a leitura por projeção", Timestamp.valueOf(agora), Timestamp.valueOf(agora),
+                usuarioId, ativo);
+        return jdbc.queryForObject("SELECT id FROM reclamacao WHERE titulo = ?", Long.class, titulo);
+    }
+}
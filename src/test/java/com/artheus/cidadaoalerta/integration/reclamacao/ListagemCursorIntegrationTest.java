@@ -0,0 +1,169 @@
+package com.artheus.cidadaoalerta.integration.reclamacao;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = "spring.config.location=classpath:application-test.properties"
+)
+@AutoConfigureMockMvc
+class ListagemCursorIntegrationTest {
+
+    private static final int ATIVAS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Long> idsEmOrdem;
+
+    @BeforeEach
+    void setUp() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuario Cursor");
+        usuario.setEmail("cursor@email.com");
+        usuario.setSenha("senhaSegura123");
+        usuario.setPapel(Role.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+
+        // De duas em duas com a mesma data, para que o id precise desempatar na borda das páginas
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 10, 0);
+        for (int i = 0; i < ATIVAS; i++) {
+            inserir("Reclamação cursor " + (char) ('a' + i), base.plusMinutes(i / 2), true, usuario.getId());
+        }
+        inserir("Reclamação inativa", base.plusDays(1), false, usuario.getId());
+
+        idsEmOrdem = jdbc.queryForList(
+                "SELECT id FROM reclamacao WHERE ativo = TRUE ORDER BY data_criacao DESC, id DESC", Long.class);
+    }
+
+    @Test
+    void devePercorrerTodasAsPaginasSemRepetirNemPular() throws Exception {
+        List<Long> vistos = new ArrayList<>();
+        JsonNode pagina = listar("");
+        assertTrue(pagina.get("previousCursor").isNull());
+
+        while (true) {
+            pagina.get("content").forEach(r -> vistos.add(r.get("id").asLong()));
+            if (pagina.get("nextCursor").isNull()) break;
+            pagina = listar("cursor=" + pagina.get("nextCursor").asText());
+        }
+
+        assertEquals(idsEmOrdem, vistos);
+    }
+
+    @Test
+    void deveVoltarParaAPaginaAnterior() throws Exception {
+        JsonNode primeira = listar("");
+        JsonNode segunda = listar("cursor=" + primeira.get("nextCursor").asText());
+        JsonNode terceira = listar("cursor=" + segunda.get("nextCursor").asText());
+
+        JsonNode voltaParaSegunda = listar("cursor=" + terceira.get("previousCursor").asText());
+        assertEquals(ids(segunda), ids(voltaParaSegunda));
+
+        JsonNode voltaParaPrimeira = listar("cursor=" + voltaParaSegunda.get("previousCursor").asText());
+        assertEquals(ids(primeira), ids(voltaParaPrimeira));
+        assertTrue(voltaParaPrimeira.get("previousCursor").isNull());
+        assertFalse(voltaParaPrimeira.get("nextCursor").isNull());
+    }
+
+    @Test
+    void deveManterOrdenacaoDoCursor() throws Exception {
+        JsonNode primeira = listar("sort=titulo,asc");
+        // A ordenação viaja no cursor; o sort da requisição seguinte é ignorado
+        JsonNode segunda = listar("sort=status,desc&cursor=" + primeira.get("nextCursor").asText());
+
+        assertEquals("Reclamação cursor a", primeira.get("content").get(0).get("titulo").asText());
+        assertEquals("Reclamação cursor k", segunda.get("content").get(0).get("titulo").asText());
+    }
+
+    @Test
+    void deveBuscarCadaPaginaNumaConsultaSemContagem() throws Exception {
+        String cursor = listar("").get("nextCursor").asText();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+        try {
+            listar("cursor=" + cursor);
+
+            // As reclamações já com o usuário, sem COUNT e sem buscar os usuários um a um
+            assertEquals(1, estatisticas.getPrepareStatementCount());
+        } finally {
+            estatisticas.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void deveRecusarCursorInvalido() throws Exception {
+        mockMvc.perform(get("/reclamacoes/cursor").param("cursor", "nao-e-um-cursor")
+                        .with(user("cursor@email.com").roles("USER")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Cursor de paginação inválido"));
+    }
+
+    private JsonNode listar(String parametros) throws Exception {
+        String resposta = mockMvc.perform(get("/reclamacoes/cursor?size=10&" + parametros)
+                        .with(user("cursor@email.com").roles("USER")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta);
+    }
+
+    private List<Long> ids(JsonNode pagina) {
+        List<Long> ids = new ArrayList<>();
+        pagina.get("content").forEach(r -> ids.add(r.get("id").asLong()));
+        return ids;
+    }
+
+    private void inserir(String titulo, LocalDateTime dataCriacao, boolean ativo, Long usuarioId) {
+        jdbc.update("INSERT INTO reclamacao (titulo, descricao, categoria_reclamacao, latitude, longitude, status, " +
+                        "data_criacao, data_atualizacao, usuario_id, ativo, version) VALUES (?, ?, 'ILUMINACAO', -23.5, -46.6, 'ABERTA', ?, ?, ?, ?, 0)",
+                titulo, "Descrição válida para a listagem por cursor", Timestamp.valueOf(dataCriacao),
+                Timestamp.valueOf(dataCriacao), usuarioId, ativo);
+    }
+}
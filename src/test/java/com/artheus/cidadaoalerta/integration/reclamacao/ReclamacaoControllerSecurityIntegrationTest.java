@@ -10,6 +10,10 @@ import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
 import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
 import com.artheus.cidadaoalerta.repository.UsuarioRepository;
 import com.artheus.cidadaoalerta.service.EmailService;
+import com.artheus.cidadaoalerta.security.JwtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -18,11 +22,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(
@@ -55,6 +67,12 @@ class ReclamacaoControllerSecurityIntegrationTest {
     @Autowired
     private EmailService emailService; // mock injetado
 
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Usuario usuarioDono;
     private Usuario usuarioOutro;
     private Reclamacao reclamacao;
@@ -79,6 +97,7 @@ class ReclamacaoControllerSecurityIntegrationTest {
                 new Localizacao(10.0, 20.0),
                 StatusReclamacao.ABERTA,
                 null,
+                null,
                 usuarioDono,
                 true,
                 null
@@ -108,6 +127,68 @@ class ReclamacaoControllerSecurityIntegrationTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void deveInativarComUmSelectEUmUpdate_quandoDonoAutenticaPorJwt() throws Exception {
+        String token = "Bearer " + jwtService.gerarToken(usuarioDono);
+
+        // Aquece o carimbo de segurança do usuário, que fica em memória depois da primeira requisição
+        mockMvc.perform(get("/reclamacoes/{id}", reclamacao.getId()).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+        try {
+            mockMvc.perform(delete("/reclamacoes/{id}", reclamacao.getId()).header(HttpHeaders.AUTHORIZATION, token))
+                    .andExpect(status().isNoContent());
+
+            // findById da reclamação (com o dono) e o UPDATE do flag ativo; nada de buscar o usuário
+            assertEquals(2, estatisticas.getPrepareStatementCount());
+            assertEquals(1, estatisticas.getEntityUpdateCount());
+            assertEquals(0, estatisticas.getQueryExecutionCount());
+        } finally {
+            estatisticas.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void deveCadastrarSemBuscarUsuarioPorEmail_quandoUsuarioAutenticaPorJwt() throws Exception {
+        // Email único: o cache de usuários é por email e sobrevive entre os testes
+        Usuario autor = criarUsuario("Autor Jwt", UUID.randomUUID() + "@email.com", Role.ROLE_USER);
+        String token = "Bearer " + jwtService.gerarToken(autor);
+
+        // Aquece o carimbo de segurança e o cache de usuários
+        mockMvc.perform(post("/reclamacoes").header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON).content(cadastroJson("Primeira reclamação")))
+                .andExpect(status().isCreated());
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+        try {
+            mockMvc.perform(post("/reclamacoes").header(HttpHeaders.AUTHORIZATION, token)
+                            .contentType(MediaType.APPLICATION_JSON).content(cadastroJson("Segunda reclamação")))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.nomeUsuario").value("Autor Jwt"));
+
+            // Verificação de título duplicado, o INSERT e a carga do autor pela chave (a referência da
+            // associação, lida na resposta); o id vem do token, sem buscar o usuário por email
+            assertEquals(3, estatisticas.getPrepareStatementCount());
+            assertEquals(1, estatisticas.getQueryExecutionCount());
+            assertEquals(1, estatisticas.getEntityInsertCount());
+            assertEquals(1, estatisticas.getEntityLoadCount());
+        } finally {
+            estatisticas.setStatisticsEnabled(false);
+        }
+    }
+
+    private String cadastroJson(String titulo) {
+        return """
+                {"titulo": "%s", "descricao": "Descrição com mais de vinte caracteres",
+                 "categoriaReclamacao": "ILUMINACAO", "localizacao": {"latitude": -23.5, "longitude": -46.6}}
+                """.formatted(titulo);
+    }
+
     private Usuario criarUsuario(String nome, String email, Role role) {
         Usuario usuario = new Usuario();
         usuario.setNome(nome);
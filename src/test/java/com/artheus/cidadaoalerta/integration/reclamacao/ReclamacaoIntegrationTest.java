@@ -78,6 +78,7 @@ class ReclamacaoIntegrationTest {
                 new Localizacao(-22.5, -45.5),
                 StatusReclamacao.ABERTA,
                 null,
+                null,
                 dono,
                 ativo,
                 0L
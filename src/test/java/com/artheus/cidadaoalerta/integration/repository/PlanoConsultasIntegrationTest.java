@@ -0,0 +1,285 @@
+package com.artheus.cidadaoalerta.integration.repository;
+
+import com.artheus.cidadaoalerta.CidadaoAlertaApplication;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import com.artheus.cidadaoalerta.repository.ReclamacaoExportacaoRepository;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.TokenRevogadoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Roda EXPLAIN em cada consulta dos repositórios e falha se alguma tabela for lida por inteiro,
+ * seja por varredura da tabela ou percorrendo um índice sem condição na primeira coluna.
+ * O SQL é o gerado pelo Hibernate, capturado ao executar o método do repositório; o schema é
+ * o do Hibernate, com os índices declarados nas entidades (conferidos contra as migrations).
+ * <p>
+ * Todo método novo de repositório precisa entrar em {@link #consultas()} ou, se a varredura
+ * for esperada, em {@link #VARREDURAS_ACEITAS} com o motivo.
+ */
+@SpringBootTest(
+        classes = CidadaoAlertaApplication.class,
+        properties = {
+                "spring.config.location=classpath:application-test.properties",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                        "com.artheus.cidadaoalerta.integration.repository.PlanoConsultasIntegrationTest$ConsultasCapturadas"
+        }
+)
+class PlanoConsultasIntegrationTest {
+
+    private static final List<Class<?>> REPOSITORIOS =
+            List.of(ReclamacaoRepository.class, ReclamacaoExportacaoRepository.class,
+                    UsuarioRepository.class, TokenRevogadoRepository.class);
+
+    private static final Map<String, String> VARREDURAS_ACEITAS = Map.of(
+            "ReclamacaoRepository.findByLocalizacao_LatitudeBetweenAndLocalizacao_LongitudeBetween(double,double,double,double)",
+            "busca geográfica sem uso nos endpoints",
+            "ReclamacaoRepository.findByTituloContainingOrDescricaoContaining(String,String)",
+            "LIKE com curinga no início não usa índice",
+            "UsuarioRepository.findAllByAtivoTrue()",
+            "lista todos os usuários ativos",
+            "TokenRevogadoRepository.inserir(String,LocalDateTime)",
+            "INSERT pela chave primária, sem plano de leitura"
+    );
+
+    // Comentários do plano do H2: /* PUBLIC.INDICE: CONDICOES */ ou /* PUBLIC.TABELA.tableScan */
+    private static final Pattern ACESSO = Pattern.compile("/\\*\\s*PUBLIC\\.(\\w+)(\\.tableScan)?(?::\\s*(.*?))?\\s*\\*/", Pattern.DOTALL);
+    private static final Pattern INDICE_MIGRATION = Pattern.compile("(?i)\\bINDEX\\s+(idx_\\w+)");
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime FIM = LocalDateTime.of(2025, 12, 31, 23, 59);
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TokenRevogadoRepository tokenRevogadoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestFactory
+    Stream<DynamicTest> deveUsarIndiceEmCadaConsulta() {
+        return consultas().entrySet().stream()
+                .map(consulta -> DynamicTest.dynamicTest(consulta.getKey(), () -> {
+                    List<String> sqls = capturar(consulta.getValue());
+                    assertFalse(sqls.isEmpty(), "Nenhuma consulta executada");
+                    for (String sql : sqls) {
+                        verificarPlano(sql);
+                    }
+                }));
+    }
+
+    @Test
+    void deveClassificarTodosOsMetodosDosRepositorios() {
+        Set<String> declarados = REPOSITORIOS.stream()
+                .flatMap(r -> Arrays.stream(r.getDeclaredMethods()))
+                .filter(m -> !m.isSynthetic())
+                .map(PlanoConsultasIntegrationTest::assinatura)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        Set<String> classificados = new HashSet<>(consultas().keySet());
+        classificados.addAll(VARREDURAS_ACEITAS.keySet());
+
+        Set<String> semCaso = new TreeSet<>(declarados);
+        semCaso.removeAll(classificados);
+        Set<String> inexistentes = new TreeSet<>(classificados);
+        inexistentes.removeAll(declarados);
+
+        assertTrue(semCaso.isEmpty(), "Métodos sem verificação de plano: " + semCaso);
+        assertTrue(inexistentes.isEmpty(), "Casos de métodos que não existem mais: " + inexistentes);
+    }
+
+    @Test
+    void deveTerNoSchemaDeTesteOsIndicesDasMigrations() throws IOException {
+        Set<String> esperados = new TreeSet<>();
+        Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/*.sql");
+        for (Resource migration : migrations) {
+            Matcher m = INDICE_MIGRATION.matcher(migration.getContentAsString(StandardCharsets.UTF_8));
+            while (m.find()) esperados.add(m.group(1).toUpperCase());
+        }
+
+        Set<String> existentes = new HashSet<>(jdbc.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = 'PUBLIC'", String.class));
+
+        assertFalse(esperados.isEmpty());
+        esperados.removeAll(existentes);
+        assertTrue(esperados.isEmpty(), "Índices das migrations sem @Index na entidade: " + esperados);
+    }
+
+    private Map<String, Runnable> consultas() {
+        PageRequest pagina = PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "dataCriacao"));
+        StatusReclamacao status = StatusReclamacao.ABERTA;
+        CategoriaReclamacao categoria = CategoriaReclamacao.ILUMINACAO;
+
+        Map<String, Runnable> casos = new LinkedHashMap<>();
+        casos.put("ReclamacaoRepository.findByAtivoTrue()", () -> reclamacaoRepository.findByAtivoTrue());
+        casos.put("ReclamacaoRepository.findByAtivoTrue(Pageable)", () -> reclamacaoRepository.findByAtivoTrue(pagina));
+        casos.put("ReclamacaoRepository.listarDetalhamentosAtivos(Pageable)", () -> reclamacaoRepository.listarDetalhamentosAtivos(pagina));
+        casos.put("ReclamacaoRepository.buscarDetalhamentoAtivo(Long)", () -> reclamacaoRepository.buscarDetalhamentoAtivo(1L));
+        casos.put("ReclamacaoRepository.countByAtivoTrue()", () -> reclamacaoRepository.countByAtivoTrue());
+        casos.put("ReclamacaoRepository.findByAtivoTrue(ScrollPosition,Sort,Limit)", () -> reclamacaoRepository.findByAtivoTrue(
+                ScrollPosition.forward(Map.of("dataCriacao", INICIO, "id", 100L)), pagina.getSort(), Limit.of(10)));
+        casos.put("ReclamacaoRepository.findByTituloAndUsuarioId(String,Long)",
+                () -> reclamacaoRepository.findByTituloAndUsuarioId("Título", 1L));
+        casos.put("ReclamacaoRepository.findByTituloAndUsuarioIdAndAtivoTrue(String,Long)",
+                () -> reclamacaoRepository.findByTituloAndUsuarioIdAndAtivoTrue("Título", 1L));
+        casos.put("ReclamacaoRepository.findByStatus(StatusReclamacao)", () -> reclamacaoRepository.findByStatus(status));
+        casos.put("ReclamacaoRepository.findByStatusAndUsuarioId(StatusReclamacao,Long)",
+                () -> reclamacaoRepository.findByStatusAndUsuarioId(status, 1L));
+        casos.put("ReclamacaoRepository.findByStatusAndUsuarioIdAndCategoriaReclamacao(StatusReclamacao,Long,CategoriaReclamacao)",
+                () -> reclamacaoRepository.findByStatusAndUsuarioIdAndCategoriaReclamacao(status, 1L, categoria));
+        casos.put("ReclamacaoRepository.findByDataCriacaoBetween(LocalDateTime,LocalDateTime)",
+                () -> reclamacaoRepository.findByDataCriacaoBetween(INICIO, FIM));
+        casos.put("ReclamacaoRepository.findByStatusAndUsuarioIdAndDataCriacaoBetween(StatusReclamacao,Long,LocalDateTime,LocalDateTime)",
+                () -> reclamacaoRepository.findByStatusAndUsuarioIdAndDataCriacaoBetween(status, 1L, INICIO, FIM));
+        casos.put("ReclamacaoRepository.findByCategoriaReclamacao(CategoriaReclamacao)",
+                () -> reclamacaoRepository.findByCategoriaReclamacao(categoria));
+        casos.put("ReclamacaoRepository.findByUsuarioId(Long)", () -> reclamacaoRepository.findByUsuarioId(1L));
+        casos.put("ReclamacaoRepository.findByStatusIn(List)",
+                () -> reclamacaoRepository.findByStatusIn(List.of(status, StatusReclamacao.EM_ANDAMENTO)));
+        casos.put("ReclamacaoRepository.buscarReclamacoesFiltradas(StatusReclamacao,Long,LocalDateTime,LocalDateTime)",
+                () -> reclamacaoRepository.buscarReclamacoesFiltradas(null, 1L, INICIO, FIM));
+        casos.put("ReclamacaoRepository.buscarReclamacoesPorFiltrosCompletos(StatusReclamacao,Long,CategoriaReclamacao,LocalDateTime,LocalDateTime)",
+                () -> reclamacaoRepository.buscarReclamacoesPorFiltrosCompletos(null, null, categoria, INICIO, null));
+        casos.put("ReclamacaoExportacaoRepository.streamExportacaoPorFiltrosCompletos(StatusReclamacao,Long,CategoriaReclamacao,LocalDateTime,LocalDateTime)",
+                () -> {
+                    try (Stream<?> linhas = reclamacaoRepository.streamExportacaoPorFiltrosCompletos(
+                            null, 1L, null, INICIO, FIM)) {
+                        linhas.count();
+                    }
+                });
+        casos.put("ReclamacaoExportacaoRepository.streamExportacaoPorFiltrosEIntervaloIds(StatusReclamacao,Long,CategoriaReclamacao,LocalDateTime,LocalDateTime,Long,Long)",
+                () -> {
+                    try (Stream<?> linhas = reclamacaoRepository.streamExportacaoPorFiltrosEIntervaloIds(
+                            null, null, null, null, null, 1L, 1_000L)) {
+                        linhas.count();
+                    }
+                });
+        casos.put("ReclamacaoExportacaoRepository.buscarIntervaloIdsPorFiltrosCompletos(StatusReclamacao,Long,CategoriaReclamacao,LocalDateTime,LocalDateTime)",
+                () -> reclamacaoRepository.buscarIntervaloIdsPorFiltrosCompletos(status, null, categoria, null, null));
+        casos.put("ReclamacaoExportacaoRepository.buscarVersaoDadosPorFiltrosCompletos(StatusReclamacao,Long,CategoriaReclamacao,LocalDateTime,LocalDateTime)",
+                () -> reclamacaoRepository.buscarVersaoDadosPorFiltrosCompletos(null, null, categoria, INICIO, null));
+        casos.put("ReclamacaoRepository.buscarAlteracoesDesde(LocalDateTime,Long,LocalDateTime,Pageable)",
+                () -> reclamacaoRepository.buscarAlteracoesDesde(INICIO, 1L, FIM, PageRequest.of(0, 500)));
+
+        casos.put("UsuarioRepository.findByEmail(String)", () -> usuarioRepository.findByEmail("plano@email.com"));
+        casos.put("UsuarioRepository.buscarCarimboSegurancaAtivo(Long)", () -> usuarioRepository.buscarCarimboSegurancaAtivo(1L));
+        casos.put("UsuarioRepository.buscarIdPorEmail(String)", () -> usuarioRepository.buscarIdPorEmail("plano@email.com"));
+
+        casos.put("TokenRevogadoRepository.contarNaoExpirados(LocalDateTime)", () -> tokenRevogadoRepository.contarNaoExpirados(FIM));
+        casos.put("TokenRevogadoRepository.streamJtisNaoExpirados(LocalDateTime)", () -> {
+            try (Stream<String> jtis = tokenRevogadoRepository.streamJtisNaoExpirados(FIM)) {
+                jtis.count();
+            }
+        });
+        casos.put("TokenRevogadoRepository.buscarJtisExpirados(LocalDateTime,Pageable)",
+                () -> tokenRevogadoRepository.buscarJtisExpirados(FIM, PageRequest.of(0, 100)));
+        return casos;
+    }
+
+    private List<String> capturar(Runnable consulta) {
+        ConsultasCapturadas.iniciar();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(s -> consulta.run());
+            return ConsultasCapturadas.sqls();
+        } finally {
+            ConsultasCapturadas.encerrar();
+        }
+    }
+
+    private void verificarPlano(String sql) {
+        String plano = jdbc.query(c -> c.prepareStatement("EXPLAIN " + sql), rs -> rs.next() ? rs.getString(1) : null);
+        assertNotNull(plano);
+
+        Matcher acesso = ACESSO.matcher(plano);
+        int acessos = 0;
+        while (acesso.find()) {
+            acessos++;
+            String nome = acesso.group(1);
+            assertNull(acesso.group(2), () -> "Varredura completa de " + nome + ":\n" + plano);
+
+            String primeiraColuna = jdbc.queryForObject("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.INDEX_COLUMNS " +
+                    "WHERE TABLE_SCHEMA = 'PUBLIC' AND INDEX_NAME = ? AND ORDINAL_POSITION = 1", String.class, nome);
+            String condicoes = acesso.group(3) == null ? "" : acesso.group(3);
+            assertTrue(Pattern.compile("\\b" + primeiraColuna + "\\s*(=|<|>|IN\\b|IN\\()").matcher(condicoes).find(),
+                    () -> "Índice " + nome + " percorrido por inteiro (sem condição em " + primeiraColuna + "):\n" + plano);
+        }
+        assertTrue(acessos > 0, () -> "Plano sem acesso a tabela reconhecido:\n" + plano);
+    }
+
+    private static String assinatura(Method metodo) {
+        return metodo.getDeclaringClass().getSimpleName() + "." + metodo.getName() + "(" +
+                Arrays.stream(metodo.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(",")) + ")";
+    }
+
+    /**
+     * Guarda os SELECTs executados na thread do teste; as tarefas agendadas da aplicação
+     * que rodam em outras threads ficam de fora.
+     */
+    public static class ConsultasCapturadas implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CAPTURADAS = new ThreadLocal<>();
+
+        static void iniciar() {
+            CAPTURADAS.set(new ArrayList<>());
+        }
+
+        static List<String> sqls() {
+            return List.copyOf(CAPTURADAS.get());
+        }
+
+        static void encerrar() {
+            CAPTURADAS.remove();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> capturadas = CAPTURADAS.get();
+            if (capturadas != null && sql.stripLeading().toLowerCase().startsWith("select")) {
+                capturadas.add(sql);
+            }
+            return sql;
+        }
+    }
+}
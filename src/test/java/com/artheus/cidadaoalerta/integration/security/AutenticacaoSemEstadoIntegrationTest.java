@@ -0,0 +1,102 @@
+package com.artheus.cidadaoalerta.integration.security;
+
+import com.artheus.cidadaoalerta.dto.AtualizacaoUsuario;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.security.JwtService;
+import com.artheus.cidadaoalerta.service.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AutenticacaoSemEstadoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        usuario = new Usuario();
+        usuario.setNome("Usuario Sem Estado");
+        usuario.setEmail("semestado@email.com");
+        usuario.setSenha(passwordEncoder.encode("senhaSegura123"));
+        usuario.setPapel(Role.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+    }
+
+    @Test
+    void deveAutenticarPelasClaimsSemBuscarUsuarioPorEmail() throws Exception {
+        String token = jwtService.gerarToken(usuario);
+
+        // Mudança direta no banco, sem renovar o carimbo: a busca por email falharia,
+        // mas o token continua válido porque a autenticação usa só o id e o carimbo
+        usuario.setEmail("outro@email.com");
+        usuarioRepository.save(usuario);
+
+        mockMvc.perform(get("/reclamacoes").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveRecusarTokenEmitidoAntesDaTrocaDeSenha() throws Exception {
+        String tokenAntigo = jwtService.gerarToken(usuario);
+        mockMvc.perform(get("/usuarios/me").header("Authorization", "Bearer " + tokenAntigo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("semestado@email.com"));
+
+        usuarioService.atualizarUsuario(usuario.getId(), new AtualizacaoUsuario(null, null, "novaSenhaSegura123"));
+
+        mockMvc.perform(get("/reclamacoes").header("Authorization", "Bearer " + tokenAntigo))
+                .andExpect(status().isUnauthorized());
+
+        String tokenNovo = jwtService.gerarToken(usuarioRepository.findById(usuario.getId()).orElseThrow());
+        mockMvc.perform(get("/reclamacoes").header("Authorization", "Bearer " + tokenNovo))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveRecusarTokenDeUsuarioInativado() throws Exception {
+        String token = jwtService.gerarToken(usuario);
+        mockMvc.perform(get("/reclamacoes").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        usuarioService.inativarUsuario(usuario.getId());
+
+        mockMvc.perform(get("/reclamacoes").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,110 @@
+package com.artheus.cidadaoalerta.integration.security;
+
+import com.artheus.cidadaoalerta.dto.RequisicaoLogin;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.security.JwtService;
+import com.artheus.cidadaoalerta.service.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "jwt.autenticacao.sem-estado=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheUsuarioIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        usuario = new Usuario();
+        usuario.setNome("Usuario Em Cache");
+        usuario.setEmail("emcache@email.com");
+        usuario.setSenha(passwordEncoder.encode("senhaSegura123"));
+        usuario.setPapel(Role.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+    }
+
+    @Test
+    void deveNegarAcessoLogoAposInativarUsuarioEmCache() throws Exception {
+        String token = jwtService.gerarToken(usuario);
+
+        mockMvc.perform(get("/reclamacoes").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/reclamacoes").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        assertTrue(meterRegistry.get("cache.gets").tags("cache", "usuario.detalhes", "result", "hit")
+                .functionCounter().count() >= 1);
+
+        usuarioService.inativarUsuario(usuario.getId());
+
+        mockMvc.perform(get("/reclamacoes").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deveRecusarSenhaAntigaLogoAposTrocaFeitaEmOutraInstancia() throws Exception {
+        login("senhaSegura123").andExpect(status().isOk());
+
+        // Troca direto no banco, sem o evento que limparia o cache desta instância
+        jdbc.update("UPDATE usuario SET senha = ?, carimbo_seguranca = carimbo_seguranca + 1 WHERE id = ?",
+                passwordEncoder.encode("novaSenhaSegura123"), usuario.getId());
+
+        login("senhaSegura123").andExpect(status().isUnauthorized());
+        login("novaSenhaSegura123").andExpect(status().isOk());
+    }
+
+    private ResultActions login(String senha) throws Exception {
+        return mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RequisicaoLogin("emcache@email.com", senha))));
+    }
+}
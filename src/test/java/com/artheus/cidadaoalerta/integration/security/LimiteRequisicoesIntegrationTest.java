@@ -0,0 +1,82 @@
+package com.artheus.cidadaoalerta.integration.security;
+
+import com.artheus.cidadaoalerta.dto.RequisicaoLogin;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "limite.habilitado=true",
+        "limite.autenticacao-email.requisicoes=1",
+        "limite.autenticacao-email.periodo=1h",
+        "limite.cadastro-ip.requisicoes=1",
+        "limite.cadastro-ip.periodo=1h",
+        "limite.escrita-reclamacao.requisicoes=1",
+        "limite.escrita-reclamacao.periodo=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LimiteRequisicoesIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void deveRecusarLoginRepetidoParaOMesmoEmailAntesDeAutenticar() throws Exception {
+        String corpo = objectMapper.writeValueAsString(
+                new RequisicaoLogin("limite-" + UUID.randomUUID() + "@email.com", "senhaErrada"));
+
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3600"))
+                .andExpect(jsonPath("$.title").value("Muitas requisições"));
+    }
+
+    @Test
+    void deveRecusarCadastroRepetidoDoMesmoIp() throws Exception {
+        // O limite vem antes da validação: até corpos inválidos consomem a ficha
+        mockMvc.perform(post("/usuarios").contentType(MediaType.APPLICATION_JSON).content("{}")
+                        .with(r -> { r.setRemoteAddr("10.1.1.1"); return r; }))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/usuarios").contentType(MediaType.APPLICATION_JSON).content("{}")
+                        .with(r -> { r.setRemoteAddr("10.1.1.1"); return r; }))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void deveLimitarEscritaDeReclamacoesPorUsuarioAutenticado() throws Exception {
+        mockMvc.perform(post("/reclamacoes").contentType(MediaType.APPLICATION_JSON).content("{}")
+                        .with(user("escritor@email.com").roles("USER")))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/reclamacoes").contentType(MediaType.APPLICATION_JSON).content("{}")
+                        .with(user("escritor@email.com").roles("USER")))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(post("/reclamacoes").contentType(MediaType.APPLICATION_JSON).content("{}")
+                        .with(user("outro@email.com").roles("USER")))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,160 @@
+package com.artheus.cidadaoalerta.integration.security;
+
+import com.artheus.cidadaoalerta.dto.AtualizacaoUsuario;
+import com.artheus.cidadaoalerta.dto.RequisicaoLogin;
+import com.artheus.cidadaoalerta.dto.RequisicaoRenovacaoToken;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.service.UsuarioService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics estatisticas;
+    private Usuario usuario;
+    private String email;
+
+    @BeforeEach
+    void setup() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        usuario = new Usuario();
+        usuario.setNome("Usuario Login");
+        // Email novo a cada teste: o deleteAll acima não passa pelo cache de usuários
+        email = "login-" + UUID.randomUUID() + "@email.com";
+        usuario.setEmail(email);
+        usuario.setSenha(passwordEncoder.encode("senhaSegura123"));
+        usuario.setPapel(Role.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.setStatisticsEnabled(true);
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void desligarEstatisticas() {
+        estatisticas.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void loginDeveFazerUmaUnicaConsulta() throws Exception {
+        login();
+
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void renovacaoDeveEmitirTokenDeAcessoValidoSemConsultarSenha() throws Exception {
+        JsonNode tokens = login();
+        estatisticas.clear();
+
+        JsonNode renovados = renovar(tokens.get("refreshToken").asText(), 200);
+
+        // Usuário já está no cache do login e não há BCrypt: só a leitura do carimbo de segurança
+        // e um INSERT em token_revogado (chave duplicada significaria token já usado)
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+        mockMvc.perform(get("/reclamacoes").header("Authorization", "Bearer " + renovados.get("token").asText()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void tokensDeRenovacaoEAcessoNaoDevemSerIntercambiaveis() throws Exception {
+        JsonNode tokens = login();
+
+        mockMvc.perform(get("/reclamacoes").header("Authorization", "Bearer " + tokens.get("refreshToken").asText()))
+                .andExpect(status().isUnauthorized());
+        renovar(tokens.get("token").asText(), 401);
+    }
+
+    @Test
+    void renovacaoDeveFalharDepoisDaTrocaDeSenha() throws Exception {
+        JsonNode tokens = login();
+
+        usuarioService.atualizarUsuario(usuario.getId(), new AtualizacaoUsuario(null, null, "novaSenhaSegura123"));
+
+        renovar(tokens.get("refreshToken").asText(), 401);
+    }
+
+    @Test
+    void renovacaoDeveRecusarTokenJaUsado() throws Exception {
+        String usado = login().get("refreshToken").asText();
+
+        JsonNode renovados = renovar(usado, 200);
+
+        // O token usado foi revogado; o novo segue válido e também só vale uma vez
+        renovar(usado, 401);
+        String novo = renovados.get("refreshToken").asText();
+        renovar(novo, 200);
+        renovar(novo, 401);
+    }
+
+    private JsonNode login() throws Exception {
+        String resposta = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RequisicaoLogin(email, "senhaSegura123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode tokens = objectMapper.readTree(resposta);
+        assertNotNull(tokens.get("refreshToken").textValue());
+        return tokens;
+    }
+
+    private JsonNode renovar(String refreshToken, int statusEsperado) throws Exception {
+        String resposta = mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RequisicaoRenovacaoToken(refreshToken))))
+                .andExpect(status().is(statusEsperado))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta);
+    }
+}
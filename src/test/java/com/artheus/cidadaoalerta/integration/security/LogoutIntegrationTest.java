@@ -0,0 +1,170 @@
+package com.artheus.cidadaoalerta.integration.security;
+
+import com.artheus.cidadaoalerta.dto.RequisicaoLogin;
+import com.artheus.cidadaoalerta.dto.RequisicaoRenovacaoToken;
+import com.artheus.cidadaoalerta.model.TokenRevogado;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.repository.TokenRevogadoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.security.ListaRevogacao;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LogoutIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TokenRevogadoRepository tokenRevogadoRepository;
+
+    @Autowired
+    private ListaRevogacao listaRevogacao;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String email;
+
+    @BeforeEach
+    void setup() {
+        tokenRevogadoRepository.deleteAll();
+        listaRevogacao.reconstruir();
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Usuario Logout");
+        email = "logout-" + UUID.randomUUID() + "@email.com";
+        usuario.setEmail(email);
+        usuario.setSenha(passwordEncoder.encode("senhaSegura123"));
+        usuario.setPapel(Role.ROLE_USER);
+        usuarioRepository.save(usuario);
+    }
+
+    @Test
+    void deveRecusarTokensDepoisDoLogout() throws Exception {
+        JsonNode tokens = login();
+        String acesso = "Bearer " + tokens.get("token").asText();
+        String renovacao = tokens.get("refreshToken").asText();
+
+        mockMvc.perform(get("/usuarios/me").header(HttpHeaders.AUTHORIZATION, acesso))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, acesso)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RequisicaoRenovacaoToken(renovacao))))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/usuarios/me").header(HttpHeaders.AUTHORIZATION, acesso))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RequisicaoRenovacaoToken(renovacao))))
+                .andExpect(status().isUnauthorized());
+        assertEquals(2, tokenRevogadoRepository.count());
+
+        // Depois da reconstrução o token continua recusado: ele ainda está na tabela
+        listaRevogacao.reconstruir();
+        mockMvc.perform(get("/usuarios/me").header(HttpHeaders.AUTHORIZATION, acesso))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deveManterOutrasSessoesDoUsuarioAtivas() throws Exception {
+        String sessaoEncerrada = "Bearer " + login().get("token").asText();
+        String outraSessao = "Bearer " + login().get("token").asText();
+
+        mockMvc.perform(post("/auth/logout").header(HttpHeaders.AUTHORIZATION, sessaoEncerrada))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/usuarios/me").header(HttpHeaders.AUTHORIZATION, outraSessao))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveRenovarUmaUnicaVezComUsosSimultaneosDoMesmoToken() throws Exception {
+        String renovacao = login().get("refreshToken").asText();
+        String corpo = objectMapper.writeValueAsString(new RequisicaoRenovacaoToken(renovacao));
+        int tentativas = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(tentativas);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try {
+            List<Future<Integer>> respostas = new ArrayList<>();
+            for (int i = 0; i < tentativas; i++) {
+                respostas.add(executor.submit(() -> {
+                    largada.await();
+                    return mockMvc.perform(post("/auth/refresh")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(corpo))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            largada.countDown();
+
+            List<Integer> status = new ArrayList<>();
+            for (Future<Integer> resposta : respostas) status.add(resposta.get(30, TimeUnit.SECONDS));
+
+            assertEquals(1, status.stream().filter(s -> s == 200).count());
+            assertEquals(tentativas - 1, status.stream().filter(s -> s == 401).count());
+            assertEquals(1, tokenRevogadoRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deveRemoverSomenteRevogacoesExpiradas() {
+        tokenRevogadoRepository.save(new TokenRevogado("expirado-1", LocalDateTime.now().minusMinutes(5)));
+        tokenRevogadoRepository.save(new TokenRevogado("expirado-2", LocalDateTime.now().minusMinutes(1)));
+        tokenRevogadoRepository.save(new TokenRevogado("valido", LocalDateTime.now().plusMinutes(5)));
+
+        assertEquals(2, listaRevogacao.removerExpirados());
+        assertEquals(1, tokenRevogadoRepository.count());
+        assertTrue(tokenRevogadoRepository.existsById("valido"));
+    }
+
+    private JsonNode login() throws Exception {
+        String resposta = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RequisicaoLogin(email, "senhaSegura123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta);
+    }
+}
@@ -0,0 +1,71 @@
+package com.artheus.cidadaoalerta.integration.security;
+
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RehashSenhaIntegrationTest {
+
+    private static final String LOGIN = """
+            {"email":"rehash@email.com","senha":"senhaSegura123"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ReclamacaoRepository reclamacaoRepository;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        reclamacaoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+
+        usuario = new Usuario();
+        usuario.setNome("Usuario Rehash");
+        usuario.setEmail("rehash@email.com");
+        // Hash gravado com custo menor que o configurado (10)
+        usuario.setSenha(new BCryptPasswordEncoder(4).encode("senhaSegura123"));
+        usuario.setPapel(Role.ROLE_USER);
+        usuario = usuarioRepository.save(usuario);
+    }
+
+    @Test
+    void deveRefazerHashComCustoConfiguradoNoLogin() throws Exception {
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty());
+
+        Usuario depois = usuarioRepository.findById(usuario.getId()).orElseThrow();
+        assertTrue(depois.getSenha().startsWith("$2a$10$"), depois.getSenha());
+        assertEquals(usuario.getCarimboSeguranca(), depois.getCarimboSeguranca());
+
+        // A senha continua a mesma com o hash novo
+        mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                .andExpect(status().isOk());
+    }
+}
@@ -2,11 +2,19 @@ package com.artheus.cidadaoalerta.unit.controller;
 
 import com.artheus.cidadaoalerta.controller.AuthController;
 import com.artheus.cidadaoalerta.dto.RequisicaoLogin;
+import com.artheus.cidadaoalerta.dto.RequisicaoRenovacaoToken;
 import com.artheus.cidadaoalerta.dto.RespostaLogin;
+import com.artheus.cidadaoalerta.exception.global.GlobalExceptionHandler;
+import com.artheus.cidadaoalerta.exception.limite.LimiteRequisicoesExcedidoException;
+import com.artheus.cidadaoalerta.infra.limite.LimitesRequisicao;
+import com.artheus.cidadaoalerta.infra.limite.TipoLimite;
 import com.artheus.cidadaoalerta.model.Usuario;
 import com.artheus.cidadaoalerta.model.enums.Role;
 import com.artheus.cidadaoalerta.security.JwtService;
+import com.artheus.cidadaoalerta.security.ListaRevogacao;
+import com.artheus.cidadaoalerta.security.TokenVerificado;
 import com.artheus.cidadaoalerta.security.UsuarioDetailsService;
+import com.artheus.cidadaoalerta.security.UsuarioDetalhes;
 import com.artheus.cidadaoalerta.service.EmailService;
 import com.artheus.cidadaoalerta.service.ReclamacaoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,17 +25,22 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
+import java.util.Optional;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -43,6 +56,12 @@ class AuthControllerTest {
     @Mock
     private UsuarioDetailsService usuarioDetailsService;
 
+    @Mock
+    private LimitesRequisicao limites;
+
+    @Mock
+    private ListaRevogacao listaRevogacao;
+
     @InjectMocks
     private AuthController authController;
 
@@ -55,7 +74,9 @@ class AuthControllerTest {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        mockMvc = MockMvcBuilders.standaloneSetup(authController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
 
         requisicaoValida = new RequisicaoLogin("teste@email.com", "senha123");
 
@@ -71,24 +92,36 @@ class AuthControllerTest {
         return objectMapper.writeValueAsString(obj);
     }
 
+    private void mockAutenticacao(Usuario usuario) {
+        UsuarioDetalhes principal = UsuarioDetalhes.de(usuario);
+        when(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private TokenVerificado tokenRenovacao(long carimbo) {
+        return new TokenVerificado(usuario.getEmail(), null, usuario.getId(), carimbo, Instant.now().plusSeconds(3600), "jti-renovacao");
+    }
+
     // ==================== TESTES PRINCIPAIS ====================
 
     @Test
     void deveAutenticarUsuarioComSucesso() throws Exception {
-        when(usuarioDetailsService.loadUserByUsername(requisicaoValida.email()))
-                .thenReturn(usuario);
-        when(jwtService.gerarToken(usuario)).thenReturn("jwt-token");
+        mockAutenticacao(usuario);
+        when(jwtService.gerarToken(UsuarioDetalhes.de(usuario))).thenReturn("jwt-token");
+        when(jwtService.gerarTokenRenovacao(UsuarioDetalhes.de(usuario))).thenReturn("refresh-token");
 
         mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(toJson(requisicaoValida)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.mensagem").value("Login realizado"))
-                .andExpect(jsonPath("$.token").value("jwt-token"));
+                .andExpect(jsonPath("$.token").value("jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-token"));
 
         verify(authManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(usuarioDetailsService).loadUserByUsername(requisicaoValida.email());
-        verify(jwtService).gerarToken(usuario);
+        // O token sai do principal autenticado, sem buscar o usuário uma segunda vez
+        verifyNoInteractions(usuarioDetailsService);
+        verify(jwtService).gerarToken(UsuarioDetalhes.de(usuario));
     }
 
     @Test
@@ -117,13 +150,25 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void deveRetornar429SemAutenticarQuandoEmailExcederLimite() throws Exception {
+        doThrow(new LimiteRequisicoesExcedidoException(12))
+                .when(limites).exigir(TipoLimite.AUTENTICACAO_EMAIL, "teste@email.com");
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new RequisicaoLogin("Teste@Email.com", "senha123"))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "12"));
+
+        verifyNoInteractions(authManager);
+    }
+
     // ==================== TESTES ADICIONAIS ====================
 
     @Test
     void deveRetornar401QuandoUsuarioNaoEncontrado() throws Exception {
         when(authManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(null);
-        when(usuarioDetailsService.loadUserByUsername(requisicaoValida.email()))
-                .thenThrow(new UsernameNotFoundException("Usuário não encontrado"));
 
         mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -137,9 +182,8 @@ class AuthControllerTest {
     void deveGerarTokenComRoleDiferente() throws Exception {
         usuario.setPapel(Role.ROLE_ADMIN); // mudar a role
 
-        when(usuarioDetailsService.loadUserByUsername(requisicaoValida.email()))
-                .thenReturn(usuario);
-        when(jwtService.gerarToken(usuario)).thenReturn("jwt-token-admin");
+        mockAutenticacao(usuario);
+        when(jwtService.gerarToken(UsuarioDetalhes.de(usuario))).thenReturn("jwt-token-admin");
 
         mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -162,4 +206,110 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.token").isEmpty());
     }
 
+    // ==================== RENOVAÇÃO ====================
+
+    @Test
+    void deveRenovarTokenSemVerificarSenha() throws Exception {
+        when(jwtService.verificarTokenRenovacao("refresh-valido")).thenReturn(Optional.of(tokenRenovacao(0L)));
+        when(listaRevogacao.consumir(eq("jti-renovacao"), any(Instant.class))).thenReturn(true);
+        when(usuarioDetailsService.loadUserByUsername(usuario.getEmail())).thenReturn(UsuarioDetalhes.de(usuario));
+        when(jwtService.gerarToken(UsuarioDetalhes.de(usuario))).thenReturn("jwt-novo");
+        when(jwtService.gerarTokenRenovacao(UsuarioDetalhes.de(usuario))).thenReturn("refresh-novo");
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new RequisicaoRenovacaoToken("refresh-valido"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.mensagem").value("Token renovado"))
+                .andExpect(jsonPath("$.token").value("jwt-novo"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-novo"));
+
+        verifyNoInteractions(authManager);
+        verify(listaRevogacao).consumir(eq("jti-renovacao"), any(Instant.class));
+    }
+
+    @Test
+    void deveRetornar401AoRenovarComCarimboAntigo() throws Exception {
+        usuario.renovarCarimboSeguranca();
+        when(jwtService.verificarTokenRenovacao("refresh-revogado")).thenReturn(Optional.of(tokenRenovacao(0L)));
+        when(listaRevogacao.consumir(eq("jti-renovacao"), any(Instant.class))).thenReturn(true);
+        when(usuarioDetailsService.loadUserByUsername(usuario.getEmail())).thenReturn(UsuarioDetalhes.de(usuario));
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new RequisicaoRenovacaoToken("refresh-revogado"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.token").isEmpty());
+
+        verify(jwtService, never()).gerarToken(any());
+    }
+
+    @Test
+    void deveRetornar401AoRenovarComTokenInvalido() throws Exception {
+        when(jwtService.verificarTokenRenovacao("invalido")).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new RequisicaoRenovacaoToken("invalido"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.mensagem").value("Token de renovação inválido"));
+
+        verifyNoInteractions(usuarioDetailsService);
+    }
+
+    @Test
+    void deveRetornar401AoRenovarComTokenEncerradoPorLogout() throws Exception {
+        when(jwtService.verificarTokenRenovacao("refresh-logout")).thenReturn(Optional.of(tokenRenovacao(0L)));
+        when(listaRevogacao.consumir(eq("jti-renovacao"), any(Instant.class))).thenReturn(false);
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new RequisicaoRenovacaoToken("refresh-logout"))))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(usuarioDetailsService);
+    }
+
+    // ==================== LOGOUT ====================
+
+    @Test
+    void deveRevogarTokensDeAcessoERenovacaoNoLogout() throws Exception {
+        Instant expiracao = Instant.now().plusSeconds(600);
+        when(jwtService.verificarToken("jwt-acesso")).thenReturn(Optional.of(
+                new TokenVerificado(usuario.getEmail(), "ROLE_USER", 1L, 0L, expiracao, "jti-acesso")));
+        when(jwtService.verificarTokenRenovacao("refresh-valido")).thenReturn(Optional.of(tokenRenovacao(0L)));
+
+        mockMvc.perform(post("/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer jwt-acesso")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new RequisicaoRenovacaoToken("refresh-valido"))))
+                .andExpect(status().isNoContent());
+
+        verify(listaRevogacao).revogar("jti-acesso", expiracao);
+        verify(listaRevogacao).revogar(eq("jti-renovacao"), any(Instant.class));
+    }
+
+    @Test
+    void naoDeveRevogarTokenDeRenovacaoDeOutroUsuario() throws Exception {
+        when(jwtService.verificarToken("jwt-acesso")).thenReturn(Optional.of(
+                new TokenVerificado("outro@email.com", "ROLE_USER", 2L, 0L, Instant.now().plusSeconds(600), "jti-acesso")));
+        when(jwtService.verificarTokenRenovacao("refresh-valido")).thenReturn(Optional.of(tokenRenovacao(0L)));
+
+        mockMvc.perform(post("/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer jwt-acesso")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(new RequisicaoRenovacaoToken("refresh-valido"))))
+                .andExpect(status().isNoContent());
+
+        verify(listaRevogacao).revogar(eq("jti-acesso"), any(Instant.class));
+        verify(listaRevogacao, never()).revogar(eq("jti-renovacao"), any(Instant.class));
+    }
+
+    @Test
+    void deveRetornar401NoLogoutSemToken() throws Exception {
+        mockMvc.perform(post("/auth/logout"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(listaRevogacao);
+    }
 }
@@ -4,9 +4,11 @@ import com.artheus.cidadaoalerta.controller.ReclamacaoController;
 import com.artheus.cidadaoalerta.dto.AtualizacaoReclamacao;
 import com.artheus.cidadaoalerta.dto.CadastroReclamacao;
 import com.artheus.cidadaoalerta.dto.DetalhamentoReclamacao;
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
 import com.artheus.cidadaoalerta.dto.ReclamacaoPageResponse;
 import com.artheus.cidadaoalerta.model.Localizacao;
 import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.EstrategiaContagem;
 import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
 import com.artheus.cidadaoalerta.service.ReclamacaoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -24,6 +26,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -97,7 +100,7 @@ class ReclamacaoControllerTest {
         ReclamacaoPageResponse<DetalhamentoReclamacao> response =
                 new ReclamacaoPageResponse<>(List.of(detalhamentoDto), 0, 10, 1, 1, true);
 
-        when(reclamacaoService.listarReclamacoes(any(Pageable.class))).thenReturn(response);
+        when(reclamacaoService.listarReclamacoes(any(Pageable.class), eq(EstrategiaContagem.EXATA))).thenReturn(response);
 
         mockMvc.perform(get("/reclamacoes")
                         .param("page", "0")
@@ -106,9 +109,38 @@ class ReclamacaoControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content[0].id").value(1L))
-                .andExpect(jsonPath("$.content[0].titulo").value("Rua sem iluminação"));
+                .andExpect(jsonPath("$.content[0].titulo").value("Rua sem iluminação"))
+                .andExpect(jsonPath("$.totalExato").value(true));
 
-        verify(reclamacaoService).listarReclamacoes(any(Pageable.class));
+        verify(reclamacaoService).listarReclamacoes(any(Pageable.class), eq(EstrategiaContagem.EXATA));
+    }
+
+    @Test
+    void devePassarEstrategiaDeContagemParaOService() throws Exception {
+        ReclamacaoPageResponse<DetalhamentoReclamacao> response =
+                new ReclamacaoPageResponse<>(List.of(detalhamentoDto), 0, 10, 1, 1, true, false);
+        when(reclamacaoService.listarReclamacoes(any(Pageable.class), eq(EstrategiaContagem.CACHE))).thenReturn(response);
+
+        mockMvc.perform(get("/reclamacoes").param("contagem", "CACHE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalExato").value(false));
+    }
+
+    @Test
+    void deveBuscarReclamacoesComOsFiltrosInformados() throws Exception {
+        ReclamacaoPageResponse<DetalhamentoReclamacao> response =
+                new ReclamacaoPageResponse<>(List.of(detalhamentoDto), 0, 10, 1, 1, true);
+        FiltroReclamacaoDTO filtro = new FiltroReclamacaoDTO(StatusReclamacao.ABERTA, null, CategoriaReclamacao.ILUMINACAO,
+                LocalDate.of(2025, 1, 1), null);
+        when(reclamacaoService.buscarReclamacoes(eq(filtro), any(Pageable.class), eq(EstrategiaContagem.EXATA))).thenReturn(response);
+
+        mockMvc.perform(get("/reclamacoes/busca")
+                        .param("status", "ABERTA")
+                        .param("categoria", "ILUMINACAO")
+                        .param("dataInicio", "2025-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(detalhamentoDto.id()))
+                .andExpect(jsonPath("$.totalElements").value(1));
     }
 
     @Test
@@ -250,7 +282,7 @@ class ReclamacaoControllerTest {
         );
 
         // Forçar o tipo do any() para Pageable
-        when(reclamacaoService.listarReclamacoes(ArgumentMatchers.<Pageable>any()))
+        when(reclamacaoService.listarReclamacoes(ArgumentMatchers.<Pageable>any(), any()))
                 .thenReturn(fakePage);
 
         mockMvc.perform(get("/reclamacoes")
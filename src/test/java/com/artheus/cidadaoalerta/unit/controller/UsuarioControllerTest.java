@@ -5,8 +5,8 @@ import com.artheus.cidadaoalerta.dto.AtualizacaoUsuario;
 import com.artheus.cidadaoalerta.dto.CadastroUsuario;
 import com.artheus.cidadaoalerta.dto.DetalhamentoUsuario;
 import com.artheus.cidadaoalerta.mapper.UsuarioMapper;
-import com.artheus.cidadaoalerta.model.Usuario;
 import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.security.UsuarioDetalhes;
 import com.artheus.cidadaoalerta.service.UsuarioService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,7 +21,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -117,7 +116,7 @@ class UsuarioControllerTest {
 
     @Test
     void deveBuscarUsuarioLogado() {
-        Usuario usuario = new Usuario(1L, "Fulano", "fulano@email.com", "senha123456", true, Role.ROLE_USER, new ArrayList<>());
+        UsuarioDetalhes usuario = new UsuarioDetalhes(1L, "Fulano", "fulano@email.com", "senha123456", Role.ROLE_USER, true, 0L);
         DetalhamentoUsuario dto = new DetalhamentoUsuario(1L, "Fulano", "fulano@email.com", true, Role.ROLE_USER);
 
         when(authentication.getPrincipal()).thenReturn(usuario);
@@ -36,7 +36,7 @@ class ReclamacaoEventListenerTest {
         reclamacao.setTitulo("Buraco na rua");
         reclamacao.setUsuario(
                 new Usuario(1L, "Fabiano", "fabiano@email.com",
-                        "senha123", true, Role.ROLE_USER, null)
+                        "senha123", true, Role.ROLE_USER, null, 0L)
         );
     }
 
@@ -70,7 +70,7 @@ class ReclamacaoEventListenerTest {
     // ---------------- Cobertura do branch de validação de e-mail ----------------
     @Test
     void naoDeveEnviarEmailQuandoUsuarioNaoPossuirEmail() {
-        reclamacao.setUsuario(new Usuario(1L, "Fabiano", null, "senha123", true, Role.ROLE_USER, null));
+        reclamacao.setUsuario(new Usuario(1L, "Fabiano", null, "senha123", true, Role.ROLE_USER, null, 0L));
         ReclamacaoEvent event = new ReclamacaoEvent(reclamacao, TipoEventoReclamacao.CRIADA);
 
         assertDoesNotThrow(() -> listener.handleReclamacaoEvent(event));
@@ -79,7 +79,7 @@ class ReclamacaoEventListenerTest {
 
     @Test
     void naoDeveEnviarEmailQuandoUsuarioPossuirEmailEmBranco() {
-        reclamacao.setUsuario(new Usuario(1L, "Fabiano", "   ", "senha123", true, Role.ROLE_USER, null));
+        reclamacao.setUsuario(new Usuario(1L, "Fabiano", "   ", "senha123", true, Role.ROLE_USER, null, 0L));
         ReclamacaoEvent event = new ReclamacaoEvent(reclamacao, TipoEventoReclamacao.CRIADA);
 
         assertDoesNotThrow(() -> listener.handleReclamacaoEvent(event));
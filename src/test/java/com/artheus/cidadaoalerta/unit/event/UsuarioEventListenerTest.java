@@ -30,7 +30,7 @@ class UsuarioEventListenerTest {
     @BeforeEach
     void setUp() {
         usuario = new Usuario(1L, "Fabiano", "fabiano@email.com",
-                "senha123", true, Role.ROLE_USER, null);
+                "senha123", true, Role.ROLE_USER, null, 0L);
     }
 
     @Test
@@ -68,7 +68,7 @@ class UsuarioEventListenerTest {
     @Test
     void naoEnviaEmailSeUsuarioSemEmail() {
         Usuario usuarioSemEmail = new Usuario(2L, "Joao", null,
-                "senha123", true, Role.ROLE_USER, null);
+                "senha123", true, Role.ROLE_USER, null, 0L);
         UsuarioEvent event = new UsuarioEvent(usuarioSemEmail, TipoEventoUsuario.CRIADO);
 
         listener.handleUsuarioEvent(event);
@@ -79,7 +79,7 @@ class UsuarioEventListenerTest {
     @Test
     void naoEnviaEmailSeEmailBlank() {
         Usuario usuarioBlankEmail = new Usuario(3L, "Maria", "  ",
-                "senha123", true, Role.ROLE_USER, null);
+                "senha123", true, Role.ROLE_USER, null, 0L);
         UsuarioEvent event = new UsuarioEvent(usuarioBlankEmail, TipoEventoUsuario.ATUALIZADO);
 
         listener.handleUsuarioEvent(event);
@@ -8,6 +8,7 @@ import com.artheus.cidadaoalerta.exception.reclamacao.ReclamacaoAtualizacaoInval
 import com.artheus.cidadaoalerta.exception.reclamacao.ReclamacaoDesativadaException;
 import com.artheus.cidadaoalerta.exception.reclamacao.ReclamacaoDuplicadaException;
 import com.artheus.cidadaoalerta.exception.reclamacao.ReclamacaoNaoEncontradaException;
+import com.artheus.cidadaoalerta.exception.usuario.ProcessamentoSenhaSobrecarregadoException;
 import com.artheus.cidadaoalerta.exception.usuario.UsuarioNaoAutenticadoException;
 import com.artheus.cidadaoalerta.exception.usuario.UsuarioNaoEncontradoException;
 import com.artheus.cidadaoalerta.exception.usuario.UsuarioSemPermissaoException;
@@ -153,6 +154,15 @@ class GlobalExceptionHandlerTest {
                 404, "Usuário não encontrado", "Não encontrado");
     }
 
+    @Test
+    void handleProcessamentoSenhaSobrecarregado_DeveRetornar429ComRetryAfter() {
+        ResponseEntity<ApiError> response = handler.handleProcessamentoSenhaSobrecarregado(
+                new ProcessamentoSenhaSobrecarregadoException(2), request);
+
+        assertApiError(response, 429, "Muitas autenticações em andamento", "Tente novamente");
+        assertEquals("2", response.getHeaders().getFirst("Retry-After"));
+    }
+
     // ================= TESTES CSV E EMAIL =================
     @Test
     void handleErroCsv_DeveRetornar500() {
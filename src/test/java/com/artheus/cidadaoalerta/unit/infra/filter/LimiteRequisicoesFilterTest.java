@@ -0,0 +1,120 @@
+package com.artheus.cidadaoalerta.unit.infra.filter;
+
+import com.artheus.cidadaoalerta.infra.filter.LimiteRequisicoesFilter;
+import com.artheus.cidadaoalerta.infra.limite.LimitesRequisicao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LimiteRequisicoesFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private LimiteRequisicoesFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("limite.autenticacao-ip.requisicoes", "2")
+                .withProperty("limite.autenticacao-ip.periodo", "1m")
+                .withProperty("limite.cadastro-ip.requisicoes", "1")
+                .withProperty("limite.cadastro-ip.periodo", "1h")
+                .withProperty("limite.escrita-reclamacao.requisicoes", "1")
+                .withProperty("limite.escrita-reclamacao.periodo", "1m");
+        registry = new SimpleMeterRegistry();
+        filter = new LimiteRequisicoesFilter(new LimitesRequisicao(environment, registry, true, 1_000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveRecusarLoginComRetryAfterQuandoIpExcederLimite() throws Exception {
+        assertEquals(200, executar("POST", "/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, executar("POST", "/auth/login", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse recusada = executar("POST", "/auth/login", "10.0.0.1");
+        assertEquals(429, recusada.getStatus());
+        assertEquals("30", recusada.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, registry.counter("limite.requisicoes.recusadas", "limite", "autenticacao-ip").count());
+
+        // Outro IP tem seu próprio balde
+        assertEquals(200, executar("POST", "/auth/login", "10.0.0.2").getStatus());
+    }
+
+    @Test
+    void deveLimitarCadastroSemAfetarOutrasRotas() throws Exception {
+        assertEquals(200, executar("POST", "/usuarios", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse recusada = executar("POST", "/usuarios", "10.0.0.1");
+        assertEquals(429, recusada.getStatus());
+        assertEquals("3600", recusada.getHeader(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(200, executar("GET", "/usuarios", "10.0.0.1").getStatus());
+        assertEquals(200, executar("PUT", "/usuarios/1", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void deveLimitarEscritaDeReclamacoesPorUsuario() throws Exception {
+        autenticar("maria@email.com");
+        assertEquals(200, executar("POST", "/reclamacoes", "10.0.0.1").getStatus());
+        assertEquals(429, executar("DELETE", "/reclamacoes/5", "10.0.0.2").getStatus());
+        assertEquals(200, executar("GET", "/reclamacoes", "10.0.0.1").getStatus());
+
+        autenticar("joao@email.com");
+        assertEquals(200, executar("POST", "/reclamacoes", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void naoDeveLimitarEscritaSemUsuarioAutenticado() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, executar("POST", "/reclamacoes", "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    void naoDeveFiltrarQuandoDesabilitado() throws Exception {
+        filter = new LimiteRequisicoesFilter(
+                new LimitesRequisicao(new MockEnvironment(), registry, false, 1_000));
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals(200, executar("POST", "/auth/login", "10.0.0.1").getStatus());
+        }
+    }
+
+    private MockHttpServletResponse executar(String metodo, String caminho, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, caminho);
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+
+        filter.doFilter(request, response, chain);
+
+        if (response.getStatus() == 429) {
+            verifyNoInteractions(chain);
+        } else {
+            verify(chain).doFilter(request, response);
+        }
+        return response;
+    }
+
+    private void autenticar(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+}
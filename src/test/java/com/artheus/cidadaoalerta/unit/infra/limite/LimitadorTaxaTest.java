@@ -0,0 +1,103 @@
+package com.artheus.cidadaoalerta.unit.infra.limite;
+
+import com.artheus.cidadaoalerta.infra.limite.LimitadorTaxa;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorTaxaTest {
+
+    private final AtomicLong agora = new AtomicLong(1_000);
+
+    private LimitadorTaxa limitador(int requisicoes, Duration periodo) {
+        return new LimitadorTaxa(requisicoes, periodo, 1_000, agora::get);
+    }
+
+    @Test
+    void devePermitirRajadaAteOLimiteERecusarASeguinte() {
+        LimitadorTaxa limitador = limitador(5, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limitador.tentar("127.0.0.1"));
+        }
+
+        // Uma ficha volta a cada 12s (60s / 5)
+        assertEquals(TimeUnit.SECONDS.toNanos(12), limitador.tentar("127.0.0.1"));
+    }
+
+    @Test
+    void deveRecarregarUmaFichaPorIntervalo() {
+        LimitadorTaxa limitador = limitador(5, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) limitador.tentar("chave");
+
+        agora.addAndGet(TimeUnit.SECONDS.toNanos(12));
+
+        assertEquals(0, limitador.tentar("chave"));
+        assertTrue(limitador.tentar("chave") > 0);
+    }
+
+    @Test
+    void deveManterBaldesIndependentesPorChave() {
+        LimitadorTaxa limitador = limitador(1, Duration.ofMinutes(1));
+
+        assertEquals(0, limitador.tentar("a@email.com"));
+        assertTrue(limitador.tentar("a@email.com") > 0);
+        assertEquals(0, limitador.tentar("b@email.com"));
+    }
+
+    @Test
+    void deveDescartarBaldesOciososDepoisDeUmPeriodo() {
+        LimitadorTaxa limitador = limitador(2, Duration.ofMinutes(1));
+        for (int i = 0; i < 100; i++) {
+            limitador.tentar("10.0.0." + i);
+        }
+        assertEquals(100, limitador.getQuantidadeChaves());
+
+        agora.addAndGet(TimeUnit.MINUTES.toNanos(1) + 1);
+
+        assertEquals(0, limitador.getQuantidadeChaves());
+    }
+
+    @Test
+    void naoDeveAceitarMaisQueARajadaComThreadsConcorrentes() throws Exception {
+        LimitadorTaxa limitador = limitador(50, Duration.ofHours(1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try {
+            List<Future<Integer>> tarefas = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    int aceitas = 0;
+                    for (int i = 0; i < 100; i++) {
+                        if (limitador.tentar("mesma-chave") == 0) aceitas++;
+                    }
+                    return aceitas;
+                }));
+            }
+            largada.countDown();
+
+            int total = 0;
+            for (Future<Integer> tarefa : tarefas) total += tarefa.get(10, TimeUnit.SECONDS);
+            assertEquals(50, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deveRejeitarLimiteSemRequisicoes() {
+        assertThrows(IllegalArgumentException.class, () -> limitador(0, Duration.ofMinutes(1)));
+    }
+}
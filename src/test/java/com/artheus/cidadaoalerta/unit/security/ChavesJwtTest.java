@@ -0,0 +1,132 @@
+package com.artheus.cidadaoalerta.unit.security;
+
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.security.ChavesJwt;
+import com.artheus.cidadaoalerta.security.JwtService;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChavesJwtTest {
+
+    private static final String SEGREDO = "12345678901234567890123456789012";
+    private static final long EXPIRACAO = 3_600_000;
+
+    private final KeyPair chaveAntiga = Keys.keyPairFor(SignatureAlgorithm.ES256);
+    private final KeyPair chaveNova = Keys.keyPairFor(SignatureAlgorithm.ES256);
+    private final Usuario usuario = new Usuario(5L, "Fulano de Tal", "fulano@email.com", "senha123456", true, Role.ROLE_USER, null, 0L);
+
+    @Test
+    void deveAssinarEmEs256ComKidNoCabecalho() {
+        JwtService service = servico(ChavesJwt.criar(null, "2026-01", privada(chaveAntiga), Map.of("2026-01", publica(chaveAntiga))));
+
+        String token = service.gerarToken(usuario);
+
+        JwsHeader<?> header = Jwts.parserBuilder().setSigningKey(chaveAntiga.getPublic()).build()
+                .parseClaimsJws(token).getHeader();
+        assertEquals("ES256", header.getAlgorithm());
+        assertEquals("2026-01", header.getKeyId());
+        assertEquals("fulano@email.com", service.verificarToken(token).orElseThrow().email());
+    }
+
+    @Test
+    void deveAceitarTokensDasDuasChavesDuranteARotacao() {
+        JwtService antes = servico(ChavesJwt.criar(null, "2026-01", privada(chaveAntiga), Map.of("2026-01", publica(chaveAntiga))));
+        String tokenAntigo = antes.gerarToken(usuario);
+
+        JwtService durante = servico(ChavesJwt.criar(null, "2026-07", privada(chaveNova),
+                Map.of("2026-01", publica(chaveAntiga), "2026-07", publica(chaveNova))));
+        String tokenNovo = durante.gerarToken(usuario);
+
+        assertTrue(durante.verificarToken(tokenAntigo).isPresent());
+        assertTrue(durante.verificarToken(tokenNovo).isPresent());
+
+        // Depois que a chave antiga sai do chaveiro, os tokens dela deixam de valer
+        JwtService depois = servico(ChavesJwt.criar(null, "2026-07", privada(chaveNova), Map.of("2026-07", publica(chaveNova))));
+        assertTrue(depois.verificarToken(tokenAntigo).isEmpty());
+        assertTrue(depois.verificarToken(tokenNovo).isPresent());
+    }
+
+    @Test
+    void noSomenteDeVerificacaoNaoPrecisaDaChavePrivada() {
+        JwtService emissor = servico(ChavesJwt.criar(null, "2026-01", privada(chaveAntiga), Map.of("2026-01", publica(chaveAntiga))));
+        JwtService leitor = servico(ChavesJwt.criar(null, null, null, Map.of("2026-01", publica(chaveAntiga))));
+
+        assertTrue(leitor.verificarToken(emissor.gerarToken(usuario)).isPresent());
+        assertThrows(IllegalStateException.class, () -> leitor.gerarToken(usuario));
+    }
+
+    @Test
+    void deveAceitarTokensHs256SemKidSomenteComSegredoConfigurado() {
+        String tokenLegado = new JwtService(SEGREDO, EXPIRACAO).gerarToken(usuario);
+
+        JwtService comSegredo = servico(ChavesJwt.criar(SEGREDO, "2026-01", privada(chaveAntiga), Map.of("2026-01", publica(chaveAntiga))));
+        JwtService semSegredo = servico(ChavesJwt.criar(null, "2026-01", privada(chaveAntiga), Map.of("2026-01", publica(chaveAntiga))));
+
+        assertTrue(comSegredo.verificarToken(tokenLegado).isPresent());
+        assertTrue(semSegredo.verificarToken(tokenLegado).isEmpty());
+    }
+
+    @Test
+    void deveRecusarTokenHmacQueSeApresentaComKidAssimetrico() {
+        JwtService service = servico(ChavesJwt.criar(SEGREDO, "2026-01", privada(chaveAntiga), Map.of("2026-01", publica(chaveAntiga))));
+
+        // Assinado com o segredo, mas dizendo ser da chave EC: não pode ser aceito por nenhuma das duas
+        String forjado = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "2026-01")
+                .setSubject("fulano@email.com")
+                .claim("role", "ROLE_ADMIN")
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRACAO))
+                .signWith(Keys.hmacShaKeyFor(SEGREDO.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertTrue(service.verificarToken(forjado).isEmpty());
+    }
+
+    @Test
+    void deveRecusarKidDesconhecido() {
+        JwtService outroEmissor = servico(ChavesJwt.criar(null, "estranha", privada(chaveNova), Map.of("estranha", publica(chaveNova))));
+        JwtService service = servico(ChavesJwt.criar(null, "2026-01", privada(chaveAntiga), Map.of("2026-01", publica(chaveAntiga))));
+
+        assertTrue(service.verificarToken(outroEmissor.gerarToken(usuario)).isEmpty());
+    }
+
+    @Test
+    void deveLerChavesEmPem() {
+        String pem = "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(chaveAntiga.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n";
+
+        assertEquals(chaveAntiga.getPublic(), ChavesJwt.lerChavePublica(pem));
+    }
+
+    @Test
+    void deveExigirChavePublicaDoKidDeAssinatura() {
+        assertThrows(IllegalStateException.class,
+                () -> ChavesJwt.criar(null, "2026-07", privada(chaveNova), Map.of("2026-01", publica(chaveAntiga))));
+        assertThrows(IllegalStateException.class, () -> ChavesJwt.criar("", "", "", Map.of()));
+    }
+
+    private JwtService servico(ChavesJwt chaves) {
+        return new JwtService(chaves, EXPIRACAO, EXPIRACAO, 100, true);
+    }
+
+    private static String privada(KeyPair par) {
+        return Base64.getEncoder().encodeToString(par.getPrivate().getEncoded());
+    }
+
+    private static String publica(KeyPair par) {
+        return Base64.getEncoder().encodeToString(par.getPublic().getEncoded());
+    }
+}
@@ -0,0 +1,82 @@
+package com.artheus.cidadaoalerta.unit.security;
+
+import com.artheus.cidadaoalerta.exception.usuario.ProcessamentoSenhaSobrecarregadoException;
+import com.artheus.cidadaoalerta.security.CodificadorSenha;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodificadorSenhaTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private CodificadorSenha codificador;
+
+    @AfterEach
+    void encerrar() {
+        if (codificador != null) codificador.encerrar();
+    }
+
+    @Test
+    void deveCodificarEVerificarComOCustoConfigurado() {
+        codificador = new CodificadorSenha(5, 1, 4, Duration.ofSeconds(2), registry);
+
+        String hash = codificador.encode("senhaSegura123");
+
+        assertTrue(hash.startsWith("$2a$05$"));
+        assertTrue(codificador.matches("senhaSegura123", hash));
+        assertFalse(codificador.matches("outraSenha123", hash));
+    }
+
+    @Test
+    void deveIndicarRehashQuandoCustoForDiferenteDoConfigurado() {
+        codificador = new CodificadorSenha(6, 1, 4, Duration.ofSeconds(2), registry);
+
+        assertTrue(codificador.upgradeEncoding(new BCryptPasswordEncoder(4).encode("senha")));
+        assertTrue(codificador.upgradeEncoding(new BCryptPasswordEncoder(8).encode("senha")));
+        assertFalse(codificador.upgradeEncoding(new BCryptPasswordEncoder(6).encode("senha")));
+        assertFalse(codificador.upgradeEncoding("texto-que-nao-e-bcrypt"));
+        assertFalse(codificador.upgradeEncoding(null));
+    }
+
+    @Test
+    void deveRecusarQuandoThreadsEFilaEstiveremOcupadas() {
+        // Uma thread e fila de um: com custo alto, a terceira chamada simultânea não tem onde esperar
+        codificador = new CodificadorSenha(14, 1, 1, Duration.ofSeconds(3), registry);
+        ExecutorService chamadores = Executors.newFixedThreadPool(3);
+
+        try {
+            List<CompletableFuture<String>> chamadas = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                chamadas.add(CompletableFuture.supplyAsync(() -> codificador.encode("senhaSegura123"), chamadores));
+            }
+
+            List<Throwable> erros = new ArrayList<>();
+            for (CompletableFuture<String> chamada : chamadas) {
+                try {
+                    chamada.join();
+                } catch (CompletionException e) {
+                    erros.add(e.getCause());
+                }
+            }
+
+            assertFalse(erros.isEmpty());
+            ProcessamentoSenhaSobrecarregadoException recusa = assertInstanceOf(
+                    ProcessamentoSenhaSobrecarregadoException.class, erros.get(0));
+            assertEquals(3, recusa.getSegundosParaNovaTentativa());
+            assertEquals(erros.size(), registry.counter("seguranca.senha.recusadas").count());
+        } finally {
+            chamadores.shutdownNow();
+        }
+    }
+}
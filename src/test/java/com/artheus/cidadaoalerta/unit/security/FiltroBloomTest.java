@@ -0,0 +1,59 @@
+package com.artheus.cidadaoalerta.unit.security;
+
+import com.artheus.cidadaoalerta.security.FiltroBloom;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+
+    @Test
+    void naoDeveTerFalsosNegativos() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        List<String> adicionados = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            filtro.adicionar(jti);
+            adicionados.add(jti);
+        }
+
+        assertTrue(adicionados.stream().allMatch(filtro::podeConter));
+    }
+
+    @Test
+    void deveManterFalsosPositivosPertoDaTaxaConfigurada() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar(UUID.randomUUID().toString());
+        }
+
+        long falsosPositivos = IntStream.range(0, 100_000)
+                .filter(i -> filtro.podeConter(UUID.randomUUID().toString()))
+                .count();
+
+        // 1% esperado; folga para a variação entre execuções
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    void naoDeveConterNadaQuandoVazio() {
+        FiltroBloom filtro = new FiltroBloom(100, 0.01);
+
+        assertFalse(filtro.podeConter("qualquer"));
+    }
+
+    @Test
+    void devePreservarAdicoesConcorrentes() {
+        FiltroBloom filtro = new FiltroBloom(40_000, 0.01);
+        List<String> jtis = IntStream.range(0, 40_000).mapToObj(i -> "jti-" + i).toList();
+
+        jtis.parallelStream().forEach(filtro::adicionar);
+
+        assertTrue(jtis.stream().allMatch(filtro::podeConter));
+    }
+}
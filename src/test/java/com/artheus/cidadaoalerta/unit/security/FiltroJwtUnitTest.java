@@ -1,7 +1,12 @@
 package com.artheus.cidadaoalerta.unit.security;
 
+import com.artheus.cidadaoalerta.model.enums.Role;
 import com.artheus.cidadaoalerta.security.FiltroJwt;
 import com.artheus.cidadaoalerta.security.JwtService;
+import com.artheus.cidadaoalerta.security.ListaRevogacao;
+import com.artheus.cidadaoalerta.security.TokenVerificado;
+import com.artheus.cidadaoalerta.security.UsuarioAutenticado;
+import com.artheus.cidadaoalerta.security.VerificadorCarimboSeguranca;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -17,8 +22,12 @@ import org.springframework.security.core.userdetails.User;
 
 import org.springframework.security.core.userdetails.UserDetailsService;
 
+import java.time.Instant;
 import java.util.Collections;
+import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -32,6 +41,12 @@ class FiltroJwtUnitTest {
     @Mock
     private UserDetailsService userDetailsService;
 
+    @Mock
+    private VerificadorCarimboSeguranca verificadorCarimbo;
+
+    @Mock
+    private ListaRevogacao listaRevogacao;
+
     @Mock
     private HttpServletRequest request;
 
@@ -53,10 +68,15 @@ class FiltroJwtUnitTest {
 
     private void mockToken(String token, boolean valido, String email) {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.validarToken(token)).thenReturn(valido);
-        if (valido && email != null) {
-            when(jwtService.getEmailUsuario(token)).thenReturn(email);
-        }
+        when(jwtService.verificarToken(token)).thenReturn(valido
+                ? Optional.of(new TokenVerificado(email, "ROLE_USER", null, null, Instant.now().plusSeconds(3600), null))
+                : Optional.empty());
+    }
+
+    private void mockTokenSemEstado(String token, Long usuarioId, Long carimbo) {
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verificarToken(token)).thenReturn(Optional.of(
+                new TokenVerificado("teste@email.com", "ROLE_ADMIN", usuarioId, carimbo, Instant.now().plusSeconds(3600), token + "-jti")));
     }
 
     private void mockUsuario(String email) {
@@ -136,9 +156,8 @@ class FiltroJwtUnitTest {
 
     @Test
     void dadoJwtServiceLancaExcecao_quandoFiltrar_entaoRetorna401() throws Exception {
-        mockToken("tokenComErro", true, "erro@email.com");
-
-        when(jwtService.getEmailUsuario("tokenComErro"))
+        when(request.getHeader("Authorization")).thenReturn("Bearer tokenComErro");
+        when(jwtService.verificarToken("tokenComErro"))
                 .thenThrow(new RuntimeException("Erro interno"));
 
         filtroJwt.doFilter(request, response, filterChain);
@@ -146,4 +165,56 @@ class FiltroJwtUnitTest {
         verify(response).sendError(eq(HttpServletResponse.SC_UNAUTHORIZED), contains("Erro interno"));
         verifyNoInteractions(filterChain);
     }
+
+    @Test
+    void dadoTokenSemEstado_quandoFiltrar_entaoAutenticaPelasClaimsSemBuscarUsuario() throws Exception {
+        mockTokenSemEstado("tokenSemEstado", 7L, 3L);
+        when(verificadorCarimbo.isValido(7L, 3L)).thenReturn(true);
+
+        filtroJwt.doFilter(request, response, filterChain);
+
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(new UsuarioAutenticado(7L, "teste@email.com", Role.ROLE_ADMIN), auth.getPrincipal());
+        assertEquals("teste@email.com", auth.getName());
+        assertTrue(auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+        verifyNoInteractions(response);
+    }
+
+    @Test
+    void dadoTokenSemEstadoComCarimboAntigo_quandoFiltrar_entaoRetorna401() throws Exception {
+        mockTokenSemEstado("tokenRevogado", 7L, 2L);
+        when(verificadorCarimbo.isValido(7L, 2L)).thenReturn(false);
+
+        filtroJwt.doFilter(request, response, filterChain);
+
+        verify(response).sendError(eq(HttpServletResponse.SC_UNAUTHORIZED), contains("Token revogado"));
+        verifyNoInteractions(userDetailsService);
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void dadoTokenEncerradoPorLogout_quandoFiltrar_entaoRetorna401() throws Exception {
+        mockTokenSemEstado("tokenLogout", 7L, 2L);
+        when(listaRevogacao.isRevogado("tokenLogout-jti")).thenReturn(true);
+
+        filtroJwt.doFilter(request, response, filterChain);
+
+        verify(response).sendError(eq(HttpServletResponse.SC_UNAUTHORIZED), contains("Token revogado"));
+        verifyNoInteractions(verificadorCarimbo);
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void dadoUsuarioInativo_quandoAutenticar_entaoRetorna401() throws Exception {
+        mockToken("tokenInativo", true, "inativo@email.com");
+        when(userDetailsService.loadUserByUsername("inativo@email.com"))
+                .thenReturn(User.withUsername("inativo@email.com").password("senha").roles("USER").disabled(true).build());
+
+        filtroJwt.doFilter(request, response, filterChain);
+
+        verify(response).sendError(eq(HttpServletResponse.SC_UNAUTHORIZED), contains("Usuário inativo"));
+        verifyNoInteractions(filterChain);
+    }
 }
@@ -0,0 +1,128 @@
+package com.artheus.cidadaoalerta.unit.security;
+
+import com.artheus.cidadaoalerta.repository.TokenRevogadoRepository;
+import com.artheus.cidadaoalerta.security.ListaRevogacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ListaRevogacaoTest {
+
+    private TokenRevogadoRepository repository;
+    private SimpleMeterRegistry registry;
+    private ListaRevogacao lista;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TokenRevogadoRepository.class);
+        registry = new SimpleMeterRegistry();
+        lista = new ListaRevogacao(repository, mock(PlatformTransactionManager.class), registry, 1_000, 0.01, 2);
+    }
+
+    @Test
+    void deveConsultarTabelaAntesDaPrimeiraReconstrucao() {
+        when(repository.existsById("jti-1")).thenReturn(true);
+
+        assertTrue(lista.isRevogado("jti-1"));
+        verify(repository).existsById("jti-1");
+    }
+
+    @Test
+    void deveResponderPeloFiltroSemConsultarTabela() {
+        reconstruirCom("jti-revogado");
+
+        assertFalse(lista.isRevogado("jti-valido"));
+
+        verify(repository, never()).existsById(any());
+        assertEquals(1, registry.counter("jwt.revogacao.consultas", "resultado", "filtro").count());
+    }
+
+    @Test
+    void deveConfirmarNaTabelaQuandoFiltroIndicarRevogacao() {
+        reconstruirCom("jti-revogado");
+        when(repository.existsById("jti-revogado")).thenReturn(true);
+
+        assertTrue(lista.isRevogado("jti-revogado"));
+        assertEquals(1, registry.counter("jwt.revogacao.consultas", "resultado", "tabela").count());
+    }
+
+    @Test
+    void deveIncluirNoFiltroTokenRevogadoDepoisDaReconstrucao() {
+        reconstruirCom();
+        when(repository.existsById("jti-logout")).thenReturn(true);
+
+        lista.revogar("jti-logout", Instant.now().plusSeconds(60));
+
+        verify(repository).inserir(eq("jti-logout"), any());
+        assertTrue(lista.isRevogado("jti-logout"));
+    }
+
+    @Test
+    void naoDevePerderRevogacaoFeitaDuranteAReconstrucao() {
+        reconstruirCom();
+        Instant expiracao = Instant.now().plusSeconds(60);
+
+        // Revogações depois de a tabela já ter sido lida, antes de o filtro novo entrar no lugar
+        when(repository.contarNaoExpirados(any())).thenReturn(1L);
+        when(repository.streamJtisNaoExpirados(any())).thenReturn(Stream.of("jti-antigo")
+                .onClose(() -> {
+                    lista.revogar("jti-durante", expiracao);
+                    lista.consumir("jti-renovacao", expiracao);
+                }));
+        lista.reconstruir();
+
+        when(repository.existsById(any())).thenReturn(true);
+        assertTrue(lista.isRevogado("jti-antigo"));
+        assertTrue(lista.isRevogado("jti-durante"));
+        assertTrue(lista.isRevogado("jti-renovacao"));
+        assertEquals(3, registry.counter("jwt.revogacao.consultas", "resultado", "tabela").count());
+    }
+
+    @Test
+    void deveConsumirTokenSomenteNaPrimeiraRevogacao() {
+        reconstruirCom();
+        when(repository.inserir(eq("jti-renovacao"), any()))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("jti duplicado"));
+        Instant expiracao = Instant.now().plusSeconds(60);
+
+        assertTrue(lista.consumir("jti-renovacao", expiracao));
+        assertFalse(lista.consumir("jti-renovacao", expiracao));
+
+        // Ainda assim o filtro conhece o token: quem o verificar vai à tabela
+        when(repository.existsById("jti-renovacao")).thenReturn(true);
+        assertTrue(lista.isRevogado("jti-renovacao"));
+    }
+
+    @Test
+    void deveRemoverExpiradosEmLotesAteEsvaziar() {
+        when(repository.buscarJtisExpirados(any(), any(Pageable.class)))
+                .thenReturn(List.of("a", "b"))
+                .thenReturn(List.of("c", "d"))
+                .thenReturn(List.of("e"));
+
+        assertEquals(5, lista.removerExpirados());
+
+        verify(repository).deleteAllByIdInBatch(List.of("a", "b"));
+        verify(repository).deleteAllByIdInBatch(List.of("c", "d"));
+        verify(repository).deleteAllByIdInBatch(List.of("e"));
+    }
+
+    private void reconstruirCom(String... jtis) {
+        when(repository.contarNaoExpirados(any())).thenReturn((long) jtis.length);
+        when(repository.streamJtisNaoExpirados(any())).thenReturn(Stream.of(jtis));
+        lista.reconstruir();
+    }
+}
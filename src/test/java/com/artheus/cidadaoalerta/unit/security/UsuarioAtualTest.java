@@ -0,0 +1,99 @@
+package com.artheus.cidadaoalerta.unit.security;
+
+import com.artheus.cidadaoalerta.exception.usuario.UsuarioNaoAutenticadoException;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.security.UsuarioAtual;
+import com.artheus.cidadaoalerta.security.UsuarioAutenticado;
+import com.artheus.cidadaoalerta.security.UsuarioDetalhes;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UsuarioAtualTest {
+
+    private UsuarioRepository usuarioRepository;
+    private EntityManager entityManager;
+    private UsuarioAtual usuarioAtual;
+    private UsuarioDetalhes usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository = mock(UsuarioRepository.class);
+        entityManager = mock(EntityManager.class);
+        usuarioAtual = new UsuarioAtual(usuarioRepository, entityManager);
+        usuario = new UsuarioDetalhes(7L, "Fulano de Tal", "fulano@email.com", "senhaHash12345", Role.ROLE_USER, true, 0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveUsarIdEPapelDoTokenSemConsultar() {
+        autenticar(new UsuarioAutenticado(7L, "fulano@email.com", Role.ROLE_ADMIN), Role.ROLE_ADMIN);
+
+        assertEquals(7L, usuarioAtual.getId());
+        assertEquals("fulano@email.com", usuarioAtual.getEmail());
+        assertTrue(usuarioAtual.isAdmin());
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    void deveAssociarPorReferenciaSemConsultar() {
+        Usuario referencia = new Usuario();
+        autenticar(new UsuarioAutenticado(7L, "fulano@email.com", Role.ROLE_USER), Role.ROLE_USER);
+        when(entityManager.getReference(Usuario.class, 7L)).thenReturn(referencia);
+
+        assertSame(referencia, usuarioAtual.getReferencia());
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    void deveUsarDadosDoUsuarioCarregadoPeloFiltro() {
+        autenticar(usuario, Role.ROLE_USER);
+
+        assertEquals(7L, usuarioAtual.getId());
+        assertEquals("fulano@email.com", usuarioAtual.getEmail());
+        assertFalse(usuarioAtual.isAdmin());
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    void deveBuscarIdPorEmailQuandoPrincipalNaoTrouxerId() {
+        autenticar(new User("fulano@email.com", "", List.of()), Role.ROLE_ADMIN);
+        when(usuarioRepository.buscarIdPorEmail("fulano@email.com")).thenReturn(Optional.of(7L));
+
+        assertEquals(7L, usuarioAtual.getId());
+        assertEquals(7L, usuarioAtual.getId());
+        assertTrue(usuarioAtual.isAdmin());
+
+        verify(usuarioRepository, times(1)).buscarIdPorEmail("fulano@email.com");
+        verify(usuarioRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void deveLancarExceptionSemAutenticacao() {
+        assertThrows(UsuarioNaoAutenticadoException.class, () -> usuarioAtual.getId());
+        assertThrows(UsuarioNaoAutenticadoException.class, () -> usuarioAtual.getReferencia());
+    }
+
+    private void autenticar(Object principal, Role papel) {
+        SecurityContextHolder.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority(papel.name())))));
+    }
+}
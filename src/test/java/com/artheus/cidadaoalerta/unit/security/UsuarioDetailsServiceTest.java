@@ -0,0 +1,168 @@
+package com.artheus.cidadaoalerta.unit.security;
+
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
+import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.security.UsuarioDetailsService;
+import com.artheus.cidadaoalerta.security.UsuarioDetalhes;
+import com.artheus.cidadaoalerta.security.VerificadorCarimboSeguranca;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UsuarioDetailsServiceTest {
+
+    private UsuarioRepository usuarioRepository;
+    private VerificadorCarimboSeguranca verificadorCarimbo;
+    private SimpleMeterRegistry registry;
+    private UsuarioDetailsService service;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository = mock(UsuarioRepository.class);
+        verificadorCarimbo = mock(VerificadorCarimboSeguranca.class);
+        when(verificadorCarimbo.isValido(anyLong(), anyLong())).thenReturn(true);
+        registry = new SimpleMeterRegistry();
+        service = new UsuarioDetailsService(usuarioRepository, verificadorCarimbo, registry, 100, Duration.ofMinutes(5));
+        usuario = new Usuario(1L, "Fulano de Tal", "fulano@email.com", "senhaHash12345", true, Role.ROLE_USER, null, 0L);
+    }
+
+    @Test
+    void deveServirSegundaBuscaDoCache() {
+        when(usuarioRepository.findByEmail("fulano@email.com")).thenReturn(Optional.of(usuario));
+
+        assertEquals(UsuarioDetalhes.de(usuario), service.loadUserByUsername("fulano@email.com"));
+        assertEquals(UsuarioDetalhes.de(usuario), service.loadUserByUsername("fulano@email.com"));
+
+        verify(usuarioRepository, times(1)).findByEmail("fulano@email.com");
+        assertEquals(1, registry.get("cache.gets").tags("cache", "usuario.detalhes", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "usuario.detalhes", "result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void naoDeveGuardarEmailInexistente() {
+        when(usuarioRepository.findByEmail("nada@email.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nada@email.com"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("nada@email.com"));
+
+        verify(usuarioRepository, times(2)).findByEmail("nada@email.com");
+    }
+
+    @Test
+    void deveRecarregarDepoisDeInvalidarPeloId() {
+        Usuario inativo = new Usuario(1L, "Fulano de Tal", "fulano@email.com", "senhaHash12345", false, Role.ROLE_USER, null, 1L);
+        when(usuarioRepository.findByEmail("fulano@email.com")).thenReturn(Optional.of(usuario)).thenReturn(Optional.of(inativo));
+
+        assertTrue(service.loadUserByUsername("fulano@email.com").isEnabled());
+        service.invalidar(1L);
+
+        assertFalse(service.loadUserByUsername("fulano@email.com").isEnabled());
+        verify(usuarioRepository, times(2)).findByEmail("fulano@email.com");
+    }
+
+    @Test
+    void deveGuardarCopiaImutavelEmVezDaEntidade() {
+        when(usuarioRepository.findByEmail("fulano@email.com")).thenReturn(Optional.of(usuario));
+
+        UsuarioDetalhes carregado = service.loadUserByUsername("fulano@email.com");
+        usuario.setSenha("alteradoForaDoCache");
+        usuario.setAtivo(false);
+
+        assertSame(carregado, service.loadUserByUsername("fulano@email.com"));
+        assertEquals("senhaHash12345", carregado.getPassword());
+        assertTrue(carregado.isEnabled());
+    }
+
+    @Test
+    void deveServirUsuarioInativoDoCacheSemConsultarDeNovo() {
+        // Inativo não tem carimbo válido; mesmo assim não volta ao banco a cada busca
+        Usuario inativo = new Usuario(1L, "Fulano de Tal", "fulano@email.com", "senhaHash12345", false, Role.ROLE_USER, null, 1L);
+        when(usuarioRepository.findByEmail("fulano@email.com")).thenReturn(Optional.of(inativo));
+
+        assertFalse(service.loadUserByUsername("fulano@email.com").isEnabled());
+        assertFalse(service.loadUserByUsername("fulano@email.com").isEnabled());
+        assertFalse(service.loadUserByUsername("fulano@email.com").isEnabled());
+
+        verify(usuarioRepository, times(1)).findByEmail("fulano@email.com");
+        verify(verificadorCarimbo, never()).isValido(anyLong(), anyLong());
+    }
+
+    @Test
+    void deveRecarregarEntradaComCarimboDesatualizado() {
+        // Senha trocada em outra instância: o cache local não recebeu o evento, mas o carimbo mudou
+        Usuario atualizado = new Usuario(1L, "Fulano de Tal", "fulano@email.com", "novoHash12345", true, Role.ROLE_USER, null, 1L);
+        when(usuarioRepository.findByEmail("fulano@email.com")).thenReturn(Optional.of(usuario)).thenReturn(Optional.of(atualizado));
+
+        assertEquals(UsuarioDetalhes.de(usuario), service.loadUserByUsername("fulano@email.com"));
+        when(verificadorCarimbo.isValido(1L, 0L)).thenReturn(false);
+
+        assertEquals(UsuarioDetalhes.de(atualizado), service.loadUserByUsername("fulano@email.com"));
+        assertEquals(UsuarioDetalhes.de(atualizado), service.loadUserByUsername("fulano@email.com"));
+        verify(usuarioRepository, times(2)).findByEmail("fulano@email.com");
+    }
+
+    @Test
+    void deveCarregarCredenciaisSempreDoBanco() {
+        when(usuarioRepository.findByEmail("fulano@email.com")).thenReturn(Optional.of(usuario));
+
+        assertEquals(UsuarioDetalhes.de(usuario), service.carregarCredenciais("fulano@email.com"));
+        assertEquals(UsuarioDetalhes.de(usuario), service.carregarCredenciais("fulano@email.com"));
+        verify(usuarioRepository, times(2)).findByEmail("fulano@email.com");
+
+        // O login deixa o usuário no cache para as requisições seguintes
+        assertEquals(UsuarioDetalhes.de(usuario), service.loadUserByUsername("fulano@email.com"));
+        verify(usuarioRepository, times(2)).findByEmail("fulano@email.com");
+        assertThrows(UsernameNotFoundException.class, () -> service.carregarCredenciais("nada@email.com"));
+    }
+
+    @Test
+    void buscasSimultaneasPeloMesmoEmailDevemFazerUmaUnicaConsulta() throws Exception {
+        int threads = 16;
+        CountDownLatch largada = new CountDownLatch(1);
+        CountDownLatch consultaIniciada = new CountDownLatch(1);
+
+        when(usuarioRepository.findByEmail("fulano@email.com")).thenAnswer(invocation -> {
+            consultaIniciada.countDown();
+            Thread.sleep(200); // consulta lenta: as outras threads chegam enquanto ela roda
+            return Optional.of(usuario);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<UsuarioDetalhes>> resultados = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return service.loadUserByUsername("fulano@email.com");
+                }));
+            }
+
+            largada.countDown();
+            assertTrue(consultaIniciada.await(5, TimeUnit.SECONDS));
+
+            for (Future<UsuarioDetalhes> resultado : resultados) {
+                assertEquals(UsuarioDetalhes.de(usuario), resultado.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(usuarioRepository, times(1)).findByEmail("fulano@email.com");
+    }
+}
@@ -0,0 +1,116 @@
+package com.artheus.cidadaoalerta.unit.service;
+
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.model.Reclamacao;
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.EstrategiaContagem;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import com.artheus.cidadaoalerta.model.enums.TipoEventoReclamacao;
+import com.artheus.cidadaoalerta.service.ContagemReclamacoes;
+import com.artheus.cidadaoalerta.service.ContagemReclamacoes.Contagem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ContagemReclamacoesTest {
+
+    private static final FiltroReclamacaoDTO ABERTAS = new FiltroReclamacaoDTO(StatusReclamacao.ABERTA, null, null, null, null);
+    private static final FiltroReclamacaoDTO DO_USUARIO_2 = new FiltroReclamacaoDTO(null, 2L, null, null, null);
+
+    private JdbcTemplate jdbc;
+    private ContagemReclamacoes contagem;
+    private AtomicLong counts;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = mock(JdbcTemplate.class);
+        contagem = new ContagemReclamacoes(jdbc, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        counts = new AtomicLong();
+    }
+
+    @Test
+    void deveContarSempreNaEstrategiaExata() {
+        assertEquals(new Contagem(42, true), contagem.contar(ABERTAS, EstrategiaContagem.EXATA, this::contar));
+        assertEquals(new Contagem(42, true), contagem.contar(ABERTAS, EstrategiaContagem.EXATA, this::contar));
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void deveReaproveitarTotalDoCacheComoNaoExato() {
+        assertEquals(new Contagem(42, true), contagem.contar(ABERTAS, EstrategiaContagem.CACHE, this::contar));
+        assertEquals(new Contagem(42, false), contagem.contar(ABERTAS, EstrategiaContagem.CACHE, this::contar));
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void deveDescartarSoOsTotaisQueAReclamacaoCriadaAfeta() {
+        contagem.contar(ABERTAS, EstrategiaContagem.CACHE, this::contar);
+        contagem.contar(DO_USUARIO_2, EstrategiaContagem.CACHE, this::contar);
+
+        contagem.invalidar(reclamacao(1L, StatusReclamacao.ABERTA), TipoEventoReclamacao.CRIADA);
+
+        assertTrue(contagem.contar(ABERTAS, EstrategiaContagem.CACHE, this::contar).exata());
+        assertFalse(contagem.contar(DO_USUARIO_2, EstrategiaContagem.CACHE, this::contar).exata());
+    }
+
+    @Test
+    void deveDescartarTotaisFiltradosPorStatusQuandoReclamacaoForAlterada() {
+        contagem.contar(ABERTAS, EstrategiaContagem.CACHE, this::contar);
+        contagem.contar(ContagemReclamacoes.SEM_FILTROS, EstrategiaContagem.CACHE, this::contar);
+
+        // Concluída deixa de ser ABERTA, mesmo que o evento só traga o status novo
+        contagem.invalidar(reclamacao(1L, StatusReclamacao.RESOLVIDA), TipoEventoReclamacao.CONCLUIDA);
+
+        assertTrue(contagem.contar(ABERTAS, EstrategiaContagem.CACHE, this::contar).exata());
+        assertFalse(contagem.contar(ContagemReclamacoes.SEM_FILTROS, EstrategiaContagem.CACHE, this::contar).exata());
+    }
+
+    @Test
+    void deveEstimarPelasEstatisticasDaTabelaSemFiltros() {
+        when(jdbc.execute(ArgumentMatchers.<ConnectionCallback<String>>any())).thenReturn("H2");
+        when(jdbc.queryForObject(anyString(), eq(Long.class))).thenReturn(1_000L);
+
+        assertEquals(new Contagem(1_000, false),
+                contagem.contar(ContagemReclamacoes.SEM_FILTROS, EstrategiaContagem.ESTIMADA, this::contar));
+        assertEquals(0, counts.get());
+    }
+
+    @Test
+    void deveUsarCacheQuandoNaoHouverEstimativa() {
+        when(jdbc.execute(ArgumentMatchers.<ConnectionCallback<String>>any())).thenReturn("PostgreSQL");
+
+        assertEquals(new Contagem(42, true),
+                contagem.contar(ContagemReclamacoes.SEM_FILTROS, EstrategiaContagem.ESTIMADA, this::contar));
+        assertEquals(new Contagem(42, true), contagem.contar(ABERTAS, EstrategiaContagem.ESTIMADA, this::contar));
+        verify(jdbc, never()).queryForObject(anyString(), eq(Long.class));
+    }
+
+    private long contar() {
+        counts.incrementAndGet();
+        return 42;
+    }
+
+    private Reclamacao reclamacao(Long usuarioId, StatusReclamacao status) {
+        Reclamacao r = new Reclamacao();
+        r.setStatus(status);
+        r.setCategoriaReclamacao(CategoriaReclamacao.ILUMINACAO);
+        r.setDataCriacao(LocalDateTime.now());
+        Usuario usuario = new Usuario();
+        usuario.setId(usuarioId);
+        r.setUsuario(usuario);
+        return r;
+    }
+}
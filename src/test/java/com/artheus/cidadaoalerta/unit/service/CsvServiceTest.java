@@ -1,54 +1,80 @@
 package com.artheus.cidadaoalerta.unit.service;
 
 import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
-import com.artheus.cidadaoalerta.model.Localizacao;
-import com.artheus.cidadaoalerta.model.Reclamacao;
-import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+import com.artheus.cidadaoalerta.exception.exportacao.ExportacaoSobrecarregadaException;
 import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.FormatoExportacao;
 import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
 import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
 import com.artheus.cidadaoalerta.service.CsvService;
+import com.artheus.cidadaoalerta.service.exportacao.AdmissaoExportacao;
+import com.artheus.cidadaoalerta.service.exportacao.CacheExportacao;
+import com.artheus.cidadaoalerta.service.exportacao.ExportadorParalelo;
+import com.artheus.cidadaoalerta.service.exportacao.FabricaEscritorExportacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.core.io.Resource;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.BufferedReader;
-import java.io.InputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
 
 class CsvServiceTest {
 
     @Mock
     private ReclamacaoRepository reclamacaoRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ExportadorParalelo exportadorParalelo;
+
+    @Mock
+    private CacheExportacao cacheExportacao;
+
+    @Mock
+    private AdmissaoExportacao admissao;
+
     private CsvService csvService;
 
-    private Reclamacao reclamacao;
+    private ReclamacaoExportacao reclamacao;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // Sem partições o exportador paralelo fica de fora e a leitura vem de um único cursor
+        when(exportadorParalelo.particionar(any())).thenReturn(List.of());
+        csvService = new CsvService(reclamacaoRepository, transactionManager, exportadorParalelo,
+                new FabricaEscritorExportacao(), cacheExportacao, admissao);
         reclamacao = criarReclamacaoPadrao();
     }
 
     @Test
     void deveGerarCsvComUmaReclamacao() throws Exception {
-        when(reclamacaoRepository.buscarReclamacoesPorFiltrosCompletos(any(), any(), any(), any(), any()))
-                .thenReturn(List.of(reclamacao));
+        mockLinhas(reclamacao);
 
         FiltroReclamacaoDTO filtro = new FiltroReclamacaoDTO(
                 StatusReclamacao.ABERTA,
@@ -58,12 +84,7 @@ class CsvServiceTest {
                 LocalDate.of(2024, 5, 30)
         );
 
-        ResponseEntity<Resource> response = csvService.gerarResponseCsv(filtro);
-
-        assertNotNull(response);
-        assertEquals(MediaType.parseMediaType("text/csv; charset=UTF-8"), response.getHeaders().getContentType());
-
-        try (BufferedReader reader = getBufferedReader(response.getBody())) {
+        try (BufferedReader reader = exportarCsv(filtro)) {
             String header = removerBom(reader.readLine());
             assertEquals("id;titulo;descricao;categoria;status;latitude;longitude;dataCriacao;usuario", header);
 
@@ -73,28 +94,25 @@ class CsvServiceTest {
 
             assertAll("validação colunas",
                     () -> assertEquals("1", colunas[0]),
-                    () -> assertEquals(normalizar(reclamacao.getTitulo()), normalizar(colunas[1])),
-                    () -> assertEquals(normalizar(reclamacao.getDescricao()), normalizar(colunas[2])),
-                    () -> assertEquals(reclamacao.getCategoriaReclamacao().name(), colunas[3]),
-                    () -> assertEquals(reclamacao.getStatus().name(), colunas[4]),
+                    () -> assertEquals(normalizar(reclamacao.titulo()), normalizar(colunas[1])),
+                    () -> assertEquals(normalizar(reclamacao.descricao()), normalizar(colunas[2])),
+                    () -> assertEquals(reclamacao.categoria().name(), colunas[3]),
+                    () -> assertEquals(reclamacao.status().name(), colunas[4]),
                     () -> assertEquals("12.34", colunas[5]),
                     () -> assertEquals("56.78", colunas[6]),
-                    () -> assertEquals(reclamacao.getDataCriacao().toLocalDate().toString(), colunas[7].split(" ")[0]),
-                    () -> assertEquals(normalizar(reclamacao.getUsuario().getNome()), normalizar(colunas[8]))
+                    () -> assertEquals(reclamacao.dataCriacao().toLocalDate().toString(), colunas[7].split(" ")[0]),
+                    () -> assertEquals(normalizar(reclamacao.nomeUsuario()), normalizar(colunas[8]))
             );
         }
     }
 
     @Test
     void deveGerarCsvVazioSemReclamacoes() throws Exception {
-        when(reclamacaoRepository.buscarReclamacoesPorFiltrosCompletos(any(), any(), any(), any(), any()))
-                .thenReturn(List.of());
+        mockLinhas();
 
         FiltroReclamacaoDTO filtro = new FiltroReclamacaoDTO(null, null, null, null, null);
 
-        ResponseEntity<Resource> response = csvService.gerarResponseCsv(filtro);
-
-        try (BufferedReader reader = getBufferedReader(response.getBody())) {
+        try (BufferedReader reader = exportarCsv(filtro)) {
             String header = removerBom(reader.readLine());
             assertEquals("id;titulo;descricao;categoria;status;latitude;longitude;dataCriacao;usuario", header);
             assertNull(lerRegistroCsv(reader));
@@ -103,16 +121,11 @@ class CsvServiceTest {
 
     @Test
     void deveGerarCsvComCamposNulos() throws Exception {
-        Reclamacao parcial = new Reclamacao();
-        parcial.setId(1L);
-
-        when(reclamacaoRepository.buscarReclamacoesPorFiltrosCompletos(any(), any(), any(), any(), any()))
-                .thenReturn(List.of(parcial));
+        mockLinhas(new ReclamacaoExportacao(1L, null, null, null, StatusReclamacao.ABERTA, null, null, null, null));
 
         FiltroReclamacaoDTO filtro = new FiltroReclamacaoDTO(null, null, null, null, null);
-        ResponseEntity<Resource> response = csvService.gerarResponseCsv(filtro);
 
-        try (BufferedReader reader = getBufferedReader(response.getBody())) {
+        try (BufferedReader reader = exportarCsv(filtro)) {
             reader.readLine(); // pular header
             String linha = lerRegistroCsv(reader);
             assertNotNull(linha);
@@ -131,35 +144,67 @@ class CsvServiceTest {
 
     @Test
     void deveGerarCsvComCaracteresEspeciais() throws Exception {
-        Reclamacao r = new Reclamacao();
-        r.setId(1L);
-        r.setTitulo("Título; com \"aspas\" e \nquebra");
-        r.setDescricao("Descrição; teste");
-
-        when(reclamacaoRepository.buscarReclamacoesPorFiltrosCompletos(any(), any(), any(), any(), any()))
-                .thenReturn(List.of(r));
+        ReclamacaoExportacao r = new ReclamacaoExportacao(1L, "Título; com \"aspas\" e \nquebra", "Descrição; teste",
+                null, null, null, null, null, null);
+        mockLinhas(r);
 
         FiltroReclamacaoDTO filtro = new FiltroReclamacaoDTO(null, null, null, null, null);
-        ResponseEntity<Resource> response = csvService.gerarResponseCsv(filtro);
 
-        try (BufferedReader reader = getBufferedReader(response.getBody())) {
+        try (BufferedReader reader = exportarCsv(filtro)) {
             reader.readLine(); // skip header
             String linha = lerRegistroCsv(reader);
             assertNotNull(linha);
             String[] colunas = parseCsvSemicolonLine(linha);
 
-            assertEquals(normalizar(r.getTitulo()), normalizar(colunas[1]));
-            assertEquals(normalizar(r.getDescricao()), normalizar(colunas[2]));
+            assertEquals(normalizar(r.titulo()), normalizar(colunas[1]));
+            assertEquals(normalizar(r.descricao()), normalizar(colunas[2]));
+        }
+    }
+
+    @Test
+    void deveLiberarVagaQuandoRequisicaoAssincronaTerminarSemEscreverCorpo() throws Exception {
+        AdmissaoExportacao umaVaga = new AdmissaoExportacao(1, Duration.ofMillis(100), Duration.ofSeconds(1), new SimpleMeterRegistry());
+        CsvService servico = new CsvService(reclamacaoRepository, transactionManager, exportadorParalelo,
+                new FabricaEscritorExportacao(), cacheExportacao, umaVaga);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            StreamingResponseBody corpo = servico.gerarResponseCsvStreaming(
+                    new FiltroReclamacaoDTO(null, null, null, null, null)).getBody();
+
+            // Como o Spring MVC faz com o corpo, mas com um executor que nunca o roda: a requisição
+            // termina (tempo esgotado, cliente desconectado) antes de a escrita começar
+            WebAsyncManager async = WebAsyncUtils.getAsyncManager(request);
+            async.setAsyncWebRequest(WebAsyncUtils.createAsyncWebRequest(request, response));
+            async.setTaskExecutor(tarefa -> { });
+            async.startCallableProcessing(() -> {
+                corpo.writeTo(response.getOutputStream());
+                return null;
+            });
+            assertThrows(ExportacaoSobrecarregadaException.class, umaVaga::adquirir);
+
+            request.getAsyncContext().complete();
+
+            umaVaga.adquirir().close();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
         }
     }
 
     // ================== HELPERS ==================
 
-    private BufferedReader getBufferedReader(Resource resource) throws Exception {
-        assertNotNull(resource, "O corpo do CSV não deve ser nulo");
-        InputStream is = resource.getInputStream();
-        assertNotNull(is, "O InputStream do Resource não pode ser nulo");
-        return new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+    private void mockLinhas(ReclamacaoExportacao... linhas) {
+        when(reclamacaoRepository.streamExportacaoPorFiltrosCompletos(any(), any(), any(), any(), any()))
+                .thenReturn(Stream.of(linhas));
+    }
+
+    private BufferedReader exportarCsv(FiltroReclamacaoDTO filtro) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        csvService.exportar(filtro, FormatoExportacao.CSV, out, linhas -> { });
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(out.toByteArray()), StandardCharsets.UTF_8));
     }
 
     private String removerBom(String linha) {
@@ -214,24 +259,17 @@ class CsvServiceTest {
         return valor == null ? "" : valor.replaceAll("\\r?\\n", " ").trim();
     }
 
-    private Reclamacao criarReclamacaoPadrao() {
-        Localizacao loc = new Localizacao();
-        loc.setLatitude(12.34);
-        loc.setLongitude(56.78);
-
-        Usuario usuario = new Usuario();
-        usuario.setNome("João \"da Silva\"; Teste");
-
-        Reclamacao r = new Reclamacao();
-        r.setId(1L);
-        r.setTitulo("Título com ; e quebra\nlinha");
-        r.setDescricao("Descrição com \"aspas\"");
-        r.setCategoriaReclamacao(CategoriaReclamacao.SANEAMENTO);
-        r.setStatus(StatusReclamacao.ABERTA);
-        r.setLocalizacao(loc);
-        r.setDataCriacao(LocalDateTime.of(2025, 9, 5, 20, 36, 10));
-        r.setUsuario(usuario);
-
-        return r;
+    private ReclamacaoExportacao criarReclamacaoPadrao() {
+        return new ReclamacaoExportacao(
+                1L,
+                "Título com ; e quebra\nlinha",
+                "Descrição com \"aspas\"",
+                CategoriaReclamacao.SANEAMENTO,
+                StatusReclamacao.ABERTA,
+                12.34,
+                56.78,
+                LocalDateTime.of(2025, 9, 5, 20, 36, 10),
+                "João \"da Silva\"; Teste"
+        );
     }
 }
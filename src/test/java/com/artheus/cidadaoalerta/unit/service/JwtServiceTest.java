@@ -1,11 +1,16 @@
 package com.artheus.cidadaoalerta.unit.service;
 
+import com.artheus.cidadaoalerta.model.Usuario;
+import com.artheus.cidadaoalerta.model.enums.Role;
 import com.artheus.cidadaoalerta.security.JwtService;
+import com.artheus.cidadaoalerta.security.TokenVerificado;
+import com.artheus.cidadaoalerta.security.UsuarioDetalhes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 
+import java.time.Instant;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,36 +39,24 @@ class JwtServiceTest {
     void deveGerarTokenValido() {
         String token = jwtService.gerarToken(userDetails);
         assertNotNull(token);
-        assertTrue(jwtService.validarToken(token));
-        assertEquals("teste@email.com", jwtService.getEmailUsuario(token));
-        assertEquals("ROLE_USER", jwtService.getRoleUsuario(token));
-    }
-
-    @Test
-    void validarTokenComTokenInvalidoDeveRetornarFalse() {
-        String tokenInvalido = "token-malformado";
-        assertFalse(jwtService.validarToken(tokenInvalido));
-    }
 
-    @Test
-    void getEmailUsuarioComTokenInvalidoDeveLancarException() {
-        String tokenInvalido = "token-malformado";
-        assertThrows(io.jsonwebtoken.JwtException.class, () -> jwtService.getEmailUsuario(tokenInvalido));
+        TokenVerificado verificado = jwtService.verificarToken(token).orElseThrow();
+        assertEquals("teste@email.com", verificado.email());
+        assertEquals("ROLE_USER", verificado.role());
     }
 
     @Test
-    void getRoleUsuarioComTokenInvalidoDeveLancarException() {
-        String tokenInvalido = "token-malformado";
-        assertThrows(io.jsonwebtoken.JwtException.class, () -> jwtService.getRoleUsuario(tokenInvalido));
+    void verificarTokenMalformadoDeveRetornarVazio() {
+        assertTrue(jwtService.verificarToken("token-malformado").isEmpty());
     }
 
     @Test
-    void validarTokenComTokenExpiradoDeveRetornarFalse() throws InterruptedException {
+    void verificarTokenExpiradoDeveRetornarVazio() throws InterruptedException {
         // Cria um JwtService com expiração mínima (1ms)
         JwtService shortExpiryService = new JwtService(secret, 1);
         String token = shortExpiryService.gerarToken(userDetails);
         Thread.sleep(10); // espera o token expirar
-        assertFalse(shortExpiryService.validarToken(token));
+        assertTrue(shortExpiryService.verificarToken(token).isEmpty());
     }
 
     @Test
@@ -74,7 +67,104 @@ class JwtServiceTest {
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN"))
         );
         String token = jwtService.gerarToken(admin);
-        assertEquals("ROLE_ADMIN", jwtService.getRoleUsuario(token));
+        assertEquals("ROLE_ADMIN", jwtService.verificarToken(token).orElseThrow().role());
+    }
+
+    @Test
+    void verificarTokenDeveRetornarDadosDoToken() {
+        String token = jwtService.gerarToken(userDetails);
+
+        TokenVerificado verificado = jwtService.verificarToken(token).orElseThrow();
+
+        assertEquals("teste@email.com", verificado.email());
+        assertEquals("ROLE_USER", verificado.role());
+        assertTrue(verificado.expiracao().isAfter(Instant.now()));
+    }
+
+    @Test
+    void verificarTokenRepetidoDeveRetornarMesmoResultadoDoCache() {
+        String token = jwtService.gerarToken(userDetails);
+
+        TokenVerificado primeira = jwtService.verificarToken(token).orElseThrow();
+        TokenVerificado segunda = jwtService.verificarToken(token).orElseThrow();
+
+        assertSame(primeira, segunda);
+    }
+
+    @Test
+    void verificarTokenComAssinaturaAlteradaDeveRetornarVazio() {
+        String token = jwtService.gerarToken(userDetails);
+        jwtService.verificarToken(token);
+
+        // Só o token exato fica no cache: qualquer byte diferente passa por nova verificação
+        String adulterado = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertTrue(jwtService.verificarToken(adulterado).isEmpty());
+        assertTrue(jwtService.verificarToken("").isEmpty());
+        assertTrue(jwtService.verificarToken(null).isEmpty());
+    }
+
+    @Test
+    void verificarTokenEmCacheDeveRetornarVazioDepoisDeExpirar() throws InterruptedException {
+        JwtService shortExpiryService = new JwtService(secret, 1000);
+        String token = shortExpiryService.gerarToken(userDetails);
+        assertTrue(shortExpiryService.verificarToken(token).isPresent());
+
+        Thread.sleep(1100);
+
+        assertTrue(shortExpiryService.verificarToken(token).isEmpty());
+    }
+
+    @Test
+    void gerarTokenParaUsuarioDeveIncluirIdECarimbo() {
+        Usuario usuario = new Usuario(5L, "Fulano de Tal", "fulano@email.com", "senha123456", true, Role.ROLE_USER, null, 4L);
+
+        TokenVerificado verificado = jwtService.verificarToken(jwtService.gerarToken(usuario)).orElseThrow();
+
+        assertTrue(verificado.isSemEstado());
+        assertEquals(5L, verificado.usuarioId());
+        assertEquals(4L, verificado.carimbo());
+        assertEquals("ROLE_USER", verificado.role());
+    }
+
+    @Test
+    void tokenSemIdOuComModoSemEstadoDesligadoNaoDeveSerSemEstado() {
+        Usuario usuario = new Usuario(5L, "Fulano de Tal", "fulano@email.com", "senha123456", true, Role.ROLE_USER, null, 4L);
+        JwtService comConsulta = new JwtService(secret, expiration, expiration, 100, false);
+
+        assertFalse(jwtService.verificarToken(jwtService.gerarToken(userDetails)).orElseThrow().isSemEstado());
+        assertFalse(comConsulta.verificarToken(comConsulta.gerarToken(usuario)).orElseThrow().isSemEstado());
+        // Tokens com as claims emitidos antes de desligar o modo também voltam para a consulta
+        assertFalse(comConsulta.verificarToken(jwtService.gerarToken(usuario)).orElseThrow().isSemEstado());
+    }
+
+    @Test
+    void tokenDeRenovacaoNaoDeveServirComoTokenDeAcessoENemOContrario() {
+        UsuarioDetalhes usuario = new UsuarioDetalhes(5L, "Fulano de Tal", "fulano@email.com", "senha123456", Role.ROLE_USER, true, 4L);
+        String renovacao = jwtService.gerarTokenRenovacao(usuario);
+        String acesso = jwtService.gerarToken(usuario);
+
+        TokenVerificado verificado = jwtService.verificarTokenRenovacao(renovacao).orElseThrow();
+        assertEquals("fulano@email.com", verificado.email());
+        assertEquals(5L, verificado.usuarioId());
+        assertEquals(4L, verificado.carimbo());
+
+        assertTrue(jwtService.verificarToken(renovacao).isEmpty());
+        assertTrue(jwtService.verificarTokenRenovacao(acesso).isEmpty());
+    }
+
+    @Test
+    void cadaTokenDeveTerJtiProprioParaSerRevogado() {
+        UsuarioDetalhes usuario = new UsuarioDetalhes(5L, "Fulano de Tal", "fulano@email.com", "senha123456", Role.ROLE_USER, true, 4L);
+
+        String primeiro = jwtService.verificarToken(jwtService.gerarToken(usuario)).orElseThrow().jti();
+        String segundo = jwtService.verificarToken(jwtService.gerarToken(usuario)).orElseThrow().jti();
+        String renovacao = jwtService.verificarTokenRenovacao(jwtService.gerarTokenRenovacao(usuario)).orElseThrow().jti();
+
+        assertNotNull(primeiro);
+        assertNotEquals(primeiro, segundo);
+        assertNotNull(renovacao);
     }
 
     @Test
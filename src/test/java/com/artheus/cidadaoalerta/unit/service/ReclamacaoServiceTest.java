@@ -11,10 +11,12 @@ import com.artheus.cidadaoalerta.model.Localizacao;
 import com.artheus.cidadaoalerta.model.Reclamacao;
 import com.artheus.cidadaoalerta.model.Usuario;
 import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.EstrategiaContagem;
 import com.artheus.cidadaoalerta.model.enums.Role;
 import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
 import com.artheus.cidadaoalerta.repository.ReclamacaoRepository;
-import com.artheus.cidadaoalerta.repository.UsuarioRepository;
+import com.artheus.cidadaoalerta.security.UsuarioAtual;
+import com.artheus.cidadaoalerta.service.ContagemReclamacoes;
 import com.artheus.cidadaoalerta.service.EmailService;
 import com.artheus.cidadaoalerta.service.ReclamacaoService;
 import org.junit.jupiter.api.*;
@@ -23,12 +25,10 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -50,7 +50,10 @@ class ReclamacaoServiceTest {
     private ReclamacaoRepository reclamacaoRepository;
 
     @Mock
-    private UsuarioRepository usuarioRepository;
+    private UsuarioAtual usuarioAtual;
+
+    @Mock
+    private ContagemReclamacoes contagemReclamacoes;
 
     @Mock
     private ReclamacaoMapper reclamacaoMapper;
@@ -67,7 +70,7 @@ class ReclamacaoServiceTest {
         localizacao.setLatitude(-22.5);
         localizacao.setLongitude(-45.4);
 
-        usuario = new Usuario(1L, "Test User", "user@test.com", "senha123456", true, Role.ROLE_USER, null);
+        usuario = new Usuario(1L, "Test User", "user@test.com", "senha123456", true, Role.ROLE_USER, null, 0L);
 
         reclamacao = new Reclamacao();
         reclamacao.setId(1L);
@@ -77,16 +80,6 @@ class ReclamacaoServiceTest {
         reclamacao.setLocalizacao(localizacao);
         reclamacao.setStatus(StatusReclamacao.ABERTA);
         reclamacao.setAtivo(true);
-
-        SecurityContext securityContext = mock(SecurityContext.class);
-        SecurityContextHolder.setContext(securityContext);
-        var authentication = new UsernamePasswordAuthenticationToken(usuario.getEmail(), null, usuario.getAuthorities());
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-    }
-
-    @AfterEach
-    void tearDown() {
-        SecurityContextHolder.clearContext();
     }
 
     // ===================== CADASTRO =====================
@@ -96,7 +89,8 @@ class ReclamacaoServiceTest {
                 "Descrição detalhada da reclamação de teste",
                 CategoriaReclamacao.SANEAMENTO, localizacao);
 
-        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(usuarioAtual.getId()).thenReturn(usuario.getId());
+        when(usuarioAtual.getReferencia()).thenReturn(usuario);
         when(reclamacaoRepository.findByTituloAndUsuarioIdAndAtivoTrue(dto.titulo(), usuario.getId())).thenReturn(Optional.empty());
         when(reclamacaoMapper.toEntity(dto, usuario)).thenReturn(reclamacao);
         when(reclamacaoRepository.save(reclamacao)).thenReturn(reclamacao);
@@ -118,7 +112,7 @@ class ReclamacaoServiceTest {
                 "Descrição detalhada da reclamação de teste",
                 CategoriaReclamacao.ILUMINACAO, localizacao);
 
-        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        when(usuarioAtual.getId()).thenReturn(usuario.getId());
         when(reclamacaoRepository.findByTituloAndUsuarioIdAndAtivoTrue(dto.titulo(), usuario.getId()))
                 .thenReturn(Optional.of(reclamacao));
 
@@ -127,7 +121,7 @@ class ReclamacaoServiceTest {
 
     @Test
     void deveLancarExceptionQuandoUsuarioNaoAutenticado() {
-        SecurityContextHolder.clearContext();
+        when(usuarioAtual.getId()).thenThrow(new UsuarioNaoAutenticadoException());
         CadastroReclamacao dto = new CadastroReclamacao("Titulo Teste",
                 "Descricao válida para teste", CategoriaReclamacao.ASFALTO, localizacao);
 
@@ -138,35 +132,52 @@ class ReclamacaoServiceTest {
     @Test
     void deveListarReclamacoesComSucesso() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Reclamacao> page = new PageImpl<>(List.of(reclamacao));
 
-        when(reclamacaoRepository.findByAtivoTrue(any(Pageable.class))).thenReturn(page);
-        when(reclamacaoMapper.toDetalhamentoDto(reclamacao)).thenReturn(
-                new DetalhamentoReclamacao(1L, reclamacao.getTitulo(), reclamacao.getDescricao(),
-                        reclamacao.getCategoriaReclamacao(), localizacao, StatusReclamacao.ABERTA,
-                        LocalDateTime.now(), usuario.getId(), usuario.getNome())
-        );
+        when(reclamacaoRepository.listarDetalhamentosAtivos(any(Pageable.class))).thenReturn(List.of(detalhamento()));
 
         ReclamacaoPageResponse<DetalhamentoReclamacao> response = reclamacaoService.listarReclamacoes(pageable);
 
         assertEquals(1, response.content().size());
+        verifyNoInteractions(reclamacaoMapper);
+    }
+
+    @Test
+    void deveUsarContagemDaEstrategiaQuandoPaginaEstiverCheia() {
+        when(reclamacaoRepository.listarDetalhamentosAtivos(any(Pageable.class))).thenReturn(Collections.nCopies(10, detalhamento()));
+        when(contagemReclamacoes.contar(eq(ContagemReclamacoes.SEM_FILTROS), eq(EstrategiaContagem.CACHE), any()))
+                .thenReturn(new ContagemReclamacoes.Contagem(57, false));
+
+        ReclamacaoPageResponse<DetalhamentoReclamacao> response =
+                reclamacaoService.listarReclamacoes(PageRequest.of(0, 10), EstrategiaContagem.CACHE);
+
+        assertEquals(57, response.totalElements());
+        assertEquals(6, response.totalPages());
+        assertFalse(response.totalExato());
+        verify(reclamacaoRepository, never()).countByAtivoTrue();
+    }
+
+    @Test
+    void deveDeduzirTotalExatoSemContarQuandoPaginaNaoEstiverCheia() {
+        when(reclamacaoRepository.listarDetalhamentosAtivos(any(Pageable.class))).thenReturn(List.of(detalhamento()));
+
+        ReclamacaoPageResponse<DetalhamentoReclamacao> response =
+                reclamacaoService.listarReclamacoes(PageRequest.of(0, 10), EstrategiaContagem.ESTIMADA);
+
+        assertEquals(1, response.totalElements());
+        assertTrue(response.totalExato());
+        verifyNoInteractions(contagemReclamacoes);
     }
 
     @Test
     void deveUsarSortPadraoQuandoCampoSortInvalido() {
         Pageable pageable = PageRequest.of(0, 5, Sort.by("campoInvalido"));
-        Page<Reclamacao> page = new PageImpl<>(List.of(reclamacao));
 
-        when(reclamacaoRepository.findByAtivoTrue(any(Pageable.class))).thenReturn(page);
-        when(reclamacaoMapper.toDetalhamentoDto(reclamacao)).thenReturn(
-                new DetalhamentoReclamacao(1L, reclamacao.getTitulo(), reclamacao.getDescricao(),
-                        reclamacao.getCategoriaReclamacao(), reclamacao.getLocalizacao(),
-                        reclamacao.getStatus(), reclamacao.getDataCriacao(), usuario.getId(), usuario.getNome())
-        );
+        when(reclamacaoRepository.listarDetalhamentosAtivos(any(Pageable.class))).thenReturn(List.of(detalhamento()));
 
         ReclamacaoPageResponse<DetalhamentoReclamacao> response = reclamacaoService.listarReclamacoes(pageable);
 
         assertEquals(1, response.content().size());
+        verify(reclamacaoRepository).listarDetalhamentosAtivos(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "dataCriacao")));
     }
 
     // ===================== AJUSTAR PAGEABLE =====================
@@ -208,23 +219,28 @@ class ReclamacaoServiceTest {
     // ===================== BUSCA =====================
     @Test
     void deveBuscarReclamacaoPorId() {
-        when(reclamacaoRepository.findById(1L)).thenReturn(Optional.of(reclamacao));
-        when(reclamacaoMapper.toDetalhamentoDto(reclamacao)).thenReturn(
-                new DetalhamentoReclamacao(1L, reclamacao.getTitulo(), reclamacao.getDescricao(),
-                        reclamacao.getCategoriaReclamacao(), localizacao, StatusReclamacao.ABERTA,
-                        LocalDateTime.now(), usuario.getId(), usuario.getNome())
-        );
+        when(reclamacaoRepository.buscarDetalhamentoAtivo(1L)).thenReturn(Optional.of(detalhamento()));
 
         DetalhamentoReclamacao result = reclamacaoService.buscarPorId(1L);
         assertEquals(1L, result.id());
+        verify(reclamacaoRepository, never()).findById(any());
     }
 
     @Test
     void deveLancarExceptionSeReclamacaoNaoEncontrada() {
+        when(reclamacaoRepository.buscarDetalhamentoAtivo(99L)).thenReturn(Optional.empty());
         when(reclamacaoRepository.findById(99L)).thenReturn(Optional.empty());
         assertThrows(ReclamacaoNaoEncontradaException.class, () -> reclamacaoService.buscarPorId(99L));
     }
 
+    @Test
+    void deveLancarExceptionSeReclamacaoBuscadaEstiverDesativada() {
+        reclamacao.setAtivo(false);
+        when(reclamacaoRepository.buscarDetalhamentoAtivo(1L)).thenReturn(Optional.empty());
+        when(reclamacaoRepository.findById(1L)).thenReturn(Optional.of(reclamacao));
+        assertThrows(ReclamacaoDesativadaException.class, () -> reclamacaoService.buscarPorId(1L));
+    }
+
     // ===================== ATUALIZAÇÃO =====================
     @Test
     void deveAtualizarReclamacaoComSucesso() {
@@ -297,21 +313,50 @@ class ReclamacaoServiceTest {
     // ===================== INATIVAÇÃO =====================
     @Test
     void deveInativarReclamacaoComSucesso() {
+        autenticar(usuario.getId(), Role.ROLE_USER);
         when(reclamacaoRepository.findById(1L)).thenReturn(Optional.of(reclamacao));
-        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
 
         reclamacaoService.inativarReclamacao(1L);
+
         assertFalse(reclamacao.isAtivo());
+        // O dono vem da própria reclamação e o id do usuário, do principal
+        verify(usuarioAtual, never()).getReferencia();
     }
 
     @Test
     void deveLancarExceptionSeUsuarioSemPermissao() {
-        Usuario outroUsuario = new Usuario(2L, "Outro User", "outro@test.com", "senha123456", true, Role.ROLE_USER, null);
+        Usuario outroUsuario = new Usuario(2L, "Outro User", "outro@test.com", "senha123456", true, Role.ROLE_USER, null, 0L);
         reclamacao.setUsuario(outroUsuario);
+        autenticar(usuario.getId(), Role.ROLE_USER);
 
         when(reclamacaoRepository.findById(1L)).thenReturn(Optional.of(reclamacao));
-        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
 
         assertThrows(UsuarioSemPermissaoException.class, () -> reclamacaoService.inativarReclamacao(1L));
+        assertTrue(reclamacao.isAtivo());
+        verify(reclamacaoRepository, never()).save(any());
+    }
+
+    @Test
+    void deveInativarReclamacaoDeOutroUsuarioQuandoAdmin() {
+        Usuario outroUsuario = new Usuario(2L, "Outro User", "outro@test.com", "senha123456", true, Role.ROLE_USER, null, 0L);
+        reclamacao.setUsuario(outroUsuario);
+        autenticar(99L, Role.ROLE_ADMIN);
+
+        when(reclamacaoRepository.findById(1L)).thenReturn(Optional.of(reclamacao));
+
+        reclamacaoService.inativarReclamacao(1L);
+
+        assertFalse(reclamacao.isAtivo());
+    }
+
+    private DetalhamentoReclamacao detalhamento() {
+        return new DetalhamentoReclamacao(1L, reclamacao.getTitulo(), reclamacao.getDescricao(),
+                reclamacao.getCategoriaReclamacao(), localizacao, StatusReclamacao.ABERTA,
+                LocalDateTime.now(), usuario.getId(), usuario.getNome());
+    }
+
+    private void autenticar(Long id, Role papel) {
+        when(usuarioAtual.getId()).thenReturn(id);
+        when(usuarioAtual.isAdmin()).thenReturn(papel == Role.ROLE_ADMIN);
     }
 }
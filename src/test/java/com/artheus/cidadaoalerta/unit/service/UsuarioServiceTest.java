@@ -49,7 +49,7 @@ class UsuarioServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
-        usuario = new Usuario(1L, "Fabiano Augusto", "fabiano@email.com", "senha123456", true, Role.ROLE_USER, List.of());
+        usuario = new Usuario(1L, "Fabiano Augusto", "fabiano@email.com", "senha123456", true, Role.ROLE_USER, List.of(), 0L);
         cadastroUsuario = new CadastroUsuario("Fabiano Augusto", "fabiano@email.com", "senha123");
         atualizacaoUsuario = new AtualizacaoUsuario("Fabiano Augusto Atualizado", "fabiano@email.com", "novaSenha123");
         detalhamentoUsuario = new DetalhamentoUsuario(1L, "Fabiano Augusto", "fabiano@email.com", true, Role.ROLE_USER);
@@ -120,7 +120,7 @@ class UsuarioServiceTest {
     @Test
     void deveLancarExcecaoQuandoEmailJaExiste() {
         CadastroUsuario cadastro = new CadastroUsuario("Usuario Teste", "teste@email.com", "senha123456");
-        Usuario usuarioExistente = new Usuario(1L, "Outro Usuario", "teste@email.com", "senha123456", true, Role.ROLE_USER, List.of());
+        Usuario usuarioExistente = new Usuario(1L, "Outro Usuario", "teste@email.com", "senha123456", true, Role.ROLE_USER, List.of(), 0L);
 
         when(usuarioRepository.findByEmail(cadastro.email())).thenReturn(Optional.of(usuarioExistente));
 
@@ -130,7 +130,7 @@ class UsuarioServiceTest {
 
     @Test
     void naoDeveReHasharSenhaQuandoSenhaNaoForInformada() {
-        Usuario usuarioExistente = new Usuario(1L, "Fulano", "fulano@email.com", "senhaHashExistente", true, Role.ROLE_USER, List.of());
+        Usuario usuarioExistente = new Usuario(1L, "Fulano", "fulano@email.com", "senhaHashExistente", true, Role.ROLE_USER, List.of(), 0L);
 
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioExistente));
 
@@ -144,7 +144,7 @@ class UsuarioServiceTest {
 
     @Test
     void deveReHasharSenhaQuandoInformada() {
-        Usuario usuarioExistente = new Usuario(1L, "Fulano", "fulano@email.com", "senhaHashExistente", true, Role.ROLE_USER, List.of());
+        Usuario usuarioExistente = new Usuario(1L, "Fulano", "fulano@email.com", "senhaHashExistente", true, Role.ROLE_USER, List.of(), 0L);
 
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioExistente));
         when(passwordEncoder.encode("novaSenha123")).thenReturn("novaSenhaHash");
@@ -153,10 +153,22 @@ class UsuarioServiceTest {
         usuarioService.atualizarUsuario(1L, dto);
 
         assertEquals("novaSenhaHash", usuarioExistente.getSenha());
+        assertEquals(1L, usuarioExistente.getCarimboSeguranca());
         verify(passwordEncoder, times(1)).encode("novaSenha123");
         verify(eventPublisher, times(1)).publishEvent(any(UsuarioEvent.class));
     }
 
+    @Test
+    void naoDeveRenovarCarimboQuandoSenhaEEmailNaoMudarem() {
+        Usuario usuarioExistente = new Usuario(1L, "Fulano", "fulano@email.com", "senhaHashExistente", true, Role.ROLE_USER, List.of(), 0L);
+
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioExistente));
+
+        usuarioService.atualizarUsuario(1L, new AtualizacaoUsuario("Fulano Atualizado", null, null));
+
+        assertEquals(0L, usuarioExistente.getCarimboSeguranca());
+    }
+
     @Test
     void deveInativarUsuarioComSucesso() {
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
@@ -165,6 +177,7 @@ class UsuarioServiceTest {
         usuarioService.inativarUsuario(1L);
 
         assertFalse(usuario.isAtivo());
+        assertEquals(1L, usuario.getCarimboSeguranca());
         verify(usuarioRepository).save(usuario);
         verify(eventPublisher, times(1)).publishEvent(any(UsuarioEvent.class));
     }
@@ -0,0 +1,71 @@
+package com.artheus.cidadaoalerta.unit.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.FiltroReclamacaoDTO;
+import com.artheus.cidadaoalerta.dto.VersaoDados;
+import com.artheus.cidadaoalerta.service.exportacao.CacheExportacao;
+import com.artheus.cidadaoalerta.service.exportacao.ConteudoExportacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheExportacaoTest {
+
+    private static final FiltroReclamacaoDTO SEM_FILTROS = new FiltroReclamacaoDTO(null, null, null, null, null);
+    private static final VersaoDados VERSAO = new VersaoDados(3L, LocalDateTime.of(2025, 3, 1, 10, 0));
+    private static final byte[] CSV = "id;titulo\n1;Poste apagado\n".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path diretorio;
+
+    private CacheExportacao cache;
+    private final AtomicInteger geracoes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = new CacheExportacao(diretorio.toString(), 512, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void deveManterConteudoLegivelQuandoEntradaForInvalidadaDepoisDeObter() throws IOException {
+        cache.obter(SEM_FILTROS, VERSAO, this::gerar).close();
+
+        try (ConteudoExportacao acerto = cache.obter(SEM_FILTROS, VERSAO, this::gerar)) {
+            // Invalidação entre a obtenção e a leitura, como a de outra requisição concorrente
+            cache.invalidarUsuario(1L);
+
+            assertFalse(Files.exists(acerto.arquivo().arquivo()));
+            assertArrayEquals(CSV, acerto.conteudo().readAllBytes());
+        }
+        assertEquals(1, geracoes.get());
+    }
+
+    @Test
+    void deveGerarDeNovoQuandoArquivoForApagadoAntesDeAbrir() throws IOException {
+        Path arquivo;
+        try (ConteudoExportacao primeira = cache.obter(SEM_FILTROS, VERSAO, this::gerar)) {
+            arquivo = primeira.arquivo().arquivo();
+        }
+        Files.delete(arquivo);
+
+        try (ConteudoExportacao segunda = cache.obter(SEM_FILTROS, VERSAO, this::gerar)) {
+            assertArrayEquals(CSV, segunda.conteudo().readAllBytes());
+        }
+        assertEquals(2, geracoes.get());
+    }
+
+    private void gerar(OutputStream out) throws IOException {
+        geracoes.incrementAndGet();
+        out.write(CSV);
+    }
+}
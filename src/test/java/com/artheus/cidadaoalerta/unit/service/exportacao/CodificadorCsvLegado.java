@@ -0,0 +1,42 @@
+package com.artheus.cidadaoalerta.unit.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Cópia da conversão de linha usada pelo CsvService antes do {@code CodificadorCsv}.
+ * Serve de oráculo no teste diferencial e de referência no benchmark.
+ */
+public final class CodificadorCsvLegado {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private CodificadorCsvLegado() {
+    }
+
+    public static String converterReclamacaoParaLinhaCsv(ReclamacaoExportacao r) {
+        String[] campos = {
+                r.id() != null ? r.id().toString() : "",
+                escaparCsv(r.titulo()),
+                escaparCsv(r.descricao()),
+                r.categoria() != null ? r.categoria().name() : "",
+                r.status() != null ? r.status().name() : "",
+                r.latitude() != null ? r.latitude().toString() : "",
+                r.longitude() != null ? r.longitude().toString() : "",
+                r.dataCriacao() != null ? r.dataCriacao().format(DATE_TIME_FORMATTER) : "",
+                escaparCsv(r.nomeUsuario())
+        };
+
+        return String.join(";", campos);
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor == null) return "";
+        String escaped = valor.replace("\"", "\"\"");
+        if (escaped.contains(";") || escaped.contains("\n") || escaped.contains("\"")) {
+            escaped = "\"" + escaped + "\"";
+        }
+        return escaped;
+    }
+}
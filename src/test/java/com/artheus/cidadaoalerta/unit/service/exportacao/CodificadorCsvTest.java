@@ -0,0 +1,124 @@
+package com.artheus.cidadaoalerta.unit.service.exportacao;
+
+import com.artheus.cidadaoalerta.dto.ReclamacaoExportacao;
+import com.artheus.cidadaoalerta.model.enums.CategoriaReclamacao;
+import com.artheus.cidadaoalerta.model.enums.StatusReclamacao;
+import com.artheus.cidadaoalerta.service.exportacao.CodificadorCsv;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CodificadorCsvTest {
+
+    private static final String QUEBRA = "\n";
+
+    // Caracteres escolhidos para exercitar escape, quebras, acentos e pares substitutos
+    private static final String ALFABETO = "abcXYZ 019;\"\n\r\t,'áçãõÉ€😀";
+
+    private final CodificadorCsv codificador = new CodificadorCsv(QUEBRA);
+
+    @Test
+    void deveGerarMesmaSaidaQueImplementacaoAnteriorParaLinhasAleatorias() throws IOException {
+        Random random = new Random(20240501);
+
+        for (int i = 0; i < 20_000; i++) {
+            ReclamacaoExportacao r = linhaAleatoria(random);
+            String esperado = CodificadorCsvLegado.converterReclamacaoParaLinhaCsv(r) + QUEBRA;
+
+            assertArrayEquals(esperado.getBytes(StandardCharsets.UTF_8),
+                    codificar(r).getBytes(StandardCharsets.UTF_8),
+                    () -> "Divergência para " + r);
+        }
+    }
+
+    @Test
+    void deveEscaparCamposComSeparadorAspasEQuebraDeLinha() throws IOException {
+        ReclamacaoExportacao r = new ReclamacaoExportacao(7L, "Poste; apagado", "Ele disse \"urgente\"\nhoje",
+                CategoriaReclamacao.ILUMINACAO, StatusReclamacao.ABERTA, -23.5, -46.25,
+                LocalDateTime.of(2024, 5, 3, 9, 4, 5, 999_999_999), "Ana \"Bia\"");
+
+        assertEquals("7;\"Poste; apagado\";\"Ele disse \"\"urgente\"\"\nhoje\";ILUMINACAO;ABERTA;-23.5;-46.25;" +
+                "2024-05-03 09:04:05;\"Ana \"\"Bia\"\"\"\n", codificar(r));
+    }
+
+    @Test
+    void deveManterFormatoDoFormatterParaAnosForaDoIntervaloComum() throws IOException {
+        for (int ano : new int[]{-5, 0, 1, 9, 999, 9999, 10_000, 123_456}) {
+            ReclamacaoExportacao r = new ReclamacaoExportacao(1L, "t", "d", null, null, null, null,
+                    LocalDateTime.of(ano, 12, 31, 23, 59, 59), null);
+
+            assertEquals(CodificadorCsvLegado.converterReclamacaoParaLinhaCsv(r) + QUEBRA, codificar(r));
+        }
+    }
+
+    @Test
+    void deveEscreverCamposNulosComoVazios() throws IOException {
+        ReclamacaoExportacao r = new ReclamacaoExportacao(null, null, null, null, null, null, null, null, null);
+
+        assertEquals(";;;;;;;;\n", codificar(r));
+    }
+
+    @Test
+    void deveReaproveitarBufferEntreLinhasDeTamanhosDiferentes() throws IOException {
+        StringWriter writer = new StringWriter();
+        ReclamacaoExportacao longa = new ReclamacaoExportacao(1L, "x".repeat(5_000), "d", null, null, 1.0, 2.0, null, "u");
+        ReclamacaoExportacao curta = new ReclamacaoExportacao(2L, "t", "d", null, null, 1.0, 2.0, null, "u");
+
+        codificador.escreverLinha(longa, writer);
+        codificador.escreverLinha(curta, writer);
+
+        assertEquals(CodificadorCsvLegado.converterReclamacaoParaLinhaCsv(longa) + QUEBRA
+                + CodificadorCsvLegado.converterReclamacaoParaLinhaCsv(curta) + QUEBRA, writer.toString());
+    }
+
+    private String codificar(ReclamacaoExportacao r) throws IOException {
+        StringWriter writer = new StringWriter();
+        codificador.escreverLinha(r, writer);
+        return writer.toString();
+    }
+
+    private ReclamacaoExportacao linhaAleatoria(Random random) {
+        return new ReclamacaoExportacao(
+                random.nextInt(10) == 0 ? null : random.nextLong(),
+                textoAleatorio(random),
+                textoAleatorio(random),
+                random.nextInt(5) == 0 ? null : CategoriaReclamacao.values()[random.nextInt(CategoriaReclamacao.values().length)],
+                random.nextInt(5) == 0 ? null : StatusReclamacao.values()[random.nextInt(StatusReclamacao.values().length)],
+                doubleAleatorio(random),
+                doubleAleatorio(random),
+                random.nextInt(10) == 0 ? null : LocalDateTime.of(
+                        1 + random.nextInt(9999), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                        random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000_000)),
+                textoAleatorio(random)
+        );
+    }
+
+    private String textoAleatorio(Random random) {
+        if (random.nextInt(10) == 0) return null;
+
+        int tamanho = random.nextInt(40);
+        StringBuilder sb = new StringBuilder(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            sb.append(ALFABETO.charAt(random.nextInt(ALFABETO.length())));
+        }
+        return sb.toString();
+    }
+
+    private Double doubleAleatorio(Random random) {
+        return switch (random.nextInt(8)) {
+            case 0 -> null;
+            case 1 -> random.nextDouble() * 1e-7;
+            case 2 -> random.nextDouble() * 1e12;
+            case 3 -> -0.0;
+            case 4 -> Double.NaN;
+            default -> (random.nextDouble() - 0.5) * 180;
+        };
+    }
+}